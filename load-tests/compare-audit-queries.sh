@@ -0,0 +1,104 @@
+#!/usr/bin/env bash
+# Compares the audit trail queries on jsonb event_data with their only equivalent on the former
+# text column, a LIKE scan. Seeds both layouts side by side in a scratch schema of the compose
+# audit database and prints the execution time of every query on each.
+#
+#   ./load-tests/compare-audit-queries.sh                    # 1M audit rows
+#   ROWS=5000000 ROOMS=20000 ./load-tests/compare-audit-queries.sh
+#
+# Requires docker compose with the postgres service running. Drops the schema afterwards unless
+# KEEP_SCHEMA=true.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ROWS=${ROWS:-1000000}
+ROOMS=${ROOMS:-5000}
+STORIES_PER_ROOM=${STORIES_PER_ROOM:-10}
+REPEAT=${REPEAT:-5}
+KEEP_SCHEMA=${KEEP_SCHEMA:-false}
+
+psql() {
+    docker compose exec -T postgres psql -U planning_poker -d planning_poker_audit -v ON_ERROR_STOP=1 -qAt "$@"
+}
+
+echo "==> seeding $ROWS audit rows over $ROOMS rooms"
+psql <<SQL
+DROP SCHEMA IF EXISTS audit_bench CASCADE;
+CREATE SCHEMA audit_bench;
+SET search_path = audit_bench;
+
+-- Layout before the migration, Jackson output stored as text
+CREATE TABLE audit_logs_text (
+    id uuid PRIMARY KEY,
+    event_type varchar(100) NOT NULL,
+    entity_type varchar(50) NOT NULL,
+    entity_id varchar(36) NOT NULL,
+    event_data text,
+    timestamp timestamp with time zone NOT NULL
+);
+
+INSERT INTO audit_logs_text
+SELECT gen_random_uuid(), e.event_type, e.entity_type, e.story_id::text,
+       format('{"eventId":"%s","eventType":"%s","roomId":"%s","storyId":"%s","triggeredBy":"user-%s"}',
+              gen_random_uuid(), e.event_type, e.room_id, e.story_id, i % 200),
+       now() - make_interval(secs => $ROWS - i)
+FROM generate_series(1, $ROWS) AS i,
+LATERAL (
+    SELECT (ARRAY['VoteCastEvent', 'VoteCastEvent', 'VoteCastEvent', 'VoteCastEvent', 'VoteCastEvent',
+                  'VotingStartedEvent', 'VotingFinishedEvent', 'StoryUpdatedEvent'])[i % 8 + 1] AS event_type,
+           (ARRAY['VOTE', 'VOTE', 'VOTE', 'VOTE', 'VOTE', 'VOTE', 'VOTE', 'STORY'])[i % 8 + 1] AS entity_type,
+           md5('room' || i % $ROOMS)::uuid AS room_id,
+           md5('story' || i % ($ROOMS * $STORIES_PER_ROOM))::uuid AS story_id
+) AS e;
+
+CREATE INDEX ON audit_logs_text (entity_type, entity_id);
+CREATE INDEX ON audit_logs_text (timestamp);
+CREATE INDEX ON audit_logs_text (event_type);
+
+-- Layout after the migration
+CREATE TABLE audit_logs_jsonb AS
+SELECT id, event_type, entity_type, entity_id, event_data::jsonb AS event_data, timestamp FROM audit_logs_text;
+ALTER TABLE audit_logs_jsonb ADD PRIMARY KEY (id);
+CREATE INDEX ON audit_logs_jsonb (entity_type, entity_id);
+CREATE INDEX ON audit_logs_jsonb (timestamp);
+CREATE INDEX ON audit_logs_jsonb (event_type);
+CREATE INDEX ON audit_logs_jsonb ((event_data ->> 'roomId'), timestamp);
+CREATE INDEX ON audit_logs_jsonb ((event_data ->> 'storyId'), timestamp);
+
+VACUUM ANALYZE audit_logs_text;
+VACUUM ANALYZE audit_logs_jsonb;
+SQL
+
+room=$(psql -c "SELECT md5('room' || 42)::uuid")
+story=$(psql -c "SELECT md5('story' || 42)::uuid")
+
+declare -A queries=(
+    ["room trail, text"]="SELECT * FROM audit_logs_text WHERE event_data LIKE '%\"roomId\":\"$room\"%' ORDER BY timestamp DESC LIMIT 50"
+    ["room trail, jsonb"]="SELECT * FROM audit_logs_jsonb WHERE event_data ->> 'roomId' = '$room' ORDER BY timestamp DESC LIMIT 50"
+    ["finished votings of room, text"]="SELECT * FROM audit_logs_text WHERE event_type = 'VotingFinishedEvent' AND event_data LIKE '%\"roomId\":\"$room\"%' ORDER BY timestamp DESC LIMIT 50"
+    ["finished votings of room, jsonb"]="SELECT * FROM audit_logs_jsonb WHERE event_data ->> 'roomId' = '$room' AND event_type = 'VotingFinishedEvent' ORDER BY timestamp DESC LIMIT 50"
+    ["story trail, text"]="SELECT * FROM audit_logs_text WHERE event_data LIKE '%\"storyId\":\"$story\"%' ORDER BY timestamp DESC LIMIT 50"
+    ["story trail, jsonb"]="SELECT * FROM audit_logs_jsonb WHERE event_data ->> 'storyId' = '$story' ORDER BY timestamp DESC LIMIT 50"
+)
+
+echo
+printf '%-34s %12s %12s\n' "query" "median ms" "max ms"
+for name in "room trail, text" "room trail, jsonb" "finished votings of room, text" "finished votings of room, jsonb" \
+            "story trail, text" "story trail, jsonb"; do
+    times=()
+    for _ in $(seq "$REPEAT"); do
+        times+=("$(psql -c "SET search_path = audit_bench; EXPLAIN (ANALYZE, FORMAT JSON) ${queries[$name]}" \
+            | sed -n 's/.*"Execution Time": \([0-9.]*\).*/\1/p')")
+    done
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf '%-34s %12s %12s\n' "$name" "${sorted[$((REPEAT / 2))]}" "${sorted[$((REPEAT - 1))]}"
+done
+
+echo
+echo "Plan of the jsonb room trail:"
+psql -c "SET search_path = audit_bench; EXPLAIN ${queries["room trail, jsonb"]}"
+
+if [ "$KEEP_SCHEMA" != "true" ]; then
+    psql -c "DROP SCHEMA audit_bench CASCADE"
+fi
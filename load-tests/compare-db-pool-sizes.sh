@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Plays the sprint-planning wave against the docker compose vote service once per Hikari pool
+# size and keeps the harness report of each run.
+#
+#   ./load-tests/compare-db-pool-sizes.sh                    # default matrix
+#   POOL_SIZES="10 20" ROOMS=400 ./load-tests/compare-db-pool-sizes.sh
+#
+# Requires docker compose and the load test jar (./mvnw -Pload-tests package -pl pp-load-tests -am).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+VOTE_URL=${VOTE_URL:-http://localhost:8082}
+KAFKA=${KAFKA:-localhost:9092}
+POOL_SIZES=${POOL_SIZES:-5 10 20 40}
+ROOMS=${ROOMS:-200}
+PARTICIPANTS=${PARTICIPANTS:-8}
+STORIES=${STORIES:-5}
+HTTP_CONCURRENCY=${HTTP_CONCURRENCY:-256}
+RESULTS_DIR=${RESULTS_DIR:-load-tests/results/db-pool-$(date +%Y%m%d-%H%M%S)}
+
+export INTERNAL_IDENTITY_ENABLED=true
+export INTERNAL_IDENTITY_SECRET=${INTERNAL_IDENTITY_SECRET:-$(openssl rand -base64 32)}
+
+mkdir -p "$RESULTS_DIR"
+
+for size in $POOL_SIZES; do
+    echo "==> pool size $size"
+    VOTE_DB_POOL_SIZE=$size docker compose up -d --wait --force-recreate pp-vote-service
+
+    java -jar pp-load-tests/target/load-tests.jar --vote-url="$VOTE_URL" --kafka="$KAFKA" \
+        --secret="$INTERNAL_IDENTITY_SECRET" --rooms="$ROOMS" --participants="$PARTICIPANTS" \
+        --stories="$STORIES" --http-concurrency="$HTTP_CONCURRENCY" | tee "$RESULTS_DIR/pool-$size.txt"
+done
+
+echo
+for size in $POOL_SIZES; do
+    echo "pool size $size"
+    grep -E 'POST /votes|Acquire wait|Acquire timeouts|Peak pending' "$RESULTS_DIR/pool-$size.txt" || true
+done
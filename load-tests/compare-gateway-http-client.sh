@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Runs the gateway HTTP client load test against the docker compose stack once per
+# configuration and keeps a k6 summary plus a pool metrics snapshot for each run.
+#
+#   ./load-tests/compare-gateway-http-client.sh            # default matrix
+#   RATE=1000 DURATION=5m ./load-tests/compare-gateway-http-client.sh
+#
+# Requires docker compose and k6 (falls back to the grafana/k6 image).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+RATE=${RATE:-500}
+DURATION=${DURATION:-2m}
+RESULTS_DIR=${RESULTS_DIR:-load-tests/results/$(date +%Y%m%d-%H%M%S)}
+
+# name:GATEWAY_POOL_MAX_CONNECTIONS:GATEWAY_H2C_ENABLED/HTTP2_ENABLED
+CONFIGURATIONS=(
+    "small-pool-http1:16:false"
+    "default-pool-http1:200:false"
+    "default-pool-h2c:200:true"
+)
+
+run_k6() {
+    if command -v k6 >/dev/null 2>&1; then
+        k6 run "$@"
+    else
+        docker run --rm -i --network host -v "$PWD/load-tests:/load-tests" grafana/k6 run "$@"
+    fi
+}
+
+mkdir -p "$RESULTS_DIR"
+
+for configuration in "${CONFIGURATIONS[@]}"; do
+    IFS=: read -r name max_connections h2c <<< "$configuration"
+    echo "==> $name (max-connections=$max_connections, h2c=$h2c)"
+
+    GATEWAY_POOL_MAX_CONNECTIONS=$max_connections GATEWAY_H2C_ENABLED=$h2c HTTP2_ENABLED=$h2c \
+        docker compose up -d --wait pp-room-service pp-vote-service pp-gateway
+
+    run_k6 -e GATEWAY_URL="$GATEWAY_URL" -e RATE="$RATE" -e DURATION="$DURATION" \
+        --summary-export "$RESULTS_DIR/$name.json" load-tests/k6/gateway-http-client.js
+
+    curl -fsS "$GATEWAY_URL/actuator/prometheus" \
+        | grep '^reactor_netty_connection_provider' > "$RESULTS_DIR/$name.pool-metrics.txt" || true
+done
+
+echo
+printf '%-22s %10s %10s %10s %10s\n' configuration room_p50 room_p99 vote_p99 errors
+for configuration in "${CONFIGURATIONS[@]}"; do
+    name=${configuration%%:*}
+    python3 - "$RESULTS_DIR/$name.json" "$name" <<'EOF'
+import json, sys
+metrics = json.load(open(sys.argv[1]))["metrics"]
+room, vote = metrics["pp_room_latency"], metrics["pp_vote_latency"]
+errors = metrics["pp_upstream_errors"]["value"]
+print(f"{sys.argv[2]:<22} {room['p(50)']:>9.1f}ms {room['p(99)']:>8.1f}ms {vote['p(99)']:>8.1f}ms {errors:>9.2%}")
+EOF
+done
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Plays the sprint-planning wave against the docker compose vote service once with votes over
+# REST and once with votes over the participants' STOMP sessions, and compares vote latency and
+# service CPU per vote.
+#
+#   ./load-tests/compare-vote-transports.sh
+#   ROOMS=400 STORIES=10 ./load-tests/compare-vote-transports.sh
+#
+# Requires docker compose and the load test jar (./mvnw -Pload-tests package -pl pp-load-tests -am).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+VOTE_URL=${VOTE_URL:-http://localhost:8082}
+KAFKA=${KAFKA:-localhost:9092}
+ROOMS=${ROOMS:-200}
+PARTICIPANTS=${PARTICIPANTS:-8}
+STORIES=${STORIES:-5}
+HTTP_CONCURRENCY=${HTTP_CONCURRENCY:-256}
+RESULTS_DIR=${RESULTS_DIR:-load-tests/results/vote-transport-$(date +%Y%m%d-%H%M%S)}
+
+export INTERNAL_IDENTITY_ENABLED=true
+export INTERNAL_IDENTITY_SECRET=${INTERNAL_IDENTITY_SECRET:-$(openssl rand -base64 32)}
+
+mkdir -p "$RESULTS_DIR"
+docker compose up -d --wait --force-recreate pp-vote-service
+
+for transport in rest stomp; do
+    echo "==> votes over $transport"
+    java -jar pp-load-tests/target/load-tests.jar --vote-url="$VOTE_URL" --kafka="$KAFKA" \
+        --secret="$INTERNAL_IDENTITY_SECRET" --rooms="$ROOMS" --participants="$PARTICIPANTS" \
+        --stories="$STORIES" --http-concurrency="$HTTP_CONCURRENCY" --vote-transport="$transport" \
+        | tee "$RESULTS_DIR/$transport.txt"
+done
+
+echo
+for transport in rest stomp; do
+    echo "votes over $transport"
+    grep -E 'POST /votes|STOMP /app|Vote throughput|Service CPU per vote|VOTE_COUNT_UPDATE' "$RESULTS_DIR/$transport.txt" || true
+done
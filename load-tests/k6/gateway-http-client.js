@@ -0,0 +1,63 @@
+// Gateway -> service HTTP client load test.
+//
+// Drives read traffic through the gateway against room-service and vote-service so that
+// connection pool and protocol settings (see planning-poker.gateway.http-client) can be
+// compared run by run. Use load-tests/compare-gateway-http-client.sh to run the matrix.
+//
+//   k6 run -e GATEWAY_URL=http://localhost:8080 load-tests/k6/gateway-http-client.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend, Rate } from 'k6/metrics';
+
+const GATEWAY_URL = __ENV.GATEWAY_URL || 'http://localhost:8080';
+const KEYCLOAK_URL = __ENV.KEYCLOAK_URL || 'http://localhost:8180';
+const USERNAME = __ENV.PP_USERNAME || 'participant2';
+const PASSWORD = __ENV.PP_PASSWORD || 'participant123';
+const RATE = parseInt(__ENV.RATE || '500', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+const roomLatency = new Trend('pp_room_latency', true);
+const voteLatency = new Trend('pp_vote_latency', true);
+const upstreamErrors = new Rate('pp_upstream_errors');
+
+export const options = {
+    scenarios: {
+        steady: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: Math.max(50, RATE / 5),
+            maxVUs: RATE * 2,
+        },
+    },
+    thresholds: {
+        pp_upstream_errors: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const res = http.post(`${KEYCLOAK_URL}/realms/planning-poker/protocol/openid-connect/token`, {
+        grant_type: 'password',
+        client_id: 'planning-poker-web',
+        username: USERNAME,
+        password: PASSWORD,
+    });
+    check(res, { 'token issued': (r) => r.status === 200 });
+    return { token: res.json('access_token') };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+
+    const rooms = http.get(`${GATEWAY_URL}/api/v1/rooms/joined?size=20`, params);
+    roomLatency.add(rooms.timings.duration);
+    upstreamErrors.add(rooms.status >= 500);
+
+    const storyId = '00000000-0000-0000-0000-000000000001';
+    const count = http.get(`${GATEWAY_URL}/api/v1/votes/stories/${storyId}/count`, params);
+    voteLatency.add(count.timings.duration);
+    upstreamErrors.add(count.status >= 500);
+}
@@ -1,6 +1,9 @@
 package com.lufthansa.planning_poker.audit.api.controller;
 
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFilter;
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFormat;
 import com.lufthansa.planning_poker.audit.application.dto.response.AuditLogResponse;
+import com.lufthansa.planning_poker.audit.application.service.AuditExportService;
 import com.lufthansa.planning_poker.audit.application.service.AuditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,8 +11,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/admin/audit")
@@ -19,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuditController {
 
     private final AuditService auditService;
+    private final AuditExportService auditExportService;
 
     @GetMapping
     @Operation(summary = "Get all audit logs", description = "Returns paginated audit logs (Admin only)")
@@ -52,6 +65,24 @@ public class AuditController {
         return auditService.getAuditLogsByUser(userId, pageable);
     }
 
+    @GetMapping("/room/{roomId}")
+    @Operation(summary = "Get the audit trail of a room",
+        description = "Returns the room, story and vote events of a room, newest first")
+    public Page<AuditLogResponse> getRoomAuditTrail(
+            @PathVariable UUID roomId,
+            @RequestParam(required = false) String eventType,
+            @PageableDefault(size = 50) Pageable pageable) {
+        return auditService.getRoomAuditTrail(roomId, eventType, pageable);
+    }
+
+    @GetMapping("/story/{storyId}")
+    @Operation(summary = "Get the audit trail of a story")
+    public Page<AuditLogResponse> getStoryAuditTrail(
+            @PathVariable UUID storyId,
+            @PageableDefault(size = 50) Pageable pageable) {
+        return auditService.getStoryAuditTrail(storyId, pageable);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search audit logs with filters")
     public Page<AuditLogResponse> searchAuditLogs(
@@ -61,4 +92,23 @@ public class AuditController {
             @PageableDefault(size = 50) Pageable pageable) {
         return auditService.searchAuditLogs(entityType, userId, action, pageable);
     }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export audit logs",
+        description = "Streams all audit logs matching the search filters within [from, to), oldest first")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "NDJSON") AuditExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        AuditExportFilter filter = AuditExportFilter.of(entityType, userId, action, from, to);
+        String fileName = "audit-logs." + format.getFileExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .contentType(gzip ? MediaType.parseMediaType("application/gzip") : format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(out -> auditExportService.export(filter, format, gzip, out));
+    }
 }
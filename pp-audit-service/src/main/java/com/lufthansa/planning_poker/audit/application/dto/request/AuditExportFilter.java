@@ -0,0 +1,36 @@
+package com.lufthansa.planning_poker.audit.application.dto.request;
+
+import com.lufthansa.planning_poker.audit.infrastructure.persistence.entity.AuditLogEntity;
+
+import java.time.Instant;
+
+/**
+ * Audit logs to export: the filters of the search endpoint plus a time range.
+ *
+ * @param from first timestamp included
+ * @param to   first timestamp excluded
+ */
+public record AuditExportFilter(
+    String entityType,
+    String userId,
+    AuditLogEntity.AuditAction action,
+    Instant from,
+    Instant to
+) {
+
+    /**
+     * Without a range, everything up to now is exported; entries written while the export
+     * runs are left out.
+     *
+     * @throws IllegalArgumentException if the action is not an {@link AuditLogEntity.AuditAction}
+     */
+    public static AuditExportFilter of(String entityType, String userId, String action, Instant from, Instant to) {
+        return new AuditExportFilter(
+            entityType,
+            userId,
+            action != null ? AuditLogEntity.AuditAction.valueOf(action) : null,
+            from != null ? from : Instant.EPOCH,
+            to != null ? to : Instant.now()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.lufthansa.planning_poker.audit.application.dto.request;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum AuditExportFormat {
+
+    /** One JSON object per line, the fields of {@code AuditLogResponse}. */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /** RFC 4180 CSV with a header row. */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+}
@@ -0,0 +1,126 @@
+package com.lufthansa.planning_poker.audit.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFilter;
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFormat;
+import com.lufthansa.planning_poker.audit.application.dto.response.AuditLogResponse;
+import com.lufthansa.planning_poker.audit.infrastructure.persistence.entity.AuditLogEntity;
+import com.lufthansa.planning_poker.audit.infrastructure.persistence.repository.JpaAuditLogRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes audit logs as CSV or NDJSON straight from a database cursor.
+ * <p>
+ * Every row is written and detached before the next one is read, so memory use does not
+ * depend on the size of the export. Exports of months of data hold a connection for the
+ * whole time; they are meant for occasional compliance requests, not for polling.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,event_id,event_type,entity_type,entity_id,action,user_id,user_name,"
+        + "timestamp,source_service,event_data\r\n";
+
+    private final JpaAuditLogRepository auditLogRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all audit logs matching the filter, oldest first. The stream is flushed but not
+     * closed.
+     *
+     * @param filter which audit logs to export
+     * @param format output format
+     * @param gzip   whether to gzip the output
+     * @param out    the response body
+     * @return the number of audit logs written
+     * @throws IOException if writing fails, typically because the client went away
+     */
+    @Transactional(readOnly = true)
+    public long export(AuditExportFilter filter, AuditExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == AuditExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        try (Stream<AuditLogEntity> auditLogs = auditLogRepository.streamForExport(
+                filter.entityType(), filter.userId(), filter.action(), filter.from(), filter.to())) {
+            Iterator<AuditLogEntity> iterator = auditLogs.iterator();
+            while (iterator.hasNext()) {
+                AuditLogEntity entity = iterator.next();
+                AuditLogResponse auditLog = AuditService.toResponse(entity);
+                if (format == AuditExportFormat.CSV) {
+                    writeCsv(writer, auditLog);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(auditLog));
+                    writer.write('\n');
+                }
+                entityManager.detach(entity);
+                rows++;
+            }
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} audit logs as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private static void writeCsv(Writer writer, AuditLogResponse auditLog) throws IOException {
+        Object[] fields = {
+            auditLog.id(), auditLog.eventId(), auditLog.eventType(), auditLog.entityType(), auditLog.entityId(),
+            auditLog.action(), auditLog.userId(), auditLog.userName(), auditLog.timestamp(),
+            auditLog.sourceService(), auditLog.eventData()
+        };
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csv(fields[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a field when needed. User-supplied values that a spreadsheet would take for a
+     * formula are prefixed with a quote so opening the export cannot run them.
+     */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -6,10 +6,13 @@ import com.lufthansa.planning_poker.audit.infrastructure.persistence.repository.
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 /**
  * Service for querying audit logs.
  * <p>
@@ -36,22 +39,22 @@ public class AuditService {
      */
     public Page<AuditLogResponse> getAuditLogs(Pageable pageable) {
         return auditLogRepository.findAll(pageable)
-            .map(this::toResponse);
+            .map(AuditService::toResponse);
     }
 
     public Page<AuditLogResponse> getAuditLogsByEntity(String entityType, String entityId, Pageable pageable) {
         return auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable)
-            .map(this::toResponse);
+            .map(AuditService::toResponse);
     }
 
     public Page<AuditLogResponse> getAuditLogsByEntityType(String entityType, Pageable pageable) {
         return auditLogRepository.findByEntityType(entityType, pageable)
-            .map(this::toResponse);
+            .map(AuditService::toResponse);
     }
 
     public Page<AuditLogResponse> getAuditLogsByUser(String userId, Pageable pageable) {
         return auditLogRepository.findByUserId(userId, pageable)
-            .map(this::toResponse);
+            .map(AuditService::toResponse);
     }
 
     /**
@@ -72,10 +75,35 @@ public class AuditService {
             ? AuditLogEntity.AuditAction.valueOf(action) 
             : null;
         return auditLogRepository.findWithFilters(entityType, userId, auditAction, pageable)
-            .map(this::toResponse);
+            .map(AuditService::toResponse);
+    }
+
+    /**
+     * Returns the room, story and vote events of a room, newest first.
+     * <p>
+     * The trail is always ordered by timestamp, a sort requested through {@code pageable} is ignored.
+     * </p>
+     *
+     * @param roomId    the room
+     * @param eventType optional event class to narrow the trail to, e.g. {@code VotingFinishedEvent}
+     * @param pageable  pagination parameters
+     * @return paginated audit log entries of the room
+     */
+    public Page<AuditLogResponse> getRoomAuditTrail(UUID roomId, String eventType, Pageable pageable) {
+        return auditLogRepository.findRoomAuditTrail(roomId.toString(), eventType, unsorted(pageable))
+            .map(AuditService::toResponse);
+    }
+
+    public Page<AuditLogResponse> getStoryAuditTrail(UUID storyId, Pageable pageable) {
+        return auditLogRepository.findStoryAuditTrail(storyId.toString(), unsorted(pageable))
+            .map(AuditService::toResponse);
+    }
+
+    private static Pageable unsorted(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
     }
 
-    private AuditLogResponse toResponse(AuditLogEntity entity) {
+    static AuditLogResponse toResponse(AuditLogEntity entity) {
         return new AuditLogResponse(
             entity.getId(),
             entity.getEventId(),
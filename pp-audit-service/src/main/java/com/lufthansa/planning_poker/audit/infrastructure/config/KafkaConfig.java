@@ -1,6 +1,8 @@
 package com.lufthansa.planning_poker.audit.infrastructure.config;
 
 import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.messaging.KafkaListenerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -23,7 +26,7 @@ public class KafkaConfig {
     private String bootstrapServers;
 
     @Bean
-    public ConsumerFactory<String, BaseEvent> consumerFactory() {
+    public ConsumerFactory<String, BaseEvent> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, AUDIT_CONSUMER_GROUP);
@@ -31,13 +34,23 @@ public class KafkaConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.lufthansa.planning_poker.*");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        return new DefaultKafkaConsumerFactory<>(props);
+        DefaultKafkaConsumerFactory<String, BaseEvent> factory = new DefaultKafkaConsumerFactory<>(props);
+        // Exposes the client metrics, including the per-partition records lag
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public KafkaListenerMetrics kafkaListenerMetrics(MeterRegistry meterRegistry) {
+        return new KafkaListenerMetrics(meterRegistry, AUDIT_CONSUMER_GROUP);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, BaseEvent> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, BaseEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, BaseEvent> consumerFactory, KafkaListenerMetrics kafkaListenerMetrics) {
         ConcurrentKafkaListenerContainerFactory<String, BaseEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        factory.setRecordInterceptor(kafkaListenerMetrics);
         return factory;
     }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lufthansa.planning_poker.audit.infrastructure.persistence.entity.AuditLogEntity;
 import com.lufthansa.planning_poker.audit.infrastructure.persistence.repository.JpaAuditLogRepository;
 import com.lufthansa.planning_poker.common.event.*;
+import com.lufthansa.planning_poker.common.messaging.KafkaListenerMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -17,26 +18,31 @@ public class AuditEventConsumer {
 
     private final JpaAuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final KafkaListenerMetrics listenerMetrics;
 
     @KafkaListener(topics = KafkaTopics.ROOM_EVENTS, groupId = KafkaTopics.AUDIT_CONSUMER_GROUP)
     public void consumeRoomEvents(BaseEvent event) {
         log.info("Received room event: {}", event.getEventType());
-        processEvent(event, "ROOM", determineRoomAction(event));
+        processEvent(event, KafkaTopics.ROOM_EVENTS, "ROOM", determineRoomAction(event));
     }
 
     @KafkaListener(topics = KafkaTopics.STORY_EVENTS, groupId = KafkaTopics.AUDIT_CONSUMER_GROUP)
     public void consumeStoryEvents(BaseEvent event) {
         log.info("Received story event: {}", event.getEventType());
-        processEvent(event, "STORY", determineStoryAction(event));
+        processEvent(event, KafkaTopics.STORY_EVENTS, "STORY", determineStoryAction(event));
     }
 
     @KafkaListener(topics = KafkaTopics.VOTE_EVENTS, groupId = KafkaTopics.AUDIT_CONSUMER_GROUP)
     public void consumeVoteEvents(BaseEvent event) {
         log.info("Received vote event: {}", event.getEventType());
-        processEvent(event, "VOTE", determineVoteAction(event));
+        processEvent(event, KafkaTopics.VOTE_EVENTS, "VOTE", determineVoteAction(event));
     }
 
-    private void processEvent(BaseEvent event, String entityType, AuditLogEntity.AuditAction action) {
+    /**
+     * Failures are logged and counted but not rethrown: a lost audit entry must not hold up
+     * the partition for the events behind it.
+     */
+    private void processEvent(BaseEvent event, String topic, String entityType, AuditLogEntity.AuditAction action) {
         try {
             String entityId = extractEntityId(event);
             String eventData = objectMapper.writeValueAsString(event);
@@ -59,8 +65,10 @@ public class AuditEventConsumer {
 
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize event data", e);
+            listenerMetrics.recordError(topic, e);
         } catch (Exception e) {
             log.error("Failed to process audit event", e);
+            listenerMetrics.recordError(topic, e);
         }
     }
 
@@ -68,7 +76,10 @@ public class AuditEventConsumer {
         if (event instanceof RoomCreatedEvent e) return e.getRoomId().toString();
         if (event instanceof RoomUpdatedEvent e) return e.getRoomId().toString();
         if (event instanceof RoomDeletedEvent e) return e.getRoomId().toString();
+        if (event instanceof UserJoinedRoomEvent e) return e.getRoomId().toString();
+        if (event instanceof UserLeftRoomEvent e) return e.getRoomId().toString();
         if (event instanceof StoryCreatedEvent e) return e.getStoryId().toString();
+        if (event instanceof StoriesImportedEvent e) return e.getRoomId().toString();
         if (event instanceof StoryUpdatedEvent e) return e.getStoryId().toString();
         if (event instanceof StoryDeletedEvent e) return e.getStoryId().toString();
         if (event instanceof VoteCastEvent e) return e.getStoryId().toString();
@@ -81,11 +92,14 @@ public class AuditEventConsumer {
         if (event instanceof RoomCreatedEvent) return AuditLogEntity.AuditAction.CREATE;
         if (event instanceof RoomUpdatedEvent) return AuditLogEntity.AuditAction.UPDATE;
         if (event instanceof RoomDeletedEvent) return AuditLogEntity.AuditAction.DELETE;
+        if (event instanceof UserJoinedRoomEvent) return AuditLogEntity.AuditAction.JOIN;
+        if (event instanceof UserLeftRoomEvent) return AuditLogEntity.AuditAction.LEAVE;
         return AuditLogEntity.AuditAction.UPDATE;
     }
 
     private AuditLogEntity.AuditAction determineStoryAction(BaseEvent event) {
         if (event instanceof StoryCreatedEvent) return AuditLogEntity.AuditAction.CREATE;
+        if (event instanceof StoriesImportedEvent) return AuditLogEntity.AuditAction.CREATE;
         if (event instanceof StoryUpdatedEvent) return AuditLogEntity.AuditAction.UPDATE;
         if (event instanceof StoryDeletedEvent) return AuditLogEntity.AuditAction.DELETE;
         return AuditLogEntity.AuditAction.UPDATE;
@@ -2,7 +2,9 @@ package com.lufthansa.planning_poker.audit.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -37,7 +39,12 @@ public class AuditLogEntity {
     @Column(nullable = false, length = 20)
     private AuditAction action;
 
-    @Column(name = "event_data", columnDefinition = "TEXT")
+    /**
+     * The serialized event, {@code jsonb} on Postgres. Kept as the JSON text, the repository
+     * queries its fields natively.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "event_data")
     private String eventData;
 
     @Column(name = "user_id", length = 100)
@@ -1,20 +1,26 @@
 package com.lufthansa.planning_poker.audit.infrastructure.persistence.repository;
 
 import com.lufthansa.planning_poker.audit.infrastructure.persistence.entity.AuditLogEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface JpaAuditLogRepository extends JpaRepository<AuditLogEntity, UUID> {
 
+    String EXPORT_FETCH_SIZE = "500";
+
     Page<AuditLogEntity> findByEntityTypeAndEntityId(String entityType, String entityId, Pageable pageable);
 
     Page<AuditLogEntity> findByEntityType(String entityType, Pageable pageable);
@@ -41,5 +47,59 @@ public interface JpaAuditLogRepository extends JpaRepository<AuditLogEntity, UUI
     );
 
     List<AuditLogEntity> findTop100ByOrderByTimestampDesc();
+
+    /**
+     * Audit trail of a room across its room, story and vote events, newest first. Filters on the
+     * {@code roomId} of the event data through {@code idx_audit_event_room}; {@code eventType}
+     * optionally narrows it to one event class, e.g. {@code VotingFinishedEvent}.
+     */
+    @Query(value = "SELECT * FROM audit_logs WHERE event_data ->> 'roomId' = :roomId " +
+                   "AND (CAST(:eventType AS varchar) IS NULL OR event_type = :eventType) " +
+                   "ORDER BY timestamp DESC",
+           countQuery = "SELECT count(*) FROM audit_logs WHERE event_data ->> 'roomId' = :roomId " +
+                        "AND (CAST(:eventType AS varchar) IS NULL OR event_type = :eventType)",
+           nativeQuery = true)
+    Page<AuditLogEntity> findRoomAuditTrail(
+        @Param("roomId") String roomId,
+        @Param("eventType") String eventType,
+        Pageable pageable
+    );
+
+    /**
+     * Story and vote events of a story, newest first, through {@code idx_audit_event_story}.
+     */
+    @Query(value = "SELECT * FROM audit_logs WHERE event_data ->> 'storyId' = :storyId " +
+                   "ORDER BY timestamp DESC",
+           countQuery = "SELECT count(*) FROM audit_logs WHERE event_data ->> 'storyId' = :storyId",
+           nativeQuery = true)
+    Page<AuditLogEntity> findStoryAuditTrail(
+        @Param("storyId") String storyId,
+        Pageable pageable
+    );
+
+    /**
+     * Same filters as {@link #findWithFilters} within {@code [from, to)}, oldest first.
+     * <p>
+     * Rows are read through a forward-only cursor {@value #EXPORT_FETCH_SIZE} at a time, so the
+     * stream must be consumed inside a transaction and closed. Entities stay in the persistence
+     * context until detached.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM AuditLogEntity a WHERE " +
+           "a.timestamp >= :from AND a.timestamp < :to AND " +
+           "(:entityType IS NULL OR a.entityType = :entityType) AND " +
+           "(:userId IS NULL OR a.userId = :userId) AND " +
+           "(:action IS NULL OR a.action = :action) " +
+           "ORDER BY a.timestamp ASC")
+    Stream<AuditLogEntity> streamForExport(
+        @Param("entityType") String entityType,
+        @Param("userId") String userId,
+        @Param("action") AuditLogEntity.AuditAction action,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
 }
 
@@ -1,11 +1,15 @@
 package com.lufthansa.planning_poker.audit.api.controller;
 
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFilter;
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFormat;
 import com.lufthansa.planning_poker.audit.application.dto.response.AuditLogResponse;
+import com.lufthansa.planning_poker.audit.application.service.AuditExportService;
 import com.lufthansa.planning_poker.audit.application.service.AuditService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.Page;
@@ -15,13 +19,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
@@ -38,6 +45,9 @@ class AuditControllerTest {
     @MockitoBean
     private AuditService auditService;
 
+    @MockitoBean
+    private AuditExportService auditExportService;
+
     @MockitoBean
     @SuppressWarnings("unused")
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
@@ -309,6 +319,77 @@ class AuditControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/admin/audit/room/{roomId}")
+    class GetRoomAuditTrailEndpoint {
+
+        @Test
+        @DisplayName("Should return the audit trail of a room")
+        void shouldReturnRoomAuditTrail() throws Exception {
+            // Given
+            UUID roomId = UUID.randomUUID();
+            Page<AuditLogResponse> logPage = new PageImpl<>(List.of(auditLogResponse));
+
+            when(auditService.getRoomAuditTrail(eq(roomId), isNull(), any(Pageable.class)))
+                .thenReturn(logPage);
+
+            // When/Then
+            mockMvc.perform(get("/api/v1/admin/audit/room/{roomId}", roomId)
+                    .with(adminJwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].eventType").value("RoomCreatedEvent"));
+        }
+
+        @Test
+        @DisplayName("Should narrow the trail to one event type")
+        void shouldNarrowTrailToEventType() throws Exception {
+            // Given
+            UUID roomId = UUID.randomUUID();
+            when(auditService.getRoomAuditTrail(eq(roomId), eq("VotingFinishedEvent"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+            // When/Then
+            mockMvc.perform(get("/api/v1/admin/audit/room/{roomId}", roomId)
+                    .param("eventType", "VotingFinishedEvent")
+                    .with(adminJwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+
+            verify(auditService).getRoomAuditTrail(eq(roomId), eq("VotingFinishedEvent"), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an invalid room id")
+        void shouldReturn400ForInvalidRoomId() throws Exception {
+            // When/Then
+            mockMvc.perform(get("/api/v1/admin/audit/room/{roomId}", "not-a-uuid")
+                    .with(adminJwt()))
+                .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(auditService);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/audit/story/{storyId}")
+    class GetStoryAuditTrailEndpoint {
+
+        @Test
+        @DisplayName("Should return the audit trail of a story")
+        void shouldReturnStoryAuditTrail() throws Exception {
+            // Given
+            UUID storyId = UUID.randomUUID();
+            when(auditService.getStoryAuditTrail(eq(storyId), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(auditLogResponse)));
+
+            // When/Then
+            mockMvc.perform(get("/api/v1/admin/audit/story/{storyId}", storyId)
+                    .with(adminJwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(auditLogId.toString()));
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/admin/audit/search")
     class SearchAuditLogsEndpoint {
@@ -410,5 +491,41 @@ class AuditControllerTest {
                 .andExpect(jsonPath("$.content[0].action").value("DELETE"));
         }
     }
-}
 
+    @Nested
+    @DisplayName("GET /api/v1/admin/audit/export")
+    class ExportAuditLogsEndpoint {
+
+        @Test
+        @DisplayName("Should stream a gzipped CSV attachment for admin")
+        void shouldStreamGzippedCsvForAdmin() throws Exception {
+            // Given
+            when(auditExportService.export(any(), eq(AuditExportFormat.CSV), eq(true), any()))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, OutputStream.class).write("id\r\n".getBytes());
+                    return 1L;
+                });
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/admin/audit/export")
+                    .param("format", "CSV")
+                    .param("gzip", "true")
+                    .param("entityType", "VOTE")
+                    .param("from", "2024-01-01T00:00:00Z")
+                    .with(adminJwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"audit-logs.csv.gz\""));
+
+            ArgumentCaptor<AuditExportFilter> filterCaptor = ArgumentCaptor.forClass(AuditExportFilter.class);
+            verify(auditExportService).export(filterCaptor.capture(), eq(AuditExportFormat.CSV), eq(true), any());
+            assertThat(filterCaptor.getValue().entityType()).isEqualTo("VOTE");
+            assertThat(filterCaptor.getValue().from()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.lufthansa.planning_poker.audit.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFilter;
+import com.lufthansa.planning_poker.audit.application.dto.request.AuditExportFormat;
+import com.lufthansa.planning_poker.audit.infrastructure.persistence.entity.AuditLogEntity;
+import com.lufthansa.planning_poker.audit.infrastructure.persistence.repository.JpaAuditLogRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditExportService Tests")
+class AuditExportServiceTest {
+
+    @Mock
+    private JpaAuditLogRepository auditLogRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private AuditExportService exportService;
+    private AuditExportFilter filter;
+    private AuditLogEntity roomCreated;
+    private AuditLogEntity voteCast;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new AuditExportService(auditLogRepository, entityManager, objectMapper);
+        filter = AuditExportFilter.of(null, null, null, null, null);
+
+        roomCreated = auditLog(AuditLogEntity.AuditAction.CREATE, "ROOM", "Jane Doe",
+            "{\"roomName\":\"Sprint 42, \\\"Planning\\\"\"}", Instant.parse("2024-03-01T09:00:00Z"));
+        voteCast = auditLog(AuditLogEntity.AuditAction.VOTE, "VOTE", "=HYPERLINK(\"http://evil\")",
+            "{\"value\":\"8\"}", Instant.parse("2024-03-01T09:05:00Z"));
+    }
+
+    @Nested
+    @DisplayName("NDJSON")
+    class Ndjson {
+
+        @Test
+        @DisplayName("Should write one JSON object per line and detach every row")
+        void shouldWriteOneObjectPerLine() throws IOException {
+            // Given
+            when(auditLogRepository.streamForExport(any(), any(), any(), any(), any()))
+                .thenReturn(Stream.of(roomCreated, voteCast));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            long rows = exportService.export(filter, AuditExportFormat.NDJSON, false, out);
+
+            // Then
+            assertThat(rows).isEqualTo(2);
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            JsonNode first = new ObjectMapper().readTree(lines[0]);
+            assertThat(first.get("action").asText()).isEqualTo("CREATE");
+            assertThat(first.get("timestamp").asText()).isEqualTo("2024-03-01T09:00:00Z");
+            verify(entityManager).detach(roomCreated);
+            verify(entityManager).detach(voteCast);
+        }
+
+        @Test
+        @DisplayName("Should pass filters and time range to the cursor query")
+        void shouldPassFiltersToQuery() throws IOException {
+            // Given
+            Instant from = Instant.parse("2024-01-01T00:00:00Z");
+            Instant to = Instant.parse("2024-04-01T00:00:00Z");
+            AuditExportFilter voteFilter = AuditExportFilter.of("VOTE", "user-1", "VOTE", from, to);
+            when(auditLogRepository.streamForExport(any(), any(), any(), any(), any())).thenReturn(Stream.empty());
+
+            // When
+            long rows = exportService.export(voteFilter, AuditExportFormat.NDJSON, false, new ByteArrayOutputStream());
+
+            // Then
+            assertThat(rows).isZero();
+            verify(auditLogRepository).streamForExport("VOTE", "user-1", AuditLogEntity.AuditAction.VOTE, from, to);
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV")
+    class Csv {
+
+        @Test
+        @DisplayName("Should write header and quote fields containing separators or quotes")
+        void shouldWriteHeaderAndQuoteFields() throws IOException {
+            // Given
+            when(auditLogRepository.streamForExport(any(), any(), any(), any(), any()))
+                .thenReturn(Stream.of(roomCreated));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            exportService.export(filter, AuditExportFormat.CSV, false, out);
+
+            // Then
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+            assertThat(lines[0]).startsWith("id,event_id,event_type,");
+            assertThat(lines[1])
+                .contains(",ROOM,")
+                .contains(",Jane Doe,2024-03-01T09:00:00Z,")
+                .endsWith(",\"{\"\"roomName\"\":\"\"Sprint 42, \\\"\"Planning\\\"\"\"\"}\"");
+        }
+
+        @Test
+        @DisplayName("Should neutralize values a spreadsheet would run as formulas")
+        void shouldNeutralizeFormulas() {
+            assertThat(AuditExportService.csv("=HYPERLINK(\"http://evil\")"))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://evil\"\")\"");
+            assertThat(AuditExportService.csv("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+            assertThat(AuditExportService.csv(null)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should gzip the output when requested")
+    void shouldGzipOutput() throws IOException {
+        // Given
+        when(auditLogRepository.streamForExport(any(), any(), any(), any(), any()))
+            .thenReturn(Stream.of(roomCreated, voteCast));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.export(filter, AuditExportFormat.CSV, true, out);
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv.split("\r\n")).hasSize(3);
+        }
+    }
+
+    private static AuditLogEntity auditLog(AuditLogEntity.AuditAction action, String entityType, String userName,
+                                           String eventData, Instant timestamp) {
+        return AuditLogEntity.builder()
+            .id(UUID.randomUUID())
+            .eventId(UUID.randomUUID())
+            .eventType(entityType + "Event")
+            .entityType(entityType)
+            .entityId(UUID.randomUUID().toString())
+            .action(action)
+            .eventData(eventData)
+            .userId("user-123")
+            .userName(userName)
+            .timestamp(timestamp)
+            .sourceService("pp-room-service")
+            .build();
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.Instant;
 import java.util.List;
@@ -236,6 +237,44 @@ class AuditServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Audit trail Tests")
+    class AuditTrailTests {
+
+        @Test
+        @DisplayName("Should query the room trail by room id and event type")
+        void shouldQueryRoomTrailByRoomIdAndEventType() {
+            // Given
+            UUID roomId = UUID.randomUUID();
+            Pageable pageable = PageRequest.of(0, 10);
+            when(auditLogRepository.findRoomAuditTrail(roomId.toString(), "VotingFinishedEvent", pageable))
+                .thenReturn(new PageImpl<>(List.of(auditLogEntity), pageable, 1));
+
+            // When
+            Page<AuditLogResponse> result = auditService.getRoomAuditTrail(roomId, "VotingFinishedEvent", pageable);
+
+            // Then
+            assertThat(result.getContent()).extracting(AuditLogResponse::id).containsExactly(auditLogId);
+        }
+
+        @Test
+        @DisplayName("Should drop a requested sort, the trail is ordered by timestamp")
+        void shouldDropRequestedSort() {
+            // Given
+            UUID storyId = UUID.randomUUID();
+            Pageable pageable = PageRequest.of(2, 20, Sort.by("userId"));
+            when(auditLogRepository.findStoryAuditTrail(storyId.toString(), PageRequest.of(2, 20)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+            // When
+            Page<AuditLogResponse> result = auditService.getStoryAuditTrail(storyId, pageable);
+
+            // Then
+            assertThat(result.getContent()).isEmpty();
+            verify(auditLogRepository).findStoryAuditTrail(storyId.toString(), PageRequest.of(2, 20));
+        }
+    }
+
     @Nested
     @DisplayName("searchAuditLogs Tests")
     class SearchAuditLogsTests {
@@ -5,6 +5,8 @@ import com.lufthansa.planning_poker.audit.infrastructure.persistence.entity.Audi
 import com.lufthansa.planning_poker.audit.infrastructure.persistence.entity.AuditLogEntity.AuditAction;
 import com.lufthansa.planning_poker.audit.infrastructure.persistence.repository.JpaAuditLogRepository;
 import com.lufthansa.planning_poker.common.event.*;
+import com.lufthansa.planning_poker.common.messaging.KafkaListenerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -30,13 +32,16 @@ class AuditEventConsumerTest {
     private JpaAuditLogRepository auditLogRepository;
 
     private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
     private AuditEventConsumer auditEventConsumer;
 
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.findAndRegisterModules();
-        auditEventConsumer = new AuditEventConsumer(auditLogRepository, objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        auditEventConsumer = new AuditEventConsumer(auditLogRepository, objectMapper,
+            new KafkaListenerMetrics(meterRegistry, KafkaTopics.AUDIT_CONSUMER_GROUP));
     }
 
     @Nested
@@ -105,6 +110,46 @@ class AuditEventConsumerTest {
             assertThat(captor.getValue().getAction()).isEqualTo(AuditAction.UPDATE);
         }
 
+        @Test
+        @DisplayName("Should save audit log for UserJoinedRoomEvent and UserLeftRoomEvent")
+        void shouldSaveAuditLogForJoinAndLeave() {
+            // Given
+            UUID roomId = UUID.randomUUID();
+            UserJoinedRoomEvent joined = UserJoinedRoomEvent.builder()
+                    .eventId(UUID.randomUUID())
+                    .eventType("UserJoinedRoomEvent")
+                    .roomId(roomId)
+                    .userId("user-1")
+                    .userName("Participant")
+                    .joinMethod("SHORT_CODE")
+                    .triggeredBy("user-1")
+                    .timestamp(Instant.now())
+                    .build();
+            UserLeftRoomEvent left = UserLeftRoomEvent.builder()
+                    .eventId(UUID.randomUUID())
+                    .eventType("UserLeftRoomEvent")
+                    .roomId(roomId)
+                    .userId("user-1")
+                    .userName("Participant")
+                    .triggeredBy("user-1")
+                    .timestamp(Instant.now())
+                    .build();
+
+            when(auditLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+            // When
+            auditEventConsumer.consumeRoomEvents(joined);
+            auditEventConsumer.consumeRoomEvents(left);
+
+            // Then
+            ArgumentCaptor<AuditLogEntity> captor = ArgumentCaptor.forClass(AuditLogEntity.class);
+            verify(auditLogRepository, times(2)).save(captor.capture());
+            assertThat(captor.getAllValues()).extracting(AuditLogEntity::getAction)
+                    .containsExactly(AuditAction.JOIN, AuditAction.LEAVE);
+            assertThat(captor.getAllValues()).extracting(AuditLogEntity::getEntityId)
+                    .containsOnly(roomId.toString());
+        }
+
         @Test
         @DisplayName("Should save audit log for RoomDeletedEvent")
         void shouldSaveAuditLogForRoomDeleted() {
@@ -336,6 +381,23 @@ class AuditEventConsumerTest {
             // Then
             verify(auditLogRepository).save(any());
         }
+
+        @Test
+        @DisplayName("Should count swallowed failures per topic")
+        void shouldCountSwallowedFailures() {
+            // Given
+            RoomCreatedEvent event = createRoomCreatedEvent();
+            when(auditLogRepository.save(any())).thenThrow(new IllegalStateException("Database error"));
+
+            // When
+            auditEventConsumer.consumeRoomEvents(event);
+
+            // Then
+            assertThat(meterRegistry.get("pp.kafka.listener.errors")
+                .tags("group", KafkaTopics.AUDIT_CONSUMER_GROUP, "topic", KafkaTopics.ROOM_EVENTS,
+                    "exception", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+        }
     }
 
     @Nested
@@ -0,0 +1,83 @@
+package com.lufthansa.planning_poker.benchmarks.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lufthansa.planning_poker.audit.infrastructure.messaging.AuditEventConsumer;
+import com.lufthansa.planning_poker.audit.infrastructure.persistence.repository.JpaAuditLogRepository;
+import com.lufthansa.planning_poker.benchmarks.common.SampleEvents;
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.messaging.KafkaListenerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AuditEventConsumer} turning an event into an audit log entry, including the JSON
+ * serialization of the event data. The repository only counts saves, so the figures exclude
+ * the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditEventConsumerBenchmark {
+
+    @Param({"ROOM_CREATED", "STORY_UPDATED", "VOTE_CAST", "VOTING_FINISHED"})
+    public SampleEvents event;
+
+    private AuditEventConsumer consumer;
+    private BaseEvent instance;
+    private long saved;
+
+    @Setup
+    public void setUp() {
+        JpaAuditLogRepository repository = (JpaAuditLogRepository) Proxy.newProxyInstance(
+            JpaAuditLogRepository.class.getClassLoader(),
+            new Class<?>[] {JpaAuditLogRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("save")) {
+                    saved++;
+                    return args[0];
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        consumer = new AuditEventConsumer(repository, objectMapper,
+            new KafkaListenerMetrics(new SimpleMeterRegistry(), KafkaTopics.AUDIT_CONSUMER_GROUP));
+        instance = event.create();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (saved == 0) {
+            throw new IllegalStateException("No audit log entry was saved for " + event);
+        }
+    }
+
+    @Benchmark
+    public void processEvent() {
+        switch (event) {
+            case ROOM_CREATED -> consumer.consumeRoomEvents(instance);
+            case STORY_UPDATED -> consumer.consumeStoryEvents(instance);
+            default -> consumer.consumeVoteEvents(instance);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.lufthansa.planning_poker.benchmarks.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of every pp-common event, polymorphic through {@link BaseEvent}
+ * as on the Kafka topics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param
+    public SampleEvents event;
+
+    private ObjectMapper objectMapper;
+    private BaseEvent instance;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        instance = event.create();
+        json = objectMapper.writeValueAsBytes(instance);
+
+        BaseEvent roundTrip = objectMapper.readValue(json, BaseEvent.class);
+        if (!instance.equals(roundTrip)) {
+            throw new IllegalStateException(event + " does not survive a JSON round trip: " + roundTrip);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(instance);
+    }
+
+    @Benchmark
+    public BaseEvent deserialize() throws IOException {
+        return objectMapper.readValue(json, BaseEvent.class);
+    }
+}
@@ -0,0 +1,185 @@
+package com.lufthansa.planning_poker.benchmarks.common;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.RoomCreatedEvent;
+import com.lufthansa.planning_poker.common.event.RoomDeletedEvent;
+import com.lufthansa.planning_poker.common.event.RoomSnapshotEvent;
+import com.lufthansa.planning_poker.common.event.RoomUpdatedEvent;
+import com.lufthansa.planning_poker.common.event.StoriesImportedEvent;
+import com.lufthansa.planning_poker.common.event.StoryCreatedEvent;
+import com.lufthansa.planning_poker.common.event.StoryDeletedEvent;
+import com.lufthansa.planning_poker.common.event.StoryUpdatedEvent;
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.common.event.UserLeftRoomEvent;
+import com.lufthansa.planning_poker.common.event.VoteCastEvent;
+import com.lufthansa.planning_poker.common.event.VotingFinishedEvent;
+import com.lufthansa.planning_poker.common.event.VotingStartedEvent;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * A realistic instance of every pp-common event.
+ * New events must be added here so their (de)serialization is benchmarked too.
+ */
+public enum SampleEvents {
+
+    ROOM_CREATED(() -> RoomCreatedEvent.builder()
+        .roomId(UUID.randomUUID())
+        .roomName("Sprint 42 Planning")
+        .description("Seat selection and baggage rules")
+        .deckType("FIBONACCI")
+        .deckValues(List.of("0", "1", "2", "3", "5", "8", "13", "21", "34", "55", "89", "?"))
+        .shortCode("AB12CD34")
+        .moderatorId("moderator-1")
+        .moderatorName("Moderator")
+        .build()),
+
+    ROOM_UPDATED(() -> RoomUpdatedEvent.builder()
+        .roomId(UUID.randomUUID())
+        .roomName("Sprint 42 Planning (2)")
+        .description("Seat selection and baggage rules")
+        .previousName("Sprint 42 Planning")
+        .build()),
+
+    ROOM_DELETED(() -> RoomDeletedEvent.builder()
+        .roomId(UUID.randomUUID())
+        .roomName("Sprint 42 Planning")
+        .reason("Sprint closed")
+        .build()),
+
+    ROOM_SNAPSHOT(() -> RoomSnapshotEvent.builder()
+        .roomId(UUID.randomUUID())
+        .name("Sprint 42 Planning")
+        .description("Seat selection and baggage rules")
+        .shortCode("AB12CD34")
+        .deckType("FIBONACCI")
+        .deckValues(List.of("0", "1", "2", "3", "5", "8", "13", "21", "34", "55", "89", "?"))
+        .moderatorId("moderator-1")
+        .moderatorName("Moderator")
+        .active(true)
+        .stories(storySnapshots(30))
+        .participants(participantSnapshots(12))
+        .build()),
+
+    STORY_CREATED(() -> StoryCreatedEvent.builder()
+        .storyId(UUID.randomUUID())
+        .roomId(UUID.randomUUID())
+        .title("LH-101: Implement seat selection")
+        .description("As a passenger I want to pick my seat during check-in")
+        .jiraLink("https://jira.example.com/browse/LH-101")
+        .displayOrder(3)
+        .build()),
+
+    STORIES_IMPORTED(() -> StoriesImportedEvent.builder()
+        .roomId(UUID.randomUUID())
+        .stories(importedStories(50))
+        .build()),
+
+    STORY_UPDATED(() -> StoryUpdatedEvent.builder()
+        .storyId(UUID.randomUUID())
+        .roomId(UUID.randomUUID())
+        .title("LH-101: Implement seat selection v2")
+        .description("As a passenger I want to pick my seat during check-in")
+        .jiraLink("https://jira.example.com/browse/LH-101")
+        .previousTitle("LH-101: Implement seat selection")
+        .build()),
+
+    STORY_DELETED(() -> StoryDeletedEvent.builder()
+        .storyId(UUID.randomUUID())
+        .roomId(UUID.randomUUID())
+        .title("LH-101: Implement seat selection")
+        .build()),
+
+    USER_JOINED_ROOM(() -> UserJoinedRoomEvent.builder()
+        .roomId(UUID.randomUUID())
+        .userId("user-1")
+        .userName("Participant")
+        .userEmail("participant@example.com")
+        .joinMethod("INVITE_LINK")
+        .build()),
+
+    USER_LEFT_ROOM(() -> UserLeftRoomEvent.builder()
+        .roomId(UUID.randomUUID())
+        .userId("user-1")
+        .userName("Participant")
+        .build()),
+
+    VOTE_CAST(() -> VoteCastEvent.builder()
+        .voteId(UUID.randomUUID())
+        .storyId(UUID.randomUUID())
+        .roomId(UUID.randomUUID())
+        .userId("user-1")
+        .userName("Participant")
+        .value("8")
+        .isUpdate(false)
+        .build()),
+
+    VOTING_STARTED(() -> VotingStartedEvent.builder()
+        .storyId(UUID.randomUUID())
+        .roomId(UUID.randomUUID())
+        .storyTitle("LH-101: Implement seat selection")
+        .build()),
+
+    VOTING_FINISHED(() -> VotingFinishedEvent.builder()
+        .storyId(UUID.randomUUID())
+        .roomId(UUID.randomUUID())
+        .storyTitle("LH-101: Implement seat selection")
+        .averageScore(new BigDecimal("6.50"))
+        .finalEstimate("8")
+        .totalVotes(12)
+        .votes(voteSummaries(12))
+        .build());
+
+    private final Supplier<BaseEvent> factory;
+
+    SampleEvents(Supplier<BaseEvent> factory) {
+        this.factory = factory;
+    }
+
+    /** A new, initialized instance of the event. */
+    public BaseEvent create() {
+        BaseEvent event = factory.get();
+        event.initialize("user-1", "Participant");
+        return event;
+    }
+
+    private static List<StoriesImportedEvent.ImportedStory> importedStories(int count) {
+        List<StoriesImportedEvent.ImportedStory> stories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stories.add(new StoriesImportedEvent.ImportedStory(UUID.randomUUID(), "LH-" + (200 + i) + ": Backlog item " + i,
+                "https://jira.example.com/browse/LH-" + (200 + i), i + 1));
+        }
+        return stories;
+    }
+
+    private static List<RoomSnapshotEvent.StorySnapshot> storySnapshots(int count) {
+        List<RoomSnapshotEvent.StorySnapshot> stories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stories.add(new RoomSnapshotEvent.StorySnapshot(UUID.randomUUID(), "LH-" + (200 + i) + ": Backlog item " + i,
+                "https://jira.example.com/browse/LH-" + (200 + i), i < 10 ? "COMPLETED" : "PENDING", i + 1,
+                i < 10 ? "5" : null, i < 10 ? new BigDecimal("5.33") : null));
+        }
+        return stories;
+    }
+
+    private static List<RoomSnapshotEvent.ParticipantSnapshot> participantSnapshots(int count) {
+        List<RoomSnapshotEvent.ParticipantSnapshot> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            participants.add(new RoomSnapshotEvent.ParticipantSnapshot("user-" + i, "Participant " + i,
+                i == 0 ? "MODERATOR" : "VOTER"));
+        }
+        return participants;
+    }
+
+    private static List<VotingFinishedEvent.VoteSummary> voteSummaries(int count) {
+        List<VotingFinishedEvent.VoteSummary> votes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            votes.add(new VotingFinishedEvent.VoteSummary("user-" + i, "Participant " + i, String.valueOf(i % 5 + 3)));
+        }
+        return votes;
+    }
+}
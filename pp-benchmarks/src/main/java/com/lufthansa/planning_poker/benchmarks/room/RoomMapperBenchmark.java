@@ -0,0 +1,104 @@
+package com.lufthansa.planning_poker.benchmarks.room;
+
+import com.lufthansa.planning_poker.room.application.dto.response.RoomResponse;
+import com.lufthansa.planning_poker.room.application.mapper.RoomMapper;
+import com.lufthansa.planning_poker.room.application.mapper.RoomMapperImpl;
+import com.lufthansa.planning_poker.room.domain.model.DeckType;
+import com.lufthansa.planning_poker.room.domain.model.ParticipantRole;
+import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomParticipantEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct {@link RoomMapper#toResponse} on rooms with many participants and stories, the
+ * response of {@code GET /api/v1/rooms/{id}}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int participants;
+
+    @Param({"20", "500"})
+    public int stories;
+
+    private final RoomMapper mapper = new RoomMapperImpl();
+    private RoomEntity room;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        room = RoomEntity.builder()
+            .id(UUID.randomUUID())
+            .name("Sprint 42 Planning")
+            .description("Seat selection and baggage rules")
+            .deckType(DeckType.FIBONACCI)
+            .deckValues(List.of("0", "1", "2", "3", "5", "8", "13", "21", "34", "55", "89", "?"))
+            .moderatorId("moderator-1")
+            .moderatorName("Moderator")
+            .shortCode("AB12CD34")
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+
+        for (int i = 0; i < participants; i++) {
+            room.addParticipant(RoomParticipantEntity.builder()
+                .id(UUID.randomUUID())
+                .userId("user-" + i)
+                .userName("Participant " + i)
+                .userEmail("participant" + i + "@example.com")
+                .role(i == 0 ? ParticipantRole.MODERATOR : ParticipantRole.VOTER)
+                .online(i % 2 == 0)
+                .joinedAt(now)
+                .lastSeenAt(now)
+                .build());
+        }
+        for (int i = 0; i < stories; i++) {
+            room.addStory(StoryEntity.builder()
+                .id(UUID.randomUUID())
+                .title("LH-" + i + ": Story " + i)
+                .description("As a passenger I want feature " + i)
+                .jiraLink("https://jira.example.com/browse/LH-" + i)
+                .status(i % 3 == 0 ? StoryStatus.COMPLETED : StoryStatus.PENDING)
+                .averageScore(i % 3 == 0 ? new BigDecimal("5.50") : null)
+                .finalEstimate(i % 3 == 0 ? "5" : null)
+                .displayOrder(i)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public RoomResponse toResponse() {
+        return mapper.toResponse(room);
+    }
+
+    @Benchmark
+    public RoomResponse toResponseWithoutDetails() {
+        return mapper.toResponseWithoutDetails(room);
+    }
+}
@@ -0,0 +1,141 @@
+package com.lufthansa.planning_poker.benchmarks.vote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.vote.api.sse.RoomEventStreamRegistry;
+import com.lufthansa.planning_poker.vote.api.websocket.StompSubscriptionTracker;
+import com.lufthansa.planning_poker.vote.api.websocket.VotingWebSocketHandler;
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEventLog;
+import com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one room broadcast through the simple STOMP broker, fanned out to {@code subscribers}
+ * sessions of the room.
+ * <p>
+ * {@code broadcastVoteResults} is the handler as shipped: the payload is serialized once and
+ * the bytes are shared by the broker, the SSE streams and the replay buffer.
+ * {@code convertPerDestination} is the previous approach for comparison, converting the payload
+ * in the template and again for the SSE streams.
+ * <p>
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes per broadcast).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({"200"})
+    public int subscribers;
+
+    @Param({"12"})
+    public int votes;
+
+    private final UUID roomId = UUID.randomUUID();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private SimpleBrokerMessageHandler broker;
+    private SimpMessagingTemplate messagingTemplate;
+    private RoomEventStreamRegistry streamRegistry;
+    private VotingWebSocketHandler handler;
+    private VoteResultsResponse results;
+    private long delivered;
+
+    @Setup
+    public void setUp() {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        // Stands in for the per-session STOMP encoding, which is the same for both approaches
+        clientOutbound.subscribe(message -> delivered++);
+
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+        broker.start();
+        for (int i = 0; i < subscribers; i++) {
+            String sessionId = "session-" + i;
+            broker.handleMessage(sessionMessage(SimpMessageType.CONNECT, sessionId, null));
+            broker.handleMessage(sessionMessage(SimpMessageType.SUBSCRIBE, sessionId, "/topic/room/" + roomId + "/results"));
+        }
+
+        messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        streamRegistry = new RoomEventStreamRegistry(
+            new RoomEventLog(64, Duration.ofMinutes(30)), Duration.ofMinutes(30), 256, 1);
+        handler = new VotingWebSocketHandler(messagingTemplate, streamRegistry, objectMapper,
+            new StompSubscriptionTracker(), new VoteMetrics(new SimpleMeterRegistry()));
+        results = results(votes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (delivered == 0) {
+            throw new IllegalStateException("No message reached the subscribers");
+        }
+        broker.stop();
+        streamRegistry.shutdown();
+    }
+
+    @Benchmark
+    public void broadcastVoteResults() {
+        handler.broadcastVoteResults(roomId, results);
+    }
+
+    @Benchmark
+    public String convertPerDestination() throws Exception {
+        Map<String, Object> payload = Map.of(
+            "storyId", results.storyId(),
+            "type", "VOTES_REVEALED",
+            "results", results
+        );
+        messagingTemplate.convertAndSend("/topic/room/" + roomId + "/results", payload);
+        return objectMapper.writeValueAsString(payload);
+    }
+
+    private Message<byte[]> sessionMessage(SimpMessageType type, String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        if (destination != null) {
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static VoteResultsResponse results(int votes) {
+        List<VoteResultsResponse.VoteDetail> details = new ArrayList<>(votes);
+        for (int i = 0; i < votes; i++) {
+            details.add(new VoteResultsResponse.VoteDetail("user-" + i, "User " + i, String.valueOf(i % 5 + 1)));
+        }
+        return new VoteResultsResponse(UUID.randomUUID(), UUID.randomUUID(), votes,
+            new BigDecimal("3.00"), null, false, details);
+    }
+}
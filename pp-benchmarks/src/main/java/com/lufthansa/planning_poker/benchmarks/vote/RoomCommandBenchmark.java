@@ -0,0 +1,221 @@
+package com.lufthansa.planning_poker.benchmarks.vote;
+
+import com.lufthansa.planning_poker.vote.application.command.RoomCommandExecutor;
+import com.lufthansa.planning_poker.vote.application.state.RoomVoteState;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VoteEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Votes cast by 8 threads into {@code rooms} rooms of 12 participants, with a reset of the
+ * story every 12 commands on average so new votes keep being inserted.
+ * <p>
+ * The votes table is simulated in memory with its unique key on (story, user); every statement
+ * parks the thread for {@code statementMicros}, standing in for the database round trip.
+ * {@code direct} is the shipped default: look up the vote, insert or update it, count the
+ * votes, and retry the whole command when a concurrent insert of the same user won the unique
+ * key. {@code mailbox} runs the same commands on the {@link RoomCommandExecutor} with the votes
+ * in {@link RoomVoteState}: one load per story, one write per vote, no conflicts.
+ * <p>
+ * {@code conflicts} is the number of retried commands (unique key violations) per operation.
+ * With a single room the mailbox trades parallelism inside the room for the saved statements
+ * and retries; with many rooms the rooms run side by side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RoomCommandBenchmark {
+
+    private static final int PARTICIPANTS = 12;
+
+    @Param({"1", "64"})
+    public int rooms;
+
+    @Param({"0", "100"})
+    public long statementMicros;
+
+    private final VoteTable table = new VoteTable();
+    private RoomVoteState roomVotes;
+    private RoomCommandExecutor executor;
+    private UUID[] roomIds;
+    private UUID[] storyIds;
+    private String[] userIds;
+
+    @Setup
+    public void setUp() {
+        roomVotes = new RoomVoteState();
+        executor = new RoomCommandExecutor(roomVotes, new SimpleMeterRegistry(), true, 8, Duration.ofSeconds(30), 32);
+        roomIds = new UUID[rooms];
+        storyIds = new UUID[rooms];
+        for (int i = 0; i < rooms; i++) {
+            roomIds[i] = UUID.randomUUID();
+            storyIds[i] = UUID.randomUUID();
+        }
+        userIds = new String[PARTICIPANTS];
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            userIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public int direct(Conflicts counters) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int room = random.nextInt(rooms);
+        UUID storyId = storyIds[room];
+        if (random.nextInt(PARTICIPANTS) == 0) {
+            table.deleteStory(storyId, statementMicros);
+            return 0;
+        }
+        String userId = userIds[random.nextInt(PARTICIPANTS)];
+        String value = Integer.toString(random.nextInt(13));
+        while (true) {
+            VoteEntity existing = table.find(storyId, userId, statementMicros);
+            if (existing != null) {
+                table.update(existing, value, statementMicros);
+                return table.count(storyId, statementMicros);
+            }
+            if (table.insert(vote(roomIds[room], storyId, userId, value), statementMicros)) {
+                return table.count(storyId, statementMicros);
+            }
+            // Unique key violation: the transaction is rolled back and the command retried
+            counters.conflicts++;
+        }
+    }
+
+    @Benchmark
+    public int mailbox(Conflicts counters) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int room = random.nextInt(rooms);
+        UUID roomId = roomIds[room];
+        UUID storyId = storyIds[room];
+        if (random.nextInt(PARTICIPANTS) == 0) {
+            return executor.execute(roomId, () -> {
+                table.deleteStory(storyId, statementMicros);
+                roomVotes.forget(roomId, storyId);
+                return 0;
+            });
+        }
+        String userId = userIds[random.nextInt(PARTICIPANTS)];
+        String value = Integer.toString(random.nextInt(13));
+        return executor.execute(roomId, () -> {
+            Map<String, VoteEntity> votes =
+                roomVotes.votesOf(roomId, storyId, id -> table.findAll(id, statementMicros));
+            VoteEntity existing = votes.get(userId);
+            if (existing != null) {
+                table.update(existing, value, statementMicros);
+            } else {
+                VoteEntity vote = vote(roomId, storyId, userId, value);
+                if (!table.insert(vote, statementMicros)) {
+                    counters.conflicts++;
+                    throw new IllegalStateException("Duplicate vote of " + userId);
+                }
+                votes.put(userId, vote);
+            }
+            return votes.size();
+        });
+    }
+
+    private static VoteEntity vote(UUID roomId, UUID storyId, String userId, String value) {
+        return VoteEntity.builder()
+            .id(UUID.randomUUID())
+            .roomId(roomId)
+            .storyId(storyId)
+            .userId(userId)
+            .value(value)
+            .build();
+    }
+
+    /**
+     * The votes table with its unique key on (story, user).
+     */
+    private static final class VoteTable {
+
+        private final ConcurrentHashMap<UUID, ConcurrentHashMap<String, VoteEntity>> stories =
+            new ConcurrentHashMap<>();
+
+        VoteEntity find(UUID storyId, String userId, long micros) {
+            roundTrip(micros);
+            return votesOf(storyId).get(userId);
+        }
+
+        List<VoteEntity> findAll(UUID storyId, long micros) {
+            roundTrip(micros);
+            return new ArrayList<>(votesOf(storyId).values());
+        }
+
+        boolean insert(VoteEntity vote, long micros) {
+            roundTrip(micros);
+            return votesOf(vote.getStoryId()).putIfAbsent(vote.getUserId(), vote) == null;
+        }
+
+        void update(VoteEntity vote, String value, long micros) {
+            roundTrip(micros);
+            vote.setValue(value);
+        }
+
+        int count(UUID storyId, long micros) {
+            roundTrip(micros);
+            return votesOf(storyId).size();
+        }
+
+        void deleteStory(UUID storyId, long micros) {
+            roundTrip(micros);
+            stories.remove(storyId);
+        }
+
+        private ConcurrentHashMap<String, VoteEntity> votesOf(UUID storyId) {
+            return stories.computeIfAbsent(storyId, id -> new ConcurrentHashMap<>());
+        }
+
+        private static void roundTrip(long micros) {
+            if (micros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.lufthansa.planning_poker.benchmarks.vote;
+
+import com.lufthansa.planning_poker.vote.application.state.RoomMembers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vote authorization against the members of one room: {@link RoomMembers} as shipped in the
+ * vote service's membership view, and a {@code HashSet<String>} of the user ids for comparison.
+ * <p>
+ * {@code members} user ids are Keycloak subjects ({@code uuid}) or other strings ({@code name}).
+ * Setup prints the retained size of one room for both layouts, measured with JOL; the user id
+ * strings count for the hash set, which keeps them alive, but not for the UUID layout, which
+ * does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomMembershipBenchmark {
+
+    @Param({"12", "50", "500"})
+    public int members;
+
+    @Param({"uuid", "name"})
+    public String idKind;
+
+    private String[] userIds;
+    private RoomMembers compact;
+    private Set<String> hashSet;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        userIds = new String[members];
+        compact = RoomMembers.EMPTY;
+        hashSet = new HashSet<>();
+        for (int i = 0; i < members; i++) {
+            userIds[i] = idKind.equals("uuid") ? UUID.randomUUID().toString() : "load-user-" + i;
+            compact = compact.with(userIds[i]);
+            hashSet.add(userIds[i]);
+        }
+        for (String userId : userIds) {
+            if (!compact.contains(userId)) {
+                throw new IllegalStateException("Member " + userId + " not found");
+            }
+        }
+
+        long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+        long hashSetBytes = GraphLayout.parseInstance(hashSet).totalSize();
+        System.out.printf("%nRetained bytes per room with %d %s members: RoomMembers %d (%d per member), "
+                + "HashSet %d (%d per member)%n",
+            members, idKind, compactBytes, compactBytes / members, hashSetBytes, hashSetBytes / members);
+    }
+
+    @Benchmark
+    public boolean containsCompact() {
+        return compact.contains(nextUserId());
+    }
+
+    @Benchmark
+    public boolean containsHashSet() {
+        return hashSet.contains(nextUserId());
+    }
+
+    /**
+     * A join, which copies the arrays of the room.
+     */
+    @Benchmark
+    public RoomMembers joinCompact() {
+        return compact.with("joining-user");
+    }
+
+    private String nextUserId() {
+        String userId = userIds[next];
+        next = next + 1 == userIds.length ? 0 : next + 1;
+        return userId;
+    }
+}
@@ -0,0 +1,66 @@
+package com.lufthansa.planning_poker.benchmarks.vote;
+
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
+import com.lufthansa.planning_poker.vote.application.service.VoteResultsCalculator;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VoteEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result calculation on reveal and finish ({@code VoteService.revealVotes/finishVoting}),
+ * with a deck mix of numeric and non-numeric cards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteResultsBenchmark {
+
+    private static final String[] CARDS = {"1", "2", "3", "5", "8", "13", "0.5", "?", "☕"};
+
+    @Param({"5", "50", "500"})
+    public int votes;
+
+    @Param({"false", "true"})
+    public boolean consensus;
+
+    private final UUID storyId = UUID.randomUUID();
+    private final UUID roomId = UUID.randomUUID();
+    private List<VoteEntity> entities;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>(votes);
+        for (int i = 0; i < votes; i++) {
+            entities.add(VoteEntity.builder()
+                .id(UUID.randomUUID())
+                .storyId(storyId)
+                .roomId(roomId)
+                .userId("user-" + i)
+                .userName("Participant " + i)
+                .value(consensus ? "8" : CARDS[i % CARDS.length])
+                .build());
+        }
+    }
+
+    @Benchmark
+    public VoteResultsResponse calculateResults() {
+        return VoteResultsCalculator.calculate(storyId, roomId, entities);
+    }
+}
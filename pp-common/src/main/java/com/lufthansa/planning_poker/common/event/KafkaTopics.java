@@ -13,6 +13,12 @@ public final class KafkaTopics {
     // Room Service publishes to these
     public static final String ROOM_EVENTS = "planning-poker.room-events";
     public static final String STORY_EVENTS = "planning-poker.story-events";
+    // Compacted, latest status per story id
+    public static final String STORY_STATE = "planning-poker.story-state";
+    // Compacted, one UserJoinedRoomEvent per room member keyed by "roomId:userId"
+    public static final String ROOM_MEMBERSHIP = "planning-poker.room-membership";
+    // Compacted, latest RoomSnapshotEvent per room id
+    public static final String ROOM_SNAPSHOTS = "planning-poker.room-snapshots";
     
     // Vote Service publishes to these
     public static final String VOTE_EVENTS = "planning-poker.vote-events";
@@ -20,5 +26,6 @@ public final class KafkaTopics {
     // Consumer groups
     public static final String AUDIT_CONSUMER_GROUP = "audit-service-group";
     public static final String VOTE_CONSUMER_GROUP = "vote-service-group";
+    public static final String ROOM_CONSUMER_GROUP = "room-service-group";
 }
 
@@ -0,0 +1,60 @@
+package com.lufthansa.planning_poker.common.event;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full state of a room after a change, published to the compacted {@link KafkaTopics#ROOM_SNAPSHOTS}
+ * topic keyed by room id. A deleted room is removed with a tombstone.
+ * <p>
+ * Services that need room details keep the latest snapshot of every room in a
+ * {@link com.lufthansa.planning_poker.common.messaging.CompactedTopicView} instead of calling the
+ * room service. Story descriptions are left out to keep snapshots small.
+ * </p>
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class RoomSnapshotEvent extends BaseEvent {
+    private UUID roomId;
+    private String name;
+    private String description;
+    private String shortCode;
+    private String deckType;
+    private List<String> deckValues;
+    private String moderatorId;
+    private String moderatorName;
+    private boolean active;
+    private List<StorySnapshot> stories;
+    private List<ParticipantSnapshot> participants;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StorySnapshot {
+        private UUID storyId;
+        private String title;
+        private String jiraLink;
+        private String status;
+        private Integer displayOrder;
+        private String finalEstimate;
+        private BigDecimal averageScore;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ParticipantSnapshot {
+        private String userId;
+        private String userName;
+        private String role;
+    }
+}
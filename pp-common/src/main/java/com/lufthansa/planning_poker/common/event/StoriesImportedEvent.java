@@ -0,0 +1,33 @@
+package com.lufthansa.planning_poker.common.event;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stories added to a room in one bulk import, published once instead of a
+ * {@link StoryCreatedEvent} per story. Descriptions are left out to keep the event small;
+ * consumers that need them read the story from the room service.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class StoriesImportedEvent extends BaseEvent {
+    private UUID roomId;
+    private List<ImportedStory> stories;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ImportedStory {
+        private UUID storyId;
+        private String title;
+        private String jiraLink;
+        private Integer displayOrder;
+    }
+}
@@ -0,0 +1,27 @@
+package com.lufthansa.planning_poker.common.event;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * Current status of a story, published to the compacted {@link KafkaTopics#STORY_STATE} topic
+ * keyed by story id. A deleted story is removed with a tombstone.
+ * <p>
+ * Consumers order the states of a story by {@code votingRound} and, within a round, by status
+ * rather than by timestamp, since the services writing them do not share a clock.
+ * </p>
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class StoryStateEvent extends BaseEvent {
+    private UUID storyId;
+    private UUID roomId;
+    private String status;
+    // Times voting was started on the story, counted by the room service
+    private Integer votingRound;
+}
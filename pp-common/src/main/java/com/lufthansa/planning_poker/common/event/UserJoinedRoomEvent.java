@@ -5,6 +5,11 @@ import lombok.experimental.SuperBuilder;
 
 import java.util.UUID;
 
+/**
+ * A user became a participant of a room. Also published to the compacted
+ * {@link KafkaTopics#ROOM_MEMBERSHIP} topic under {@link #membershipKey}; leaving the room or
+ * deleting it removes the record with a tombstone.
+ */
 @Data
 @SuperBuilder
 @NoArgsConstructor
@@ -15,6 +20,10 @@ public class UserJoinedRoomEvent extends BaseEvent {
     private String userId;
     private String userName;
     private String userEmail;
-    private String joinMethod;  // INVITE_LINK, SHORT_CODE, EMAIL
+    private String joinMethod;  // INVITE_LINK, SHORT_CODE, EMAIL, CREATOR
+
+    public static String membershipKey(UUID roomId, String userId) {
+        return roomId + ":" + userId;
+    }
 }
 
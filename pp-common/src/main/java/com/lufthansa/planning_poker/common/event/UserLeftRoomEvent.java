@@ -0,0 +1,17 @@
+package com.lufthansa.planning_poker.common.event;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class UserLeftRoomEvent extends BaseEvent {
+    private UUID roomId;
+    private String userId;
+    private String userName;
+}
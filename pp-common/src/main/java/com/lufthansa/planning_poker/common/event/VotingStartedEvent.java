@@ -5,6 +5,10 @@ import lombok.experimental.SuperBuilder;
 
 import java.util.UUID;
 
+/**
+ * Voting was opened on a story. With a timebox the votes are revealed automatically once it
+ * has passed, counted from the event timestamp.
+ */
 @Data
 @SuperBuilder
 @NoArgsConstructor
@@ -14,5 +18,9 @@ public class VotingStartedEvent extends BaseEvent {
     private UUID storyId;
     private UUID roomId;
     private String storyTitle;
+    // Seconds until the votes are revealed automatically, null without a timebox
+    private Integer timeboxSeconds;
+    // Times voting was started on the story, this one included
+    private Integer votingRound;
 }
 
@@ -1,4 +1,4 @@
-package com.lufthansa.planning_poker.room.api.exception;
+package com.lufthansa.planning_poker.common.exception;
 
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
@@ -40,5 +40,9 @@ public class BusinessException extends RuntimeException {
     public static BusinessException badRequest(String message) {
         return new BusinessException(message, "BAD_REQUEST", HttpStatus.BAD_REQUEST);
     }
+
+    public static BusinessException unavailable(String message) {
+        return new BusinessException(message, "SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
 
@@ -1,4 +1,4 @@
-package com.lufthansa.planning_poker.room.api.exception;
+package com.lufthansa.planning_poker.common.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -0,0 +1,295 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers a request sent again with the same {@value #HEADER} header with the response of the
+ * first one, so a client retrying a timed-out POST does not create, publish and audit the same
+ * thing twice.
+ * <p>
+ * Only the configured endpoints honour the header, and only requests carrying it are tracked.
+ * Keys are scoped to the caller. The first request reserves the key; a successful (2xx) response
+ * is stored and replayed with {@value #REPLAYED_HEADER}{@code : true} for the key's TTL, any other
+ * outcome releases the key so the client can retry. While the first request runs, a retry gets
+ * {@code 409}; a key reused for a different request (method, path or body) gets {@code 422}.
+ * When the store is unavailable requests pass through without idempotency.
+ * </p>
+ * <p>
+ * Runs after Spring Security, so the caller is known.
+ * </p>
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<Endpoint> endpoints;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Counter> outcomes = new LinkedHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.endpoints = properties.getEndpoints().stream().map(Endpoint::parse).toList();
+        for (String outcome : List.of("stored", "replayed", "in-progress", "mismatch", "failed", "bypassed")) {
+            outcomes.put(outcome, Counter.builder("pp.idempotency.requests")
+                .description("Requests with an Idempotency-Key by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return endpoints.stream().noneMatch(endpoint ->
+            endpoint.method.equalsIgnoreCase(request.getMethod()) && pathMatcher.match(endpoint.pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "INVALID_IDEMPOTENCY_KEY",
+                HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes((int) properties.getMaxBodySize().toBytes() + 1);
+        if (body.length > properties.getMaxBodySize().toBytes()) {
+            outcomes.get("bypassed").increment();
+            chain.doFilter(new CachedBodyRequest(request,
+                new SequenceInputStream(new ByteArrayInputStream(body), request.getInputStream())), response);
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, new ByteArrayInputStream(body));
+
+        String key = caller(request) + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, body);
+        IdempotencyRecord existing;
+        try {
+            existing = store.reserve(key, fingerprint, properties.getInProgressTtl());
+        } catch (RuntimeException e) {
+            log.warn("Idempotency store unavailable, handling {} {} without it", request.getMethod(),
+                request.getRequestURI(), e);
+            outcomes.get("bypassed").increment();
+            chain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        if (existing != null) {
+            replay(existing, fingerprint, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(cachedRequest, cachingResponse);
+            if (cachingResponse.getStatus() / 100 == 2) {
+                stored = complete(key, new IdempotencyRecord(fingerprint, new IdempotencyRecord.StoredResponse(
+                    cachingResponse.getStatus(), cachingResponse.getContentType(),
+                    cachingResponse.getContentAsByteArray())));
+            }
+        } finally {
+            if (!stored) {
+                release(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private boolean complete(String key, IdempotencyRecord record) {
+        try {
+            store.complete(key, record, properties.getTtl());
+            outcomes.get("stored").increment();
+            return true;
+        } catch (RuntimeException e) {
+            // The request succeeded, only a retry of it will not be recognized
+            log.warn("Could not store the response for idempotency key {}", key, e);
+            return false;
+        }
+    }
+
+    private void replay(IdempotencyRecord existing, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            outcomes.get("mismatch").increment();
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED",
+                "The " + HEADER + " was already used for a different request");
+            return;
+        }
+        if (!existing.isCompleted()) {
+            outcomes.get("in-progress").increment();
+            response.setHeader("Retry-After", "1");
+            writeError(response, HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_USE",
+                "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+        outcomes.get("replayed").increment();
+        IdempotencyRecord.StoredResponse stored = existing.response();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void release(String key) {
+        outcomes.get("failed").increment();
+        try {
+            store.release(key);
+        } catch (RuntimeException e) {
+            // The reservation expires after the in-progress TTL
+            log.warn("Could not release idempotency key {}", key, e);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String errorCode, String message)
+            throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", Instant.now().toString());
+        error.put("status", status.value());
+        error.put("error", status.getReasonPhrase());
+        error.put("errorCode", errorCode);
+        error.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? principal.getName() : "anonymous";
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Endpoint(String method, String pattern) {
+
+        static Endpoint parse(String endpoint) {
+            String[] parts = endpoint.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Idempotent endpoint must be 'METHOD /path', was '" + endpoint + "'");
+            }
+            return new Endpoint(parts[0], parts[1]);
+        }
+    }
+
+    /**
+     * The request with its body read up front, so it can be hashed and still be read by the
+     * controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final InputStream body;
+
+        private CachedBodyRequest(HttpServletRequest request, InputStream body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream remaining = body;
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return remaining.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return remaining.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return remaining.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Cached request bodies are read synchronously");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
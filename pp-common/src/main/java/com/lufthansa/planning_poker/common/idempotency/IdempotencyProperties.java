@@ -0,0 +1,38 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replay of requests sent again with the same {@code Idempotency-Key} header.
+ */
+@Data
+@ConfigurationProperties(prefix = "planning-poker.idempotency")
+public class IdempotencyProperties {
+
+    public enum StoreType { MEMORY, REDIS }
+
+    private boolean enabled = false;
+
+    /** Endpoints honouring the header, as {@code METHOD /path/pattern}, e.g. {@code POST /api/v1/rooms/*}. */
+    private List<String> endpoints = new ArrayList<>();
+
+    private StoreType store = StoreType.MEMORY;
+
+    /** How long a response is replayed for retries of its key. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** How long a key stays reserved for a request that never completes, e.g. on a crash. */
+    private Duration inProgressTtl = Duration.ofMinutes(1);
+
+    /** Keys held by the in-memory store; the oldest give way first. */
+    private int maxEntries = 100_000;
+
+    /** Requests with a larger body are passed on without idempotency. */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+}
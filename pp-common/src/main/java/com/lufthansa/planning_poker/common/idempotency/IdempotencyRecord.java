@@ -0,0 +1,24 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * What is kept under an idempotency key: the fingerprint of the first request, and its response
+ * once it completed.
+ *
+ * @param fingerprint hash of method, path and body of the request that reserved the key
+ * @param response    the response to replay, {@code null} while the first request is running
+ */
+public record IdempotencyRecord(String fingerprint, StoredResponse response) {
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return response != null;
+    }
+
+    /**
+     * A successful response, replayed as it was sent.
+     */
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
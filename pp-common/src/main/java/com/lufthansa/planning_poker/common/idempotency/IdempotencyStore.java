@@ -0,0 +1,32 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Keeps the outcome of requests sent with an {@code Idempotency-Key}.
+ * <p>
+ * A key is first reserved for the request that arrived first, then completed with its response
+ * or released when it failed. Implementations must reserve atomically, so of two concurrent
+ * requests with the same key only one runs.
+ * </p>
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserves the key unless something is stored under it.
+     *
+     * @param ttl how long the reservation holds if the request never completes
+     * @return {@code null} if the key was reserved for the caller, else what is stored under it
+     */
+    IdempotencyRecord reserve(String key, String fingerprint, Duration ttl);
+
+    /**
+     * Stores the response of the request holding the reservation.
+     */
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Removes a reservation, so the request can be retried with the same key.
+     */
+    void release(String key);
+}
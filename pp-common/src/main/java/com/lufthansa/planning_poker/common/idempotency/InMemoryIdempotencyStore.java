@@ -0,0 +1,120 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link IdempotencyStore} of one instance, holding at most {@code maxEntries} keys.
+ * <p>
+ * Reservations and responses are kept for different TTLs, so one insertion order is not an
+ * expiry order. Keys are therefore queued per TTL, each queue in insertion and thus expiry
+ * order; expired keys at the heads of the queues are dropped on every write, and the key
+ * closest to expiry gives way when the store is full. Only retries reaching the same instance
+ * are recognized, which holds for a single instance.
+ * </p>
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+    private final LongSupplier nanoTime;
+    private final HashMap<String, Entry> entries = new HashMap<>();
+    // Keys put with the same TTL expire in the order they were put
+    private final HashMap<Duration, LinkedHashSet<String>> queues = new HashMap<>();
+
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, LongSupplier nanoTime) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The store must hold at least one key");
+        }
+        this.maxEntries = maxEntries;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public synchronized IdempotencyRecord reserve(String key, String fingerprint, Duration ttl) {
+        long now = nanoTime.getAsLong();
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return existing.record;
+        }
+        put(key, new IdempotencyRecord(fingerprint, null), ttl, now);
+        return null;
+    }
+
+    @Override
+    public synchronized void complete(String key, IdempotencyRecord record, Duration ttl) {
+        put(key, record, ttl, nanoTime.getAsLong());
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void put(String key, IdempotencyRecord record, Duration ttl, long now) {
+        // Re-queued at the tail, the new TTL counts from now
+        remove(key);
+        evict(now);
+        entries.put(key, new Entry(record, now + ttl.toNanos(), ttl));
+        queues.computeIfAbsent(ttl, queueTtl -> new LinkedHashSet<>()).add(key);
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            LinkedHashSet<String> queue = queues.get(removed.ttl);
+            queue.remove(key);
+            if (queue.isEmpty()) {
+                queues.remove(removed.ttl);
+            }
+        }
+    }
+
+    private void evict(long now) {
+        for (Iterator<LinkedHashSet<String>> queueIterator = queues.values().iterator(); queueIterator.hasNext(); ) {
+            LinkedHashSet<String> queue = queueIterator.next();
+            for (Iterator<String> iterator = queue.iterator(); iterator.hasNext(); ) {
+                String key = iterator.next();
+                if (!entries.get(key).isExpired(now)) {
+                    break;
+                }
+                iterator.remove();
+                entries.remove(key);
+            }
+            if (queue.isEmpty()) {
+                queueIterator.remove();
+            }
+        }
+        while (entries.size() >= maxEntries) {
+            remove(closestToExpiry());
+        }
+    }
+
+    private String closestToExpiry() {
+        String closest = null;
+        for (LinkedHashSet<String> queue : queues.values()) {
+            String head = queue.iterator().next();
+            if (closest == null || entries.get(head).expiresAt - entries.get(closest).expiresAt < 0) {
+                closest = head;
+            }
+        }
+        return closest;
+    }
+
+    private record Entry(IdempotencyRecord record, long expiresAt, Duration ttl) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * {@link IdempotencyStore} shared by all instances of a service, one Redis string per key that
+ * expires with the key's TTL. A reservation is a {@code SET NX}, so it is atomic across instances.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String prefix;
+
+    /**
+     * @param namespace separates the keys of the services sharing one Redis
+     */
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String namespace) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.prefix = PREFIX + namespace + ":";
+    }
+
+    @Override
+    public IdempotencyRecord reserve(String key, String fingerprint, Duration ttl) {
+        String reservation = write(new IdempotencyRecord(fingerprint, null));
+        // Retried once: the key may expire between the failed SET NX and the GET
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(prefix + key, reservation, ttl))) {
+                return null;
+            }
+            String existing = redisTemplate.opsForValue().get(prefix + key);
+            if (existing != null) {
+                return read(existing);
+            }
+        }
+        throw new IllegalStateException("Could not reserve idempotency key " + key);
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        redisTemplate.opsForValue().set(prefix + key, write(record), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(prefix + key);
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord read(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read idempotency record", e);
+        }
+    }
+}
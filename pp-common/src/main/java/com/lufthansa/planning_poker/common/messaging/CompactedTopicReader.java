@@ -0,0 +1,256 @@
+package com.lufthansa.planning_poker.common.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Reads a log-compacted topic from the beginning and then follows it, on its own thread, so that
+ * every instance of a service can rebuild the full state kept in the topic.
+ * <p>
+ * Unlike a consumer group member, the reader assigns itself all partitions and never commits
+ * offsets. It counts as loaded once it has read up to the end offsets seen when reading started;
+ * records after that are applied as they arrive. On a failure the reader reconnects after
+ * {@code retryBackoff} and reads the topic from the beginning again, so the handler must be
+ * idempotent. Records whose value cannot be deserialized are skipped.
+ * </p>
+ * <p>
+ * The defaults favour a fast initial load: large fetches and polls, no topic auto-creation
+ * (a compacted topic must not be created as a regular one). Any consumer property can be
+ * overridden through the builder.
+ * </p>
+ *
+ * @param <V> the record value type; {@code null} values are tombstones
+ * @see CompactedTopicView
+ */
+@Slf4j
+public final class CompactedTopicReader<V> implements AutoCloseable {
+
+    /**
+     * Receives the records of the topic, always on the reader thread.
+     */
+    public interface Handler<V> {
+
+        /**
+         * @param value the record value, {@code null} for a tombstone
+         */
+        void onRecord(String key, V value, Instant timestamp);
+
+        /**
+         * Reading starts from the beginning of the topic, on start and after every reconnect.
+         */
+        default void onReload() {
+        }
+
+        /**
+         * Reading caught up with the end offsets seen when it started.
+         */
+        default void onLoaded() {
+        }
+    }
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final String topic;
+    private final Handler<V> handler;
+    private final Map<String, Object> consumerProperties;
+    private final Function<Map<String, Object>, Consumer<String, V>> consumerFactory;
+    private final Duration retryBackoff;
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private volatile boolean running;
+    private volatile Consumer<String, V> consumer;
+    private volatile Duration loadDuration;
+    private Thread thread;
+
+    private CompactedTopicReader(Builder<V> builder) {
+        this.topic = builder.topic;
+        this.handler = builder.handler;
+        this.consumerProperties = Map.copyOf(builder.consumerProperties);
+        this.consumerFactory = builder.consumerFactory;
+        this.retryBackoff = builder.retryBackoff;
+    }
+
+    public static <V> Builder<V> builder(String topic, Deserializer<V> valueDeserializer, Handler<V> handler) {
+        return new Builder<>(topic, valueDeserializer, handler);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "compacted-" + topic);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits until the topic was read to its end once.
+     *
+     * @return false if it was not loaded within the timeout
+     */
+    public boolean awaitLoaded(Duration timeout) throws InterruptedException {
+        return loaded.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isLoaded() {
+        return loaded.getCount() == 0;
+    }
+
+    /**
+     * @return how long the first load took, or {@code null} while loading
+     */
+    public Duration loadDuration() {
+        return loadDuration;
+    }
+
+    public String topic() {
+        return topic;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Consumer<String, V> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            try (Consumer<String, V> kafkaConsumer = consumerFactory.apply(consumerProperties)) {
+                consumer = kafkaConsumer;
+                consume(kafkaConsumer);
+            } catch (WakeupException e) {
+                // Closing
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Reading compacted topic {} failed, restarting in {}", topic, retryBackoff, e);
+                sleep(retryBackoff);
+            }
+        }
+    }
+
+    private void consume(Consumer<String, V> kafkaConsumer) {
+        List<PartitionInfo> partitionInfos = kafkaConsumer.partitionsFor(topic);
+        if (partitionInfos == null || partitionInfos.isEmpty()) {
+            throw new IllegalStateException("Topic " + topic + " does not exist yet");
+        }
+        List<TopicPartition> partitions = partitionInfos.stream()
+            .map(partition -> new TopicPartition(topic, partition.partition()))
+            .toList();
+
+        long start = System.nanoTime();
+        kafkaConsumer.assign(partitions);
+        kafkaConsumer.seekToBeginning(partitions);
+        Map<TopicPartition, Long> endOffsets = kafkaConsumer.endOffsets(partitions);
+        handler.onReload();
+        boolean caughtUp = false;
+
+        while (running) {
+            try {
+                for (ConsumerRecord<String, V> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                    handler.onRecord(record.key(), record.value(), Instant.ofEpochMilli(record.timestamp()));
+                }
+            } catch (RecordDeserializationException e) {
+                log.warn("Skipping unreadable record of {} at offset {}", e.topicPartition(), e.offset(), e);
+                kafkaConsumer.seek(e.topicPartition(), e.offset() + 1);
+            }
+            if (!caughtUp && endOffsets.entrySet().stream()
+                    .allMatch(end -> kafkaConsumer.position(end.getKey()) >= end.getValue())) {
+                caughtUp = true;
+                handler.onLoaded();
+                if (loadDuration == null) {
+                    loadDuration = Duration.ofNanos(System.nanoTime() - start);
+                    log.info("Loaded compacted topic {} in {} ms", topic, loadDuration.toMillis());
+                }
+                loaded.countDown();
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    public static final class Builder<V> {
+
+        private final String topic;
+        private final Handler<V> handler;
+        private final Map<String, Object> consumerProperties = new HashMap<>();
+        private Function<Map<String, Object>, Consumer<String, V>> consumerFactory;
+        private Duration retryBackoff = Duration.ofSeconds(5);
+
+        private Builder(String topic, Deserializer<V> valueDeserializer, Handler<V> handler) {
+            this.topic = Objects.requireNonNull(topic);
+            this.handler = Objects.requireNonNull(handler);
+            Objects.requireNonNull(valueDeserializer);
+            // No group: partitions are assigned explicitly and offsets are never committed
+            consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+            consumerProperties.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, false);
+            consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+            consumerProperties.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 8 * 1024 * 1024);
+            consumerProperties.put(ConsumerConfig.CLIENT_ID_CONFIG, "compacted-" + topic);
+            this.consumerFactory = properties ->
+                new KafkaConsumer<>(properties, new StringDeserializer(), valueDeserializer);
+        }
+
+        public Builder<V> bootstrapServers(String bootstrapServers) {
+            return consumerProperty(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        }
+
+        public Builder<V> consumerProperty(String name, Object value) {
+            consumerProperties.put(name, value);
+            return this;
+        }
+
+        public Builder<V> retryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        // Tests pass a MockConsumer
+        Builder<V> consumerFactory(Function<Map<String, Object>, Consumer<String, V>> consumerFactory) {
+            this.consumerFactory = consumerFactory;
+            return this;
+        }
+
+        public CompactedTopicReader<V> build() {
+            return new CompactedTopicReader<>(this);
+        }
+    }
+}
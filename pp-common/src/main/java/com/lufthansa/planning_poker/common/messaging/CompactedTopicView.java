@@ -0,0 +1,201 @@
+package com.lufthansa.planning_poker.common.messaging;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Materialized view of a log-compacted topic: the latest value of every key, kept in memory.
+ * <p>
+ * Reading is done by a {@link CompactedTopicReader}; a tombstone removes the key. After a
+ * reconnect the topic is read again from the beginning, and keys that were not seen again by
+ * the time it was read to its end are removed, as they were deleted while the view was
+ * disconnected. Reads are lock-free and may run on any thread.
+ * </p>
+ * <p>
+ * A {@link ChangeListener} is told about every change, on the reader thread, so services can
+ * derive their own indexes from the view.
+ * </p>
+ *
+ * @param <K> the key type, parsed from the record key
+ * @param <V> the value type
+ */
+public final class CompactedTopicView<K, V> implements AutoCloseable {
+
+    /**
+     * Called on the reader thread for every key whose value changed.
+     */
+    @FunctionalInterface
+    public interface ChangeListener<K, V> {
+
+        /**
+         * @param previous the value before the change, {@code null} when the key is new
+         * @param current  the value after the change, {@code null} when the key was removed
+         */
+        void onChange(K key, V previous, V current);
+    }
+
+    private final ConcurrentHashMap<K, V> values = new ConcurrentHashMap<>();
+    private final Function<String, K> keyParser;
+    private final ChangeListener<K, V> listener;
+    private final CompactedTopicReader<V> reader;
+    // Keys read since the last reload; only touched on the reader thread
+    private Set<K> seen;
+
+    private CompactedTopicView(Function<String, K> keyParser, ChangeListener<K, V> listener,
+                               CompactedTopicReader.Builder<V> readerBuilder) {
+        this.keyParser = keyParser;
+        this.listener = listener;
+        this.reader = readerBuilder.build();
+    }
+
+    /**
+     * @param keyParser parses record keys; keys it rejects with an exception are skipped
+     */
+    public static <K, V> Builder<K, V> builder(String topic, Function<String, K> keyParser,
+                                               Deserializer<V> valueDeserializer) {
+        return new Builder<>(topic, keyParser, valueDeserializer);
+    }
+
+    public V get(K key) {
+        return values.get(key);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return a read-only live view of all values
+     */
+    public Map<K, V> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public void start() {
+        reader.start();
+    }
+
+    /**
+     * @see CompactedTopicReader#awaitLoaded(Duration)
+     */
+    public boolean awaitLoaded(Duration timeout) throws InterruptedException {
+        return reader.awaitLoaded(timeout);
+    }
+
+    public boolean isLoaded() {
+        return reader.isLoaded();
+    }
+
+    public Duration loadDuration() {
+        return reader.loadDuration();
+    }
+
+    @Override
+    public void close() {
+        reader.close();
+    }
+
+    private void apply(String rawKey, V value) {
+        K key;
+        try {
+            key = keyParser.apply(Objects.requireNonNull(rawKey, "key"));
+        } catch (RuntimeException e) {
+            return;
+        }
+        if (seen != null) {
+            seen.add(key);
+        }
+        V previous = value != null ? values.put(key, value) : values.remove(key);
+        if (previous != null || value != null) {
+            listener.onChange(key, previous, value);
+        }
+    }
+
+    private void reload() {
+        seen = values.isEmpty() ? null : new HashSet<>();
+    }
+
+    private void sweep() {
+        if (seen == null) {
+            return;
+        }
+        for (K key : Set.copyOf(values.keySet())) {
+            if (!seen.contains(key)) {
+                V previous = values.remove(key);
+                if (previous != null) {
+                    listener.onChange(key, previous, null);
+                }
+            }
+        }
+        seen = null;
+    }
+
+    public static final class Builder<K, V> {
+
+        private final Function<String, K> keyParser;
+        private final CompactedTopicReader.Builder<V> readerBuilder;
+        private ChangeListener<K, V> listener = (key, previous, current) -> { };
+        private CompactedTopicView<K, V> view;
+
+        private Builder(String topic, Function<String, K> keyParser, Deserializer<V> valueDeserializer) {
+            this.keyParser = Objects.requireNonNull(keyParser);
+            this.readerBuilder = CompactedTopicReader.builder(topic, valueDeserializer, new CompactedTopicReader.Handler<>() {
+                @Override
+                public void onRecord(String key, V value, Instant timestamp) {
+                    view.apply(key, value);
+                }
+
+                @Override
+                public void onReload() {
+                    view.reload();
+                }
+
+                @Override
+                public void onLoaded() {
+                    view.sweep();
+                }
+            });
+        }
+
+        public Builder<K, V> bootstrapServers(String bootstrapServers) {
+            readerBuilder.bootstrapServers(bootstrapServers);
+            return this;
+        }
+
+        public Builder<K, V> consumerProperty(String name, Object value) {
+            readerBuilder.consumerProperty(name, value);
+            return this;
+        }
+
+        public Builder<K, V> retryBackoff(Duration retryBackoff) {
+            readerBuilder.retryBackoff(retryBackoff);
+            return this;
+        }
+
+        public Builder<K, V> listener(ChangeListener<K, V> listener) {
+            this.listener = Objects.requireNonNull(listener);
+            return this;
+        }
+
+        // Tests pass a MockConsumer
+        Builder<K, V> consumerFactory(Function<Map<String, Object>, Consumer<String, V>> consumerFactory) {
+            readerBuilder.consumerFactory(consumerFactory);
+            return this;
+        }
+
+        public CompactedTopicView<K, V> build() {
+            view = new CompactedTopicView<>(keyParser, listener, readerBuilder);
+            return view;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.lufthansa.planning_poker.common.messaging;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processing metrics of the event listeners of one consumer group, registered as the record
+ * interceptor of the listener container factory.
+ * <ul>
+ *   <li>{@code pp.kafka.listener.processing} - time spent in the listener per record, by topic
+ *       and outcome</li>
+ *   <li>{@code pp.kafka.listener.errors} - failed records by topic and exception</li>
+ *   <li>{@code pp.kafka.event.age} - time from {@link BaseEvent#getTimestamp()} until the
+ *       listener received the event, i.e. producer delay plus consumer lag</li>
+ * </ul>
+ * Partition lag comes from the consumer client metrics ({@code kafka.consumer.fetch.manager.records.lag}),
+ * which need a {@code MicrometerConsumerListener} on the consumer factory.
+ * <p>
+ * Listeners that handle their own failures report them through {@link #recordError} so the
+ * record still counts as failed.
+ */
+public class KafkaListenerMetrics implements RecordInterceptor<String, BaseEvent> {
+
+    private final MeterRegistry registry;
+    private final String group;
+    private final ConcurrentHashMap<String, TopicMeters> topics = new ConcurrentHashMap<>();
+    private final ThreadLocal<InFlight> inFlight = ThreadLocal.withInitial(InFlight::new);
+
+    public KafkaListenerMetrics(MeterRegistry registry, String group) {
+        this.registry = registry;
+        this.group = group;
+    }
+
+    @Override
+    public ConsumerRecord<String, BaseEvent> intercept(ConsumerRecord<String, BaseEvent> record,
+                                                       Consumer<String, BaseEvent> consumer) {
+        BaseEvent event = record.value();
+        if (event != null && event.getTimestamp() != null) {
+            Duration age = Duration.between(event.getTimestamp(), Instant.now());
+            if (!age.isNegative()) {
+                meters(record.topic()).eventAge.record(age);
+            }
+        }
+        InFlight current = inFlight.get();
+        current.startedAt = System.nanoTime();
+        current.failed = false;
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<String, BaseEvent> record, Consumer<String, BaseEvent> consumer) {
+        InFlight current = inFlight.get();
+        TopicMeters meters = meters(record.topic());
+        (current.failed ? meters.failed : meters.succeeded)
+            .record(System.nanoTime() - current.startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void failure(ConsumerRecord<String, BaseEvent> record, Exception exception,
+                        Consumer<String, BaseEvent> consumer) {
+        InFlight current = inFlight.get();
+        meters(record.topic()).failed.record(System.nanoTime() - current.startedAt, TimeUnit.NANOSECONDS);
+        if (!current.failed) {
+            recordError(record.topic(), exception);
+        }
+    }
+
+    /**
+     * Counts a failure the listener handled itself. When called on the listener thread while a
+     * record is processed, that record is also timed as failed.
+     */
+    public void recordError(String topic, Throwable error) {
+        inFlight.get().failed = true;
+        Counter.builder("pp.kafka.listener.errors")
+            .description("Event listener failures")
+            .tag("group", group)
+            .tag("topic", topic)
+            .tag("exception", error.getClass().getSimpleName())
+            .register(registry)
+            .increment();
+    }
+
+    private TopicMeters meters(String topic) {
+        return topics.computeIfAbsent(topic, this::createMeters);
+    }
+
+    private TopicMeters createMeters(String topic) {
+        return new TopicMeters(
+            processingTimer(topic, "success"),
+            processingTimer(topic, "error"),
+            Timer.builder("pp.kafka.event.age")
+                .description("Time from event creation until a listener received it")
+                .tag("group", group)
+                .tag("topic", topic)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry)
+        );
+    }
+
+    private Timer processingTimer(String topic, String outcome) {
+        return Timer.builder("pp.kafka.listener.processing")
+            .description("Time spent processing an event in the listener")
+            .tag("group", group)
+            .tag("topic", topic)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry);
+    }
+
+    private record TopicMeters(Timer succeeded, Timer failed, Timer eventAge) {}
+
+    /** Per listener thread, a container thread processes one record at a time. */
+    private static final class InFlight {
+        private long startedAt;
+        private boolean failed;
+    }
+}
@@ -0,0 +1,60 @@
+package com.lufthansa.planning_poker.common.persistence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work.
+ * <p>
+ * Replicas are used round-robin while their replication lag stays under {@code maxLag}; when
+ * none qualifies, read-only transactions fall back to the primary.
+ */
+@Data
+@ConfigurationProperties(prefix = "planning-poker.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    /**
+     * Postgres streaming replica lag in seconds. A replica that has replayed everything it
+     * received reports 0 even when the primary has been idle for a while; the primary itself
+     * reports 0.
+     */
+    public static final String POSTGRES_LAG_QUERY = """
+        SELECT CASE
+                 WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+               END""";
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas lagging further behind the primary are skipped until they catch up. */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** How often the replication lag of every replica is measured. */
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    /** Query returning the replication lag of the connected database in seconds. */
+    private String lagQuery = POSTGRES_LAG_QUERY;
+
+    @Data
+    public static class Replica {
+
+        /** Name used in logs and metric tags; defaults to {@code replica-<index>}. */
+        private String name;
+
+        private String url;
+
+        /** Defaults to the primary's credentials. */
+        private String username;
+
+        private String password;
+
+        /** Defaults to the primary pool size. */
+        private Integer maximumPoolSize;
+    }
+}
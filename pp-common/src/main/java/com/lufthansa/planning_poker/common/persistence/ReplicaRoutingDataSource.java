@@ -0,0 +1,172 @@
+package com.lufthansa.planning_poker.common.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * <p>
+ * The routing key is read when a connection is requested, so this data source must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for its connection before the transaction is marked read-only, the lazy proxy
+ * only fetches it with the first statement.
+ * <p>
+ * A background check measures the lag of every replica; replicas over the limit, or failing
+ * the check, are skipped until a later check finds them caught up again.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final Duration checkInterval;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter readWrite;
+    private final Counter replicaUnavailable;
+    private final ScheduledExecutorService lagChecker =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-check-"));
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadReplicaProperties properties, MeterRegistry registry) {
+        this.maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+        this.checkInterval = properties.getCheckInterval();
+        this.lagQuery = properties.getLagQuery();
+        this.replicas = replicas.entrySet().stream()
+            .map(entry -> new Replica(entry.getKey(), entry.getValue(), registry))
+            .toList();
+        this.readWrite = routingCounter(registry, PRIMARY, "read-write");
+        this.replicaUnavailable = routingCounter(registry, PRIMARY, "replica-unavailable");
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        // Replicas start out unavailable, reads go to the primary until the first check passes
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrite.increment();
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = nextReplica.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.healthy) {
+                replica.routed.increment();
+                return replica.name;
+            }
+        }
+        replicaUnavailable.increment();
+        return PRIMARY;
+    }
+
+    synchronized void checkReplicas() {
+        replicas.forEach(this::checkReplica);
+    }
+
+    private void checkReplica(Replica replica) {
+        boolean healthy;
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            replica.lagSeconds = result.next() ? result.getDouble(1) : Double.NaN;
+            healthy = replica.lagSeconds <= maxLagSeconds;
+            if (!healthy && replica.healthy) {
+                log.warn("Replica {} is {}s behind the primary, routing its reads to other replicas or the primary",
+                    replica.name, replica.lagSeconds);
+            }
+        } catch (SQLException | RuntimeException e) {
+            replica.lagSeconds = Double.NaN;
+            healthy = false;
+            if (replica.healthy) {
+                log.warn("Replica {} failed its lag check, routing its reads to other replicas or the primary",
+                    replica.name, e);
+            }
+        }
+        if (healthy && !replica.healthy) {
+            log.info("Replica {} is available for reads ({}s behind the primary)", replica.name, replica.lagSeconds);
+        }
+        replica.healthy = healthy;
+    }
+
+    @Override
+    public void destroy() {
+        lagChecker.shutdownNow();
+        replicas.forEach(replica -> close(replica.dataSource));
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.debug("Failed to close replica pool", e);
+            }
+        }
+    }
+
+    private static Counter routingCounter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("pp.datasource.routing")
+            .description("Connections handed out by target data source and routing reason")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter routed;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, MeterRegistry registry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routed = routingCounter(registry, name, "read-only");
+            Gauge.builder("pp.datasource.replica.lag", this, replica -> replica.lagSeconds)
+                .description("Replication lag measured by the last check, NaN when the check failed")
+                .baseUnit("seconds")
+                .tag("replica", name)
+                .register(registry);
+            Gauge.builder("pp.datasource.replica.healthy", this, replica -> replica.healthy ? 1 : 0)
+                .description("1 while the replica receives read-only transactions")
+                .tag("replica", name)
+                .register(registry);
+        }
+    }
+}
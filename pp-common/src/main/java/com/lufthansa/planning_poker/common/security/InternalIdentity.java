@@ -0,0 +1,33 @@
+package com.lufthansa.planning_poker.common.security;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identity of an already authenticated caller, relayed by the gateway to the
+ * downstream services in the {@value InternalIdentityCodec#HEADER} header.
+ * <p>
+ * Property names are kept short on purpose since the payload travels with every
+ * request between the gateway and the services.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InternalIdentity(
+    @JsonProperty("sub") String subject,
+    @JsonProperty("usr") String username,
+    @JsonProperty("eml") String email,
+    @JsonProperty("rol") List<String> roles,
+    @JsonProperty("iat") long issuedAt,
+    @JsonProperty("exp") long expiresAt
+) {
+
+    public InternalIdentity {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean isExpired(Instant now) {
+        return now.getEpochSecond() >= expiresAt;
+    }
+}
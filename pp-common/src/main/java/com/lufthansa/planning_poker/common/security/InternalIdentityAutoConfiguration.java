@@ -0,0 +1,53 @@
+package com.lufthansa.planning_poker.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Trusts the identity the gateway relays in the signed {@value InternalIdentityCodec#HEADER}
+ * header when {@code planning-poker.security.internal-identity.enabled} is set.
+ * <p>
+ * The filter uses the service's {@link JwtAuthenticationConverter}, so relayed callers get the
+ * same principal and roles as callers with a Keycloak token. {@link InternalIdentityConfigurer}
+ * puts it into the security filter chain.
+ * </p>
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({SecurityFilterChain.class, JwtAuthenticationConverter.class})
+@ConditionalOnProperty(prefix = "planning-poker.security.internal-identity", name = "enabled", havingValue = "true")
+public class InternalIdentityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InternalIdentityCodec internalIdentityCodec(
+            @Value("${planning-poker.security.internal-identity.secret:}") String secret) {
+        return new InternalIdentityCodec(secret);
+    }
+
+    @Bean
+    @ConditionalOnBean(JwtAuthenticationConverter.class)
+    public InternalIdentityFilter internalIdentityFilter(InternalIdentityCodec codec,
+                                                         JwtAuthenticationConverter jwtAuthenticationConverter) {
+        return new InternalIdentityFilter(codec, jwtAuthenticationConverter);
+    }
+
+    @Bean
+    @ConditionalOnBean(JwtAuthenticationConverter.class)
+    public FilterRegistrationBean<InternalIdentityFilter> internalIdentityFilterRegistration(
+            InternalIdentityFilter filter) {
+        // Only runs inside the security filter chain, not a second time as a servlet filter
+        FilterRegistrationBean<InternalIdentityFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,28 @@
+package com.lufthansa.planning_poker.common.security;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+
+/**
+ * Adds the {@link InternalIdentityFilter} ahead of the bearer token authentication of every
+ * security filter chain of a service, when {@link InternalIdentityAutoConfiguration} provided one.
+ * <p>
+ * Spring Security applies it to each {@code HttpSecurity} by itself, it is listed under
+ * {@code AbstractHttpConfigurer} in {@code META-INF/spring.factories}, so the services'
+ * security configurations do not need to know about internal identity at all.
+ * </p>
+ */
+public class InternalIdentityConfigurer extends AbstractHttpConfigurer<InternalIdentityConfigurer, HttpSecurity> {
+
+    @Override
+    public void configure(HttpSecurity http) {
+        ApplicationContext context = http.getSharedObject(ApplicationContext.class);
+        if (context == null) {
+            return;
+        }
+        context.getBeanProvider(InternalIdentityFilter.class)
+            .ifAvailable(filter -> http.addFilterBefore(filter, BearerTokenAuthenticationFilter.class));
+    }
+}
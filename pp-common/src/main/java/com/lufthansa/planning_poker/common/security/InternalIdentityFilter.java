@@ -0,0 +1,144 @@
+package com.lufthansa.planning_poker.common.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Authenticates requests relayed by the gateway through the signed
+ * {@value InternalIdentityCodec#HEADER} header instead of re-validating the JWT.
+ * <p>
+ * The relayed identity is turned into a {@link Jwt} with the same claims Keycloak issues,
+ * so controllers using {@code @AuthenticationPrincipal Jwt} work unchanged. The bearer token
+ * the gateway passes along is hidden from the rest of the chain, so it is not validated a
+ * second time. Requests without the header fall through to the regular bearer token
+ * authentication.
+ * </p>
+ */
+@Slf4j
+public class InternalIdentityFilter extends OncePerRequestFilter {
+
+    private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+
+    private final InternalIdentityCodec codec;
+    private final JwtAuthenticationConverter authenticationConverter;
+
+    public InternalIdentityFilter(InternalIdentityCodec codec, JwtAuthenticationConverter authenticationConverter) {
+        this.codec = codec;
+        this.authenticationConverter = authenticationConverter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(InternalIdentityCodec.HEADER);
+        if (header == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<InternalIdentity> identity = codec.decode(header);
+        if (identity.isEmpty()) {
+            log.warn("Rejected invalid internal identity header on {} {}", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        AbstractAuthenticationToken authentication = authenticationConverter.convert(toJwt(header, identity.get()));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            filterChain.doFilter(new RelayedRequest(request), response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * The {@link Jwt} a Keycloak token with the same caller would have produced.
+     */
+    public static Jwt toJwt(String tokenValue, InternalIdentity identity) {
+        Jwt.Builder builder = Jwt.withTokenValue(tokenValue)
+            .header("alg", "HS256")
+            .subject(identity.subject())
+            .issuedAt(Instant.ofEpochSecond(identity.issuedAt()))
+            .expiresAt(Instant.ofEpochSecond(identity.expiresAt()))
+            .claim("realm_access", Map.of("roles", identity.roles()));
+        if (identity.username() != null) {
+            builder.claim("preferred_username", identity.username());
+        }
+        if (identity.email() != null) {
+            builder.claim("email", identity.email());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Request without the bearer token, in the {@code Authorization} header or the
+     * {@code access_token} parameter some endpoints accept.
+     */
+    private static final class RelayedRequest extends HttpServletRequestWrapper {
+
+        RelayedRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                .filter(name -> !HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name))
+                .toList());
+        }
+
+        @Override
+        public String getParameter(String name) {
+            return ACCESS_TOKEN_PARAMETER.equals(name) ? null : super.getParameter(name);
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return ACCESS_TOKEN_PARAMETER.equals(name) ? null : super.getParameterValues(name);
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            Map<String, String[]> parameters = new LinkedHashMap<>(super.getParameterMap());
+            parameters.remove(ACCESS_TOKEN_PARAMETER);
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(getParameterMap().keySet());
+        }
+    }
+}
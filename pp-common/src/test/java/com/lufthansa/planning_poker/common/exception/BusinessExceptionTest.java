@@ -1,4 +1,4 @@
-package com.lufthansa.planning_poker.room.api.exception;
+package com.lufthansa.planning_poker.common.exception;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -123,6 +123,18 @@ class BusinessExceptionTest {
             assertThat(ex.getErrorCode()).isEqualTo("BAD_REQUEST");
             assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
         }
+
+        @Test
+        @DisplayName("unavailable should create SERVICE_UNAVAILABLE exception")
+        void shouldCreateUnavailable() {
+            // When
+            BusinessException ex = BusinessException.unavailable("Story states are still loading");
+
+            // Then
+            assertThat(ex.getMessage()).isEqualTo("Story states are still loading");
+            assertThat(ex.getErrorCode()).isEqualTo("SERVICE_UNAVAILABLE");
+            assertThat(ex.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
     }
 
     @Nested
@@ -1,4 +1,4 @@
-package com.lufthansa.planning_poker.room.api.exception;
+package com.lufthansa.planning_poker.common.exception;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
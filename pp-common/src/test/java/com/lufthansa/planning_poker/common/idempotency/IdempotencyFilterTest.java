@@ -0,0 +1,183 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"Sprint 42\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+    private final AtomicInteger handled = new AtomicInteger();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setEnabled(true);
+        properties.setEndpoints(List.of("POST /api/v1/rooms", "POST /api/v1/rooms/*/stories"));
+        properties.setTtl(Duration.ofHours(1));
+        filter = new IdempotencyFilter(store, properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response to a retry without running the request again")
+    void shouldReplayRetry() throws Exception {
+        // When
+        MockHttpServletResponse first = send(request("key-1", BODY), created());
+        MockHttpServletResponse retry = send(request("key-1", BODY), created());
+
+        // Then
+        assertThat(handled.get()).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(meterRegistry.get("pp.idempotency.requests").tag("outcome", "replayed").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pass the body on to the request")
+    void shouldPassBodyOn() throws Exception {
+        // Given
+        StringBuilder received = new StringBuilder();
+
+        // When
+        send(request("key-1", BODY), (request, response) -> {
+            received.append(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            ((HttpServletResponse) response).setStatus(201);
+        });
+
+        // Then
+        assertThat(received).hasToString(BODY);
+    }
+
+    @Test
+    @DisplayName("Should keep the keys of different callers apart")
+    void shouldScopeKeysToCaller() throws Exception {
+        // Given
+        MockHttpServletRequest other = request("key-1", BODY);
+        other.setUserPrincipal(() -> "user-2");
+
+        // When
+        send(request("key-1", BODY), created());
+        send(other, created());
+
+        // Then
+        assertThat(handled.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request with 422")
+    void shouldRejectReusedKey() throws Exception {
+        // Given
+        send(request("key-1", BODY), created());
+
+        // When
+        MockHttpServletResponse response = send(request("key-1", "{\"name\":\"Sprint 43\"}"), created());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+        assertThat(handled.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer 409 while the first request with the key is running")
+    void shouldRejectConcurrentRetry() throws Exception {
+        // Given
+        MockHttpServletResponse[] retry = new MockHttpServletResponse[1];
+
+        // When
+        send(request("key-1", BODY), (request, response) -> {
+            retry[0] = send(request("key-1", BODY), created());
+            ((HttpServletResponse) response).setStatus(201);
+        });
+
+        // Then
+        assertThat(retry[0].getStatus()).isEqualTo(409);
+        assertThat(retry[0].getHeader("Retry-After")).isEqualTo("1");
+        assertThat(retry[0].getContentAsString()).contains("IDEMPOTENCY_KEY_IN_USE");
+    }
+
+    @Test
+    @DisplayName("Should not store failed responses, so the request can be retried")
+    void shouldReleaseKeyOnFailure() throws Exception {
+        // When
+        send(request("key-1", BODY), (request, response) -> {
+            handled.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(409);
+        });
+        MockHttpServletResponse retry = send(request("key-1", BODY), created());
+
+        // Then
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(handled.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should ignore requests without the header and endpoints not configured")
+    void shouldIgnoreOtherRequests() throws Exception {
+        // Given
+        MockHttpServletRequest withoutKey = request(null, BODY);
+        MockHttpServletRequest otherEndpoint = request("key-1", BODY);
+        otherEndpoint.setRequestURI("/api/v1/rooms/join/ABC123");
+
+        // When
+        send(withoutKey, created());
+        send(withoutKey, created());
+        send(otherEndpoint, created());
+        send(otherEndpoint, created());
+
+        // Then
+        assertThat(handled.get()).isEqualTo(4);
+        assertThat(store.size()).isZero();
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            int id = handled.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write("{\"id\":" + id + "}");
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/rooms");
+        request.setUserPrincipal(() -> "user-1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,132 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InMemoryIdempotencyStore Tests")
+class InMemoryIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final AtomicLong now = new AtomicLong();
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(3, now::get);
+
+    @Test
+    @DisplayName("Should reserve a key once and return the reservation to later requests")
+    void shouldReserveOnce() {
+        assertThat(store.reserve("user-1:key", "abc", TTL)).isNull();
+
+        IdempotencyRecord existing = store.reserve("user-1:key", "abc", TTL);
+
+        assertThat(existing).isNotNull();
+        assertThat(existing.isCompleted()).isFalse();
+        assertThat(existing.fingerprint()).isEqualTo("abc");
+    }
+
+    @Test
+    @DisplayName("Should return the stored response until it expires")
+    void shouldReturnCompletedUntilExpired() {
+        // Given
+        store.reserve("user-1:key", "abc", TTL);
+        store.complete("user-1:key", completed("abc"), TTL);
+
+        // When
+        IdempotencyRecord replayed = store.reserve("user-1:key", "abc", TTL);
+        now.addAndGet(TTL.toNanos());
+        IdempotencyRecord afterTtl = store.reserve("user-1:key", "abc", TTL);
+
+        // Then
+        assertThat(replayed.isCompleted()).isTrue();
+        assertThat(replayed.response().status()).isEqualTo(201);
+        assertThat(afterTtl).isNull();
+    }
+
+    @Test
+    @DisplayName("Should let a released key be reserved again")
+    void shouldReserveReleasedKey() {
+        store.reserve("user-1:key", "abc", TTL);
+
+        store.release("user-1:key");
+
+        assertThat(store.reserve("user-1:key", "abc", TTL)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest keys when full")
+    void shouldEvictOldestWhenFull() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            store.reserve("key-" + i, "abc", TTL);
+        }
+
+        // When
+        store.reserve("key-3", "abc", TTL);
+
+        // Then
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.reserve("key-0", "abc", TTL)).isNull();
+        assertThat(store.reserve("key-3", "abc", TTL)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop expired keys before evicting live ones")
+    void shouldDropExpiredKeysFirst() {
+        // Given
+        store.reserve("short-lived", "abc", Duration.ofSeconds(1));
+        store.reserve("key-1", "abc", TTL);
+        store.reserve("key-2", "abc", TTL);
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // When
+        store.reserve("key-3", "abc", TTL);
+
+        // Then
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.reserve("key-1", "abc", TTL)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop expired reservations queued behind responses kept longer")
+    void shouldDropExpiredReservationsBehindLongLivedKeys() {
+        // Given
+        store.complete("completed", completed("abc"), Duration.ofHours(24));
+        store.reserve("abandoned-1", "abc", Duration.ofMinutes(1));
+        store.reserve("abandoned-2", "abc", Duration.ofMinutes(1));
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // When
+        store.reserve("key-1", "abc", Duration.ofMinutes(1));
+
+        // Then
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.reserve("completed", "abc", TTL).isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should evict the key closest to expiry when full")
+    void shouldEvictClosestToExpiryWhenFull() {
+        // Given
+        store.complete("completed", completed("abc"), Duration.ofHours(24));
+        store.reserve("reserved-1", "abc", Duration.ofMinutes(1));
+        store.reserve("reserved-2", "abc", Duration.ofMinutes(1));
+
+        // When
+        store.reserve("reserved-3", "abc", Duration.ofMinutes(1));
+
+        // Then
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.reserve("completed", "abc", TTL)).isNotNull();
+        assertThat(store.reserve("reserved-2", "abc", TTL)).isNotNull();
+    }
+
+    private static IdempotencyRecord completed(String fingerprint) {
+        return new IdempotencyRecord(fingerprint,
+            new IdempotencyRecord.StoredResponse(201, "application/json", "{}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
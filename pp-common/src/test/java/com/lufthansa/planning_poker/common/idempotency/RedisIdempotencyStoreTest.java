@@ -0,0 +1,148 @@
+package com.lufthansa.planning_poker.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisIdempotencyStore Tests")
+class RedisIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final String KEY = "idempotency:pp-vote-service:user-1:key";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> values;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RedisIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisIdempotencyStore(redisTemplate, objectMapper, "pp-vote-service");
+    }
+
+    @Test
+    @DisplayName("Should reserve a free key with SET NX and the key's TTL")
+    void shouldReserveWithSetNx() throws Exception {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(eq(KEY), anyString(), eq(TTL))).thenReturn(true);
+
+        // When
+        IdempotencyRecord existing = store.reserve("user-1:key", "abc", TTL);
+
+        // Then
+        assertThat(existing).isNull();
+        ArgumentCaptor<String> reservation = ArgumentCaptor.forClass(String.class);
+        verify(values).setIfAbsent(eq(KEY), reservation.capture(), eq(TTL));
+        IdempotencyRecord stored = objectMapper.readValue(reservation.getValue(), IdempotencyRecord.class);
+        assertThat(stored.fingerprint()).isEqualTo("abc");
+        assertThat(stored.isCompleted()).isFalse();
+        verify(values, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return the record of a key another instance reserved")
+    void shouldReturnExistingReservation() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(eq(KEY), anyString(), eq(TTL))).thenReturn(false);
+        when(values.get(KEY)).thenReturn("{\"fingerprint\":\"abc\",\"response\":null}");
+
+        // When
+        IdempotencyRecord existing = store.reserve("user-1:key", "def", TTL);
+
+        // Then
+        assertThat(existing.fingerprint()).isEqualTo("abc");
+        assertThat(existing.isCompleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should try the reservation again when the key expired in between")
+    void shouldRetryExpiredReservation() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(eq(KEY), anyString(), eq(TTL))).thenReturn(false, true);
+        when(values.get(KEY)).thenReturn(null);
+
+        // When
+        IdempotencyRecord existing = store.reserve("user-1:key", "abc", TTL);
+
+        // Then
+        assertThat(existing).isNull();
+        verify(values, times(2)).setIfAbsent(eq(KEY), anyString(), eq(TTL));
+    }
+
+    @Test
+    @DisplayName("Should fail when the key can be neither reserved nor read")
+    void shouldFailWhenKeyKeepsExpiring() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(eq(KEY), anyString(), eq(TTL))).thenReturn(false);
+        when(values.get(KEY)).thenReturn(null);
+
+        // When/Then
+        assertThatThrownBy(() -> store.reserve("user-1:key", "abc", TTL))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should store the response body as base64 and replay it byte for byte")
+    void shouldRoundTripCompletedRecord() throws Exception {
+        // Given
+        byte[] body = "{\"value\":\"5\"}".getBytes(StandardCharsets.UTF_8);
+        IdempotencyRecord completed = new IdempotencyRecord("abc",
+            new IdempotencyRecord.StoredResponse(201, "application/json", body));
+        when(redisTemplate.opsForValue()).thenReturn(values);
+
+        // When
+        store.complete("user-1:key", completed, TTL);
+
+        // Then
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(values).set(eq(KEY), json.capture(), eq(TTL));
+        assertThat(objectMapper.readTree(json.getValue()).at("/response/body").asText())
+            .isEqualTo(Base64.getEncoder().encodeToString(body));
+        assertThat(json.getValue()).doesNotContain("completed");
+
+        when(values.setIfAbsent(eq(KEY), anyString(), eq(TTL))).thenReturn(false);
+        when(values.get(KEY)).thenReturn(json.getValue());
+        IdempotencyRecord replayed = store.reserve("user-1:key", "abc", TTL);
+        assertThat(replayed.isCompleted()).isTrue();
+        assertThat(replayed.response().status()).isEqualTo(201);
+        assertThat(replayed.response().contentType()).isEqualTo("application/json");
+        assertThat(replayed.response().body()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Should delete a released key")
+    void shouldDeleteReleasedKey() {
+        // When
+        store.release("user-1:key");
+
+        // Then
+        verify(redisTemplate).delete(KEY);
+        verifyNoInteractions(values);
+    }
+}
@@ -0,0 +1,129 @@
+package com.lufthansa.planning_poker.common.messaging;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompactedTopicView Tests")
+class CompactedTopicViewTest {
+
+    private static final String TOPIC = "planning-poker.test-snapshots";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    private final Queue<MockConsumer<String, String>> consumers = new ArrayDeque<>();
+    private CompactedTopicView<String, String> view;
+
+    @AfterEach
+    void tearDown() {
+        if (view != null) {
+            view.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load the latest value per key and drop tombstoned keys")
+    void shouldLoadLatestValues() throws InterruptedException {
+        // Given
+        MockConsumer<String, String> consumer = consumer(3);
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(record(0, "room-1", "v1"));
+            consumer.addRecord(record(1, "room-2", "v1"));
+            consumer.addRecord(record(2, "room-1", null));
+        });
+        view = view((key, previous, current) -> { });
+
+        // When
+        view.start();
+
+        // Then
+        assertThat(view.awaitLoaded(Duration.ofSeconds(5))).isTrue();
+        assertThat(view.get("room-1")).isNull();
+        assertThat(view.get("room-2")).isEqualTo("v1");
+        assertThat(view.asMap()).containsOnlyKeys("room-2");
+        assertThat(view.loadDuration()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should remove keys deleted while reconnecting")
+    void shouldSweepKeysMissingAfterReload() throws InterruptedException {
+        // Given
+        MockConsumer<String, String> first = consumer(2);
+        first.schedulePollTask(() -> {
+            first.addRecord(record(0, "room-1", "v1"));
+            first.addRecord(record(1, "room-2", "v1"));
+        });
+        first.schedulePollTask(() -> first.setPollException(new KafkaException("Broker gone")));
+        // room-1 was deleted and compacted away in the meantime
+        MockConsumer<String, String> second = consumer(1);
+        second.schedulePollTask(() -> second.addRecord(record(0, "room-2", "v2")));
+
+        CountDownLatch removed = new CountDownLatch(1);
+        view = view((key, previous, current) -> {
+            if (key.equals("room-1") && current == null) {
+                removed.countDown();
+            }
+        });
+
+        // When
+        view.start();
+
+        // Then
+        assertThat(removed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(view.asMap()).containsOnlyKeys("room-2");
+    }
+
+    @Test
+    @DisplayName("Should not be loaded while the topic does not exist")
+    void shouldNotLoadWithoutTopic() throws InterruptedException {
+        // Given
+        consumers.add(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+        view = view((key, previous, current) -> { });
+
+        // When
+        view.start();
+
+        // Then
+        assertThat(view.awaitLoaded(Duration.ofMillis(200))).isFalse();
+        assertThat(view.isLoaded()).isFalse();
+    }
+
+    private CompactedTopicView<String, String> view(CompactedTopicView.ChangeListener<String, String> listener) {
+        return CompactedTopicView.<String, String>builder(TOPIC, key -> key, new StringDeserializer())
+            .listener(listener)
+            .retryBackoff(Duration.ofMillis(10))
+            .consumerFactory(properties -> consumers.isEmpty()
+                ? new MockConsumer<>(OffsetResetStrategy.EARLIEST)
+                : consumers.poll())
+            .build();
+    }
+
+    private MockConsumer<String, String> consumer(long endOffset) {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, endOffset));
+        consumers.add(consumer);
+        return consumer;
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, key, value);
+    }
+}
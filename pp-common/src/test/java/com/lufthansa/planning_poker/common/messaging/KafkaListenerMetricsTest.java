@@ -0,0 +1,124 @@
+package com.lufthansa.planning_poker.common.messaging;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.VoteCastEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KafkaListenerMetrics Tests")
+class KafkaListenerMetricsTest {
+
+    private static final String GROUP = "vote-service-group";
+    private static final String VOTE_EVENTS = "planning-poker.vote-events";
+    private static final String ROOM_EVENTS = "planning-poker.room-events";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final KafkaListenerMetrics metrics = new KafkaListenerMetrics(registry, GROUP);
+
+    @Test
+    @DisplayName("Should time successful records per group and topic")
+    void shouldTimeSuccessPerTopic() {
+        // When
+        process(record(VOTE_EVENTS, Instant.now()));
+        process(record(VOTE_EVENTS, Instant.now()));
+        process(record(ROOM_EVENTS, Instant.now()));
+
+        // Then
+        assertThat(processing(VOTE_EVENTS, "success").count()).isEqualTo(2);
+        assertThat(processing(ROOM_EVENTS, "success").count()).isEqualTo(1);
+        assertThat(processing(VOTE_EVENTS, "error").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record the age of the event when the listener received it")
+    void shouldRecordEventAge() {
+        // When
+        process(record(VOTE_EVENTS, Instant.now().minusSeconds(3)));
+
+        // Then
+        Timer age = registry.get("pp.kafka.event.age").tag("group", GROUP).tag("topic", VOTE_EVENTS).timer();
+        assertThat(age.count()).isEqualTo(1);
+        assertThat(age.totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should skip the age of events without or with a future timestamp")
+    void shouldSkipUnknownEventAge() {
+        // When
+        process(record(VOTE_EVENTS, null));
+        process(record(VOTE_EVENTS, Instant.now().plusSeconds(60)));
+
+        // Then
+        assertThat(registry.get("pp.kafka.event.age").tag("topic", VOTE_EVENTS).timer().count()).isZero();
+        assertThat(processing(VOTE_EVENTS, "success").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count a failed record once, by exception")
+    void shouldCountFailure() {
+        // Given
+        ConsumerRecord<String, BaseEvent> record = record(VOTE_EVENTS, Instant.now());
+
+        // When
+        metrics.intercept(record, null);
+        metrics.failure(record, new IllegalStateException("boom"), null);
+
+        // Then
+        assertThat(processing(VOTE_EVENTS, "error").count()).isEqualTo(1);
+        assertThat(errors(VOTE_EVENTS, "IllegalStateException")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time a record as failed when the listener reported its own error")
+    void shouldTimeHandledErrorAsFailed() {
+        // Given
+        ConsumerRecord<String, BaseEvent> record = record(VOTE_EVENTS, Instant.now());
+
+        // When
+        metrics.intercept(record, null);
+        metrics.recordError(VOTE_EVENTS, new IllegalArgumentException("Unknown story"));
+        metrics.success(record, null);
+        process(record(VOTE_EVENTS, Instant.now()));
+
+        // Then
+        assertThat(processing(VOTE_EVENTS, "error").count()).isEqualTo(1);
+        assertThat(processing(VOTE_EVENTS, "success").count()).isEqualTo(1);
+        assertThat(errors(VOTE_EVENTS, "IllegalArgumentException")).isEqualTo(1);
+    }
+
+    private void process(ConsumerRecord<String, BaseEvent> record) {
+        metrics.intercept(record, null);
+        metrics.success(record, null);
+    }
+
+    private Timer processing(String topic, String outcome) {
+        return registry.get("pp.kafka.listener.processing")
+            .tag("group", GROUP)
+            .tag("topic", topic)
+            .tag("outcome", outcome)
+            .timer();
+    }
+
+    private double errors(String topic, String exception) {
+        return registry.get("pp.kafka.listener.errors")
+            .tag("group", GROUP)
+            .tag("topic", topic)
+            .tag("exception", exception)
+            .counter()
+            .count();
+    }
+
+    private static ConsumerRecord<String, BaseEvent> record(String topic, Instant timestamp) {
+        VoteCastEvent event = VoteCastEvent.builder().value("5").build();
+        event.setTimestamp(timestamp);
+        return new ConsumerRecord<>(topic, 0, 0L, "key", event);
+    }
+}
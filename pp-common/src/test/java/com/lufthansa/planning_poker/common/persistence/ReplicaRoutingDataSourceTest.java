@@ -0,0 +1,124 @@
+package com.lufthansa.planning_poker.common.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        properties.setCheckInterval(Duration.ofHours(1));
+        properties.setLagQuery("SELECT seconds FROM replica_lag");
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), properties, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to a healthy replica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // Given
+        routingDataSource.checkReplicas();
+
+        // When / Then
+        assertThat(readOnly.execute(status -> databaseName())).isEqualTo("replica");
+        assertThat(meterRegistry.get("pp.datasource.routing").tags("target", "replica-1", "reason", "read-only")
+            .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pp.datasource.replica.lag").tag("replica", "replica-1").gauge().value())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        // Given
+        routingDataSource.checkReplicas();
+
+        // When / Then
+        assertThat(readWrite.execute(status -> databaseName())).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags behind")
+    void shouldFallBackToPrimaryWhileReplicaLags() {
+        // Given
+        routingDataSource.checkReplicas();
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+        routingDataSource.checkReplicas();
+
+        // When / Then
+        assertThat(readOnly.execute(status -> databaseName())).isEqualTo("primary");
+        assertThat(meterRegistry.get("pp.datasource.routing").tags("target", "primary", "reason", "replica-unavailable")
+            .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pp.datasource.replica.healthy").tag("replica", "replica-1").gauge().value())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Should route reads to the replica again once it caught up")
+    void shouldRouteToReplicaAgainOnceCaughtUp() {
+        // Given
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+        routingDataSource.checkReplicas();
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 0");
+        routingDataSource.checkReplicas();
+
+        // When / Then
+        assertThat(readOnly.execute(status -> databaseName())).isEqualTo("replica");
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        jdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        jdbc.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+}
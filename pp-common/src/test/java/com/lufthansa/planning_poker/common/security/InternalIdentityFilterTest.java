@@ -0,0 +1,167 @@
+package com.lufthansa.planning_poker.common.security;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InternalIdentityFilter Tests")
+class InternalIdentityFilterTest {
+
+    private static final String SECRET = "test-internal-identity-secret-0123456789";
+
+    private InternalIdentityCodec codec;
+    private InternalIdentityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        codec = new InternalIdentityCodec(SECRET);
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(InternalIdentityFilterTest::realmRoles);
+        filter = new InternalIdentityFilter(codec, converter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate request from a valid relayed identity")
+    void shouldAuthenticateValidIdentity() throws Exception {
+        // Given
+        String header = codec.encode(
+            codec.issue("user-123", "alice", "alice@example.com", List.of("USER", "offline_access"), Duration.ofSeconds(30)));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/votes");
+        request.addHeader(InternalIdentityCodec.HEADER, header);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        });
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen.get()).isNotNull();
+        Jwt jwt = (Jwt) seen.get().getPrincipal();
+        assertThat(jwt.getSubject()).isEqualTo("user-123");
+        assertThat(jwt.getClaimAsString("preferred_username")).isEqualTo("alice");
+        assertThat(seen.get().getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_USER");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject tampered identity header")
+    void shouldRejectTamperedIdentity() throws Exception {
+        // Given
+        String header = codec.encode(
+            codec.issue("user-123", "alice", null, List.of("USER"), Duration.ofSeconds(30)));
+        String forged = new InternalIdentityCodec(SECRET.replace('0', 'x')).encode(
+            codec.issue("user-123", "alice", null, List.of("ADMIN"), Duration.ofSeconds(30)));
+        String tampered = forged.substring(0, forged.indexOf('.')) + header.substring(header.indexOf('.'));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/votes");
+        request.addHeader(InternalIdentityCodec.HEADER, tampered);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject expired identity header")
+    void shouldRejectExpiredIdentity() {
+        // Given
+        String header = codec.encode(
+            codec.issue("user-123", "alice", null, List.of("USER"), Duration.ofSeconds(-30)));
+
+        // When / Then
+        assertThat(codec.decode(header)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should pass through requests without identity header")
+    void shouldPassThroughWithoutHeader() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/votes/stories/1/count");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should hide the relayed bearer token from the rest of the chain")
+    void shouldHideRelayedBearerToken() throws Exception {
+        // Given
+        String header = codec.encode(
+            codec.issue("user-123", "alice", null, List.of("USER"), Duration.ofSeconds(30)));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/rooms/1/events");
+        request.addHeader(InternalIdentityCodec.HEADER, header);
+        request.addHeader("Authorization", "Bearer keycloak-token");
+        request.addParameter("access_token", "keycloak-token");
+        request.addParameter("since", "42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.set((HttpServletRequest) req);
+            }
+        });
+
+        // Then
+        assertThat(seen.get().getHeader("Authorization")).isNull();
+        assertThat(seen.get().getHeaders("Authorization").hasMoreElements()).isFalse();
+        assertThat(seen.get().getParameterValues("access_token")).isNull();
+        assertThat(seen.get().getParameterMap()).containsOnlyKeys("since");
+        assertThat(seen.get().getHeader(InternalIdentityCodec.HEADER)).isEqualTo(header);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<GrantedAuthority> realmRoles(Jwt jwt) {
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access");
+        return ((List<String>) realmAccess.get("roles")).stream()
+            .filter(role -> role.equals("USER") || role.equals("ADMIN"))
+            .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+            .toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.lufthansa.planning_poker.gateway.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+import java.util.List;
+
+/**
+ * Replaces the default gateway HTTP client with one using per-route connection pools.
+ */
+@Configuration
+@EnableConfigurationProperties({RouteHttpClientProperties.class, RoomAffinityProperties.class})
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties httpClientProperties,
+                                                      ServerProperties serverProperties,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      RouteHttpClientProperties routeProperties,
+                                                      RoomAffinityProperties roomAffinityProperties,
+                                                      GatewayProperties gatewayProperties) {
+        return new RoutePoolHttpClientFactory(httpClientProperties, serverProperties, sslConfigurer,
+            customizers, routeProperties, roomAffinityProperties, gatewayProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "planning-poker.gateway.http-client.h2c", havingValue = "true")
+    public HttpClientCustomizer h2cHttpClientCustomizer() {
+        // HTTP/1.1 stays enabled for services without h2c and for WebSocket upgrades
+        return httpClient -> httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+    }
+}
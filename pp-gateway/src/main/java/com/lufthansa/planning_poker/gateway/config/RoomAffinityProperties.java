@@ -0,0 +1,36 @@
+package com.lufthansa.planning_poker.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sticky routing of rooms to vote service instances.
+ * <p>
+ * Requests of the listed routes that name a room are sent to the instance the room hashes to on
+ * a consistent-hash ring of {@code instances}, so all participants of a room share one node.
+ * Without instances the routes keep their configured URI.
+ */
+@Data
+@ConfigurationProperties(prefix = "planning-poker.gateway.room-affinity")
+public class RoomAffinityProperties {
+
+    /** Gateway route ids whose requests are routed by room. */
+    private List<String> routes = new ArrayList<>(List.of("vote-service-ws", "vote-service-events", "vote-service"));
+
+    /** Vote service instances as {@code host:port}; the scheme is taken from the route. */
+    private List<String> instances = new ArrayList<>();
+
+    /** Points per instance on the ring; more points spread rooms more evenly. */
+    private int virtualNodes = 160;
+
+    /** Readiness endpoint polled on every instance; instances failing it leave the ring. */
+    private String healthPath = "/actuator/health/readiness";
+
+    private Duration healthInterval = Duration.ofSeconds(5);
+
+    private Duration healthTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,63 @@
+package com.lufthansa.planning_poker.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pool and protocol settings for the gateway-to-service HTTP client.
+ * <p>
+ * {@code defaults} applies to every downstream host; entries under {@code routes} (keyed by
+ * gateway route id) override it for the host that route points to. Routes targeting the
+ * same host and port share one pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "planning-poker.gateway.http-client")
+public class RouteHttpClientProperties {
+
+    /**
+     * Speak HTTP/2 over cleartext to the services. Requests fall back to HTTP/1.1 when a
+     * service does not accept the upgrade, WebSocket routes always use HTTP/1.1.
+     */
+    private boolean h2c = false;
+
+    private Pool defaults = new Pool();
+
+    private Map<String, Pool> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Pool {
+
+        /** Maximum number of open connections per downstream host. */
+        private Integer maxConnections;
+
+        /** Maximum number of requests waiting for a connection before failing fast. */
+        private Integer pendingAcquireMaxCount;
+
+        /** How long a request may wait for a free connection. */
+        private Duration pendingAcquireTimeout;
+
+        /** Idle connections are closed after this time; keep it below the services' keep-alive timeout. */
+        private Duration maxIdleTime;
+
+        /** Connections are recycled after this time, so pools rebalance after a scale-out. */
+        private Duration maxLifeTime;
+
+        /** Interval of the background eviction of idle and expired connections. */
+        private Duration evictionInterval;
+
+        Pool withFallback(Pool fallback) {
+            Pool merged = new Pool();
+            merged.setMaxConnections(maxConnections != null ? maxConnections : fallback.getMaxConnections());
+            merged.setPendingAcquireMaxCount(pendingAcquireMaxCount != null ? pendingAcquireMaxCount : fallback.getPendingAcquireMaxCount());
+            merged.setPendingAcquireTimeout(pendingAcquireTimeout != null ? pendingAcquireTimeout : fallback.getPendingAcquireTimeout());
+            merged.setMaxIdleTime(maxIdleTime != null ? maxIdleTime : fallback.getMaxIdleTime());
+            merged.setMaxLifeTime(maxLifeTime != null ? maxLifeTime : fallback.getMaxLifeTime());
+            merged.setEvictionInterval(evictionInterval != null ? evictionInterval : fallback.getEvictionInterval());
+            return merged;
+        }
+    }
+}
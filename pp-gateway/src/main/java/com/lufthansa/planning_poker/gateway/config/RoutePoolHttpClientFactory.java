@@ -0,0 +1,130 @@
+package com.lufthansa.planning_poker.gateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Builds the gateway {@link reactor.netty.http.client.HttpClient} with one connection pool
+ * per downstream host, sized from {@link RouteHttpClientProperties}.
+ * <p>
+ * Pool metrics (active, idle, pending connections and acquire time) are always enabled and
+ * exported under {@code reactor.netty.connection.provider.*}, tagged with the remote address.
+ * With room affinity, every vote service instance gets the pool of the route rooms are sent
+ * through, as requests go to the instances instead of the route host.
+ */
+@Slf4j
+public class RoutePoolHttpClientFactory extends HttpClientFactory {
+
+    private static final String POOL_NAME = "gateway-routes";
+
+    private final RouteHttpClientProperties routeProperties;
+    private final RoomAffinityProperties roomAffinityProperties;
+    private final GatewayProperties gatewayProperties;
+
+    public RoutePoolHttpClientFactory(HttpClientProperties properties,
+                                      ServerProperties serverProperties,
+                                      HttpClientSslConfigurer sslConfigurer,
+                                      List<HttpClientCustomizer> customizers,
+                                      RouteHttpClientProperties routeProperties,
+                                      RoomAffinityProperties roomAffinityProperties,
+                                      GatewayProperties gatewayProperties) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.routeProperties = routeProperties;
+        this.roomAffinityProperties = roomAffinityProperties;
+        this.gatewayProperties = gatewayProperties;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        RouteHttpClientProperties.Pool defaults = routeProperties.getDefaults();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(POOL_NAME);
+        apply(builder, defaults);
+
+        resolveRouteHosts().forEach((address, pool) -> {
+            log.info("Connection pool for {}: {}", address, pool);
+            builder.forRemoteHost(address, spec -> apply(spec, pool));
+        });
+
+        return builder.build();
+    }
+
+    private Map<InetSocketAddress, RouteHttpClientProperties.Pool> resolveRouteHosts() {
+        Map<InetSocketAddress, RouteHttpClientProperties.Pool> pools = new LinkedHashMap<>();
+        for (RouteDefinition route : gatewayProperties.getRoutes()) {
+            RouteHttpClientProperties.Pool pool = routeProperties.getRoutes().get(route.getId());
+            InetSocketAddress address = toAddress(route.getUri());
+            if (pool == null || address == null) {
+                continue;
+            }
+            if (pools.containsKey(address)) {
+                log.warn("Route '{}' shares host {} with another route, keeping the first pool settings",
+                    route.getId(), address);
+                continue;
+            }
+            pools.put(address, pool.withFallback(routeProperties.getDefaults()));
+        }
+        resolveInstancePool().ifPresent(pool -> {
+            for (String instance : roomAffinityProperties.getInstances()) {
+                pools.putIfAbsent(toAddress(URI.create("http://" + instance.trim())), pool);
+            }
+        });
+        return pools;
+    }
+
+    private Optional<RouteHttpClientProperties.Pool> resolveInstancePool() {
+        return roomAffinityProperties.getRoutes().stream()
+            .map(routeId -> routeProperties.getRoutes().get(routeId))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .map(pool -> pool.withFallback(routeProperties.getDefaults()));
+    }
+
+    private static InetSocketAddress toAddress(URI uri) {
+        if (uri == null || uri.getHost() == null) {
+            return null;
+        }
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equals(uri.getScheme()) || "wss".equals(uri.getScheme()) ? 443 : 80;
+        }
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+
+    private static <SPEC extends ConnectionProvider.ConnectionPoolSpec<SPEC>> void apply(
+            ConnectionProvider.ConnectionPoolSpec<SPEC> spec, RouteHttpClientProperties.Pool pool) {
+        if (pool.getMaxConnections() != null) {
+            spec.maxConnections(pool.getMaxConnections());
+        }
+        if (pool.getPendingAcquireMaxCount() != null) {
+            spec.pendingAcquireMaxCount(pool.getPendingAcquireMaxCount());
+        }
+        if (pool.getPendingAcquireTimeout() != null) {
+            spec.pendingAcquireTimeout(pool.getPendingAcquireTimeout());
+        }
+        if (pool.getMaxIdleTime() != null) {
+            spec.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            spec.maxLifeTime(pool.getMaxLifeTime());
+        }
+        if (pool.getEvictionInterval() != null) {
+            spec.evictInBackground(pool.getEvictionInterval());
+        }
+        spec.metrics(true);
+    }
+}
@@ -4,10 +4,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.server.resource.web.server.authentication.ServerBearerTokenAuthenticationConverter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.util.List;
 
@@ -15,6 +19,8 @@ import java.util.List;
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    private static final PathPattern ROOM_EVENTS_PATH = PathPatternParser.defaultInstance.parse("/api/v1/rooms/{roomId}/events");
+
     @Bean
     public SecurityWebFilterChain securityFilterChain(ServerHttpSecurity http) {
         http
@@ -40,12 +46,23 @@ public class SecurityConfig {
                 .anyExchange().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
+                .bearerTokenConverter(bearerTokenConverter())
                 .jwt(jwt -> {})
             );
 
         return http.build();
     }
 
+    private ServerAuthenticationConverter bearerTokenConverter() {
+        ServerBearerTokenAuthenticationConverter delegate = new ServerBearerTokenAuthenticationConverter();
+        // Browsers cannot set headers on an EventSource, so room event streams also accept ?access_token=
+        ServerBearerTokenAuthenticationConverter eventStreamConverter = new ServerBearerTokenAuthenticationConverter();
+        eventStreamConverter.setAllowUriQueryParameter(true);
+        return exchange -> ROOM_EVENTS_PATH.matches(exchange.getRequest().getPath().pathWithinApplication())
+            ? eventStreamConverter.convert(exchange)
+            : delegate.convert(exchange);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -0,0 +1,95 @@
+package com.lufthansa.planning_poker.gateway.filter;
+
+import com.lufthansa.planning_poker.common.security.InternalIdentity;
+import com.lufthansa.planning_poker.common.security.InternalIdentityCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relays the identity of the caller, already verified by the gateway, to the downstream
+ * services as a signed {@value InternalIdentityCodec#HEADER} header.
+ * <p>
+ * Any inbound header with the same name is always stripped, so clients can never inject
+ * an identity of their own. The header is only added when the trusted internal mode is
+ * enabled; services then skip the JWT/JWK validation for relayed requests.
+ */
+@Slf4j
+@Component
+public class InternalIdentityRelayFilter implements GlobalFilter, Ordered {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final InternalIdentityCodec codec;
+
+    public InternalIdentityRelayFilter(
+            @Value("${planning-poker.security.internal-identity.enabled:false}") boolean enabled,
+            @Value("${planning-poker.security.internal-identity.secret:}") String secret,
+            @Value("${planning-poker.security.internal-identity.ttl:30s}") Duration ttl) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.codec = enabled ? new InternalIdentityCodec(secret) : null;
+        if (enabled) {
+            log.info("Trusted internal identity relay enabled (ttl={})", ttl);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerWebExchange stripped = exchange.mutate()
+            .request(request -> request.headers(headers -> headers.remove(InternalIdentityCodec.HEADER)))
+            .build();
+
+        if (!enabled) {
+            return chain.filter(stripped);
+        }
+
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(JwtAuthenticationToken.class::isInstance)
+            .map(authentication -> relay(stripped, ((JwtAuthenticationToken) authentication).getToken()))
+            .defaultIfEmpty(stripped)
+            .flatMap(chain::filter);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private ServerWebExchange relay(ServerWebExchange exchange, Jwt jwt) {
+        InternalIdentity identity = codec.issue(
+            jwt.getSubject(),
+            jwt.getClaimAsString("preferred_username"),
+            jwt.getClaimAsString("email"),
+            realmRoles(jwt),
+            ttl
+        );
+        String header = codec.encode(identity);
+        return exchange.mutate()
+            .request(request -> request.header(InternalIdentityCodec.HEADER, header))
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> realmRoles(Jwt jwt) {
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access");
+        if (realmAccess == null || !(realmAccess.get("roles") instanceof List<?>)) {
+            return List.of();
+        }
+        return (List<String>) realmAccess.get("roles");
+    }
+}
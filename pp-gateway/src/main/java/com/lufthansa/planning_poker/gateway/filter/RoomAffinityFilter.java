@@ -0,0 +1,116 @@
+package com.lufthansa.planning_poker.gateway.filter;
+
+import com.lufthansa.planning_poker.gateway.config.RoomAffinityProperties;
+import com.lufthansa.planning_poker.gateway.routing.VoteServiceInstances;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Sends every request of a room to the vote service instance owning the room on the
+ * {@link VoteServiceInstances} ring, so the WebSocket sessions, event streams and votes of a
+ * room all meet on one node.
+ * <p>
+ * The room is taken from the {@value #ROOM_HEADER} header, the {@code roomId} query parameter
+ * (WebSocket clients cannot set headers on the upgrade request, so they connect to
+ * {@code /ws?roomId=...}) or a {@code /rooms/{roomId}/} path segment. The body is not read, so
+ * a write that carries its room only there, such as {@code POST /api/v1/votes}, must send the
+ * header; writes without a room are rejected with 400 rather than landing on a node that does
+ * not own the room. Reads without a room and requests while no instance is ready keep the route
+ * URI. Only host and port of the resolved URL are replaced, the scheme stays that of the route.
+ */
+@Component
+public class RoomAffinityFilter implements GlobalFilter, Ordered {
+
+    public static final String ROOM_HEADER = "X-Room-Id";
+
+    private static final String ROOM_PARAM = "roomId";
+    private static final Pattern ROOM_PATH = Pattern.compile("/rooms/([0-9a-fA-F-]{36})(?:/|$)");
+
+    private final VoteServiceInstances instances;
+    private final Set<String> routes;
+
+    public RoomAffinityFilter(VoteServiceInstances instances, RoomAffinityProperties properties) {
+        this.instances = instances;
+        this.routes = Set.copyOf(properties.getRoutes());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!instances.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || url == null || !routes.contains(route.getId())) {
+            return chain.filter(exchange);
+        }
+        String roomId = roomId(exchange.getRequest());
+        if (roomId == null && isWrite(exchange.getRequest().getMethod())) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Requests changing a room must name it in the " + ROOM_HEADER + " header"));
+        }
+        VoteServiceInstances.Instance instance = roomId != null ? instances.instanceFor(roomId) : null;
+        if (instance != null) {
+            URI routed = UriComponentsBuilder.fromUri(url)
+                .host(instance.host())
+                .port(instance.port())
+                .build(true)
+                .toUri();
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, routed);
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after the route URI was resolved, before the routing filters connect to it
+        return RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+    }
+
+    static String roomId(ServerHttpRequest request) {
+        String roomId = request.getHeaders().getFirst(ROOM_HEADER);
+        if (roomId == null) {
+            roomId = request.getQueryParams().getFirst(ROOM_PARAM);
+        }
+        if (roomId == null) {
+            Matcher matcher = ROOM_PATH.matcher(request.getPath().value());
+            if (matcher.find()) {
+                roomId = matcher.group(1);
+            }
+        }
+        return roomId != null ? normalize(roomId) : null;
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return !(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method));
+    }
+
+    // The same room must hash the same way whatever the case or source of the id
+    private static String normalize(String roomId) {
+        try {
+            return UUID.fromString(roomId.trim()).toString();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
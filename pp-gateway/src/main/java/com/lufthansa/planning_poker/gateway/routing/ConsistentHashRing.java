@@ -0,0 +1,125 @@
+package com.lufthansa.planning_poker.gateway.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable consistent-hash ring.
+ * <p>
+ * Every node is placed on the ring {@code virtualNodes} times; a key belongs to the first point
+ * at or after its hash. Adding or removing one of {@code n} nodes therefore moves only about
+ * {@code 1/n} of the keys, those of the points the node gains or loses, and all other keys stay
+ * where they are. The points are kept in a sorted array, so a lookup is one binary search.
+ *
+ * @param <N> the node type
+ */
+public final class ConsistentHashRing<N> {
+
+    private final long[] points;
+    private final Object[] owners;
+    private final List<N> nodes;
+
+    private ConsistentHashRing(long[] points, Object[] owners, List<N> nodes) {
+        this.points = points;
+        this.owners = owners;
+        this.nodes = nodes;
+    }
+
+    /**
+     * @param nodeKey stable identity of a node; nodes with the same key get the same points
+     *                whenever the ring is rebuilt
+     */
+    public static <N> ConsistentHashRing<N> of(Collection<N> nodes, Function<N, String> nodeKey, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("A node needs at least one point on the ring");
+        }
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        Object[] unsorted = new Object[size];
+        int i = 0;
+        for (N node : nodes) {
+            String key = nodeKey.apply(node);
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(key + "#" + v);
+                unsorted[i] = node;
+                i++;
+            }
+        }
+
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++) {
+            order[j] = j;
+        }
+        // Ties between nodes are broken by node key, so the ring does not depend on the input order
+        Arrays.sort(order, (a, b) -> {
+            int byHash = Long.compareUnsigned(hashes[a], hashes[b]);
+            if (byHash != 0) {
+                return byHash;
+            }
+            @SuppressWarnings("unchecked")
+            String keyA = nodeKey.apply((N) unsorted[a]);
+            @SuppressWarnings("unchecked")
+            String keyB = nodeKey.apply((N) unsorted[b]);
+            return keyA.compareTo(keyB);
+        });
+        long[] points = new long[size];
+        Object[] owners = new Object[size];
+        for (int j = 0; j < size; j++) {
+            points[j] = hashes[order[j]];
+            owners[j] = unsorted[order[j]];
+        }
+        return new ConsistentHashRing<>(points, owners, List.copyOf(nodes));
+    }
+
+    /**
+     * @return the node owning the key, or {@code null} when the ring is empty
+     */
+    @SuppressWarnings("unchecked")
+    public N nodeFor(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        long hash = hash(key);
+        int low = 0;
+        int high = points.length;
+        // First point whose hash is not below the key's, wrapping around to the first point
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (N) owners[low == points.length ? 0 : low];
+    }
+
+    public List<N> nodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    /**
+     * 64-bit FNV-1a, finished with the MurmurHash3 mix so similar keys such as
+     * {@code host#1} and {@code host#2} still land far apart.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
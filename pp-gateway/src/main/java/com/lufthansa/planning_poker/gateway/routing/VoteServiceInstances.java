@@ -0,0 +1,171 @@
+package com.lufthansa.planning_poker.gateway.routing;
+
+import com.lufthansa.planning_poker.gateway.config.RoomAffinityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The vote service instances rooms are routed to, on a {@link ConsistentHashRing}.
+ * <p>
+ * Every instance is polled on its readiness endpoint; an instance that fails the check leaves
+ * the ring and rejoins once it passes again. Instances start out as ready, so the gateway
+ * routes right away instead of waiting for the first round of checks. Since a node keeps its
+ * points on the ring, an instance going away only moves the rooms it owned and they move back
+ * when it returns; all other rooms stay on their node.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VoteServiceInstances implements SmartLifecycle {
+
+    private final RoomAffinityProperties properties;
+    private final WebClient webClient;
+    private final List<Instance> instances = new ArrayList<>();
+    private final Counter rebalances;
+    private volatile ConsistentHashRing<Instance> ring;
+    private volatile Disposable healthChecks;
+
+    public VoteServiceInstances(RoomAffinityProperties properties, WebClient.Builder webClientBuilder,
+                                MeterRegistry registry) {
+        this.properties = properties;
+        this.webClient = webClientBuilder.build();
+        for (String address : properties.getInstances()) {
+            Instance instance = Instance.parse(address);
+            instances.add(instance);
+            Gauge.builder("pp.gateway.affinity.instance.up", instance, node -> node.up ? 1 : 0)
+                .description("1 while the instance is on the room affinity ring")
+                .tag("instance", instance.key())
+                .register(registry);
+        }
+        this.rebalances = Counter.builder("pp.gateway.affinity.rebalances")
+            .description("Times the room affinity ring was rebuilt after an instance changed state")
+            .register(registry);
+        this.ring = ConsistentHashRing.of(instances, Instance::key, properties.getVirtualNodes());
+    }
+
+    /**
+     * @return the instance owning the room, or {@code null} when no instance is ready
+     */
+    public Instance instanceFor(String roomId) {
+        return ring.nodeFor(roomId);
+    }
+
+    public boolean isEnabled() {
+        return !instances.isEmpty();
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled() || healthChecks != null) {
+            return;
+        }
+        log.info("Routing rooms over {} vote service instances ({} points each)",
+            instances.size(), properties.getVirtualNodes());
+        healthChecks = Flux.interval(properties.getHealthInterval())
+            .concatMap(tick -> Flux.fromIterable(instances)
+                .flatMap(instance -> check(instance).map(up -> update(instance, up)))
+                .reduce(false, Boolean::logicalOr))
+            .filter(Boolean::booleanValue)
+            .subscribe(changed -> rebuild());
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = healthChecks;
+        if (current != null) {
+            current.dispose();
+            healthChecks = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return healthChecks != null;
+    }
+
+    private Mono<Boolean> check(Instance instance) {
+        return webClient.get()
+            .uri("http://" + instance.key() + properties.getHealthPath())
+            .retrieve()
+            .toBodilessEntity()
+            .map(response -> response.getStatusCode().is2xxSuccessful())
+            .timeout(properties.getHealthTimeout())
+            .onErrorReturn(false);
+    }
+
+    private boolean update(Instance instance, boolean up) {
+        if (instance.up == up) {
+            return false;
+        }
+        instance.up = up;
+        if (up) {
+            log.info("Vote service instance {} is ready again, rejoining the room affinity ring", instance.key());
+        } else {
+            log.warn("Vote service instance {} failed its readiness check, leaving the room affinity ring",
+                instance.key());
+        }
+        return true;
+    }
+
+    private void rebuild() {
+        List<Instance> ready = instances.stream().filter(instance -> instance.up).toList();
+        ring = ConsistentHashRing.of(ready, Instance::key, properties.getVirtualNodes());
+        rebalances.increment();
+        if (ready.isEmpty()) {
+            log.warn("No vote service instance is ready, rooms fall back to the route URI");
+        }
+    }
+
+    /**
+     * A vote service instance, identified by {@code host:port}.
+     */
+    public static final class Instance {
+
+        private final String host;
+        private final int port;
+        private volatile boolean up = true;
+
+        private Instance(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        static Instance parse(String address) {
+            String trimmed = address.trim();
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0 || colon == trimmed.length() - 1) {
+                throw new IllegalArgumentException("Vote service instance must be host:port, was '" + address + "'");
+            }
+            return new Instance(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1)));
+        }
+
+        public String host() {
+            return host;
+        }
+
+        public int port() {
+            return port;
+        }
+
+        public String key() {
+            return host + ":" + port;
+        }
+
+        @Override
+        public String toString() {
+            return key();
+        }
+    }
+}
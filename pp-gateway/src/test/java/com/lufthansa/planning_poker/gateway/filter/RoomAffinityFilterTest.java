@@ -0,0 +1,164 @@
+package com.lufthansa.planning_poker.gateway.filter;
+
+import com.lufthansa.planning_poker.gateway.config.RoomAffinityProperties;
+import com.lufthansa.planning_poker.gateway.routing.VoteServiceInstances;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+@DisplayName("RoomAffinityFilter Tests")
+class RoomAffinityFilterTest {
+
+    private VoteServiceInstances instances;
+    private RoomAffinityFilter filter;
+    private AtomicReference<ServerWebExchange> forwarded;
+    private GatewayFilterChain chain;
+    private String roomId;
+
+    @BeforeEach
+    void setUp() {
+        RoomAffinityProperties properties = new RoomAffinityProperties();
+        properties.setInstances(List.of("vote-1:8082", "vote-2:8082", "vote-3:8082"));
+        instances = new VoteServiceInstances(properties, WebClient.builder(), new SimpleMeterRegistry());
+        filter = new RoomAffinityFilter(instances, properties);
+        forwarded = new AtomicReference<>();
+        chain = exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+        roomId = UUID.randomUUID().toString();
+    }
+
+    @Nested
+    @DisplayName("roomId Tests")
+    class RoomIdTests {
+
+        @Test
+        @DisplayName("Should take the room from the header, the query parameter or the path")
+        void shouldResolveRoom() {
+            // When/Then
+            assertThat(RoomAffinityFilter.roomId(MockServerHttpRequest.post("/api/v1/votes")
+                .header(RoomAffinityFilter.ROOM_HEADER, roomId).build())).isEqualTo(roomId);
+            assertThat(RoomAffinityFilter.roomId(MockServerHttpRequest.get("/ws")
+                .queryParam("roomId", roomId).build())).isEqualTo(roomId);
+            assertThat(RoomAffinityFilter.roomId(MockServerHttpRequest.get("/api/v1/rooms/" + roomId + "/events")
+                .build())).isEqualTo(roomId);
+        }
+
+        @Test
+        @DisplayName("Should normalize the case of the room and ignore malformed ones")
+        void shouldNormalizeRoom() {
+            // When/Then
+            assertThat(RoomAffinityFilter.roomId(MockServerHttpRequest.post("/api/v1/votes")
+                .header(RoomAffinityFilter.ROOM_HEADER, roomId.toUpperCase()).build())).isEqualTo(roomId);
+            assertThat(RoomAffinityFilter.roomId(MockServerHttpRequest.post("/api/v1/votes")
+                .header(RoomAffinityFilter.ROOM_HEADER, "not-a-room").build())).isNull();
+            assertThat(RoomAffinityFilter.roomId(MockServerHttpRequest.get("/api/v1/votes/stories/x/count")
+                .build())).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("filter Tests")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should send a vote to the instance owning its room, keeping scheme and path")
+        void shouldRouteToRoomOwner() {
+            // Given
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/v1/votes")
+                .header(RoomAffinityFilter.ROOM_HEADER, roomId), "vote-service", "http://vote:8082/api/v1/votes");
+
+            // When
+            filter.filter(exchange, chain).block();
+
+            // Then
+            VoteServiceInstances.Instance owner = instances.instanceFor(roomId);
+            assertThat(requestUrl()).isEqualTo(URI.create("http://" + owner.key() + "/api/v1/votes"));
+        }
+
+        @Test
+        @DisplayName("Should send a WebSocket of a room to the same instance as its votes")
+        void shouldRouteWebSocketLikeVotes() {
+            // Given
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/ws").queryParam("roomId", roomId),
+                "vote-service-ws", "ws://vote:8082/ws?roomId=" + roomId);
+
+            // When
+            filter.filter(exchange, chain).block();
+
+            // Then
+            VoteServiceInstances.Instance owner = instances.instanceFor(roomId);
+            assertThat(requestUrl()).isEqualTo(URI.create("ws://" + owner.key() + "/ws?roomId=" + roomId));
+        }
+
+        @Test
+        @DisplayName("Should reject a write that names no room")
+        void shouldRejectWriteWithoutRoom() {
+            // Given
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/v1/votes"),
+                "vote-service", "http://vote:8082/api/v1/votes");
+
+            // When/Then
+            assertThatThrownBy(() -> filter.filter(exchange, chain).block())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                    e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+            assertThat(forwarded.get()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should keep the route URI for reads without a room and for other routes")
+        void shouldKeepRouteUri() {
+            // Given
+            MockServerWebExchange read = exchange(MockServerHttpRequest.get("/api/v1/votes/stories/x/count"),
+                "vote-service", "http://vote:8082/api/v1/votes/stories/x/count");
+            MockServerWebExchange otherRoute = exchange(MockServerHttpRequest.post("/api/v1/rooms"),
+                "room-service", "http://room:8081/api/v1/rooms");
+
+            // When
+            filter.filter(read, chain).block();
+            URI readUrl = requestUrl();
+            filter.filter(otherRoute, chain).block();
+
+            // Then
+            assertThat(readUrl).isEqualTo(URI.create("http://vote:8082/api/v1/votes/stories/x/count"));
+            assertThat(requestUrl()).isEqualTo(URI.create("http://room:8081/api/v1/rooms"));
+        }
+    }
+
+    private URI requestUrl() {
+        return forwarded.get().getAttribute(GATEWAY_REQUEST_URL_ATTR);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String routeId,
+                                                  String url) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+            .id(routeId)
+            .uri(URI.create(url))
+            .predicate(any -> true)
+            .build());
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create(url));
+        return exchange;
+    }
+}
@@ -0,0 +1,113 @@
+package com.lufthansa.planning_poker.gateway.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConsistentHashRing Tests")
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    @DisplayName("Should own no key while empty")
+    void shouldReturnNullWhenEmpty() {
+        // Given
+        ConsistentHashRing<String> ring = ring();
+
+        // When/Then
+        assertThat(ring.isEmpty()).isTrue();
+        assertThat(ring.nodeFor("room")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should place keys the same way whatever the order of the nodes")
+    void shouldNotDependOnNodeOrder() {
+        // Given
+        ConsistentHashRing<String> ring = ring("a:1", "b:1", "c:1");
+        ConsistentHashRing<String> reordered = ring("c:1", "a:1", "b:1");
+
+        // When/Then
+        for (String key : keys()) {
+            assertThat(reordered.nodeFor(key)).isEqualTo(ring.nodeFor(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread keys over all nodes")
+    void shouldSpreadKeys() {
+        // Given
+        ConsistentHashRing<String> ring = ring("a:1", "b:1", "c:1");
+
+        // When
+        Map<String, Integer> owned = new HashMap<>();
+        keys().forEach(key -> owned.merge(ring.nodeFor(key), 1, Integer::sum));
+
+        // Then
+        assertThat(owned).containsOnlyKeys("a:1", "b:1", "c:1");
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 5, KEYS / 2));
+    }
+
+    @Test
+    @DisplayName("Should only move the keys a new node takes over")
+    void shouldMoveOnlyKeysOfAddedNode() {
+        // Given
+        ConsistentHashRing<String> before = ring("a:1", "b:1", "c:1");
+        ConsistentHashRing<String> after = ring("a:1", "b:1", "c:1", "d:1");
+
+        // When
+        int moved = 0;
+        for (String key : keys()) {
+            if (!after.nodeFor(key).equals(before.nodeFor(key))) {
+                assertThat(after.nodeFor(key)).isEqualTo("d:1");
+                moved++;
+            }
+        }
+
+        // Then about a quarter of the keys move
+        assertThat(moved).isBetween(KEYS / 8, KEYS / 2);
+    }
+
+    @Test
+    @DisplayName("Should only move the keys of a removed node")
+    void shouldMoveOnlyKeysOfRemovedNode() {
+        // Given
+        ConsistentHashRing<String> before = ring("a:1", "b:1", "c:1");
+        ConsistentHashRing<String> after = ring("a:1", "c:1");
+
+        // When/Then
+        for (String key : keys()) {
+            if (!before.nodeFor(key).equals("b:1")) {
+                assertThat(after.nodeFor(key)).isEqualTo(before.nodeFor(key));
+            } else {
+                assertThat(after.nodeFor(key)).isIn("a:1", "c:1");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a node without points")
+    void shouldRejectZeroVirtualNodes() {
+        // When/Then
+        assertThatThrownBy(() -> ConsistentHashRing.of(List.of("a:1"), Function.identity(), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ConsistentHashRing<String> ring(String... nodes) {
+        return ConsistentHashRing.of(List.of(nodes), Function.identity(), 160);
+    }
+
+    private static List<String> keys() {
+        return IntStream.range(0, KEYS)
+            .mapToObj(i -> new UUID(i, i * 31L).toString())
+            .toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.lufthansa.planning_poker.gateway.routing;
+
+import com.lufthansa.planning_poker.gateway.config.RoomAffinityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("VoteServiceInstances Tests")
+class VoteServiceInstancesTest {
+
+    private final Set<String> down = ConcurrentHashMap.newKeySet();
+    private SimpleMeterRegistry meterRegistry;
+    private VoteServiceInstances instances;
+
+    @BeforeEach
+    void setUp() {
+        RoomAffinityProperties properties = new RoomAffinityProperties();
+        properties.setInstances(List.of("vote-1:8082", "vote-2:8082", "vote-3:8082"));
+        properties.setHealthInterval(Duration.ofMillis(10));
+        properties.setHealthTimeout(Duration.ofSeconds(1));
+        // Instances listed in down fail their readiness check
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> Mono.just(
+            ClientResponse.create(down.contains(request.url().getAuthority())
+                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).build()));
+        meterRegistry = new SimpleMeterRegistry();
+        instances = new VoteServiceInstances(properties, webClient, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        instances.stop();
+    }
+
+    @Test
+    @DisplayName("Should route every room to an instance right away")
+    void shouldRouteBeforeFirstCheck() {
+        // When/Then
+        assertThat(instances.isEnabled()).isTrue();
+        assertThat(rooms()).allSatisfy(room -> assertThat(instances.instanceFor(room)).isNotNull());
+    }
+
+    @Test
+    @DisplayName("Should move only the rooms of an instance that failed its check, and back once it is ready")
+    void shouldRebuildRingOnHealthChange() throws InterruptedException {
+        // Given
+        Map<String, String> owners = owners();
+        instances.start();
+
+        // When
+        down.add("vote-2:8082");
+        awaitRebalances(1);
+        Map<String, String> withoutVote2 = owners();
+        down.clear();
+        awaitRebalances(2);
+
+        // Then
+        assertThat(withoutVote2).doesNotContainValue("vote-2:8082");
+        owners.forEach((room, owner) -> {
+            if (!owner.equals("vote-2:8082")) {
+                assertThat(withoutVote2.get(room)).isEqualTo(owner);
+            }
+        });
+        assertThat(meterRegistry.get("pp.gateway.affinity.instance.up").tag("instance", "vote-2:8082")
+            .gauge().value()).isEqualTo(1);
+        assertThat(owners()).isEqualTo(owners);
+    }
+
+    @Test
+    @DisplayName("Should route no room while no instance is ready")
+    void shouldRouteNothingWhenAllDown() throws InterruptedException {
+        // Given
+        down.addAll(List.of("vote-1:8082", "vote-2:8082", "vote-3:8082"));
+        instances.start();
+
+        // When
+        awaitRebalances(1);
+
+        // Then
+        assertThat(instances.instanceFor(UUID.randomUUID().toString())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject instances that are not host:port")
+    void shouldRejectMalformedInstance() {
+        // When/Then
+        assertThatThrownBy(() -> VoteServiceInstances.Instance.parse("vote-1"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(VoteServiceInstances.Instance.parse(" vote-1:8082 ").key()).isEqualTo("vote-1:8082");
+    }
+
+    private Map<String, String> owners() {
+        Map<String, String> owners = new HashMap<>();
+        rooms().forEach(room -> owners.put(room, instances.instanceFor(room).key()));
+        return owners;
+    }
+
+    private void awaitRebalances(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("pp.gateway.affinity.rebalances").counter().count() < count) {
+            assertThat(System.nanoTime()).as("ring rebuilt %d times", count).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> rooms() {
+        return IntStream.range(0, 1_000).mapToObj(i -> new UUID(i, i * 17L).toString()).toList();
+    }
+}
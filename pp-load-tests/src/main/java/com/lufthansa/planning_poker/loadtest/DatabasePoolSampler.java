@@ -0,0 +1,120 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the Hikari meters of the service under test from {@code /actuator/prometheus} while a
+ * run is in progress. Gauges are only seen at the sampling instants, so the peaks are a lower
+ * bound; waits and timeouts come from the pool's own counters and are exact.
+ */
+@Slf4j
+final class DatabasePoolSampler implements AutoCloseable {
+
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(200);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final HttpRequest scrape;
+    private final ScheduledExecutorService sampler =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("db-pool-sampler-"));
+    private Map<String, Double> start;
+    private double peakActive;
+    private double peakPending;
+    private volatile boolean available = true;
+
+    DatabasePoolSampler(String baseUrl) {
+        this.scrape = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+            .timeout(Duration.ofSeconds(2))
+            .build();
+    }
+
+    void start() {
+        start = scrape();
+        if (start.isEmpty()) {
+            log.warn("No Hikari meters at {}, the report will not include the database pool", scrape.uri());
+            available = false;
+            return;
+        }
+        sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        Map<String, Double> values = scrape();
+        synchronized (this) {
+            peakActive = Math.max(peakActive, values.getOrDefault("hikaricp_connections_active", 0.0));
+            peakPending = Math.max(peakPending, values.getOrDefault("hikaricp_connections_pending", 0.0));
+        }
+    }
+
+    String summary() {
+        if (!available) {
+            return "  not available";
+        }
+        sampler.shutdownNow();
+        Map<String, Double> end = scrape();
+        double acquires = delta(end, "hikaricp_connections_acquire_seconds_count");
+        double acquireSeconds = delta(end, "hikaricp_connections_acquire_seconds_sum");
+        double usages = delta(end, "hikaricp_connections_usage_seconds_count");
+        double usageSeconds = delta(end, "hikaricp_connections_usage_seconds_sum");
+        synchronized (this) {
+            return String.format(
+                "  Pool size                %10.0f%n"
+                    + "  Peak active (sampled)    %10.0f%n"
+                    + "  Peak pending (sampled)   %10.0f%n"
+                    + "  Acquire wait             %10.2f ms mean   %8.2f ms max%n"
+                    + "  Connection held          %10.2f ms mean   %8.2f ms max%n"
+                    + "  Acquire timeouts         %10.0f",
+                end.getOrDefault("hikaricp_connections_max", Double.NaN), peakActive, peakPending,
+                acquires > 0 ? acquireSeconds * 1000 / acquires : 0,
+                end.getOrDefault("hikaricp_connections_acquire_seconds_max", 0.0) * 1000,
+                usages > 0 ? usageSeconds * 1000 / usages : 0,
+                end.getOrDefault("hikaricp_connections_usage_seconds_max", 0.0) * 1000,
+                delta(end, "hikaricp_connections_timeout_total"));
+        }
+    }
+
+    private double delta(Map<String, Double> end, String name) {
+        return end.getOrDefault(name, 0.0) - start.getOrDefault(name, 0.0);
+    }
+
+    /**
+     * Hikari series summed over all pools, by metric name. Histogram buckets are skipped.
+     */
+    private Map<String, Double> scrape() {
+        Map<String, Double> values = new HashMap<>();
+        try {
+            String body = httpClient.send(scrape, HttpResponse.BodyHandlers.ofString()).body();
+            for (String line : body.split("\n")) {
+                if (!line.startsWith("hikaricp_") || line.contains("_bucket")) {
+                    continue;
+                }
+                int nameEnd = line.indexOf('{') > 0 ? line.indexOf('{') : line.indexOf(' ');
+                double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                values.merge(line.substring(0, nameEnd), value,
+                    line.startsWith("hikaricp_connections_acquire_seconds_max")
+                        || line.startsWith("hikaricp_connections_usage_seconds_max") ? Math::max : Double::sum);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("Failed to scrape {}", scrape.uri(), e);
+        }
+        return values;
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+}
@@ -0,0 +1,45 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects every sample of one measurement; runs are short enough to keep them all and
+ * report exact percentiles.
+ */
+final class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int size;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    synchronized String summary() {
+        if (size == 0) {
+            return String.format("%-28s %8s", name, "no samples");
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return String.format("%-28s %8d   p50 %8.2f ms   p99 %8.2f ms   max %8.2f ms",
+            name, size, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), millis(sorted[size - 1]));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
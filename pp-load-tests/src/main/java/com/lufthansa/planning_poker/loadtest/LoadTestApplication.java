@@ -0,0 +1,31 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load generator for one vote service node.
+ * <p>
+ * {@code java -jar pp-load-tests/target/load-tests.jar --rooms=100 --participants=8 --stories=3}
+ * starts a vote service in-process (embedded Kafka, H2) and plays a sprint-planning wave
+ * against it. Pass {@code --vote-url}, {@code --kafka} and {@code --secret} to test a running
+ * instance with internal identity enabled instead.
+ */
+@Slf4j
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        int status = 0;
+        try (VoteServiceTarget target = VoteServiceTarget.start(settings)) {
+            new SprintPlanningWave(settings, target).run();
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            status = 1;
+        }
+        // Client and broker threads are not all daemons
+        System.exit(status);
+    }
+}
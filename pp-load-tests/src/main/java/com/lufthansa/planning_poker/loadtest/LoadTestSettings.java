@@ -0,0 +1,81 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parameters of a run, given as {@code --name=value} arguments.
+ *
+ * @param rooms            concurrent rooms
+ * @param participants     participants per room, each with its own STOMP session
+ * @param stories          voting rounds per room
+ * @param httpConcurrency  REST requests, or votes over STOMP awaiting their acknowledgement,
+ *                         in flight at most
+ * @param phaseTimeout     how long a phase may take before the run is aborted
+ * @param dbPoolSize       Hikari pool size of the in-process vote service; {@code null} keeps
+ *                         the service default
+ * @param voteUrl          vote service to test; {@code null} starts one in-process
+ * @param kafkaServers     Kafka of an external vote service
+ * @param identitySecret   internal identity secret of an external vote service
+ * @param voteTransport    how votes are cast: {@code rest} ({@code POST /api/v1/votes}) or
+ *                         {@code stomp} ({@code /app/room/{roomId}/vote} on the open session)
+ */
+public record LoadTestSettings(
+    int rooms,
+    int participants,
+    int stories,
+    int httpConcurrency,
+    Duration phaseTimeout,
+    Integer dbPoolSize,
+    String voteUrl,
+    String kafkaServers,
+    String identitySecret,
+    String voteTransport
+) {
+
+    public static final String REST = "rest";
+    public static final String STOMP = "stomp";
+
+    public static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestSettings settings = new LoadTestSettings(
+            Integer.parseInt(options.getOrDefault("rooms", "50")),
+            Integer.parseInt(options.getOrDefault("participants", "8")),
+            Integer.parseInt(options.getOrDefault("stories", "3")),
+            Integer.parseInt(options.getOrDefault("http-concurrency", "64")),
+            Duration.parse(options.getOrDefault("phase-timeout", "PT60S")),
+            options.containsKey("db-pool-size") ? Integer.valueOf(options.get("db-pool-size")) : null,
+            options.get("vote-url"),
+            options.get("kafka"),
+            options.get("secret"),
+            options.getOrDefault("vote-transport", REST)
+        );
+        if (settings.external() && (settings.kafkaServers == null || settings.identitySecret == null)) {
+            throw new IllegalArgumentException("--vote-url also needs --kafka and --secret");
+        }
+        if (settings.external() && settings.dbPoolSize != null) {
+            throw new IllegalArgumentException("--db-pool-size only applies to the in-process vote service, "
+                + "set DB_POOL_SIZE on the external one");
+        }
+        if (!REST.equals(settings.voteTransport) && !STOMP.equals(settings.voteTransport)) {
+            throw new IllegalArgumentException("--vote-transport must be " + REST + " or " + STOMP);
+        }
+        return settings;
+    }
+
+    public boolean external() {
+        return voteUrl != null;
+    }
+
+    public boolean votesOverStomp() {
+        return STOMP.equals(voteTransport);
+    }
+}
@@ -0,0 +1,162 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import com.lufthansa.planning_poker.common.security.InternalIdentityCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One simulated participant: a STOMP session subscribed to every topic of its room and to its
+ * vote acknowledgements, and the identity used for its REST calls and the STOMP CONNECT.
+ */
+@Slf4j
+final class Participant extends StompSessionHandlerAdapter {
+
+    static final List<String> ROOM_TOPICS =
+        List.of("voting-started", "vote-count", "results", "finished", "reset", "participants");
+
+    private final UUID roomId;
+    private final String userId;
+    private final String identityHeader;
+    private final MessageListener listener;
+    private final Map<String, CompletableFuture<Map<String, Object>>> pendingVotes = new ConcurrentHashMap<>();
+    private final AtomicLong voteRequests = new AtomicLong();
+    private StompSession session;
+    private long firstSequence;
+    private long maxSequence;
+    private long sequencedEvents;
+
+    Participant(UUID roomId, String userId, String identityHeader, MessageListener listener) {
+        this.roomId = roomId;
+        this.userId = userId;
+        this.identityHeader = identityHeader;
+        this.listener = listener;
+    }
+
+    void connect(WebSocketStompClient client, String url, long timeoutMillis) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add(InternalIdentityCodec.HEADER, identityHeader);
+        session = client.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, this)
+            .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        for (String topic : ROOM_TOPICS) {
+            session.subscribe("/topic/room/" + roomId + "/" + topic, new RoomFrameHandler());
+        }
+        session.subscribe("/user/queue/vote-ack", new VoteAckHandler());
+    }
+
+    /**
+     * Casts a vote over the STOMP session.
+     *
+     * @return completes with the acknowledgement sent back to this session
+     */
+    CompletableFuture<Map<String, Object>> sendVote(UUID storyId, String value) {
+        String requestId = userId + "-" + voteRequests.incrementAndGet();
+        CompletableFuture<Map<String, Object>> ack = new CompletableFuture<>();
+        pendingVotes.put(requestId, ack);
+        try {
+            session.send("/app/room/" + roomId + "/vote", Map.of("requestId", requestId, "storyId", storyId, "value", value));
+        } catch (RuntimeException e) {
+            pendingVotes.remove(requestId);
+            ack.completeExceptionally(e);
+        }
+        return ack;
+    }
+
+    void disconnect() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    UUID roomId() {
+        return roomId;
+    }
+
+    String userId() {
+        return userId;
+    }
+
+    String identityHeader() {
+        return identityHeader;
+    }
+
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+        log.warn("Transport error for {} in room {}: {}", userId, roomId, exception.getMessage());
+    }
+
+    /**
+     * Every event of a room carries the room sequence. Frames of one session may be written out
+     * of order, so gaps are only counted once the run is over.
+     */
+    private synchronized void trackSequence(Object sequence) {
+        if (!(sequence instanceof Number number)) {
+            return;
+        }
+        long current = number.longValue();
+        firstSequence = firstSequence == 0 ? current : Math.min(firstSequence, current);
+        maxSequence = Math.max(maxSequence, current);
+        sequencedEvents++;
+    }
+
+    /** Broadcasts of the room this session was subscribed to but never received. */
+    synchronized long missedEvents() {
+        return sequencedEvents == 0 ? 0 : Math.max(0, maxSequence - firstSequence + 1 - sequencedEvents);
+    }
+
+    synchronized long receivedEvents() {
+        return sequencedEvents;
+    }
+
+    interface MessageListener {
+        void onMessage(Participant participant, Map<String, Object> payload, long receivedAtNanos);
+    }
+
+    private final class VoteAckHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void handleFrame(StompHeaders headers, Object payload) {
+            Map<String, Object> ack = (Map<String, Object>) payload;
+            CompletableFuture<Map<String, Object>> pending = pendingVotes.remove(String.valueOf(ack.get("requestId")));
+            if (pending != null) {
+                pending.complete(ack);
+            }
+        }
+    }
+
+    private final class RoomFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long receivedAt = System.nanoTime();
+            Map<String, Object> event = (Map<String, Object>) payload;
+            trackSequence(event.get("sequence"));
+            listener.onMessage(Participant.this, event, receivedAt);
+        }
+    }
+}
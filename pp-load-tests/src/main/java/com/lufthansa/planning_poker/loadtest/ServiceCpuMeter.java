@@ -0,0 +1,72 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Sums the CPU time the service under test spends in the measured sections of a run, from the
+ * {@code process_cpu_time_ns_total} counter on {@code /actuator/prometheus}. For the in-process
+ * service the counter covers the whole JVM, including the harness itself.
+ */
+@Slf4j
+final class ServiceCpuMeter {
+
+    private static final String METRIC = "process_cpu_time_ns_total";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final HttpRequest scrape;
+    private long sectionStart = -1;
+    private long total;
+    private boolean available = true;
+
+    ServiceCpuMeter(String baseUrl) {
+        this.scrape = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+            .timeout(Duration.ofSeconds(2))
+            .build();
+    }
+
+    void begin() {
+        sectionStart = available ? cpuNanos() : -1;
+    }
+
+    void end() {
+        if (sectionStart < 0) {
+            return;
+        }
+        long now = cpuNanos();
+        if (now >= 0) {
+            total += now - sectionStart;
+        }
+        sectionStart = -1;
+    }
+
+    /**
+     * @return CPU nanoseconds of all measured sections, or -1 if the service has no CPU counter
+     */
+    long totalNanos() {
+        return available ? total : -1;
+    }
+
+    private long cpuNanos() {
+        try {
+            String body = httpClient.send(scrape, HttpResponse.BodyHandlers.ofString()).body();
+            for (String line : body.split("\n")) {
+                if (line.startsWith(METRIC)) {
+                    return (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                }
+            }
+            log.warn("No {} at {}, the report will not include the service CPU", METRIC, scrape.uri());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("Failed to scrape {}", scrape.uri(), e);
+        }
+        available = false;
+        return -1;
+    }
+}
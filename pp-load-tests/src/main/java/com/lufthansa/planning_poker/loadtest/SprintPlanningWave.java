@@ -0,0 +1,390 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.common.event.VotingStartedEvent;
+import com.lufthansa.planning_poker.common.security.InternalIdentityCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Simulates every team of a release train estimating at the same time.
+ * <p>
+ * All participants of all rooms connect over STOMP; then each round starts voting on a new
+ * story in every room through Kafka, fires all votes as one burst, and reveals and finishes
+ * every room. Each phase waits until every session received the resulting broadcast, and the
+ * time from the triggering call to each delivery is recorded.
+ * <p>
+ * Votes are cast over REST or, with {@code --vote-transport=stomp}, over the participant's open
+ * STOMP session; their latency runs until the response or the acknowledgement arrives, and the
+ * service CPU used during the bursts is reported per vote to compare both.
+ */
+@Slf4j
+final class SprintPlanningWave implements Participant.MessageListener {
+
+    private static final String[] CARDS = {"1", "2", "3", "5", "8", "13"};
+    private static final Duration IDENTITY_TTL = Duration.ofHours(12);
+
+    private final LoadTestSettings settings;
+    private final VoteServiceTarget target;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final Semaphore inFlight;
+    private final Map<UUID, Room> rooms = new LinkedHashMap<>();
+
+    private final LatencyRecorder connectLatency = new LatencyRecorder("STOMP connect + subscribe");
+    private final LatencyRecorder castLatency;
+    private final LatencyRecorder revealLatency = new LatencyRecorder("POST /voting/../reveal");
+    private final LatencyRecorder finishLatency = new LatencyRecorder("POST /voting/../finish");
+    private final Map<String, LatencyRecorder> deliveryDelays = new LinkedHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final DatabasePoolSampler databasePool;
+    private final ServiceCpuMeter burstCpu;
+    private long burstNanos;
+    private volatile Phase phase;
+
+    SprintPlanningWave(LoadTestSettings settings, VoteServiceTarget target) {
+        this.settings = settings;
+        this.target = target;
+        this.inFlight = new Semaphore(settings.httpConcurrency());
+        this.databasePool = new DatabasePoolSampler(target.baseUrl());
+        this.burstCpu = new ServiceCpuMeter(target.baseUrl());
+        this.castLatency = new LatencyRecorder(settings.votesOverStomp() ? "STOMP /app/../vote" : "POST /votes");
+        for (String type : List.of("VOTING_STARTED", "VOTE_COUNT_UPDATE", "VOTES_REVEALED", "VOTING_FINISHED")) {
+            deliveryDelays.put(type, new LatencyRecorder(type));
+        }
+    }
+
+    void run() throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        try {
+            connectParticipants(stompClient);
+            awaitSubscriptions();
+
+            databasePool.start();
+            long started = System.nanoTime();
+            for (int round = 1; round <= settings.stories(); round++) {
+                playRound(round);
+                log.info("Round {} of {} done", round, settings.stories());
+            }
+            report(System.nanoTime() - started);
+        } finally {
+            databasePool.close();
+            rooms.values().forEach(room -> room.participants.forEach(Participant::disconnect));
+            stompClient.stop();
+        }
+    }
+
+    private void connectParticipants(WebSocketStompClient stompClient) throws Exception {
+        InternalIdentityCodec codec = target.identityCodec();
+        long timeoutMillis = settings.phaseTimeout().toMillis();
+        for (int r = 0; r < settings.rooms(); r++) {
+            Room room = new Room(UUID.randomUUID());
+            for (int p = 0; p < settings.participants(); p++) {
+                String userId = "load-user-" + r + "-" + p;
+                String identity = codec.encode(codec.issue(userId, "Load User " + r + "-" + p, null,
+                    List.of("USER"), IDENTITY_TTL));
+                Participant participant = new Participant(room.id, userId, identity, this);
+                long start = System.nanoTime();
+                participant.connect(stompClient, target.webSocketUrl(), timeoutMillis);
+                connectLatency.record(System.nanoTime() - start);
+                room.participants.add(participant);
+                publishMembership(room.id, userId);
+            }
+            rooms.put(room.id, room);
+        }
+        target.kafkaTemplate().flush();
+        log.info("Connected {} STOMP sessions in {} rooms", settings.rooms() * settings.participants(), settings.rooms());
+    }
+
+    /**
+     * Makes the participant a member of the room for the vote service, as joining through the
+     * room service would.
+     */
+    private void publishMembership(UUID roomId, String userId) {
+        UserJoinedRoomEvent event = UserJoinedRoomEvent.builder()
+            .roomId(roomId)
+            .userId(userId)
+            .joinMethod("SHORT_CODE")
+            .build();
+        event.initialize(userId, userId);
+        target.kafkaTemplate().send(KafkaTopics.ROOM_MEMBERSHIP, UserJoinedRoomEvent.membershipKey(roomId, userId), event);
+    }
+
+    /**
+     * SUBSCRIBE frames are not acknowledged, so probe with reset broadcasts until every session
+     * has received one.
+     */
+    private void awaitSubscriptions() throws InterruptedException {
+        Phase probe = beginPhase("VOTES_RESET", null, payload -> true);
+        long deadline = System.nanoTime() + settings.phaseTimeout().toNanos();
+        rooms.values().forEach(room -> room.storyId = UUID.randomUUID());
+        do {
+            List<CompletableFuture<Void>> calls = new ArrayList<>();
+            for (Room room : rooms.values()) {
+                calls.add(post("/api/v1/voting/stories/" + room.storyId + "/reset?roomId=" + room.id,
+                    room.moderator(), new LatencyRecorder("probe")));
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+            if (probe.remaining.await(500, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } while (System.nanoTime() < deadline);
+        throw new IllegalStateException(probe.remaining.getCount() + " sessions never received a broadcast");
+    }
+
+    private void playRound(int round) throws InterruptedException {
+        rooms.values().forEach(room -> room.storyId = UUID.randomUUID());
+
+        Phase started = beginPhase("VOTING_STARTED", deliveryDelays.get("VOTING_STARTED"), payload -> true);
+        for (Room room : rooms.values()) {
+            VotingStartedEvent event = VotingStartedEvent.builder()
+                .storyId(room.storyId)
+                .roomId(room.id)
+                .storyTitle("Load story " + round)
+                .build();
+            event.initialize(room.moderator().userId(), "Load Moderator");
+            started.trigger(room.id);
+            target.kafkaTemplate().send(KafkaTopics.STORY_EVENTS, room.id.toString(), event);
+        }
+        target.kafkaTemplate().flush();
+        await(started);
+
+        // Interleave the rooms so the burst hits all of them at once
+        Phase counted = beginPhase("VOTE_COUNT_UPDATE", deliveryDelays.get("VOTE_COUNT_UPDATE"),
+            payload -> payload.get("voteCount") instanceof Number count && count.intValue() == settings.participants());
+        List<CompletableFuture<Void>> votes = new ArrayList<>();
+        burstCpu.begin();
+        long burstStart = System.nanoTime();
+        for (int p = 0; p < settings.participants(); p++) {
+            for (Room room : rooms.values()) {
+                Participant participant = room.participants.get(p);
+                String value = CARDS[(p + round) % CARDS.length];
+                // The last vote of a room triggers the final count
+                counted.trigger(room.id);
+                if (settings.votesOverStomp()) {
+                    votes.add(sendVote(participant, room.storyId, value));
+                } else {
+                    String body = "{\"storyId\":\"" + room.storyId + "\",\"roomId\":\"" + room.id
+                        + "\",\"value\":\"" + value + "\"}";
+                    votes.add(post("/api/v1/votes", room.id, body, participant, castLatency));
+                }
+            }
+        }
+        CompletableFuture.allOf(votes.toArray(CompletableFuture[]::new)).join();
+        burstNanos += System.nanoTime() - burstStart;
+        await(counted);
+        burstCpu.end();
+
+        Phase revealed = beginPhase("VOTES_REVEALED", deliveryDelays.get("VOTES_REVEALED"), payload -> true);
+        List<CompletableFuture<Void>> reveals = new ArrayList<>();
+        for (Room room : rooms.values()) {
+            revealed.trigger(room.id);
+            reveals.add(post("/api/v1/voting/stories/" + room.storyId + "/reveal?roomId=" + room.id,
+                room.moderator(), revealLatency));
+        }
+        CompletableFuture.allOf(reveals.toArray(CompletableFuture[]::new)).join();
+        await(revealed);
+
+        Phase finished = beginPhase("VOTING_FINISHED", deliveryDelays.get("VOTING_FINISHED"), payload -> true);
+        List<CompletableFuture<Void>> finishes = new ArrayList<>();
+        for (Room room : rooms.values()) {
+            finished.trigger(room.id);
+            finishes.add(post("/api/v1/voting/stories/" + room.storyId + "/finish?roomId=" + room.id
+                + "&finalEstimate=5&storyTitle=Load+story+" + round, room.moderator(), finishLatency));
+        }
+        CompletableFuture.allOf(finishes.toArray(CompletableFuture[]::new)).join();
+        await(finished);
+    }
+
+    @Override
+    public void onMessage(Participant participant, Map<String, Object> payload, long receivedAtNanos) {
+        Phase current = phase;
+        if (current != null) {
+            current.accept(participant, payload, receivedAtNanos);
+        }
+    }
+
+    private Phase beginPhase(String type, LatencyRecorder delays, Predicate<Map<String, Object>> condition) {
+        Phase next = new Phase(type, delays, condition, settings.rooms() * settings.participants());
+        phase = next;
+        return next;
+    }
+
+    private void await(Phase awaited) throws InterruptedException {
+        if (!awaited.remaining.await(settings.phaseTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException(String.format("%s: %d of %d sessions did not receive the broadcast within %s",
+                awaited.type, awaited.remaining.getCount(), settings.rooms() * settings.participants(),
+                settings.phaseTimeout()));
+        }
+    }
+
+    private CompletableFuture<Void> post(String path, Participant caller, LatencyRecorder latency) {
+        return post(path, null, null, caller, latency);
+    }
+
+    /**
+     * @param roomId sent as {@code X-Room-Id} for requests naming their room only in the body,
+     *               so the gateway's room affinity can route them
+     */
+    private CompletableFuture<Void> post(String path, UUID roomId, String body, Participant caller,
+                                         LatencyRecorder latency) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target.baseUrl() + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .header(InternalIdentityCodec.HEADER, caller.identityHeader());
+        if (roomId != null) {
+            builder.header("X-Room-Id", roomId.toString());
+        }
+        HttpRequest request = builder
+            .POST(body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+            .build();
+
+        inFlight.acquireUninterruptibly();
+        requests.incrementAndGet();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                latency.record(System.nanoTime() - start);
+                inFlight.release();
+                if (error != null || response.statusCode() >= 400) {
+                    if (failedRequests.incrementAndGet() == 1) {
+                        log.warn("First failed request {}: {}", path,
+                            error != null ? error.toString() : response.statusCode() + " " + response.body());
+                    }
+                }
+                return null;
+            });
+    }
+
+    private CompletableFuture<Void> sendVote(Participant voter, UUID storyId, String value) {
+        inFlight.acquireUninterruptibly();
+        requests.incrementAndGet();
+        long start = System.nanoTime();
+        return voter.sendVote(storyId, value)
+            .orTimeout(30, TimeUnit.SECONDS)
+            .handle((ack, error) -> {
+                castLatency.record(System.nanoTime() - start);
+                inFlight.release();
+                if (error != null || !Boolean.TRUE.equals(ack.get("accepted"))) {
+                    if (failedRequests.incrementAndGet() == 1) {
+                        log.warn("First failed STOMP vote: {}", error != null ? error.toString() : ack);
+                    }
+                }
+                return null;
+            });
+    }
+
+    private void report(long runNanos) {
+        long sessions = (long) settings.rooms() * settings.participants();
+        long votes = sessions * settings.stories();
+        long received = 0;
+        long missed = 0;
+        for (Room room : rooms.values()) {
+            for (Participant participant : room.participants) {
+                received += participant.receivedEvents();
+                missed += participant.missedEvents();
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nSprint-planning wave: %d rooms x %d participants, %d stories, %s%n",
+            settings.rooms(), settings.participants(), settings.stories(),
+            settings.external() ? target.baseUrl() : "in-process vote service"));
+        out.append(String.format("  Run time                 %10.2f s%n", runNanos / 1e9));
+        out.append(String.format("  Requests                 %10d (%d failed)%n", requests.get(), failedRequests.get()));
+        out.append(String.format("  Request throughput       %10.1f req/s%n", requests.get() / (runNanos / 1e9)));
+        out.append(String.format("  Vote throughput          %10.1f votes/s during bursts (%s)%n", votes / (burstNanos / 1e9),
+            settings.voteTransport()));
+        long cpuNanos = burstCpu.totalNanos();
+        out.append(cpuNanos >= 0
+            ? String.format("  Service CPU per vote     %10.1f us during bursts%n", cpuNanos / 1e3 / votes)
+            : String.format("  Service CPU per vote     %10s%n", "not available"));
+        out.append(String.format("  STOMP events received    %10d (%d missed)%n", received, missed));
+        out.append(String.format("%nLatency%n"));
+        for (LatencyRecorder recorder : List.of(connectLatency, castLatency, revealLatency, finishLatency)) {
+            out.append("  ").append(recorder.summary()).append(System.lineSeparator());
+        }
+        out.append(String.format("%nBroadcast delivery delay (triggering call -> each subscribed session)%n"));
+        deliveryDelays.values().forEach(recorder -> out.append("  ").append(recorder.summary()).append(System.lineSeparator()));
+        out.append(String.format("%nDatabase pool (during the rounds)%n")).append(databasePool.summary())
+            .append(System.lineSeparator());
+        System.out.println(out);
+    }
+
+    private static final class Room {
+
+        private final UUID id;
+        private final List<Participant> participants = new ArrayList<>();
+        private volatile UUID storyId;
+
+        private Room(UUID id) {
+            this.id = id;
+        }
+
+        Participant moderator() {
+            return participants.get(0);
+        }
+    }
+
+    private final class Phase {
+
+        private final String type;
+        private final LatencyRecorder delays;
+        private final Predicate<Map<String, Object>> condition;
+        private final Map<UUID, Long> triggeredAt = new ConcurrentHashMap<>();
+        private final Set<Participant> reached = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch remaining;
+
+        private Phase(String type, LatencyRecorder delays, Predicate<Map<String, Object>> condition, int sessions) {
+            this.type = type;
+            this.delays = delays;
+            this.condition = condition;
+            this.remaining = new CountDownLatch(sessions);
+        }
+
+        void trigger(UUID roomId) {
+            triggeredAt.put(roomId, System.nanoTime());
+        }
+
+        void accept(Participant participant, Map<String, Object> payload, long receivedAtNanos) {
+            Room room = rooms.get(participant.roomId());
+            if (!type.equals(payload.get("type"))
+                    || !String.valueOf(room.storyId).equals(payload.get("storyId"))
+                    || !condition.test(payload)
+                    || !reached.add(participant)) {
+                return;
+            }
+            Long triggered = triggeredAt.get(participant.roomId());
+            if (delays != null && triggered != null) {
+                delays.record(receivedAtNanos - triggered);
+            }
+            remaining.countDown();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.lufthansa.planning_poker.loadtest;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.security.InternalIdentityCodec;
+import com.lufthansa.planning_poker.vote.VoteServiceApplication;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The vote service under test: either started in-process with an embedded Kafka broker and an
+ * H2 database, or an external instance reached through its URL and Kafka.
+ * <p>
+ * Callers authenticate with the signed internal identity header, so no Keycloak is needed.
+ */
+final class VoteServiceTarget implements AutoCloseable {
+
+    private final String baseUrl;
+    private final InternalIdentityCodec identityCodec;
+    private final KafkaTemplate<String, BaseEvent> kafkaTemplate;
+    private final EmbeddedKafkaBroker embeddedKafka;
+    private final ConfigurableApplicationContext embeddedService;
+
+    private VoteServiceTarget(String baseUrl, String kafkaServers, String identitySecret,
+                              EmbeddedKafkaBroker embeddedKafka, ConfigurableApplicationContext embeddedService) {
+        this.baseUrl = baseUrl;
+        this.identityCodec = new InternalIdentityCodec(identitySecret);
+        this.kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.<String, Object>of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaServers,
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class,
+            ProducerConfig.LINGER_MS_CONFIG, 0
+        )));
+        this.embeddedKafka = embeddedKafka;
+        this.embeddedService = embeddedService;
+    }
+
+    static VoteServiceTarget start(LoadTestSettings settings) {
+        if (settings.external()) {
+            return new VoteServiceTarget(settings.voteUrl(), settings.kafkaServers(), settings.identitySecret(),
+                null, null);
+        }
+
+        EmbeddedKafkaBroker kafka = new EmbeddedKafkaKraftBroker(1, 3,
+            KafkaTopics.ROOM_EVENTS, KafkaTopics.STORY_EVENTS, KafkaTopics.VOTE_EVENTS, KafkaTopics.STORY_STATE,
+            KafkaTopics.ROOM_MEMBERSHIP);
+        kafka.afterPropertiesSet();
+
+        byte[] secretBytes = new byte[32];
+        new SecureRandom().nextBytes(secretBytes);
+        String secret = Base64.getEncoder().encodeToString(secretBytes);
+
+        // Command line arguments, so they win over the service's application.yml
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:votes;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+            "--planning-poker.security.internal-identity.enabled=true",
+            "--planning-poker.security.internal-identity.secret=" + secret,
+            "--management.tracing.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.lufthansa.planning_poker.vote=WARN"
+        ));
+        if (settings.dbPoolSize() != null) {
+            args.add("--spring.datasource.hikari.maximum-pool-size=" + settings.dbPoolSize());
+            args.add("--spring.datasource.hikari.minimum-idle=" + settings.dbPoolSize());
+        }
+        ConfigurableApplicationContext service = new SpringApplicationBuilder(VoteServiceApplication.class)
+            .run(args.toArray(String[]::new));
+
+        // The story consumer starts at the latest offset, so wait until it owns its partitions
+        KafkaListenerEndpointRegistry listeners = service.getBean(KafkaListenerEndpointRegistry.class);
+        for (MessageListenerContainer container : listeners.getListenerContainers()) {
+            ContainerTestUtils.waitForAssignment(container, kafka.getPartitionsPerTopic());
+        }
+
+        int port = ((WebServerApplicationContext) service).getWebServer().getPort();
+        return new VoteServiceTarget("http://localhost:" + port, kafka.getBrokersAsString(), secret, kafka, service);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    String webSocketUrl() {
+        return baseUrl.replaceFirst("^http", "ws") + "/ws";
+    }
+
+    InternalIdentityCodec identityCodec() {
+        return identityCodec;
+    }
+
+    KafkaTemplate<String, BaseEvent> kafkaTemplate() {
+        return kafkaTemplate;
+    }
+
+    @Override
+    public void close() {
+        kafkaTemplate.destroy();
+        if (embeddedService != null) {
+            embeddedService.close();
+        }
+        if (embeddedKafka != null) {
+            embeddedKafka.destroy();
+        }
+    }
+}
@@ -4,7 +4,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 
-@SpringBootApplication
+// Also picks up the shared exception handler
+@SpringBootApplication(scanBasePackages = {
+    "com.lufthansa.planning_poker.room",
+    "com.lufthansa.planning_poker.common.exception"
+})
 @EnableCaching
 public class RoomServiceApplication {
 
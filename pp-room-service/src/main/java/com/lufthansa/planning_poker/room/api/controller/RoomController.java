@@ -110,6 +110,19 @@ public class RoomController {
         );
     }
 
+    @PostMapping("/{id}/leave")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Leave room", description = "The moderator cannot leave the room")
+    public void leaveRoom(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal Jwt jwt) {
+        roomService.leaveRoom(
+            id,
+            jwt.getSubject(),
+            jwt.getClaimAsString("preferred_username")
+        );
+    }
+
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all rooms (Admin only)")
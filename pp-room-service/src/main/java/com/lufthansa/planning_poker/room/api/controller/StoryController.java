@@ -1,6 +1,7 @@
 package com.lufthansa.planning_poker.room.api.controller;
 
 import com.lufthansa.planning_poker.room.application.dto.request.CreateStoryRequest;
+import com.lufthansa.planning_poker.room.application.dto.request.ImportStoriesRequest;
 import com.lufthansa.planning_poker.room.application.dto.request.UpdateStoryRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.StoryResponse;
 import com.lufthansa.planning_poker.room.application.service.StoryService;
@@ -44,6 +45,22 @@ public class StoryController {
         );
     }
 
+    @PostMapping("/rooms/{roomId}/stories/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Import a list of stories",
+        description = "Only the room moderator can import stories. Stories are appended in the given order")
+    public List<StoryResponse> importStories(
+            @PathVariable UUID roomId,
+            @Valid @RequestBody ImportStoriesRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        return storyService.importStories(
+            roomId,
+            request,
+            jwt.getSubject(),
+            jwt.getClaimAsString("preferred_username")
+        );
+    }
+
     @GetMapping("/rooms/{roomId}/stories")
     @Operation(summary = "Get all stories for a room")
     public List<StoryResponse> getStoriesByRoom(@PathVariable UUID roomId) {
@@ -86,12 +103,16 @@ public class StoryController {
     }
 
     @PostMapping("/stories/{id}/start-voting")
-    @Operation(summary = "Start voting for a story", description = "Only the room moderator can start voting")
+    @Operation(summary = "Start voting for a story",
+        description = "Only the room moderator can start voting. With a timebox the votes are revealed "
+            + "automatically once it has passed")
     public StoryResponse startVoting(
             @PathVariable UUID id,
+            @RequestParam(required = false) Integer timeboxSeconds,
             @AuthenticationPrincipal Jwt jwt) {
         return storyService.startVoting(
             id,
+            timeboxSeconds,
             jwt.getSubject(),
             jwt.getClaimAsString("preferred_username")
         );
@@ -22,6 +22,7 @@ public final class RoomServiceConstants {
     public static final String ENTITY_ROOM = "Room";
     public static final String ENTITY_STORY = "Story";
     public static final String ENTITY_INVITATION = "Invitation";
+    public static final String ENTITY_PARTICIPANT = "Participant";
 
     /**
      * Room-related error messages
@@ -29,6 +30,7 @@ public final class RoomServiceConstants {
     public static final String ERR_ROOM_NOT_ACTIVE = "This room is no longer active";
     public static final String ERR_ONLY_MODERATOR_UPDATE_ROOM = "Only the moderator can update this room";
     public static final String ERR_ONLY_MODERATOR_DELETE_ROOM = "Only the moderator or admin can delete this room";
+    public static final String ERR_MODERATOR_CANNOT_LEAVE = "The moderator cannot leave the room, delete it instead";
 
     /**
      * Story-related error messages
@@ -39,6 +41,18 @@ public final class RoomServiceConstants {
     public static final String ERR_ONLY_MODERATOR_START_VOTING = "Only the moderator can start voting";
     public static final String ERR_CANNOT_UPDATE_COMPLETED = "Cannot update a completed story";
     public static final String ERR_CANNOT_DELETE_DURING_VOTING = "Cannot delete a story while voting is in progress";
+    public static final String ERR_INVALID_VOTING_TIMEBOX = "The voting timebox must be between %d and %d seconds";
+
+    /**
+     * Voting timebox bounds, in seconds
+     */
+    public static final int MIN_VOTING_TIMEBOX_SECONDS = 10;
+    public static final int MAX_VOTING_TIMEBOX_SECONDS = 3600;
+
+    /**
+     * Bulk story import
+     */
+    public static final int MAX_IMPORTED_STORIES = 500;
 
     /**
      * Invitation-related error messages
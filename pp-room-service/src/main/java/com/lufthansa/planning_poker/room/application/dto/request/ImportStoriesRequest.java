@@ -0,0 +1,15 @@
+package com.lufthansa.planning_poker.room.application.dto.request;
+
+import com.lufthansa.planning_poker.room.application.constants.RoomServiceConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ImportStoriesRequest(
+    @NotEmpty(message = "At least one story is required")
+    @Size(max = RoomServiceConstants.MAX_IMPORTED_STORIES,
+        message = "Cannot import more than " + RoomServiceConstants.MAX_IMPORTED_STORIES + " stories at once")
+    List<@Valid CreateStoryRequest> stories
+) {}
@@ -1,6 +1,6 @@
 package com.lufthansa.planning_poker.room.application.service;
 
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.constants.RoomServiceConstants;
 import com.lufthansa.planning_poker.room.application.dto.request.SendInviteRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.InviteResponse;
@@ -3,6 +3,9 @@ package com.lufthansa.planning_poker.room.application.service;
 import com.lufthansa.planning_poker.common.event.RoomCreatedEvent;
 import com.lufthansa.planning_poker.common.event.RoomDeletedEvent;
 import com.lufthansa.planning_poker.common.event.RoomUpdatedEvent;
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.common.event.UserLeftRoomEvent;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.dto.request.CreateRoomRequest;
 import com.lufthansa.planning_poker.room.application.dto.request.UpdateRoomRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.RoomResponse;
@@ -10,11 +13,12 @@ import com.lufthansa.planning_poker.room.application.mapper.RoomMapper;
 import com.lufthansa.planning_poker.room.domain.model.DeckType;
 import com.lufthansa.planning_poker.room.domain.model.ParticipantRole;
 import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomEventProducer;
+import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomSnapshotPublisher;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomParticipantEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaParticipantRepository;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.constants.RoomServiceConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -48,6 +53,7 @@ public class RoomService {
     private final JpaParticipantRepository participantRepository;
     private final RoomMapper roomMapper;
     private final RoomEventProducer eventProducer;
+    private final RoomSnapshotPublisher snapshotPublisher;
     private final SecureRandom random = new SecureRandom();
 
     /**
@@ -102,6 +108,8 @@ public class RoomService {
             .build();
         event.initialize(userId, userName);
         eventProducer.publishRoomCreated(event);
+        publishUserJoined(saved.getId(), participant, "CREATOR");
+        snapshotPublisher.roomChanged(saved.getId());
 
         log.info("Room created with ID: {}", saved.getId());
         return roomMapper.toResponse(saved);
@@ -170,6 +178,7 @@ public class RoomService {
             .build();
         event.initialize(userId, userName);
         eventProducer.publishRoomUpdated(event);
+        snapshotPublisher.roomChanged(saved.getId());
 
         log.info("Room {} updated by {}", id, userId);
         return roomMapper.toResponse(saved);
@@ -184,7 +193,11 @@ public class RoomService {
             throw BusinessException.forbidden(RoomServiceConstants.ERR_ONLY_MODERATOR_DELETE_ROOM);
         }
 
+        List<UUID> storyIds = room.getStories().stream().map(StoryEntity::getId).toList();
+        List<String> memberIds = room.getParticipants().stream().map(RoomParticipantEntity::getUserId).toList();
         roomRepository.delete(room);
+        // Deletes the participants before their tombstones are sent, see RoomMembershipRepublisher
+        roomRepository.flush();
 
         // Publish event
         RoomDeletedEvent event = RoomDeletedEvent.builder()
@@ -194,6 +207,9 @@ public class RoomService {
             .build();
         event.initialize(userId, userName);
         eventProducer.publishRoomDeleted(event);
+        storyIds.forEach(eventProducer::publishStoryStateRemoved);
+        memberIds.forEach(memberId -> eventProducer.publishMembershipRemoved(room.getId(), memberId));
+        snapshotPublisher.roomChanged(room.getId());
 
         log.info("Room {} deleted by {}", id, userId);
     }
@@ -228,12 +244,58 @@ public class RoomService {
                 .joinedAt(Instant.now())
                 .build();
             participantRepository.save(participant);
+            publishUserJoined(room.getId(), participant, "SHORT_CODE");
+            snapshotPublisher.roomChanged(room.getId());
             log.info("User {} joined room {}", userId, room.getId());
         }
 
         return roomMapper.toResponse(room);
     }
 
+    /**
+     * Removes the user from the participants of a room.
+     *
+     * @param roomId   the room UUID
+     * @param userId   the leaving user's ID
+     * @param userName the leaving user's display name
+     * @throws BusinessException if the user is not a participant or is the moderator
+     */
+    public void leaveRoom(UUID roomId, String userId, String userName) {
+        RoomParticipantEntity participant = participantRepository.findByRoomIdAndUserId(roomId, userId)
+            .orElseThrow(() -> BusinessException.notFound(RoomServiceConstants.ENTITY_PARTICIPANT, userId));
+
+        if (participant.getRole() == ParticipantRole.MODERATOR) {
+            throw BusinessException.conflict(RoomServiceConstants.ERR_MODERATOR_CANNOT_LEAVE);
+        }
+
+        // Runs right away, so the tombstone below follows a republish of the member, see
+        // RoomMembershipRepublisher
+        participantRepository.removeFromRoom(roomId, userId);
+
+        UserLeftRoomEvent event = UserLeftRoomEvent.builder()
+            .roomId(roomId)
+            .userId(userId)
+            .userName(userName)
+            .build();
+        event.initialize(userId, userName);
+        eventProducer.publishUserLeft(event);
+        snapshotPublisher.roomChanged(roomId);
+
+        log.info("User {} left room {}", userId, roomId);
+    }
+
+    private void publishUserJoined(UUID roomId, RoomParticipantEntity participant, String joinMethod) {
+        UserJoinedRoomEvent event = UserJoinedRoomEvent.builder()
+            .roomId(roomId)
+            .userId(participant.getUserId())
+            .userName(participant.getUserName())
+            .userEmail(participant.getUserEmail())
+            .joinMethod(joinMethod)
+            .build();
+        event.initialize(participant.getUserId(), participant.getUserName());
+        eventProducer.publishUserJoined(event);
+    }
+
     private String generateUniqueShortCode() {
         String code;
         int attempts = 0;
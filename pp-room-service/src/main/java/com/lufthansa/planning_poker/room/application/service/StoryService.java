@@ -1,20 +1,24 @@
 package com.lufthansa.planning_poker.room.application.service;
 
+import com.lufthansa.planning_poker.common.event.StoriesImportedEvent;
 import com.lufthansa.planning_poker.common.event.StoryCreatedEvent;
 import com.lufthansa.planning_poker.common.event.StoryDeletedEvent;
 import com.lufthansa.planning_poker.common.event.StoryUpdatedEvent;
+import com.lufthansa.planning_poker.common.event.StoryStateEvent;
 import com.lufthansa.planning_poker.common.event.VotingStartedEvent;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.dto.request.CreateStoryRequest;
+import com.lufthansa.planning_poker.room.application.dto.request.ImportStoriesRequest;
 import com.lufthansa.planning_poker.room.application.dto.request.UpdateStoryRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.StoryResponse;
 import com.lufthansa.planning_poker.room.application.mapper.RoomMapper;
 import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
 import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomEventProducer;
+import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomSnapshotPublisher;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaStoryRepository;
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.constants.RoomServiceConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -47,6 +52,7 @@ public class StoryService {
     private final JpaRoomRepository roomRepository;
     private final RoomMapper roomMapper;
     private final RoomEventProducer eventProducer;
+    private final RoomSnapshotPublisher snapshotPublisher;
 
     /**
      * Creates a new story in a room.
@@ -90,11 +96,69 @@ public class StoryService {
             .build();
         event.initialize(userId, userName);
         eventProducer.publishStoryCreated(event);
+        snapshotPublisher.roomChanged(roomId);
 
         log.info("Story '{}' created in room {}", saved.getTitle(), roomId);
         return roomMapper.toStoryResponse(saved);
     }
 
+    /**
+     * Adds a list of stories to a room in one transaction, e.g. a sprint backlog pasted from
+     * JIRA at the start of a session.
+     * <p>
+     * Permissions and the next display order are checked once for the whole list; the inserts
+     * go out as JDBC batches at commit and a single {@link StoriesImportedEvent} is published
+     * instead of one {@link StoryCreatedEvent} per story.
+     * </p>
+     *
+     * @param roomId   the room to add the stories to
+     * @param request  the stories, in the order they should be estimated
+     * @param userId   the user importing the stories (must be moderator)
+     * @param userName the user's display name
+     * @return the created stories in display order
+     * @throws BusinessException if room not found or user is not moderator
+     */
+    public List<StoryResponse> importStories(UUID roomId, ImportStoriesRequest request, String userId, String userName) {
+        RoomEntity room = roomRepository.findById(roomId)
+            .orElseThrow(() -> BusinessException.notFound(RoomServiceConstants.ENTITY_ROOM, roomId));
+
+        if (!room.getModeratorId().equals(userId)) {
+            throw BusinessException.forbidden(RoomServiceConstants.ERR_ONLY_MODERATOR_CREATE_STORY);
+        }
+
+        int nextOrder = storyRepository.getNextDisplayOrder(roomId);
+        List<StoryEntity> stories = new ArrayList<>(request.stories().size());
+        for (CreateStoryRequest story : request.stories()) {
+            stories.add(StoryEntity.builder()
+                .room(room)
+                .title(story.title())
+                .description(story.description())
+                .jiraLink(story.jiraLink())
+                .status(StoryStatus.PENDING)
+                .displayOrder(nextOrder++)
+                .build());
+        }
+
+        List<StoryEntity> saved = storyRepository.saveAll(stories);
+
+        // Publish event
+        StoriesImportedEvent event = StoriesImportedEvent.builder()
+            .roomId(roomId)
+            .stories(saved.stream()
+                .map(story -> new StoriesImportedEvent.ImportedStory(
+                    story.getId(), story.getTitle(), story.getJiraLink(), story.getDisplayOrder()))
+                .toList())
+            .build();
+        event.initialize(userId, userName);
+        eventProducer.publishStoriesImported(event);
+        snapshotPublisher.roomChanged(roomId);
+
+        log.info("{} stories imported into room {}", saved.size(), roomId);
+        return saved.stream()
+            .map(roomMapper::toStoryResponse)
+            .toList();
+    }
+
     @Transactional(readOnly = true)
     public StoryResponse getStoryById(UUID storyId) {
         StoryEntity story = storyRepository.findById(storyId)
@@ -146,6 +210,7 @@ public class StoryService {
             .build();
         event.initialize(userId, userName);
         eventProducer.publishStoryUpdated(event);
+        snapshotPublisher.roomChanged(saved.getRoom().getId());
 
         log.info("Story {} updated", storyId);
         return roomMapper.toStoryResponse(saved);
@@ -175,20 +240,38 @@ public class StoryService {
             .build();
         event.initialize(userId, userName);
         eventProducer.publishStoryDeleted(event);
+        eventProducer.publishStoryStateRemoved(storyId);
+        snapshotPublisher.roomChanged(roomId);
 
         log.info("Story {} deleted", storyId);
     }
 
+    /**
+     * Starts the voting process for a story, without a timebox.
+     *
+     * @see #startVoting(UUID, Integer, String, String)
+     */
+    public StoryResponse startVoting(UUID storyId, String userId, String userName) {
+        return startVoting(storyId, null, userId, userName);
+    }
+
     /**
      * Starts the voting process for a story.
      *
-     * @param storyId  the story to start voting on
-     * @param userId   the user starting the vote (must be moderator)
-     * @param userName the user's display name
+     * @param storyId        the story to start voting on
+     * @param timeboxSeconds seconds after which the Vote Service reveals the votes, or null for no timebox
+     * @param userId         the user starting the vote (must be moderator)
+     * @param userName       the user's display name
      * @return the updated story details
-     * @throws BusinessException if another story is already in voting
+     * @throws BusinessException if another story is already in voting or the timebox is out of range
      */
-    public StoryResponse startVoting(UUID storyId, String userId, String userName) {
+    public StoryResponse startVoting(UUID storyId, Integer timeboxSeconds, String userId, String userName) {
+        if (timeboxSeconds != null && (timeboxSeconds < RoomServiceConstants.MIN_VOTING_TIMEBOX_SECONDS
+                || timeboxSeconds > RoomServiceConstants.MAX_VOTING_TIMEBOX_SECONDS)) {
+            throw BusinessException.badRequest(String.format(RoomServiceConstants.ERR_INVALID_VOTING_TIMEBOX,
+                RoomServiceConstants.MIN_VOTING_TIMEBOX_SECONDS, RoomServiceConstants.MAX_VOTING_TIMEBOX_SECONDS));
+        }
+
         StoryEntity story = storyRepository.findById(storyId)
             .orElseThrow(() -> BusinessException.notFound(RoomServiceConstants.ENTITY_STORY, storyId));
 
@@ -206,6 +289,7 @@ public class StoryService {
 
         story.setStatus(StoryStatus.VOTING);
         story.setVotingStartedAt(java.time.Instant.now());
+        story.setVotingRound(story.getVotingRound() + 1);
 
         StoryEntity saved = storyRepository.save(story);
         log.info("Voting started for story {}", storyId);
@@ -215,10 +299,22 @@ public class StoryService {
             .storyId(storyId)
             .roomId(story.getRoom().getId())
             .storyTitle(story.getTitle())
+            .timeboxSeconds(timeboxSeconds)
+            .votingRound(story.getVotingRound())
             .build();
         event.initialize(userId, userName);
         eventProducer.publishVotingStarted(event);
 
+        StoryStateEvent state = StoryStateEvent.builder()
+            .storyId(storyId)
+            .roomId(story.getRoom().getId())
+            .status(StoryStatus.VOTING.name())
+            .votingRound(story.getVotingRound())
+            .build();
+        state.initialize(userId, userName);
+        eventProducer.publishStoryState(state);
+        snapshotPublisher.roomChanged(story.getRoom().getId());
+
         return roomMapper.toStoryResponse(saved);
     }
 }
@@ -1,6 +1,8 @@
 package com.lufthansa.planning_poker.room.infrastructure.config;
 
 import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.messaging.KafkaListenerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -15,6 +17,7 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
@@ -23,8 +26,12 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.lufthansa.planning_poker.common.event.KafkaTopics.ROOM_CONSUMER_GROUP;
 import static com.lufthansa.planning_poker.common.event.KafkaTopics.ROOM_EVENTS;
+import static com.lufthansa.planning_poker.common.event.KafkaTopics.ROOM_MEMBERSHIP;
+import static com.lufthansa.planning_poker.common.event.KafkaTopics.ROOM_SNAPSHOTS;
 import static com.lufthansa.planning_poker.common.event.KafkaTopics.STORY_EVENTS;
+import static com.lufthansa.planning_poker.common.event.KafkaTopics.STORY_STATE;
 
 @Configuration
 public class KafkaConfig {
@@ -65,26 +72,75 @@ public class KafkaConfig {
             .build();
     }
 
+    /**
+     * Latest status per story. Compaction keeps one record per story, so consumers can rebuild
+     * the state of all stories by reading the topic from the beginning.
+     */
+    @Bean
+    public NewTopic storyStateTopic() {
+        return TopicBuilder.name(STORY_STATE)
+            .partitions(3)
+            .replicas(1)
+            .compact()
+            .build();
+    }
+
+    /**
+     * Current participants, one record per room member, removed with a tombstone when the
+     * member leaves or the room is deleted.
+     */
+    @Bean
+    public NewTopic roomMembershipTopic() {
+        return TopicBuilder.name(ROOM_MEMBERSHIP)
+            .partitions(3)
+            .replicas(1)
+            .compact()
+            .build();
+    }
+
+    /**
+     * Full state of every room, one snapshot per room removed with a tombstone when the room is
+     * deleted. Other services keep it as a read model instead of calling this service.
+     */
+    @Bean
+    public NewTopic roomSnapshotsTopic() {
+        return TopicBuilder.name(ROOM_SNAPSHOTS)
+            .partitions(3)
+            .replicas(1)
+            .compact()
+            .build();
+    }
+
     // Consumer configuration for receiving vote events
     @Bean
-    public ConsumerFactory<String, BaseEvent> consumerFactory() {
+    public ConsumerFactory<String, BaseEvent> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "room-service-group");
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, ROOM_CONSUMER_GROUP);
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.lufthansa.planning_poker.common.event");
         configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, BaseEvent.class.getName());
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        DefaultKafkaConsumerFactory<String, BaseEvent> factory = new DefaultKafkaConsumerFactory<>(configProps);
+        // Exposes the client metrics, including the per-partition records lag
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public KafkaListenerMetrics kafkaListenerMetrics(MeterRegistry meterRegistry) {
+        return new KafkaListenerMetrics(meterRegistry, ROOM_CONSUMER_GROUP);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, BaseEvent> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, BaseEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, BaseEvent> consumerFactory, KafkaListenerMetrics kafkaListenerMetrics) {
         ConcurrentKafkaListenerContainerFactory<String, BaseEvent> factory = 
             new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        factory.setRecordInterceptor(kafkaListenerMetrics);
         return factory;
     }
 }
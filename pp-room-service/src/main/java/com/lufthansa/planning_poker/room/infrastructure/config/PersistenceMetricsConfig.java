@@ -0,0 +1,42 @@
+package com.lufthansa.planning_poker.room.infrastructure.config;
+
+import com.lufthansa.planning_poker.room.infrastructure.metrics.RepositoryQueryMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Wires {@link RepositoryQueryMetrics} into every Spring Data repository proxy and into
+ * Hibernate as its statement inspector.
+ */
+@Configuration
+public class PersistenceMetricsConfig {
+
+    /**
+     * Static so it is registered before the repositories are created; the metrics bean is
+     * only resolved once the first repository proxy is built.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<RepositoryQueryMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            metrics.getObject().interceptorFor(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(RepositoryQueryMetrics metrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, metrics);
+    }
+}
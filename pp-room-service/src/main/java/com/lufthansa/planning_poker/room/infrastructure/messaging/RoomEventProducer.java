@@ -4,8 +4,12 @@ import com.lufthansa.planning_poker.common.event.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -28,11 +32,44 @@ public class RoomEventProducer {
         kafkaTemplate.send(KafkaTopics.ROOM_EVENTS, event.getRoomId().toString(), event);
     }
 
+    /**
+     * Publishes a join to the room events and records the member in the compacted membership topic.
+     */
+    public void publishUserJoined(UserJoinedRoomEvent event) {
+        log.info("Publishing UserJoinedRoomEvent for user {} in room: {}", event.getUserId(), event.getRoomId());
+        kafkaTemplate.send(KafkaTopics.ROOM_EVENTS, event.getRoomId().toString(), event);
+        publishMembership(event);
+    }
+
+    public CompletableFuture<SendResult<String, BaseEvent>> publishMembership(UserJoinedRoomEvent event) {
+        return kafkaTemplate.send(KafkaTopics.ROOM_MEMBERSHIP,
+            UserJoinedRoomEvent.membershipKey(event.getRoomId(), event.getUserId()), event);
+    }
+
+    /**
+     * Publishes a leave to the room events and removes the member from the compacted membership topic.
+     */
+    public void publishUserLeft(UserLeftRoomEvent event) {
+        log.info("Publishing UserLeftRoomEvent for user {} in room: {}", event.getUserId(), event.getRoomId());
+        kafkaTemplate.send(KafkaTopics.ROOM_EVENTS, event.getRoomId().toString(), event);
+        publishMembershipRemoved(event.getRoomId(), event.getUserId());
+    }
+
+    public void publishMembershipRemoved(UUID roomId, String userId) {
+        log.debug("Publishing membership tombstone for user {} in room: {}", userId, roomId);
+        kafkaTemplate.send(KafkaTopics.ROOM_MEMBERSHIP, UserJoinedRoomEvent.membershipKey(roomId, userId), null);
+    }
+
     public void publishStoryCreated(StoryCreatedEvent event) {
         log.info("Publishing StoryCreatedEvent for story: {}", event.getStoryId());
         kafkaTemplate.send(KafkaTopics.STORY_EVENTS, event.getRoomId().toString(), event);
     }
 
+    public void publishStoriesImported(StoriesImportedEvent event) {
+        log.info("Publishing StoriesImportedEvent with {} stories for room: {}", event.getStories().size(), event.getRoomId());
+        kafkaTemplate.send(KafkaTopics.STORY_EVENTS, event.getRoomId().toString(), event);
+    }
+
     public void publishStoryUpdated(StoryUpdatedEvent event) {
         log.info("Publishing StoryUpdatedEvent for story: {}", event.getStoryId());
         kafkaTemplate.send(KafkaTopics.STORY_EVENTS, event.getRoomId().toString(), event);
@@ -47,5 +84,30 @@ public class RoomEventProducer {
         log.info("Publishing VotingStartedEvent for story: {}", event.getStoryId());
         kafkaTemplate.send(KafkaTopics.STORY_EVENTS, event.getRoomId().toString(), event);
     }
-}
 
+    public void publishStoryState(StoryStateEvent event) {
+        log.debug("Publishing story state {} for story: {}", event.getStatus(), event.getStoryId());
+        kafkaTemplate.send(KafkaTopics.STORY_STATE, event.getStoryId().toString(), event);
+    }
+
+    /**
+     * Removes a deleted story from the compacted story state topic.
+     */
+    public void publishStoryStateRemoved(UUID storyId) {
+        log.debug("Publishing story state tombstone for story: {}", storyId);
+        kafkaTemplate.send(KafkaTopics.STORY_STATE, storyId.toString(), null);
+    }
+
+    public CompletableFuture<SendResult<String, BaseEvent>> publishRoomSnapshot(RoomSnapshotEvent event) {
+        log.debug("Publishing snapshot of room: {}", event.getRoomId());
+        return kafkaTemplate.send(KafkaTopics.ROOM_SNAPSHOTS, event.getRoomId().toString(), event);
+    }
+
+    /**
+     * Removes a deleted room from the compacted room snapshot topic.
+     */
+    public CompletableFuture<SendResult<String, BaseEvent>> publishRoomSnapshotRemoved(UUID roomId) {
+        log.debug("Publishing room snapshot tombstone for room: {}", roomId);
+        return kafkaTemplate.send(KafkaTopics.ROOM_SNAPSHOTS, roomId.toString(), null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.lufthansa.planning_poker.room.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomParticipantEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaParticipantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes every room participant to the compacted membership topic once the service is up.
+ * <p>
+ * Participants that joined before the topic existed, or whose join was lost with a failed send,
+ * would otherwise be unable to vote. Publishing them again is harmless, compaction keeps one
+ * record per member. Can be turned off with {@code republish-on-startup} once the topic is
+ * known to be complete.
+ * </p>
+ * <p>
+ * A member leaving meanwhile must not be published after its tombstone. Participants are
+ * therefore read in chunks of {@code republish-chunk-size}, share-locked, and the chunk's
+ * transaction only ends once its records were acknowledged. A leave or room deletion deletes the
+ * participant before it sends the tombstone, so it waits for the lock and its tombstone lands
+ * after the republished record.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "planning-poker.room-membership.republish-on-startup", havingValue = "true",
+    matchIfMissing = true)
+public class RoomMembershipRepublisher {
+
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(30);
+
+    private final JpaParticipantRepository participantRepository;
+    private final RoomEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public RoomMembershipRepublisher(JpaParticipantRepository participantRepository,
+                                     RoomEventProducer eventProducer,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${planning-poker.room-membership.republish-chunk-size:500}") int chunkSize) {
+        this.participantRepository = participantRepository;
+        this.eventProducer = eventProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void republishParticipants() {
+        long published = 0;
+        UUID after = new UUID(0L, 0L);
+        try {
+            while (true) {
+                UUID from = after;
+                List<UUID> chunk = transactionTemplate.execute(status -> republishChunk(from));
+                published += chunk.size();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                after = chunk.get(chunk.size() - 1);
+            }
+            log.info("Republished the membership of {} room participants", published);
+        } catch (RuntimeException e) {
+            log.error("Republishing the room membership stopped after {} participants", published, e);
+        }
+    }
+
+    private List<UUID> republishChunk(UUID after) {
+        List<RoomParticipantEntity> participants =
+            participantRepository.findNextLocked(after, PageRequest.of(0, chunkSize));
+        CompletableFuture<?>[] sends = participants.stream()
+            .map(participant -> {
+                UserJoinedRoomEvent membership = UserJoinedRoomEvent.builder()
+                    .roomId(participant.getRoom().getId())
+                    .userId(participant.getUserId())
+                    .userName(participant.getUserName())
+                    .userEmail(participant.getUserEmail())
+                    .build();
+                membership.initialize("system", "Room Service");
+                return eventProducer.publishMembership(membership);
+            })
+            .toArray(CompletableFuture[]::new);
+        try {
+            // Holds the locks until the records are in the topic
+            CompletableFuture.allOf(sends).get(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while republishing the room membership", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Membership records were not acknowledged", e);
+        }
+        return participants.stream().map(RoomParticipantEntity::getId).toList();
+    }
+}
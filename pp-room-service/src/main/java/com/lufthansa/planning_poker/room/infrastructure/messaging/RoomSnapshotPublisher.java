@@ -0,0 +1,158 @@
+package com.lufthansa.planning_poker.room.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.RoomSnapshotEvent;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the full state of a room to the compacted room snapshot topic after every change.
+ * <p>
+ * Changes are collected per transaction and each changed room is published once, after the
+ * commit, so a snapshot never shows data that was rolled back and a request touching a room
+ * several times sends one snapshot. The room is read again in a new read-write transaction,
+ * which goes to the primary database rather than a replica that may not have the change yet.
+ * A room that no longer exists is removed with a tombstone.
+ * </p>
+ * <p>
+ * Two changes of a room may be published concurrently, and the snapshot read first must not be
+ * sent last. The publishing transaction therefore locks the room row before reading it and only
+ * ends once the snapshot was acknowledged, so snapshots of a room are read and sent one at a
+ * time and the last one in the topic shows the latest committed state. Deleting the room waits
+ * for the lock as well, so its tombstone comes after any snapshot.
+ * </p>
+ * <p>
+ * A failed snapshot is logged and not retried; the next change of the room, or the republish
+ * on startup, publishes it again.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RoomSnapshotPublisher {
+
+    private static final Object CHANGED_ROOMS = new Object();
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    private final JpaRoomRepository roomRepository;
+    private final RoomEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+
+    public RoomSnapshotPublisher(JpaRoomRepository roomRepository, RoomEventProducer eventProducer,
+                                 PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.eventProducer = eventProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Publishes a snapshot of the room once the current transaction commits, or right away
+     * outside a transaction.
+     */
+    @SuppressWarnings("unchecked")
+    public void roomChanged(UUID roomId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(roomId);
+            return;
+        }
+        Set<UUID> changed = (Set<UUID>) TransactionSynchronizationManager.getResource(CHANGED_ROOMS);
+        if (changed == null) {
+            Set<UUID> rooms = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(CHANGED_ROOMS, rooms);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CHANGED_ROOMS);
+                    if (status == STATUS_COMMITTED) {
+                        rooms.forEach(RoomSnapshotPublisher.this::publish);
+                    }
+                }
+            });
+            changed = rooms;
+        }
+        changed.add(roomId);
+    }
+
+    /**
+     * Reads the room and publishes its snapshot, or a tombstone if it was deleted.
+     */
+    public void publish(UUID roomId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Optional<RoomSnapshotEvent> snapshot = roomRepository.findLockedById(roomId)
+                    .flatMap(room -> roomRepository.findByIdWithDetails(roomId))
+                    .map(this::toSnapshot);
+                await(snapshot.isPresent()
+                    ? eventProducer.publishRoomSnapshot(snapshot.get())
+                    : eventProducer.publishRoomSnapshotRemoved(roomId));
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to publish the snapshot of room {}", roomId, e);
+        }
+    }
+
+    private static void await(CompletableFuture<?> send) {
+        try {
+            send.get(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing a room snapshot", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Room snapshot was not acknowledged", e);
+        }
+    }
+
+    private RoomSnapshotEvent toSnapshot(RoomEntity room) {
+        RoomSnapshotEvent snapshot = RoomSnapshotEvent.builder()
+            .roomId(room.getId())
+            .name(room.getName())
+            .description(room.getDescription())
+            .shortCode(room.getShortCode())
+            .deckType(room.getDeckType().name())
+            .deckValues(room.getDeckValues())
+            .moderatorId(room.getModeratorId())
+            .moderatorName(room.getModeratorName())
+            .active(room.isActive())
+            .stories(room.getStories().stream()
+                .sorted(Comparator.comparing(StoryEntity::getDisplayOrder,
+                    Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(story -> RoomSnapshotEvent.StorySnapshot.builder()
+                    .storyId(story.getId())
+                    .title(story.getTitle())
+                    .jiraLink(story.getJiraLink())
+                    .status(story.getStatus().name())
+                    .displayOrder(story.getDisplayOrder())
+                    .finalEstimate(story.getFinalEstimate())
+                    .averageScore(story.getAverageScore())
+                    .build())
+                .toList())
+            .participants(room.getParticipants().stream()
+                .map(participant -> RoomSnapshotEvent.ParticipantSnapshot.builder()
+                    .userId(participant.getUserId())
+                    .userName(participant.getUserName())
+                    .role(participant.getRole().name())
+                    .build())
+                .toList())
+            .build();
+        snapshot.initialize("system", "Room Service");
+        return snapshot;
+    }
+}
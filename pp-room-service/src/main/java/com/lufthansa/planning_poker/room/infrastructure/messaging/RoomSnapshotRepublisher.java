@@ -0,0 +1,38 @@
+package com.lufthansa.planning_poker.room.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes a snapshot of every room to the compacted room snapshot topic once the service is up.
+ * <p>
+ * Rooms that were not changed since the topic exists, or whose snapshot was lost with a failed
+ * send, would otherwise be missing from the read models built on the topic. Can be turned off
+ * with {@code republish-on-startup} once the topic is known to be complete.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "planning-poker.room-snapshots.republish-on-startup", havingValue = "true",
+    matchIfMissing = true)
+public class RoomSnapshotRepublisher {
+
+    private final JpaRoomRepository roomRepository;
+    private final RoomSnapshotPublisher snapshotPublisher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void republishRooms() {
+        List<UUID> roomIds = roomRepository.findAllIds();
+        roomIds.forEach(snapshotPublisher::publish);
+        log.info("Republished the snapshot of {} rooms", roomIds.size());
+    }
+}
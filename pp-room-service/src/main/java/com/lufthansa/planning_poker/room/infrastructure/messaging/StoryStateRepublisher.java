@@ -0,0 +1,48 @@
+package com.lufthansa.planning_poker.room.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.StoryStateEvent;
+import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Publishes the state of every story in voting once the service is up.
+ * <p>
+ * Stories that went into voting before the story state topic existed, or whose state was
+ * lost with a failed send, would otherwise stay closed for votes. Publishing them again is
+ * harmless, compaction keeps the latest record per story.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StoryStateRepublisher {
+
+    private final JpaStoryRepository storyRepository;
+    private final RoomEventProducer eventProducer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void republishVotingStories() {
+        List<StoryEntity> voting = storyRepository.findByStatus(StoryStatus.VOTING);
+        for (StoryEntity story : voting) {
+            StoryStateEvent state = StoryStateEvent.builder()
+                .storyId(story.getId())
+                .roomId(story.getRoom().getId())
+                .status(StoryStatus.VOTING.name())
+                .votingRound(story.getVotingRound())
+                .build();
+            state.initialize("system", "Room Service");
+            eventProducer.publishStoryState(state);
+        }
+        log.info("Republished the state of {} stories in voting", voting.size());
+    }
+}
@@ -2,6 +2,7 @@ package com.lufthansa.planning_poker.room.infrastructure.messaging;
 
 import com.lufthansa.planning_poker.common.event.BaseEvent;
 import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.event.StoryStateEvent;
 import com.lufthansa.planning_poker.common.event.VotingFinishedEvent;
 import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaStoryRepository;
@@ -17,7 +18,8 @@ import java.time.Instant;
  * Consumes vote events from Kafka to update story status.
  * <p>
  * When voting is finished in Vote Service, this consumer
- * updates the story status to COMPLETED in Room Service.
+ * updates the story status to COMPLETED in Room Service and publishes
+ * the new story state.
  * </p>
  *
  * @author Matilda Dervishaj
@@ -29,10 +31,12 @@ import java.time.Instant;
 public class VoteEventConsumer {
 
     private final JpaStoryRepository storyRepository;
+    private final RoomEventProducer eventProducer;
+    private final RoomSnapshotPublisher snapshotPublisher;
 
     @KafkaListener(
         topics = KafkaTopics.VOTE_EVENTS,
-        groupId = "room-service-group",
+        groupId = KafkaTopics.ROOM_CONSUMER_GROUP,
         containerFactory = "kafkaListenerContainerFactory"
     )
     @Transactional
@@ -53,6 +57,16 @@ public class VoteEventConsumer {
                     story.setAverageScore(event.getAverageScore());
                     story.setVotingEndedAt(Instant.now());
                     storyRepository.save(story);
+
+                    StoryStateEvent state = StoryStateEvent.builder()
+                        .storyId(story.getId())
+                        .roomId(event.getRoomId())
+                        .status(StoryStatus.COMPLETED.name())
+                        .votingRound(story.getVotingRound())
+                        .build();
+                    state.initialize(event.getTriggeredBy(), event.getTriggeredByName());
+                    eventProducer.publishStoryState(state);
+                    snapshotPublisher.roomChanged(event.getRoomId());
                     log.info("Story {} marked as COMPLETED with estimate: {}", 
                         event.getStoryId(), event.getFinalEstimate());
                 },
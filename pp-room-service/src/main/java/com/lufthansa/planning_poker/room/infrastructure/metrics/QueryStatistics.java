@@ -0,0 +1,126 @@
+package com.lufthansa.planning_poker.room.infrastructure.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals per repository method since startup, and the most recent slow calls, backing
+ * the {@code slowqueries} actuator endpoint. Prometheus gets the same data as rates through
+ * the {@code pp.repository.*} meters.
+ */
+@Component
+public class QueryStatistics {
+
+    private final int slowQueryLogSize;
+    private final ConcurrentHashMap<String, MethodStats> methods = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    public QueryStatistics(@Value("${planning-poker.persistence.slow-query-log-size:50}") int slowQueryLogSize) {
+        this.slowQueryLogSize = slowQueryLogSize;
+    }
+
+    void record(String repository, String method, long nanos, int statements, int rows, boolean failed) {
+        MethodStats stats = methods.computeIfAbsent(repository + "." + method, key -> new MethodStats(repository, method));
+        stats.calls.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        stats.statements.add(statements);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        if (failed) {
+            stats.errors.increment();
+        }
+    }
+
+    void recordSlow(SlowQuery slowQuery) {
+        synchronized (slowQueries) {
+            if (slowQueries.size() == slowQueryLogSize) {
+                slowQueries.removeLast();
+            }
+            slowQueries.addFirst(slowQuery);
+        }
+    }
+
+    /**
+     * Repository methods by total time spent, the most expensive first.
+     */
+    public List<MethodSummary> top(int limit) {
+        return methods.values().stream()
+            .map(MethodStats::summary)
+            .sorted(Comparator.comparingDouble(MethodSummary::totalMillis).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Most recent calls over the slow-query threshold, newest first.
+     */
+    public List<SlowQuery> slowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public record MethodSummary(
+        String repository,
+        String method,
+        long calls,
+        long errors,
+        double totalMillis,
+        double meanMillis,
+        double maxMillis,
+        long statements,
+        long rows
+    ) {}
+
+    /**
+     * @param arguments the call arguments with bind values redacted, see
+     *                  {@link RepositoryQueryMetrics#redact(Object[])}
+     * @param sql       the statements of the call as prepared, with {@code ?} placeholders
+     */
+    public record SlowQuery(
+        Instant at,
+        String repository,
+        String method,
+        double millis,
+        int statements,
+        int rows,
+        String arguments,
+        List<String> sql
+    ) {}
+
+    private static final class MethodStats {
+
+        private final String repository;
+        private final String method;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+
+        private MethodStats(String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+        }
+
+        MethodSummary summary() {
+            long count = calls.sum();
+            double total = totalNanos.sum() / 1_000_000.0;
+            return new MethodSummary(repository, method, count, errors.sum(), total,
+                count > 0 ? total / count : 0, maxNanos.get() / 1_000_000.0, statements.sum(), rows.sum());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.lufthansa.planning_poker.room.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Query count, rows and latency per Spring Data repository method.
+ * <p>
+ * Each repository proxy gets an {@link #interceptorFor interceptor} that times the call, while
+ * Hibernate reports every statement it prepares to {@link #inspect(String)}; statements
+ * prepared on the calling thread during the call are attributed to that method. Statements
+ * Hibernate runs later, such as inserts flushed at commit or lazy loads from the service,
+ * count towards no method.
+ * <p>
+ * Calls slower than {@code planning-poker.persistence.slow-query-threshold} are logged with
+ * their SQL and redacted arguments and kept for the {@code slowqueries} actuator endpoint.
+ */
+@Slf4j
+@Component
+public class RepositoryQueryMetrics implements StatementInspector {
+
+    private static final int MAX_LOGGED_STATEMENTS = 5;
+
+    private final MeterRegistry registry;
+    private final QueryStatistics statistics;
+    private final long slowQueryThresholdNanos;
+    private final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+
+    public RepositoryQueryMetrics(MeterRegistry registry, QueryStatistics statistics,
+                                  @Value("${planning-poker.persistence.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        this.registry = registry;
+        this.statistics = statistics;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Call call = currentCall.get();
+        if (call != null) {
+            call.statements++;
+            if (call.sql.size() < MAX_LOGGED_STATEMENTS) {
+                call.sql.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public MethodInterceptor interceptorFor(Class<?> repositoryInterface) {
+        return new RepositoryInterceptor(repositoryInterface.getSimpleName());
+    }
+
+    /**
+     * Describes call arguments without their values: bind parameters such as user ids, e-mail
+     * addresses and invitation tokens never reach the log. Paging and enum constants are kept
+     * since they explain the cost of a query and identify nobody.
+     */
+    static String redact(Object[] arguments) {
+        return Arrays.stream(arguments)
+            .map(RepositoryQueryMetrics::describe)
+            .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String describe(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+        if (argument instanceof Pageable pageable) {
+            return pageable.isPaged()
+                ? "page=" + pageable.getPageNumber() + " size=" + pageable.getPageSize() + " sort=" + pageable.getSort()
+                : "unpaged";
+        }
+        if (argument instanceof Enum<?> constant) {
+            return constant.getDeclaringClass().getSimpleName() + "." + constant.name();
+        }
+        return "?" + argument.getClass().getSimpleName();
+    }
+
+    /**
+     * Rows a call returned, or {@code -1} for results that are not entities, like counts and
+     * existence checks.
+     */
+    private static int rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private final class RepositoryInterceptor implements MethodInterceptor {
+
+        private final String repository;
+        private final ConcurrentHashMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+        private RepositoryInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (invocation.getMethod().getDeclaringClass() == Object.class || currentCall.get() != null) {
+                // Nested repository calls count towards the outer one
+                return invocation.proceed();
+            }
+            Call call = new Call();
+            currentCall.set(call);
+            long start = System.nanoTime();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                long nanos = System.nanoTime() - start;
+                currentCall.remove();
+                record(invocation, call, nanos, failed ? -1 : rows(result), failed);
+            }
+        }
+
+        private void record(MethodInvocation invocation, Call call, long nanos, int rows, boolean failed) {
+            String method = invocation.getMethod().getName();
+            MethodMeters methodMeters = meters.computeIfAbsent(invocation.getMethod(), m -> new MethodMeters(repository, method));
+            (failed ? methodMeters.failed : methodMeters.succeeded).record(nanos, TimeUnit.NANOSECONDS);
+            methodMeters.statements.record(call.statements);
+            if (rows >= 0) {
+                methodMeters.rows.record(rows);
+            }
+            statistics.record(repository, method, nanos, call.statements, rows, failed);
+
+            if (nanos >= slowQueryThresholdNanos) {
+                String arguments = redact(invocation.getArguments());
+                double millis = nanos / 1_000_000.0;
+                log.warn("Slow repository call {}.{} took {} ms: {} statements, {} rows, arguments {}, sql {}",
+                    repository, method, String.format("%.1f", millis), call.statements, rows, arguments, call.sql);
+                statistics.recordSlow(new QueryStatistics.SlowQuery(Instant.now(), repository, method, millis,
+                    call.statements, rows, arguments, List.copyOf(call.sql)));
+            }
+        }
+    }
+
+    private final class MethodMeters {
+
+        private final Timer succeeded;
+        private final Timer failed;
+        private final DistributionSummary statements;
+        private final DistributionSummary rows;
+
+        private MethodMeters(String repository, String method) {
+            this.succeeded = timer(repository, method, "success");
+            this.failed = timer(repository, method, "error");
+            this.statements = DistributionSummary.builder("pp.repository.statements")
+                .description("SQL statements prepared during a repository call")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry);
+            this.rows = DistributionSummary.builder("pp.repository.rows")
+                .description("Rows returned by a repository call")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry);
+        }
+
+        private Timer timer(String repository, String method, String outcome) {
+            return Timer.builder("pp.repository.invocations")
+                .description("Duration of repository calls")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        }
+    }
+
+    /** Confined to the calling thread. */
+    private static final class Call {
+        private int statements;
+        private final List<String> sql = new ArrayList<>(2);
+    }
+}
@@ -0,0 +1,36 @@
+package com.lufthansa.planning_poker.room.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowqueries}: the repository methods that cost the most database time since
+ * startup, and the most recent calls over the slow-query threshold.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final QueryStatistics statistics;
+
+    @ReadOperation
+    public SlowQueriesReport slowQueries(@Nullable Integer limit) {
+        return new SlowQueriesReport(
+            statistics.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT),
+            statistics.slowQueries()
+        );
+    }
+
+    public record SlowQueriesReport(
+        List<QueryStatistics.MethodSummary> mostExpensive,
+        List<QueryStatistics.SlowQuery> recentSlowQueries
+    ) {}
+}
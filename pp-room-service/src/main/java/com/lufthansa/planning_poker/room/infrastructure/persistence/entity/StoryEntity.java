@@ -60,5 +60,10 @@ public class StoryEntity {
 
     private Instant votingStartedAt;
     private Instant votingEndedAt;
+
+    // Counts the times voting was started, orders the story state updates the vote service sees
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer votingRound = 0;
 }
 
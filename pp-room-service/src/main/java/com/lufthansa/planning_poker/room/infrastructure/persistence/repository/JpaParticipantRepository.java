@@ -1,7 +1,10 @@
 package com.lufthansa.planning_poker.room.infrastructure.persistence.repository;
 
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomParticipantEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,5 +32,12 @@ public interface JpaParticipantRepository extends JpaRepository<RoomParticipantE
     @Modifying
     @Query("DELETE FROM RoomParticipantEntity p WHERE p.room.id = :roomId AND p.userId = :userId")
     void removeFromRoom(@Param("roomId") UUID roomId, @Param("userId") String userId);
-}
 
+    /**
+     * The next participants after {@code after} in id order, share-locked until the transaction
+     * ends, so a concurrent leave or room deletion waits for it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT p FROM RoomParticipantEntity p WHERE p.id > :after ORDER BY p.id")
+    List<RoomParticipantEntity> findNextLocked(@Param("after") UUID after, Pageable pageable);
+}
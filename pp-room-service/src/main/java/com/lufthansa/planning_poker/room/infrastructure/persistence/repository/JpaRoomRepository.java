@@ -1,13 +1,16 @@
 package com.lufthansa.planning_poker.room.infrastructure.persistence.repository;
 
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,10 +32,20 @@ public interface JpaRoomRepository extends JpaRepository<RoomEntity, UUID> {
     @Query("SELECT r FROM RoomEntity r LEFT JOIN FETCH r.stories LEFT JOIN FETCH r.participants WHERE r.id = :id")
     Optional<RoomEntity> findByIdWithDetails(@Param("id") UUID id);
 
+    /**
+     * The room, locked until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RoomEntity r WHERE r.id = :id")
+    Optional<RoomEntity> findLockedById(@Param("id") UUID id);
+
     @Query("SELECT r FROM RoomEntity r LEFT JOIN FETCH r.stories LEFT JOIN FETCH r.participants WHERE r.shortCode = :shortCode")
     Optional<RoomEntity> findByShortCodeWithDetails(@Param("shortCode") String shortCode);
 
     @Query("SELECT r FROM RoomEntity r WHERE r.active = true")
     Page<RoomEntity> findAllActiveRooms(Pageable pageable);
+
+    @Query("SELECT r.id FROM RoomEntity r")
+    List<UUID> findAllIds();
 }
 
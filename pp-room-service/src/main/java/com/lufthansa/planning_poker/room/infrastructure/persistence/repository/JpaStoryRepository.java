@@ -19,6 +19,8 @@ public interface JpaStoryRepository extends JpaRepository<StoryEntity, UUID> {
 
     List<StoryEntity> findByRoomIdOrderByDisplayOrderAsc(UUID roomId);
 
+    List<StoryEntity> findByStatus(StoryStatus status);
+
     @Query("SELECT s FROM StoryEntity s WHERE s.room.id = :roomId AND s.status = :status")
     List<StoryEntity> findByRoomIdAndStatus(@Param("roomId") UUID roomId, @Param("status") StoryStatus status);
 
@@ -1,10 +1,10 @@
 package com.lufthansa.planning_poker.room.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.dto.request.SendInviteRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.InviteResponse;
 import com.lufthansa.planning_poker.room.application.service.InvitationService;
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
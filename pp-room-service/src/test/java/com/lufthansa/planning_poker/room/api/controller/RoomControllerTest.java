@@ -1,12 +1,12 @@
 package com.lufthansa.planning_poker.room.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.dto.request.CreateRoomRequest;
 import com.lufthansa.planning_poker.room.application.dto.request.UpdateRoomRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.RoomResponse;
 import com.lufthansa.planning_poker.room.application.service.RoomService;
 import com.lufthansa.planning_poker.room.domain.model.DeckType;
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -321,4 +321,22 @@ class RoomControllerTest {
                 .andExpect(jsonPath("$.shortCode").value("ABC123"));
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/v1/rooms/{id}/leave")
+    class LeaveRoomEndpoint {
+
+        @Test
+        @DisplayName("Should leave room successfully")
+        void shouldLeaveRoomSuccessfully() throws Exception {
+            // When/Then
+            mockMvc.perform(post("/api/v1/rooms/{id}/leave", roomId)
+                    .with(jwt().jwt(jwt -> jwt
+                        .subject(userId)
+                        .claim("preferred_username", userName))))
+                .andExpect(status().isNoContent());
+
+            verify(roomService).leaveRoom(roomId, userId, userName);
+        }
+    }
 }
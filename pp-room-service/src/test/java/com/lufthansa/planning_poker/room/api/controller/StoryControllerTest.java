@@ -1,12 +1,13 @@
 package com.lufthansa.planning_poker.room.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.dto.request.CreateStoryRequest;
+import com.lufthansa.planning_poker.room.application.dto.request.ImportStoriesRequest;
 import com.lufthansa.planning_poker.room.application.dto.request.UpdateStoryRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.StoryResponse;
 import com.lufthansa.planning_poker.room.application.service.StoryService;
 import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -134,6 +135,61 @@ class StoryControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/rooms/{roomId}/stories/batch")
+    class ImportStoriesEndpoint {
+
+        @Test
+        @DisplayName("Should import stories successfully")
+        void shouldImportStoriesSuccessfully() throws Exception {
+            // Given
+            ImportStoriesRequest request = new ImportStoriesRequest(List.of(
+                new CreateStoryRequest("User Authentication", null, "https://jira.example.com/PROJ-101")));
+
+            when(storyService.importStories(eq(roomId), any(), eq(userId), eq(userName)))
+                .thenReturn(List.of(storyResponse));
+
+            // When/Then
+            mockMvc.perform(post("/api/v1/rooms/{roomId}/stories/batch", roomId)
+                    .with(jwt().jwt(jwt -> jwt
+                        .subject(userId)
+                        .claim("preferred_username", userName)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(storyId.toString()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when a story has no title")
+        void shouldReturn400WhenStoryHasNoTitle() throws Exception {
+            // Given
+            ImportStoriesRequest request = new ImportStoriesRequest(List.of(
+                new CreateStoryRequest("User Authentication", null, null),
+                new CreateStoryRequest("", null, null)));
+
+            // When/Then
+            mockMvc.perform(post("/api/v1/rooms/{roomId}/stories/batch", roomId)
+                    .with(jwt().jwt(jwt -> jwt.subject(userId)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+            verify(storyService, never()).importStories(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when no stories are given")
+        void shouldReturn400WhenNoStories() throws Exception {
+            // When/Then
+            mockMvc.perform(post("/api/v1/rooms/{roomId}/stories/batch", roomId)
+                    .with(jwt().jwt(jwt -> jwt.subject(userId)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"stories\":[]}"))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/rooms/{roomId}/stories")
     class GetStoriesByRoomEndpoint {
@@ -294,11 +350,34 @@ class StoryControllerTest {
                 StoryStatus.VOTING, null, null, 1, Instant.now(), null, Instant.now(), null
             );
 
-            when(storyService.startVoting(eq(storyId), anyString(), anyString()))
+            when(storyService.startVoting(eq(storyId), isNull(), anyString(), anyString()))
+                .thenReturn(votingStory);
+
+            // When/Then
+            mockMvc.perform(post("/api/v1/stories/{id}/start-voting", storyId)
+                    .with(jwt().jwt(jwt -> jwt
+                        .subject(userId)
+                        .claim("preferred_username", userName))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("VOTING"));
+        }
+
+        @Test
+        @DisplayName("Should pass the timebox to the service")
+        void shouldStartVotingWithTimebox() throws Exception {
+            // Given
+            StoryResponse votingStory = new StoryResponse(
+                storyId, roomId, "User Authentication",
+                "Implement OAuth2 login", null,
+                StoryStatus.VOTING, null, null, 1, Instant.now(), null, Instant.now(), null
+            );
+
+            when(storyService.startVoting(eq(storyId), eq(90), anyString(), anyString()))
                 .thenReturn(votingStory);
 
             // When/Then
             mockMvc.perform(post("/api/v1/stories/{id}/start-voting", storyId)
+                    .param("timeboxSeconds", "90")
                     .with(jwt().jwt(jwt -> jwt
                         .subject(userId)
                         .claim("preferred_username", userName))))
@@ -310,7 +389,7 @@ class StoryControllerTest {
         @DisplayName("Should return 409 when another story is in voting")
         void shouldReturn409WhenAnotherStoryInVoting() throws Exception {
             // Given
-            when(storyService.startVoting(eq(storyId), anyString(), anyString()))
+            when(storyService.startVoting(eq(storyId), isNull(), anyString(), anyString()))
                 .thenThrow(BusinessException.conflict("Another story is already in voting"));
 
             // When/Then
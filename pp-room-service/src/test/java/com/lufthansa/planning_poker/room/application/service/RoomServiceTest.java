@@ -1,6 +1,8 @@
 package com.lufthansa.planning_poker.room.application.service;
 
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.common.event.UserLeftRoomEvent;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.dto.request.CreateRoomRequest;
 import com.lufthansa.planning_poker.room.application.dto.request.UpdateRoomRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.RoomResponse;
@@ -8,7 +10,9 @@ import com.lufthansa.planning_poker.room.application.mapper.RoomMapper;
 import com.lufthansa.planning_poker.room.domain.model.DeckType;
 import com.lufthansa.planning_poker.room.domain.model.ParticipantRole;
 import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomEventProducer;
+import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomSnapshotPublisher;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomParticipantEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaParticipantRepository;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
@@ -18,6 +22,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -49,6 +54,9 @@ class RoomServiceTest {
     @Mock
     private RoomEventProducer eventProducer;
 
+    @Mock
+    private RoomSnapshotPublisher snapshotPublisher;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -116,6 +124,10 @@ class RoomServiceTest {
             verify(roomRepository).save(any(RoomEntity.class));
             verify(participantRepository).save(any(RoomParticipantEntity.class));
             verify(eventProducer).publishRoomCreated(any());
+            ArgumentCaptor<UserJoinedRoomEvent> joinCaptor = ArgumentCaptor.forClass(UserJoinedRoomEvent.class);
+            verify(eventProducer).publishUserJoined(joinCaptor.capture());
+            assertThat(joinCaptor.getValue().getUserId()).isEqualTo(moderatorId);
+            assertThat(joinCaptor.getValue().getJoinMethod()).isEqualTo("CREATOR");
         }
 
         @Test
@@ -352,6 +364,7 @@ class RoomServiceTest {
             assertThat(result).isNotNull();
             verify(roomRepository).save(any(RoomEntity.class));
             verify(eventProducer).publishRoomUpdated(any());
+            verify(snapshotPublisher).roomChanged(roomId);
         }
 
         @Test
@@ -418,6 +431,37 @@ class RoomServiceTest {
             verify(eventProducer).publishRoomDeleted(any());
         }
 
+        @Test
+        @DisplayName("Should remove the state of the room's stories")
+        void shouldRemoveStateOfRoomStories() {
+            // Given
+            UUID storyId = UUID.randomUUID();
+            roomEntity.addStory(StoryEntity.builder().id(storyId).title("Story").build());
+            when(roomRepository.findById(roomId)).thenReturn(Optional.of(roomEntity));
+
+            // When
+            roomService.deleteRoom(roomId, moderatorId, moderatorName, false);
+
+            // Then
+            verify(eventProducer).publishStoryStateRemoved(storyId);
+        }
+
+        @Test
+        @DisplayName("Should remove the membership of the room's participants")
+        void shouldRemoveMembershipOfRoomParticipants() {
+            // Given
+            roomEntity.addParticipant(RoomParticipantEntity.builder().userId("voter-1").build());
+            when(roomRepository.findById(roomId)).thenReturn(Optional.of(roomEntity));
+
+            // When
+            roomService.deleteRoom(roomId, moderatorId, moderatorName, false);
+
+            // Then
+            InOrder inOrder = inOrder(roomRepository, eventProducer);
+            inOrder.verify(roomRepository).flush();
+            inOrder.verify(eventProducer).publishMembershipRemoved(roomId, "voter-1");
+        }
+
         @Test
         @DisplayName("Should throw BusinessException when non-moderator non-admin tries to delete")
         void shouldThrowWhenUnauthorizedDelete() {
@@ -456,6 +500,11 @@ class RoomServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(participantRepository).save(any(RoomParticipantEntity.class));
+            ArgumentCaptor<UserJoinedRoomEvent> joinCaptor = ArgumentCaptor.forClass(UserJoinedRoomEvent.class);
+            verify(eventProducer).publishUserJoined(joinCaptor.capture());
+            assertThat(joinCaptor.getValue().getRoomId()).isEqualTo(roomId);
+            assertThat(joinCaptor.getValue().getUserId()).isEqualTo(newUserId);
+            assertThat(joinCaptor.getValue().getJoinMethod()).isEqualTo("SHORT_CODE");
         }
 
         @Test
@@ -474,6 +523,7 @@ class RoomServiceTest {
 
             // Then
             verify(participantRepository, never()).save(any());
+            verify(eventProducer, never()).publishUserJoined(any());
         }
 
         @Test
@@ -515,6 +565,57 @@ class RoomServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("leaveRoom Tests")
+    class LeaveRoomTests {
+
+        @Test
+        @DisplayName("Should remove participant and publish leave")
+        void shouldRemoveParticipantAndPublishLeave() {
+            // Given
+            when(participantRepository.findByRoomIdAndUserId(roomId, "voter-1")).thenReturn(Optional.of(
+                RoomParticipantEntity.builder().room(roomEntity).userId("voter-1").role(ParticipantRole.VOTER).build()));
+
+            // When
+            roomService.leaveRoom(roomId, "voter-1", "voter");
+
+            // Then
+            verify(participantRepository).removeFromRoom(roomId, "voter-1");
+            ArgumentCaptor<UserLeftRoomEvent> leaveCaptor = ArgumentCaptor.forClass(UserLeftRoomEvent.class);
+            verify(eventProducer).publishUserLeft(leaveCaptor.capture());
+            assertThat(leaveCaptor.getValue().getRoomId()).isEqualTo(roomId);
+            assertThat(leaveCaptor.getValue().getUserId()).isEqualTo("voter-1");
+            verify(snapshotPublisher).roomChanged(roomId);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the moderator tries to leave")
+        void shouldThrowWhenModeratorLeaves() {
+            // Given
+            when(participantRepository.findByRoomIdAndUserId(roomId, moderatorId)).thenReturn(Optional.of(
+                RoomParticipantEntity.builder().room(roomEntity).userId(moderatorId).role(ParticipantRole.MODERATOR).build()));
+
+            // When/Then
+            assertThatThrownBy(() -> roomService.leaveRoom(roomId, moderatorId, moderatorName))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("moderator cannot leave");
+            verify(participantRepository, never()).removeFromRoom(any(), any());
+            verifyNoInteractions(eventProducer);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the user is not a participant")
+        void shouldThrowWhenNotParticipant() {
+            // Given
+            when(participantRepository.findByRoomIdAndUserId(roomId, "stranger")).thenReturn(Optional.empty());
+
+            // When/Then
+            assertThatThrownBy(() -> roomService.leaveRoom(roomId, "stranger", "stranger"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("not found");
+        }
+    }
+
     @Nested
     @DisplayName("getJoinedRooms Tests")
     class GetJoinedRoomsTests {
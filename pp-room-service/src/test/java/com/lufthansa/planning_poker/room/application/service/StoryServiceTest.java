@@ -1,13 +1,18 @@
 package com.lufthansa.planning_poker.room.application.service;
 
-import com.lufthansa.planning_poker.room.api.exception.BusinessException;
+import com.lufthansa.planning_poker.common.event.StoriesImportedEvent;
+import com.lufthansa.planning_poker.common.event.StoryStateEvent;
+import com.lufthansa.planning_poker.common.event.VotingStartedEvent;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.room.application.dto.request.CreateStoryRequest;
+import com.lufthansa.planning_poker.room.application.dto.request.ImportStoriesRequest;
 import com.lufthansa.planning_poker.room.application.dto.request.UpdateStoryRequest;
 import com.lufthansa.planning_poker.room.application.dto.response.StoryResponse;
 import com.lufthansa.planning_poker.room.application.mapper.RoomMapper;
 import com.lufthansa.planning_poker.room.domain.model.DeckType;
 import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
 import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomEventProducer;
+import com.lufthansa.planning_poker.room.infrastructure.messaging.RoomSnapshotPublisher;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
 import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
@@ -47,6 +52,9 @@ class StoryServiceTest {
     @Mock
     private RoomEventProducer eventProducer;
 
+    @Mock
+    private RoomSnapshotPublisher snapshotPublisher;
+
     @InjectMocks
     private StoryService storyService;
 
@@ -193,6 +201,62 @@ class StoryServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("importStories Tests")
+    class ImportStoriesTests {
+
+        @Test
+        @DisplayName("Should append stories in request order with one batch event")
+        void shouldAppendStoriesWithOneBatchEvent() {
+            // Given
+            ImportStoriesRequest request = new ImportStoriesRequest(List.of(
+                new CreateStoryRequest("PROJ-101 Login", null, "https://jira.example.com/PROJ-101"),
+                new CreateStoryRequest("PROJ-102 Logout", null, "https://jira.example.com/PROJ-102"),
+                new CreateStoryRequest("PROJ-103 Profile", "Edit the profile", null)
+            ));
+
+            when(roomRepository.findById(roomId)).thenReturn(Optional.of(roomEntity));
+            when(storyRepository.getNextDisplayOrder(roomId)).thenReturn(4);
+            when(storyRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(roomMapper.toStoryResponse(any())).thenReturn(storyResponse);
+
+            // When
+            List<StoryResponse> result = storyService.importStories(roomId, request, moderatorId, moderatorName);
+
+            // Then
+            assertThat(result).hasSize(3);
+            verify(storyRepository, times(1)).getNextDisplayOrder(roomId);
+            verify(storyRepository, never()).save(any());
+
+            ArgumentCaptor<StoriesImportedEvent> eventCaptor = ArgumentCaptor.forClass(StoriesImportedEvent.class);
+            verify(eventProducer).publishStoriesImported(eventCaptor.capture());
+            verify(eventProducer, never()).publishStoryCreated(any());
+            assertThat(eventCaptor.getValue().getRoomId()).isEqualTo(roomId);
+            assertThat(eventCaptor.getValue().getStories())
+                .extracting(StoriesImportedEvent.ImportedStory::getTitle, StoriesImportedEvent.ImportedStory::getDisplayOrder)
+                .containsExactly(
+                    tuple("PROJ-101 Login", 4),
+                    tuple("PROJ-102 Logout", 5),
+                    tuple("PROJ-103 Profile", 6));
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when non-moderator imports stories")
+        void shouldThrowWhenNonModeratorImports() {
+            // Given
+            ImportStoriesRequest request = new ImportStoriesRequest(
+                List.of(new CreateStoryRequest("PROJ-101 Login", null, null)));
+            when(roomRepository.findById(roomId)).thenReturn(Optional.of(roomEntity));
+
+            // When/Then
+            assertThatThrownBy(() -> storyService.importStories(roomId, request, "other-user", "Other"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("moderator");
+            verify(storyRepository, never()).saveAll(any());
+            verify(eventProducer, never()).publishStoriesImported(any());
+        }
+    }
+
     @Nested
     @DisplayName("getStoryById Tests")
     class GetStoryByIdTests {
@@ -341,6 +405,8 @@ class StoryServiceTest {
             // Then
             verify(storyRepository).delete(storyEntity);
             verify(eventProducer).publishStoryDeleted(any());
+            verify(eventProducer).publishStoryStateRemoved(storyId);
+            verify(snapshotPublisher).roomChanged(roomId);
         }
 
         @Test
@@ -407,6 +473,75 @@ class StoryServiceTest {
             assertThat(storyCaptor.getValue().getStatus()).isEqualTo(StoryStatus.VOTING);
         }
 
+        @Test
+        @DisplayName("Should publish the VOTING story state")
+        void shouldPublishVotingStoryState() {
+            // Given
+            when(storyRepository.findById(storyId)).thenReturn(Optional.of(storyEntity));
+            when(storyRepository.findActiveVotingStory(roomId)).thenReturn(Optional.empty());
+            when(storyRepository.save(any(StoryEntity.class))).thenReturn(storyEntity);
+
+            // When
+            storyService.startVoting(storyId, moderatorId, moderatorName);
+
+            // Then
+            ArgumentCaptor<StoryStateEvent> stateCaptor = ArgumentCaptor.forClass(StoryStateEvent.class);
+            verify(eventProducer).publishStoryState(stateCaptor.capture());
+            assertThat(stateCaptor.getValue().getStoryId()).isEqualTo(storyId);
+            assertThat(stateCaptor.getValue().getRoomId()).isEqualTo(roomId);
+            assertThat(stateCaptor.getValue().getStatus()).isEqualTo("VOTING");
+            verify(snapshotPublisher).roomChanged(roomId);
+        }
+
+        @Test
+        @DisplayName("Should start a new voting round with every start")
+        void shouldCountVotingRounds() {
+            // Given
+            storyEntity.setVotingRound(2);
+            when(storyRepository.findById(storyId)).thenReturn(Optional.of(storyEntity));
+            when(storyRepository.findActiveVotingStory(roomId)).thenReturn(Optional.empty());
+            when(storyRepository.save(any(StoryEntity.class))).thenReturn(storyEntity);
+
+            // When
+            storyService.startVoting(storyId, moderatorId, moderatorName);
+
+            // Then
+            ArgumentCaptor<VotingStartedEvent> eventCaptor = ArgumentCaptor.forClass(VotingStartedEvent.class);
+            ArgumentCaptor<StoryStateEvent> stateCaptor = ArgumentCaptor.forClass(StoryStateEvent.class);
+            verify(eventProducer).publishVotingStarted(eventCaptor.capture());
+            verify(eventProducer).publishStoryState(stateCaptor.capture());
+            assertThat(storyEntity.getVotingRound()).isEqualTo(3);
+            assertThat(eventCaptor.getValue().getVotingRound()).isEqualTo(3);
+            assertThat(stateCaptor.getValue().getVotingRound()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should pass the timebox on with the VotingStartedEvent")
+        void shouldPublishTimebox() {
+            // Given
+            when(storyRepository.findById(storyId)).thenReturn(Optional.of(storyEntity));
+            when(storyRepository.findActiveVotingStory(roomId)).thenReturn(Optional.empty());
+            when(storyRepository.save(any(StoryEntity.class))).thenReturn(storyEntity);
+
+            // When
+            storyService.startVoting(storyId, 90, moderatorId, moderatorName);
+
+            // Then
+            ArgumentCaptor<VotingStartedEvent> eventCaptor = ArgumentCaptor.forClass(VotingStartedEvent.class);
+            verify(eventProducer).publishVotingStarted(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getTimeboxSeconds()).isEqualTo(90);
+        }
+
+        @Test
+        @DisplayName("Should reject a timebox out of range")
+        void shouldRejectTimeboxOutOfRange() {
+            // When/Then
+            assertThatThrownBy(() -> storyService.startVoting(storyId, 5, moderatorId, moderatorName))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("timebox");
+            verifyNoInteractions(storyRepository, eventProducer);
+        }
+
         @Test
         @DisplayName("Should throw BusinessException when non-moderator starts voting")
         void shouldThrowWhenNonModeratorStartsVoting() {
@@ -11,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -142,6 +143,29 @@ class RoomEventProducerTest {
         assertThat(capturedEvent.getTitle()).isEqualTo("Implement User Login");
     }
 
+    @Test
+    @DisplayName("Should publish StoriesImportedEvent to Kafka keyed by room")
+    void shouldPublishStoriesImportedEvent() {
+        // Given
+        UUID roomId = UUID.randomUUID();
+        StoriesImportedEvent event = StoriesImportedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .roomId(roomId)
+                .stories(List.of(
+                    new StoriesImportedEvent.ImportedStory(UUID.randomUUID(), "Implement User Login", null, 1),
+                    new StoriesImportedEvent.ImportedStory(UUID.randomUUID(), "Implement User Logout", null, 2)))
+                .triggeredBy("user-123")
+                .triggeredByName("John")
+                .timestamp(Instant.now())
+                .build();
+
+        // When
+        roomEventProducer.publishStoriesImported(event);
+
+        // Then
+        verify(kafkaTemplate).send(KafkaTopics.STORY_EVENTS, roomId.toString(), event);
+    }
+
     @Test
     @DisplayName("Should publish StoryUpdatedEvent to Kafka")
     void shouldPublishStoryUpdatedEvent() {
@@ -193,4 +217,25 @@ class RoomEventProducerTest {
         
         assertThat(eventCaptor.getValue()).isInstanceOf(StoryDeletedEvent.class);
     }
+
+    @Test
+    @DisplayName("Should publish RoomSnapshotEvent keyed by room id and tombstone deleted rooms")
+    void shouldPublishRoomSnapshot() {
+        // Given
+        UUID roomId = UUID.randomUUID();
+        RoomSnapshotEvent event = RoomSnapshotEvent.builder()
+                .roomId(roomId)
+                .name("Sprint 42 Planning")
+                .stories(List.of())
+                .participants(List.of())
+                .build();
+
+        // When
+        roomEventProducer.publishRoomSnapshot(event);
+        roomEventProducer.publishRoomSnapshotRemoved(roomId);
+
+        // Then
+        verify(kafkaTemplate).send(KafkaTopics.ROOM_SNAPSHOTS, roomId.toString(), event);
+        verify(kafkaTemplate).send(KafkaTopics.ROOM_SNAPSHOTS, roomId.toString(), null);
+    }
 }
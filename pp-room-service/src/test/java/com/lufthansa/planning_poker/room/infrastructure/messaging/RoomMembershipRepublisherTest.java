@@ -0,0 +1,125 @@
+package com.lufthansa.planning_poker.room.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomParticipantEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomMembershipRepublisher Tests")
+class RoomMembershipRepublisherTest {
+
+    @Mock
+    private JpaParticipantRepository participantRepository;
+
+    @Mock
+    private RoomEventProducer eventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RoomMembershipRepublisher republisher;
+    private RoomEntity room;
+
+    @BeforeEach
+    void setUp() {
+        republisher = new RoomMembershipRepublisher(participantRepository, eventProducer, transactionManager, 2);
+        room = RoomEntity.builder().id(UUID.randomUUID()).build();
+    }
+
+    @Test
+    @DisplayName("Should republish the participants chunk by chunk, one transaction each")
+    void shouldRepublishInChunks() {
+        // Given
+        RoomParticipantEntity first = participant(new UUID(0L, 1L), "user-1");
+        RoomParticipantEntity second = participant(new UUID(0L, 2L), "user-2");
+        RoomParticipantEntity third = participant(new UUID(0L, 3L), "user-3");
+        when(participantRepository.findNextLocked(eq(new UUID(0L, 0L)), any(Pageable.class)))
+            .thenReturn(List.of(first, second));
+        when(participantRepository.findNextLocked(eq(second.getId()), any(Pageable.class)))
+            .thenReturn(List.of(third));
+        when(eventProducer.publishMembership(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        republisher.republishParticipants();
+
+        // Then
+        ArgumentCaptor<UserJoinedRoomEvent> captor = ArgumentCaptor.forClass(UserJoinedRoomEvent.class);
+        verify(eventProducer, times(3)).publishMembership(captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(UserJoinedRoomEvent::getUserId)
+            .containsExactly("user-1", "user-2", "user-3");
+        assertThat(captor.getAllValues()).allMatch(event -> room.getId().equals(event.getRoomId()));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should keep a chunk's transaction open until its records are acknowledged")
+    void shouldCommitAfterAcknowledgement() {
+        // Given
+        CompletableFuture<SendResult<String, BaseEvent>> send = new CompletableFuture<>();
+        when(participantRepository.findNextLocked(any(), any(Pageable.class)))
+            .thenReturn(List.of(participant(UUID.randomUUID(), "user-1")));
+        when(eventProducer.publishMembership(any())).thenAnswer(invocation -> {
+            verify(transactionManager, never()).commit(any());
+            send.complete(null);
+            return send;
+        });
+
+        // When
+        republisher.republishParticipants();
+
+        // Then
+        InOrder inOrder = inOrder(eventProducer, transactionManager);
+        inOrder.verify(eventProducer).publishMembership(any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should stop and roll back when a record is not acknowledged")
+    void shouldStopOnFailedSend() {
+        // Given
+        when(participantRepository.findNextLocked(any(), any(Pageable.class)))
+            .thenReturn(List.of(participant(new UUID(0L, 1L), "user-1"), participant(new UUID(0L, 2L), "user-2")));
+        when(eventProducer.publishMembership(any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // When
+        republisher.republishParticipants();
+
+        // Then
+        verify(participantRepository, times(1)).findNextLocked(any(), any(Pageable.class));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private RoomParticipantEntity participant(UUID id, String userId) {
+        return RoomParticipantEntity.builder()
+            .id(id)
+            .room(room)
+            .userId(userId)
+            .userName(userId)
+            .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.lufthansa.planning_poker.room.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.RoomSnapshotEvent;
+import com.lufthansa.planning_poker.room.domain.model.DeckType;
+import com.lufthansa.planning_poker.room.domain.model.ParticipantRole;
+import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomParticipantEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.StoryEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomSnapshotPublisher Tests")
+class RoomSnapshotPublisherTest {
+
+    @Mock
+    private JpaRoomRepository roomRepository;
+
+    @Mock
+    private RoomEventProducer eventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RoomSnapshotPublisher publisher;
+    private RoomEntity room;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new RoomSnapshotPublisher(roomRepository, eventProducer, transactionManager);
+        room = RoomEntity.builder()
+            .id(UUID.randomUUID())
+            .name("Sprint 42")
+            .deckType(DeckType.FIBONACCI)
+            .moderatorId("moderator-1")
+            .moderatorName("Moderator")
+            .shortCode("ABC123")
+            .build();
+        room.addParticipant(RoomParticipantEntity.builder()
+            .userId("moderator-1")
+            .userName("Moderator")
+            .role(ParticipantRole.MODERATOR)
+            .build());
+        room.addStory(StoryEntity.builder()
+            .id(UUID.randomUUID())
+            .title("Login page")
+            .status(StoryStatus.VOTING)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Nested
+    @DisplayName("publish Tests")
+    class PublishTests {
+
+        @Test
+        @DisplayName("Should send the snapshot read under the room lock and commit after it was acknowledged")
+        void shouldPublishUnderRoomLock() {
+            // Given
+            when(roomRepository.findLockedById(room.getId())).thenReturn(Optional.of(room));
+            when(roomRepository.findByIdWithDetails(room.getId())).thenReturn(Optional.of(room));
+            when(eventProducer.publishRoomSnapshot(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            // When
+            publisher.publish(room.getId());
+
+            // Then
+            InOrder inOrder = inOrder(roomRepository, eventProducer, transactionManager);
+            inOrder.verify(roomRepository).findLockedById(room.getId());
+            inOrder.verify(roomRepository).findByIdWithDetails(room.getId());
+            ArgumentCaptor<RoomSnapshotEvent> captor = ArgumentCaptor.forClass(RoomSnapshotEvent.class);
+            inOrder.verify(eventProducer).publishRoomSnapshot(captor.capture());
+            inOrder.verify(transactionManager).commit(any());
+
+            RoomSnapshotEvent snapshot = captor.getValue();
+            assertThat(snapshot.getRoomId()).isEqualTo(room.getId());
+            assertThat(snapshot.getName()).isEqualTo("Sprint 42");
+            assertThat(snapshot.getDeckType()).isEqualTo("FIBONACCI");
+            assertThat(snapshot.getStories()).singleElement()
+                .satisfies(story -> assertThat(story.getStatus()).isEqualTo("VOTING"));
+            assertThat(snapshot.getParticipants()).singleElement()
+                .satisfies(participant -> assertThat(participant.getRole()).isEqualTo("MODERATOR"));
+        }
+
+        @Test
+        @DisplayName("Should send a tombstone for a deleted room")
+        void shouldPublishTombstoneForDeletedRoom() {
+            // Given
+            when(roomRepository.findLockedById(room.getId())).thenReturn(Optional.empty());
+            when(eventProducer.publishRoomSnapshotRemoved(room.getId()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+            // When
+            publisher.publish(room.getId());
+
+            // Then
+            verify(eventProducer).publishRoomSnapshotRemoved(room.getId());
+            verify(eventProducer, never()).publishRoomSnapshot(any());
+            verify(roomRepository, never()).findByIdWithDetails(any());
+        }
+
+        @Test
+        @DisplayName("Should roll back and not throw when the snapshot is not acknowledged")
+        void shouldRollBackOnFailedSend() {
+            // Given
+            when(roomRepository.findLockedById(room.getId())).thenReturn(Optional.of(room));
+            when(roomRepository.findByIdWithDetails(room.getId())).thenReturn(Optional.of(room));
+            when(eventProducer.publishRoomSnapshot(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+            // When/Then
+            assertThatCode(() -> publisher.publish(room.getId())).doesNotThrowAnyException();
+            verify(transactionManager).rollback(any());
+            verify(transactionManager, never()).commit(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("roomChanged Tests")
+    class RoomChangedTests {
+
+        @Test
+        @DisplayName("Should publish a room changed several times once, after the commit")
+        void shouldPublishOnceAfterCommit() {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+            when(roomRepository.findLockedById(room.getId())).thenReturn(Optional.of(room));
+            when(roomRepository.findByIdWithDetails(room.getId())).thenReturn(Optional.of(room));
+            when(eventProducer.publishRoomSnapshot(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            // When
+            publisher.roomChanged(room.getId());
+            publisher.roomChanged(room.getId());
+            verifyNoInteractions(eventProducer);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            // Then
+            verify(eventProducer, times(1)).publishRoomSnapshot(any());
+        }
+
+        @Test
+        @DisplayName("Should not publish a change that was rolled back")
+        void shouldNotPublishRolledBackChange() {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+
+            // When
+            publisher.roomChanged(room.getId());
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Then
+            verifyNoInteractions(eventProducer, roomRepository);
+        }
+    }
+}
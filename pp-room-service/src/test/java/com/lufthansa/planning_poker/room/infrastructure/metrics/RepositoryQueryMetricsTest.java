@@ -0,0 +1,171 @@
+package com.lufthansa.planning_poker.room.infrastructure.metrics;
+
+import com.lufthansa.planning_poker.room.domain.model.StoryStatus;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.entity.RoomEntity;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaRoomRepository;
+import com.lufthansa.planning_poker.room.infrastructure.persistence.repository.JpaStoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RepositoryQueryMetrics Tests")
+class RepositoryQueryMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryStatistics statistics;
+    private RepositoryQueryMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statistics = new QueryStatistics(10);
+        metrics = new RepositoryQueryMetrics(meterRegistry, statistics, Duration.ofHours(1));
+    }
+
+    @Nested
+    @DisplayName("Repository calls")
+    class RepositoryCalls {
+
+        @Test
+        @DisplayName("Should record statements and rows of a call")
+        void shouldRecordStatementsAndRows() throws Throwable {
+            // Given
+            MethodInterceptor interceptor = metrics.interceptorFor(JpaRoomRepository.class);
+            MethodInvocation invocation = invocation(
+                JpaRoomRepository.class.getMethod("findRoomsWhereUserIsParticipant", String.class, Pageable.class),
+                new Object[] {"user-1", PageRequest.of(0, 20)});
+            when(invocation.proceed()).thenAnswer(call -> {
+                metrics.inspect("select r1_0.id from rooms r1_0 join room_participants p1_0 on ... where p1_0.user_id=?");
+                metrics.inspect("select count(r1_0.id) from rooms r1_0 join room_participants p1_0 on ...");
+                return new PageImpl<>(List.of(new RoomEntity(), new RoomEntity(), new RoomEntity()));
+            });
+
+            // When
+            interceptor.invoke(invocation);
+
+            // Then
+            assertThat(meterRegistry.get("pp.repository.invocations")
+                .tags("repository", "JpaRoomRepository", "method", "findRoomsWhereUserIsParticipant", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("pp.repository.statements")
+                .tags("method", "findRoomsWhereUserIsParticipant").summary().totalAmount()).isEqualTo(2);
+            assertThat(meterRegistry.get("pp.repository.rows")
+                .tags("method", "findRoomsWhereUserIsParticipant").summary().totalAmount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should not record rows for scalar results")
+        void shouldNotRecordRowsForScalarResults() throws Throwable {
+            // Given
+            MethodInterceptor interceptor = metrics.interceptorFor(JpaStoryRepository.class);
+            MethodInvocation invocation = invocation(
+                JpaStoryRepository.class.getMethod("getNextDisplayOrder", UUID.class), new Object[] {UUID.randomUUID()});
+            when(invocation.proceed()).thenReturn(4);
+
+            // When
+            interceptor.invoke(invocation);
+
+            // Then
+            assertThat(meterRegistry.get("pp.repository.rows").tags("method", "getNextDisplayOrder").summary().count())
+                .isZero();
+            assertThat(statistics.top(1)).singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.repository()).isEqualTo("JpaStoryRepository");
+                    assertThat(summary.calls()).isEqualTo(1);
+                });
+        }
+
+        @Test
+        @DisplayName("Should record failed calls with error outcome")
+        void shouldRecordFailedCalls() throws Throwable {
+            // Given
+            MethodInterceptor interceptor = metrics.interceptorFor(JpaStoryRepository.class);
+            MethodInvocation invocation = invocation(
+                JpaStoryRepository.class.getMethod("countByRoomId", UUID.class), new Object[] {UUID.randomUUID()});
+            when(invocation.proceed()).thenThrow(new IllegalStateException("connection closed"));
+
+            // When / Then
+            assertThatThrownBy(() -> interceptor.invoke(invocation)).isInstanceOf(IllegalStateException.class);
+            assertThat(meterRegistry.get("pp.repository.invocations")
+                .tags("method", "countByRoomId", "outcome", "error").timer().count()).isEqualTo(1);
+            assertThat(statistics.top(1).get(0).errors()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should ignore statements outside repository calls")
+        void shouldIgnoreStatementsOutsideCalls() {
+            // When
+            String sql = metrics.inspect("insert into rooms (id) values (?)");
+
+            // Then
+            assertThat(sql).isEqualTo("insert into rooms (id) values (?)");
+            assertThat(statistics.top(10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Slow queries")
+    class SlowQueries {
+
+        @Test
+        @DisplayName("Should keep slow calls with redacted arguments")
+        void shouldKeepSlowCallsWithRedactedArguments() throws Throwable {
+            // Given
+            metrics = new RepositoryQueryMetrics(meterRegistry, statistics, Duration.ZERO);
+            MethodInterceptor interceptor = metrics.interceptorFor(JpaStoryRepository.class);
+            MethodInvocation invocation = invocation(
+                JpaStoryRepository.class.getMethod("findByRoomIdAndStatus", UUID.class, StoryStatus.class),
+                new Object[] {UUID.randomUUID(), StoryStatus.VOTING});
+            when(invocation.proceed()).thenAnswer(call -> {
+                metrics.inspect("select s1_0.id from stories s1_0 where s1_0.room_id=? and s1_0.status=?");
+                return List.of();
+            });
+
+            // When
+            interceptor.invoke(invocation);
+
+            // Then
+            assertThat(statistics.slowQueries()).singleElement().satisfies(slow -> {
+                assertThat(slow.method()).isEqualTo("findByRoomIdAndStatus");
+                assertThat(slow.arguments()).isEqualTo("[?UUID, StoryStatus.VOTING]");
+                assertThat(slow.sql()).containsExactly(
+                    "select s1_0.id from stories s1_0 where s1_0.room_id=? and s1_0.status=?");
+            });
+        }
+
+        @Test
+        @DisplayName("Should redact bind values but keep paging")
+        void shouldRedactBindValuesButKeepPaging() {
+            // When
+            String redacted = RepositoryQueryMetrics.redact(
+                new Object[] {"alice@example.com", null, PageRequest.of(2, 20), 42L});
+
+            // Then
+            assertThat(redacted).isEqualTo("[?String, null, page=2 size=20 sort=UNSORTED, ?Long]");
+        }
+    }
+
+    private static MethodInvocation invocation(Method method, Object[] arguments) {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.getArguments()).thenReturn(arguments);
+        return invocation;
+    }
+}
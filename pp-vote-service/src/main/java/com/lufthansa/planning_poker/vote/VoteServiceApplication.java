@@ -3,7 +3,11 @@ package com.lufthansa.planning_poker.vote;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// Also picks up the shared exception handler
+@SpringBootApplication(scanBasePackages = {
+    "com.lufthansa.planning_poker.vote",
+    "com.lufthansa.planning_poker.common.exception"
+})
 public class VoteServiceApplication {
 
     public static void main(String[] args) {
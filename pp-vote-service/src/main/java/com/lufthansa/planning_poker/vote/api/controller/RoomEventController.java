@@ -0,0 +1,36 @@
+package com.lufthansa.planning_poker.vote.api.controller;
+
+import com.lufthansa.planning_poker.vote.api.sse.RoomEventStreamRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/rooms")
+@RequiredArgsConstructor
+@Tag(name = "Room Events", description = "Server-Sent Events stream for room observers")
+public class RoomEventController {
+
+    private final RoomEventStreamRegistry streamRegistry;
+
+    @GetMapping(path = "/{roomId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream room events",
+        description = "Streams the same events as the /topic/room/{roomId}/* STOMP topics. "
+            + "Reconnect with Last-Event-ID to receive only the missed events."
+    )
+    public SseEmitter streamRoomEvents(
+            @PathVariable UUID roomId,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return streamRegistry.subscribe(roomId, lastEventId);
+    }
+}
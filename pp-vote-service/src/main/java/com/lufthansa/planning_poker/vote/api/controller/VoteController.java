@@ -1,9 +1,11 @@
 package com.lufthansa.planning_poker.vote.api.controller;
 
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteRequest;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResponse;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
 import com.lufthansa.planning_poker.vote.application.service.VoteService;
+import com.lufthansa.planning_poker.vote.infrastructure.messaging.RoomSnapshotView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -21,14 +23,22 @@ import java.util.UUID;
 @Tag(name = "Votes", description = "Voting endpoints")
 public class VoteController {
 
+    static final String ROOM_HEADER = "X-Room-Id";
+
     private final VoteService voteService;
+    private final RoomSnapshotView roomSnapshots;
 
     @PostMapping("/votes")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Cast a vote", description = "Cast or update your vote for a story")
     public VoteResponse castVote(
             @Valid @RequestBody CastVoteRequest request,
+            @RequestHeader(value = ROOM_HEADER, required = false) UUID routedRoomId,
             @AuthenticationPrincipal Jwt jwt) {
+        // The gateway routed the vote by the header, it must be the room voted in
+        if (routedRoomId != null && !routedRoomId.equals(request.roomId())) {
+            throw BusinessException.badRequest(ROOM_HEADER + " does not match the room of the vote");
+        }
         return voteService.castVote(
             request,
             jwt.getSubject(),
@@ -76,7 +86,7 @@ public class VoteController {
             storyId,
             roomId,
             finalEstimate,
-            storyTitle != null ? storyTitle : "Story",
+            storyTitle != null ? storyTitle : roomSnapshots.storyTitle(roomId, storyId).orElse("Story"),
             jwt.getSubject(),
             jwt.getClaimAsString("preferred_username")
         );
@@ -0,0 +1,351 @@
+package com.lufthansa.planning_poker.vote.api.sse;
+
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEvent;
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEventLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events subscribers of the rooms, fed with the same events the STOMP topics get.
+ * <p>
+ * Publishing never writes to a client on the caller's thread: events are queued per subscriber
+ * and drained by a small writer pool, so a slow spectator only delays itself. A subscriber whose
+ * queue overflows is disconnected and resumes through {@code Last-Event-ID}.
+ * <p>
+ * A servlet write blocks while the client's TCP buffer is full. A watchdog thread disconnects a
+ * subscriber whose write has not returned within {@code write-timeout} and, until that write
+ * fails, adds a writer to the pool in place of the stuck one, so a few stalled clients cannot
+ * stop delivery to every other room.
+ */
+@Slf4j
+@Component
+public class RoomEventStreamRegistry {
+
+    static final String RESYNC_EVENT = "RESYNC";
+
+    private final RoomEventLog eventLog;
+    private final long timeoutMillis;
+    private final int maxQueuedEvents;
+    private final long writeTimeoutNanos;
+    private final int writerThreads;
+    private final int maxStalledWriters;
+    private final LongFunction<SseEmitter> emitterFactory;
+    private final ThreadPoolExecutor writers;
+    private final ScheduledExecutorService watchdog;
+    private final ConcurrentHashMap<UUID, RoomChannel> channels = new ConcurrentHashMap<>();
+    private int stalledWriters;
+
+    @Autowired
+    public RoomEventStreamRegistry(
+            RoomEventLog eventLog,
+            @Value("${planning-poker.realtime.sse.timeout:30m}") Duration timeout,
+            @Value("${planning-poker.realtime.sse.max-queued-events:256}") int maxQueuedEvents,
+            @Value("${planning-poker.realtime.sse.writer-threads:4}") int writerThreads,
+            @Value("${planning-poker.realtime.sse.write-timeout:5s}") Duration writeTimeout,
+            @Value("${planning-poker.realtime.sse.max-stalled-writers:32}") int maxStalledWriters) {
+        this(eventLog, timeout, maxQueuedEvents, writerThreads, writeTimeout, maxStalledWriters, SseEmitter::new);
+    }
+
+    RoomEventStreamRegistry(RoomEventLog eventLog, Duration timeout, int maxQueuedEvents, int writerThreads,
+                            Duration writeTimeout, int maxStalledWriters, LongFunction<SseEmitter> emitterFactory) {
+        this.eventLog = eventLog;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxQueuedEvents = maxQueuedEvents;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.writerThreads = writerThreads;
+        this.maxStalledWriters = maxStalledWriters;
+        this.emitterFactory = emitterFactory;
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new CustomizableThreadFactory("sse-writer-"));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-watchdog-"));
+        long checkIntervalMillis = Math.max(1, writeTimeout.toMillis() / 2);
+        watchdog.scheduleWithFixedDelay(this::disconnectStalledSubscribers,
+            checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for a room. When {@code lastEventId} is given, the buffered events after it
+     * are replayed first; if some of them are no longer buffered a {@value #RESYNC_EVENT} event
+     * tells the client to reload the room state over REST.
+     */
+    public SseEmitter subscribe(UUID roomId, Long lastEventId) {
+        SseEmitter emitter = emitterFactory.apply(timeoutMillis);
+        Subscriber subscriber = new Subscriber(roomId, emitter);
+        RoomChannel channel = channels.computeIfAbsent(roomId, id -> new RoomChannel());
+
+        synchronized (channel) {
+            if (channel.closed) {
+                // Lost a race with the removal of the last subscriber, start over with a fresh channel
+                return subscribe(roomId, lastEventId);
+            }
+            long lastSequence = lastEventId != null ? lastEventId : 0;
+            // Replay and registration happen under the room log lock, so no event published
+            // in between is lost or delivered twice
+            eventLog.replaySince(roomId, lastSequence, replay -> {
+                if (lastEventId != null) {
+                    if (!replay.complete()) {
+                        String latest = Long.toString(replay.latestSequence());
+                        subscriber.enqueue(() -> SseEmitter.event().id(latest).name(RESYNC_EVENT).data("{}"));
+                    }
+                    replay.events().forEach(event -> subscriber.enqueue(() -> toSse(event)));
+                }
+                channel.subscribers.add(subscriber);
+            });
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        log.debug("SSE subscriber joined room {} (lastEventId={})", roomId, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Records an event in the room log and queues it for every SSE subscriber of the room.
+     * The payload is written once, with its sequence, and shared by all subscribers; only the
+     * small SSE frame around it is built per subscriber, on the writer thread.
+     * <p>
+     * {@code dispatcher} is called with the recorded event before the next event of the room
+     * is recorded, so other transports can deliver events in sequence order too.
+     */
+    public RoomEvent publish(UUID roomId, String type, LongFunction<byte[]> payloadWriter,
+                             Consumer<RoomEvent> dispatcher) {
+        return eventLog.append(roomId, type, payloadWriter, event -> {
+            dispatcher.accept(event);
+            RoomChannel channel = channels.get(roomId);
+            if (channel != null) {
+                channel.subscribers.forEach(subscriber -> subscriber.enqueue(() -> toSse(event)));
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum();
+    }
+
+    public int subscriberCount(UUID roomId) {
+        RoomChannel channel = channels.get(roomId);
+        return channel != null ? channel.subscribers.size() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${planning-poker.realtime.sse.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        channels.values().forEach(channel -> channel.subscribers
+            .forEach(subscriber -> subscriber.enqueue(() -> SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::disconnect));
+        writers.shutdown();
+    }
+
+    /** Writer threads, including the ones standing in for stalled writes. */
+    int writerPoolSize() {
+        return writers.getCorePoolSize();
+    }
+
+    private void disconnectStalledSubscribers() {
+        long now = System.nanoTime();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> {
+            if (subscriber.isStalled(now)) {
+                subscriber.stall(now);
+            }
+        }));
+    }
+
+    private void remove(Subscriber subscriber) {
+        RoomChannel channel = channels.get(subscriber.roomId);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            channel.subscribers.remove(subscriber);
+            if (channel.subscribers.isEmpty()) {
+                channel.closed = true;
+                channels.remove(subscriber.roomId, channel);
+            }
+        }
+    }
+
+    private synchronized boolean addStandInWriter() {
+        if (stalledWriters >= maxStalledWriters) {
+            return false;
+        }
+        stalledWriters++;
+        writers.setMaximumPoolSize(writerThreads + stalledWriters);
+        writers.setCorePoolSize(writerThreads + stalledWriters);
+        return true;
+    }
+
+    private synchronized void removeStandInWriter() {
+        stalledWriters--;
+        writers.setCorePoolSize(writerThreads + stalledWriters);
+        writers.setMaximumPoolSize(writerThreads + stalledWriters);
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(RoomEvent event) {
+        return SseEmitter.event()
+            .id(Long.toString(event.sequence()))
+            .name(event.type())
+            .data(event.data());
+    }
+
+    private static final class RoomChannel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private boolean closed;
+    }
+
+    private final class Subscriber {
+
+        private final UUID roomId;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+        // Written under this subscriber's monitor, read by the watchdog
+        private volatile boolean sending;
+        private volatile long sendStartedAt;
+        private boolean standIn;
+
+        private Subscriber(UUID roomId, SseEmitter emitter) {
+            this.roomId = roomId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueuedEvents) {
+                log.debug("SSE subscriber of room {} is too slow, disconnecting", roomId);
+                disconnect();
+                return;
+            }
+            queue.add(event);
+            scheduleDrain();
+        }
+
+        /**
+         * Stops queueing events for the subscriber. May run under the room locks, so it is
+         * unregistered on the watchdog thread and the emitter is completed by its own writer,
+         * once no write is in progress.
+         */
+        void disconnect() {
+            closed = true;
+            queue.clear();
+            if (!watchdog.isShutdown()) {
+                watchdog.execute(() -> remove(this));
+            }
+            scheduleDrain();
+        }
+
+        boolean isStalled(long now) {
+            return sending && now - sendStartedAt > writeTimeoutNanos;
+        }
+
+        /**
+         * Called by the watchdog for a write past its deadline: unregisters the subscriber and
+         * lends the pool a writer until the stuck write returns.
+         */
+        void stall(long now) {
+            synchronized (this) {
+                if (!isStalled(now) || standIn) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+                remove(this);
+                standIn = addStandInWriter();
+            }
+            log.warn("SSE write to a subscriber of room {} did not complete within {} ms, disconnecting",
+                roomId, TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closed && (event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    send(event.get());
+                }
+                if (closed) {
+                    complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, the emitter callbacks remove the subscriber
+                closed = true;
+                queue.clear();
+                complete();
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                sendStartedAt = System.nanoTime();
+                sending = true;
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sending = false;
+                    if (standIn) {
+                        standIn = false;
+                        removeStandInWriter();
+                    }
+                }
+            }
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.lufthansa.planning_poker.vote.api.websocket;
+
+import com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how long a room broadcast took to reach each subscriber's WebSocket session, measured
+ * on the client outbound channel once the session handler has sent or buffered the frame. This
+ * covers the broker fan-out and the wait in the outbound executor queue, which is where a burst
+ * of votes in a large room shows up first.
+ */
+@Component
+@RequiredArgsConstructor
+public class BroadcastDeliveryInterceptor implements ExecutorChannelInterceptor {
+
+    private final VoteMetrics voteMetrics;
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        Object dispatchedAt = message.getHeaders().get(VotingWebSocketHandler.DISPATCHED_AT_HEADER);
+        Object type = message.getHeaders().get(VotingWebSocketHandler.EVENT_TYPE_HEADER);
+        if (ex == null && dispatchedAt instanceof Long nanos && type instanceof String eventType) {
+            voteMetrics.recordDelivery(eventType, nanos);
+        }
+    }
+}
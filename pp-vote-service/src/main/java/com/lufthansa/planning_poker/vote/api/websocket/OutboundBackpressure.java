@@ -0,0 +1,245 @@
+package com.lufthansa.planning_poker.vote.api.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a slow STOMP session from holding up the others by sending it fewer frames.
+ * <p>
+ * Every MESSAGE frame for a session is counted from the moment the broker hands it to the client
+ * outbound channel until it was written to the socket, covering both the outbound executor queue
+ * and the session's send buffer. Once a session has {@code max-queued} frames outstanding, vote
+ * count updates for it are held back instead of queued: only the latest one per destination is
+ * kept and sent once the session has caught up to half of that, as the newer count supersedes
+ * the ones in between. All other events, reveal and finish included, are always queued; a session
+ * that still cannot keep up runs into the send time and buffer limits of the transport, is closed
+ * and resumes through the replay subscription. A reveal, finish, reset or new voting round drops
+ * the counts held for its room, which would otherwise reach the client after it, out of sequence
+ * and counting votes of a round that is over.
+ * </p>
+ * <p>
+ * Registered as an interceptor of the client outbound channel and as a decorator of the WebSocket
+ * handler, which wraps every session to see the frames it writes.
+ * </p>
+ */
+@Component
+public class OutboundBackpressure implements ChannelInterceptor {
+
+    static final String SUPERSEDABLE_TYPE = "VOTE_COUNT_UPDATE";
+    /** Events that end the round a vote count belongs to. */
+    static final Set<String> ROUND_TYPES = Set.of("VOTES_REVEALED", "VOTING_FINISHED", "VOTES_RESET", "VOTING_STARTED");
+
+    private static final byte[] MESSAGE_COMMAND = "MESSAGE\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrentHashMap<String, SessionQueue> sessions = new ConcurrentHashMap<>();
+    private final int maxQueued;
+    private final int resumeQueued;
+    private final DistributionSummary queueDepth;
+    private final Counter superseded;
+
+    public OutboundBackpressure(MeterRegistry registry,
+                                @Value("${planning-poker.realtime.stomp.slow-session.max-queued:32}") int maxQueued) {
+        this.maxQueued = maxQueued;
+        this.resumeQueued = maxQueued / 2;
+        this.queueDepth = DistributionSummary.builder("pp.vote.stomp.session.queue")
+            .description("Outstanding frames of a STOMP session when another frame is queued for it")
+            .publishPercentileHistogram()
+            .maximumExpectedValue(1024.0)
+            .register(registry);
+        this.superseded = Counter.builder("pp.vote.stomp.superseded")
+            .description("Vote count updates not sent to a slow STOMP session because a newer one replaced them")
+            .tag("type", SUPERSEDABLE_TYPE)
+            .register(registry);
+        Gauge.builder("pp.vote.stomp.session.queue.max", this, OutboundBackpressure::maxQueueDepth)
+            .description("Outstanding frames of the STOMP session furthest behind")
+            .register(registry);
+        Gauge.builder("pp.vote.stomp.sessions.slow", this, OutboundBackpressure::slowSessionCount)
+            .description("STOMP sessions with max-queued or more outstanding frames")
+            .register(registry);
+    }
+
+    /**
+     * Wraps the STOMP WebSocket handler so every session it gets is tracked.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(track(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    WebSocketSession track(WebSocketSession session) {
+        SessionQueue queue = new SessionQueue();
+        sessions.put(session.getId(), queue);
+        return new TrackedSession(session, queue);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        SessionQueue queue = sessionId != null ? sessions.get(sessionId) : null;
+        if (queue == null || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        Object type = headers.get(VotingWebSocketHandler.EVENT_TYPE_HEADER);
+        if (type != null && ROUND_TYPES.contains(type) && !queue.held.isEmpty()) {
+            dropHeldCounts(queue, SimpMessageHeaderAccessor.getDestination(headers));
+        }
+        if (SUPERSEDABLE_TYPE.equals(type) && queue.outstanding.get() >= maxQueued) {
+            String destination = SimpMessageHeaderAccessor.getDestination(headers);
+            queue.channel = channel;
+            if (queue.held.put(destination != null ? destination : "", message) != null) {
+                superseded.increment();
+            }
+            // The session may have caught up meanwhile, then no later write would release it
+            if (queue.outstanding.get() > resumeQueued) {
+                return null;
+            }
+            Message<?> released = queue.held.remove(destination != null ? destination : "");
+            if (released == null) {
+                return null;
+            }
+            message = released;
+        }
+        queueDepth.record(queue.outstanding.incrementAndGet());
+        return message;
+    }
+
+    private void dropHeldCounts(SessionQueue queue, String destination) {
+        // Room topics are /topic/room/{roomId}/{event}
+        int roomEnd = destination != null ? destination.lastIndexOf('/') : -1;
+        if (roomEnd < 0) {
+            return;
+        }
+        String room = destination.substring(0, roomEnd + 1);
+        queue.held.keySet().removeIf(heldDestination -> {
+            if (!heldDestination.startsWith(room)) {
+                return false;
+            }
+            superseded.increment();
+            return true;
+        });
+    }
+
+    int outstanding(String sessionId) {
+        SessionQueue queue = sessions.get(sessionId);
+        return queue != null ? queue.outstanding.get() : 0;
+    }
+
+    private int maxQueueDepth() {
+        int max = 0;
+        for (SessionQueue queue : sessions.values()) {
+            max = Math.max(max, queue.outstanding.get());
+        }
+        return max;
+    }
+
+    private int slowSessionCount() {
+        int slow = 0;
+        for (SessionQueue queue : sessions.values()) {
+            if (queue.outstanding.get() >= maxQueued) {
+                slow++;
+            }
+        }
+        return slow;
+    }
+
+    private void written(SessionQueue queue) {
+        int remaining = queue.outstanding.updateAndGet(count -> Math.max(0, count - 1));
+        if (remaining > resumeQueued || queue.held.isEmpty()) {
+            return;
+        }
+        Iterator<Map.Entry<String, Message<?>>> held = queue.held.entrySet().iterator();
+        while (held.hasNext()) {
+            Map.Entry<String, Message<?>> next = held.next();
+            if (queue.held.remove(next.getKey(), next.getValue())) {
+                // Goes through preSend again, so it is counted like any other frame
+                queue.channel.send(next.getValue());
+            }
+        }
+    }
+
+    private static boolean isMessageFrame(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            return text.getPayload().startsWith("MESSAGE\n");
+        }
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload().duplicate();
+            if (payload.remaining() < MESSAGE_COMMAND.length) {
+                return false;
+            }
+            for (byte b : MESSAGE_COMMAND) {
+                if (payload.get() != b) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static final class SessionQueue {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        /** Latest held back vote count per destination. */
+        private final ConcurrentHashMap<String, Message<?>> held = new ConcurrentHashMap<>();
+        private volatile MessageChannel channel;
+    }
+
+    private final class TrackedSession extends WebSocketSessionDecorator {
+
+        private final SessionQueue queue;
+
+        private TrackedSession(WebSocketSession session, SessionQueue queue) {
+            super(session);
+            this.queue = queue;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                if (isMessageFrame(message)) {
+                    written(queue);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lufthansa.planning_poker.vote.api.websocket;
+
+import com.lufthansa.planning_poker.vote.application.dto.response.RoomReplayResponse;
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEventLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.UUID;
+
+/**
+ * Resubscribe-with-sequence for STOMP clients.
+ * <p>
+ * After reconnecting, a client first subscribes to the room topics again and then to
+ * {@code /app/room/{roomId}/replay/{lastSequence}}, which answers once with the buffered events
+ * after {@code lastSequence}. Events that arrive on the topics meanwhile may overlap the replay;
+ * clients skip any sequence they have already applied.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class RoomReplayController {
+
+    private final RoomEventLog eventLog;
+
+    @SubscribeMapping("/room/{roomId}/replay/{lastSequence}")
+    public RoomReplayResponse replay(@DestinationVariable UUID roomId, @DestinationVariable long lastSequence) {
+        RoomEventLog.Replay replay = eventLog.replaySince(roomId, lastSequence);
+        log.debug("Replaying {} events of room {} after sequence {} (complete={})",
+            replay.events().size(), roomId, lastSequence, replay.complete());
+        return new RoomReplayResponse(
+            roomId,
+            replay.complete(),
+            replay.latestSequence(),
+            replay.events().stream()
+                .map(event -> new RoomReplayResponse.ReplayedEvent(event.sequence(), event.type(), event.dataAsString()))
+                .toList()
+        );
+    }
+}
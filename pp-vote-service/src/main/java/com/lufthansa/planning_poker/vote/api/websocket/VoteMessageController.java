@@ -0,0 +1,104 @@
+package com.lufthansa.planning_poker.vote.api.websocket;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteMessage;
+import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteRequest;
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteAckResponse;
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteResponse;
+import com.lufthansa.planning_poker.vote.application.service.VoteService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Vote casting over the STOMP session a client already holds, instead of one REST request per
+ * vote.
+ * <p>
+ * A client sends {@link CastVoteMessage} to {@code /app/room/{roomId}/vote} and gets a
+ * {@link VoteAckResponse} on {@code /user/queue/vote-ack}, only on the session that sent the
+ * vote. The voter is the user the session authenticated as on CONNECT (see
+ * {@code StompAuthenticationInterceptor}); votes from unauthenticated sessions are rejected, as
+ * are votes sent after the session's token expired, since the session outlives its token.
+ * Admission, persistence and broadcasts are the same as for {@code POST /api/v1/votes}.
+ * </p>
+ * <p>
+ * The vote is acknowledged once it was stored, without holding the inbound channel's thread
+ * while the room's mailbox is busy; other frames of the session keep being handled meanwhile.
+ * </p>
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class VoteMessageController {
+
+    static final String ACK_DESTINATION = "/queue/vote-ack";
+
+    private final VoteService voteService;
+    private final Validator validator;
+
+    @MessageMapping("/room/{roomId}/vote")
+    @SendToUser(destinations = ACK_DESTINATION, broadcast = false)
+    public CompletableFuture<VoteAckResponse> castVote(@DestinationVariable UUID roomId,
+                                                       @Payload CastVoteMessage message,
+                                                       @Nullable Principal principal) {
+        if (!(principal instanceof JwtAuthenticationToken authentication)) {
+            return rejected(message, "UNAUTHORIZED", "Connect with a bearer token to vote over STOMP");
+        }
+        Jwt jwt = authentication.getToken();
+        if (jwt.getExpiresAt() != null && !jwt.getExpiresAt().isAfter(Instant.now())) {
+            return rejected(message, "UNAUTHORIZED", "The session's token expired, reconnect with a new one to vote");
+        }
+        CastVoteRequest request = new CastVoteRequest(message.storyId(), roomId, message.value());
+        Set<ConstraintViolation<CastVoteRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return rejected(message, "BAD_REQUEST", violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted(Comparator.naturalOrder())
+                .findFirst()
+                .orElseThrow());
+        }
+
+        CompletableFuture<VoteResponse> vote;
+        try {
+            vote = voteService.castVoteAsync(request, jwt.getSubject(), jwt.getClaimAsString("preferred_username"));
+        } catch (RuntimeException e) {
+            vote = CompletableFuture.failedFuture(e);
+        }
+        return vote
+            .thenApply(stored -> VoteAckResponse.accepted(message.requestId(), stored))
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof BusinessException rejection) {
+                    log.warn("Rejected STOMP vote of {}: {} - {}", jwt.getSubject(), rejection.getErrorCode(),
+                        rejection.getMessage());
+                    return VoteAckResponse.rejected(message.requestId(), rejection.getErrorCode(),
+                        rejection.getMessage());
+                }
+                // Unlike a REST call the client would otherwise wait for the acknowledgement forever
+                log.error("Failed to cast STOMP vote of {} for story {}", jwt.getSubject(), message.storyId(), cause);
+                return VoteAckResponse.rejected(message.requestId(), "INTERNAL_ERROR", "The vote could not be stored");
+            });
+    }
+
+    private static CompletableFuture<VoteAckResponse> rejected(CastVoteMessage message, String errorCode,
+                                                               String reason) {
+        return CompletableFuture.completedFuture(VoteAckResponse.rejected(message.requestId(), errorCode, reason));
+    }
+}
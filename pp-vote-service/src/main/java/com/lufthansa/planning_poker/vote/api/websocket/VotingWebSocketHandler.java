@@ -1,11 +1,24 @@
 package com.lufthansa.planning_poker.vote.api.websocket;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.vote.api.sse.RoomEventStreamRegistry;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEvent;
+import com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
@@ -14,7 +27,15 @@ import java.util.UUID;
 @Slf4j
 public class VotingWebSocketHandler {
 
+    /** Set on broadcast messages; the broker copies it to every subscriber's message. */
+    static final String DISPATCHED_AT_HEADER = "ppDispatchedAt";
+    static final String EVENT_TYPE_HEADER = "ppEventType";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final RoomEventStreamRegistry streamRegistry;
+    private final ObjectMapper objectMapper;
+    private final StompSubscriptionTracker subscriptionTracker;
+    private final VoteMetrics voteMetrics;
 
     public void broadcastVoteCount(UUID roomId, UUID storyId, int count) {
         String destination = "/topic/room/" + roomId + "/vote-count";
@@ -24,7 +45,7 @@ public class VotingWebSocketHandler {
             "type", "VOTE_COUNT_UPDATE"
         );
         log.debug("Broadcasting vote count to {}: {}", destination, payload);
-        messagingTemplate.convertAndSend(destination, payload);
+        broadcast(roomId, destination, payload);
     }
 
     public void broadcastVoteResults(UUID roomId, VoteResultsResponse results) {
@@ -35,7 +56,7 @@ public class VotingWebSocketHandler {
             "results", results
         );
         log.debug("Broadcasting vote results to {}", destination);
-        messagingTemplate.convertAndSend(destination, payload);
+        broadcast(roomId, destination, payload);
     }
 
     public void broadcastVotingFinished(UUID roomId, UUID storyId, String finalEstimate, VoteResultsResponse results) {
@@ -47,7 +68,7 @@ public class VotingWebSocketHandler {
             "results", results
         );
         log.info("Broadcasting voting finished for story {} in room {}", storyId, roomId);
-        messagingTemplate.convertAndSend(destination, payload);
+        broadcast(roomId, destination, payload);
     }
 
     public void broadcastVotesReset(UUID roomId, UUID storyId) {
@@ -57,18 +78,30 @@ public class VotingWebSocketHandler {
             "type", "VOTES_RESET"
         );
         log.debug("Broadcasting votes reset to {}", destination);
-        messagingTemplate.convertAndSend(destination, payload);
+        broadcast(roomId, destination, payload);
     }
 
     public void broadcastVotingStarted(UUID roomId, UUID storyId, String storyTitle) {
+        broadcastVotingStarted(roomId, storyId, storyTitle, null);
+    }
+
+    /**
+     * @param deadline when the votes are revealed automatically, or null without a timebox
+     */
+    public void broadcastVotingStarted(UUID roomId, UUID storyId, String storyTitle, Instant deadline) {
         String destination = "/topic/room/" + roomId + "/voting-started";
-        Map<String, Object> payload = Map.of(
-            "storyId", storyId,
-            "storyTitle", storyTitle,
-            "type", "VOTING_STARTED"
-        );
+        Map<String, Object> payload = deadline == null
+            ? Map.of(
+                "storyId", storyId,
+                "storyTitle", storyTitle,
+                "type", "VOTING_STARTED")
+            : Map.of(
+                "storyId", storyId,
+                "storyTitle", storyTitle,
+                "deadline", deadline,
+                "type", "VOTING_STARTED");
         log.info("Broadcasting voting started for story {} in room {}", storyId, roomId);
-        messagingTemplate.convertAndSend(destination, payload);
+        broadcast(roomId, destination, payload);
     }
 
     public void broadcastUserJoined(UUID roomId, String oderId, String userName) {
@@ -78,7 +111,7 @@ public class VotingWebSocketHandler {
             "userName", userName,
             "type", "USER_JOINED"
         );
-        messagingTemplate.convertAndSend(destination, payload);
+        broadcast(roomId, destination, payload);
     }
 
     public void broadcastUserLeft(UUID roomId, String oderId, String userName) {
@@ -88,7 +121,50 @@ public class VotingWebSocketHandler {
             "userName", userName,
             "type", "USER_LEFT"
         );
-        messagingTemplate.convertAndSend(destination, payload);
+        broadcast(roomId, destination, payload);
     }
-}
 
+    /**
+     * Records the event in the room log and sends it to the STOMP topic and the SSE streams.
+     * Every payload carries the room sequence, which clients pass to the replay subscription
+     * after a reconnect.
+     * <p>
+     * The payload is serialized once; the broker, the SSE subscribers and the replay buffer
+     * all share the same bytes instead of converting the payload per destination.
+     */
+    private void broadcast(UUID roomId, String destination, Map<String, Object> payload) {
+        streamRegistry.publish(roomId, (String) payload.get("type"),
+            sequence -> toJson(payload, sequence),
+            event -> {
+                voteMetrics.recordBroadcast(event.type(),
+                    subscriptionTracker.subscriberCount(destination) + streamRegistry.subscriberCount(roomId));
+                messagingTemplate.send(destination, toMessage(event));
+            });
+    }
+
+    private byte[] toJson(Map<String, Object> payload, long sequence) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, Object> field : payload.entrySet()) {
+                generator.writeObjectField(field.getKey(), field.getValue());
+            }
+            generator.writeNumberField("sequence", sequence);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize " + payload.get("type") + " event", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Message<byte[]> toMessage(RoomEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        // Not native headers, so they never reach the STOMP frame; read by BroadcastDeliveryInterceptor
+        accessor.setHeader(DISPATCHED_AT_HEADER, System.nanoTime());
+        accessor.setHeader(EVENT_TYPE_HEADER, event.type());
+        // Left mutable so the template can set the destination without copying the headers
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(event.data(), accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,252 @@
+package com.lufthansa.planning_poker.vote.application.command;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import com.lufthansa.planning_poker.vote.application.state.RoomVoteState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the commands of a room one at a time, in the order they arrived.
+ * <p>
+ * Every room with pending commands has a mailbox that is drained by one thread of a shared pool
+ * at a time, so the votes of a room are changed by a single writer: two votes of the same user
+ * can no longer race between looking up and inserting the vote, and no lock is held while
+ * waiting. After {@code batch-size} commands a mailbox goes back to the end of the pool's
+ * queue, so one busy room cannot starve the others. A mailbox is removed once it is empty,
+ * idle rooms cost nothing.
+ * </p>
+ * <p>
+ * Opt-in with {@code planning-poker.room-commands.enabled}; when disabled commands run on the
+ * calling thread as before. Callers wait for the result for up to {@code timeout}, or get a
+ * future with {@link #executeAsync} when their thread must not block; a command that timed out
+ * still runs. The mailbox only serializes the commands of one instance, so the
+ * gateway's room affinity should send all requests of a room to the same instance.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RoomCommandExecutor implements DisposableBean {
+
+    private static final ThreadLocal<UUID> CURRENT_ROOM = new ThreadLocal<>();
+
+    private final RoomVoteState roomVotes;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Timer queueWait;
+
+    public RoomCommandExecutor(RoomVoteState roomVotes,
+                               MeterRegistry meterRegistry,
+                               @Value("${planning-poker.room-commands.enabled:false}") boolean enabled,
+                               @Value("${planning-poker.room-commands.threads:16}") int threads,
+                               @Value("${planning-poker.room-commands.timeout:10s}") Duration timeout,
+                               @Value("${planning-poker.room-commands.batch-size:32}") int batchSize) {
+        this.roomVotes = roomVotes;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.batchSize = batchSize;
+        this.executor = enabled
+            ? Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("room-command-"))
+            : null;
+        Gauge.builder("pp.vote.room.mailboxes", mailboxes, Map::size)
+            .description("Rooms with commands waiting or running")
+            .register(meterRegistry);
+        this.queueWait = Timer.builder("pp.vote.room.command.wait")
+            .description("Time a room command waited in its mailbox")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        if (enabled) {
+            log.info("Room commands run on per-room mailboxes ({} threads)", threads);
+        }
+    }
+
+    /**
+     * @return the room whose mailbox the calling thread is running, or {@code null}
+     */
+    public static UUID currentRoom() {
+        return CURRENT_ROOM.get();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs the command on the room's mailbox and waits for its result. Exceptions of the command
+     * are rethrown as they are.
+     *
+     * @throws BusinessException 503 when the command did not complete within the timeout
+     */
+    public <T> T execute(UUID roomId, Supplier<T> command) {
+        if (!enabled || roomId.equals(CURRENT_ROOM.get())) {
+            return command.get();
+        }
+        CompletableFuture<T> result = submit(roomId, command);
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Command of room {} did not complete within {}", roomId, timeout);
+            throw BusinessException.unavailable("Room " + roomId + " is busy, retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw BusinessException.unavailable("Interrupted while waiting for room " + roomId);
+        }
+    }
+
+    /**
+     * Runs the command on the room's mailbox without blocking the caller. The future completes
+     * with the command's result or exception, or fails with the same 503 as {@link #execute}
+     * once the timeout passed.
+     */
+    public <T> CompletableFuture<T> executeAsync(UUID roomId, Supplier<T> command) {
+        if (!enabled || roomId.equals(CURRENT_ROOM.get())) {
+            try {
+                return CompletableFuture.completedFuture(command.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return submit(roomId, command)
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionallyCompose(e -> {
+                if (e instanceof TimeoutException) {
+                    log.warn("Command of room {} did not complete within {}", roomId, timeout);
+                    return CompletableFuture.failedFuture(
+                        BusinessException.unavailable("Room " + roomId + " is busy, retry shortly"));
+                }
+                return CompletableFuture.failedFuture(e);
+            });
+    }
+
+    public void run(UUID roomId, Runnable command) {
+        execute(roomId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queues the command on the room's mailbox without waiting for it.
+     */
+    public <T> CompletableFuture<T> submit(UUID roomId, Supplier<T> command) {
+        if (!enabled) {
+            throw new IllegalStateException("Room commands are not enabled");
+        }
+        Command<T> queued = new Command<>(command, new CompletableFuture<>(), System.nanoTime());
+        boolean[] created = new boolean[1];
+        // Adding and removing a mailbox both happen under the map's lock of the room, so a
+        // command never lands in a mailbox that was just removed as empty
+        Mailbox mailbox = mailboxes.compute(roomId, (id, existing) -> {
+            Mailbox target = existing;
+            if (target == null) {
+                target = new Mailbox(id);
+                created[0] = true;
+            }
+            target.queue.add(queued);
+            return target;
+        });
+        if (created[0]) {
+            executor.execute(() -> drain(mailbox));
+        }
+        return queued.result;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    int pendingRooms() {
+        return mailboxes.size();
+    }
+
+    private void drain(Mailbox mailbox) {
+        CURRENT_ROOM.set(mailbox.roomId);
+        try {
+            int ran = 0;
+            while (ran < batchSize) {
+                Command<?> command = mailbox.queue.poll();
+                if (command != null) {
+                    run(mailbox.roomId, command);
+                    ran++;
+                } else if (removeIfEmpty(mailbox)) {
+                    return;
+                }
+            }
+        } finally {
+            CURRENT_ROOM.remove();
+        }
+        // Other rooms get their turn before this one continues
+        executor.execute(() -> drain(mailbox));
+    }
+
+    private boolean removeIfEmpty(Mailbox mailbox) {
+        boolean[] removed = new boolean[1];
+        mailboxes.computeIfPresent(mailbox.roomId, (id, existing) -> {
+            if (!existing.queue.isEmpty()) {
+                return existing;
+            }
+            // Dropped before the mailbox is gone, so it cannot race with the next mailbox of the room
+            roomVotes.evict(id);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private <T> void run(UUID roomId, Command<T> command) {
+        queueWait.record(System.nanoTime() - command.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            command.result.complete(command.action.get());
+        } catch (Throwable e) {
+            // The in-memory votes may be ahead of a rolled-back transaction
+            roomVotes.evict(roomId);
+            command.result.completeExceptionally(e);
+        }
+    }
+
+    private record Command<T>(Supplier<T> action, CompletableFuture<T> result, long enqueuedAt) {
+    }
+
+    private static final class Mailbox {
+
+        private final UUID roomId;
+        private final Queue<Command<?>> queue = new ConcurrentLinkedQueue<>();
+
+        private Mailbox(UUID roomId) {
+            this.roomId = roomId;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.lufthansa.planning_poker.vote.application.dto.request;
+
+import java.util.UUID;
+
+/**
+ * A vote sent over STOMP to {@code /app/room/{roomId}/vote}; the room is taken from the
+ * destination.
+ *
+ * @param requestId chosen by the client and echoed in the acknowledgement, so votes sent
+ *                  back to back can be told apart
+ */
+public record CastVoteMessage(
+    String requestId,
+    UUID storyId,
+    String value
+) {}
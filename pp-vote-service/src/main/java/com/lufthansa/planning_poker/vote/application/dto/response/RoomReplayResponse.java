@@ -0,0 +1,24 @@
+package com.lufthansa.planning_poker.vote.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Events a STOMP client missed while it was disconnected.
+ * When {@code complete} is {@code false} some of them are no longer buffered and the client
+ * should reload the room state over REST, then continue from {@code latestSequence}.
+ */
+public record RoomReplayResponse(
+    UUID roomId,
+    boolean complete,
+    long latestSequence,
+    List<ReplayedEvent> events
+) {
+    public record ReplayedEvent(
+        long sequence,
+        String type,
+        @JsonRawValue String payload
+    ) {}
+}
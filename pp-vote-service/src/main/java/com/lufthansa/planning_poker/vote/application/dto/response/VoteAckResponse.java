@@ -0,0 +1,22 @@
+package com.lufthansa.planning_poker.vote.application.dto.response;
+
+/**
+ * Answer to a vote sent over STOMP, delivered to the sending session on
+ * {@code /user/queue/vote-ack}. {@code errorCode} and {@code message} are the ones the REST
+ * endpoint would return in its error body.
+ */
+public record VoteAckResponse(
+    String requestId,
+    boolean accepted,
+    VoteResponse vote,
+    String errorCode,
+    String message
+) {
+    public static VoteAckResponse accepted(String requestId, VoteResponse vote) {
+        return new VoteAckResponse(requestId, true, vote, null, null);
+    }
+
+    public static VoteAckResponse rejected(String requestId, String errorCode, String message) {
+        return new VoteAckResponse(requestId, false, null, errorCode, message);
+    }
+}
@@ -0,0 +1,50 @@
+package com.lufthansa.planning_poker.vote.application.realtime;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A broadcast room event as kept in the {@link RoomEventLog}.
+ * <p>
+ * The payload is serialized once and the same array is handed to the STOMP broker, the SSE
+ * subscribers and replays; it must not be modified. Events are equal when they carry the same
+ * payload bytes, not only the same array.
+ *
+ * @param roomId   room the event was broadcast to
+ * @param sequence per-room, strictly increasing sequence number
+ * @param type     event type, e.g. {@code VOTES_REVEALED}
+ * @param data     the serialized UTF-8 JSON payload, shared by every subscriber
+ */
+public record RoomEvent(
+    UUID roomId,
+    long sequence,
+    String type,
+    byte[] data
+) {
+
+    public String dataAsString() {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof RoomEvent event
+            && sequence == event.sequence
+            && Objects.equals(roomId, event.roomId)
+            && Objects.equals(type, event.type)
+            && Arrays.equals(data, event.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(roomId, sequence, type) + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        return "RoomEvent[roomId=" + roomId + ", sequence=" + sequence + ", type=" + type
+            + ", data=" + dataAsString() + "]";
+    }
+}
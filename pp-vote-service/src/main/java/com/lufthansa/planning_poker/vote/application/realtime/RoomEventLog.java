@@ -0,0 +1,199 @@
+package com.lufthansa.planning_poker.vote.application.realtime;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Keeps the last broadcast events of every room in a bounded ring buffer.
+ * <p>
+ * Each room numbers its events with a strictly increasing sequence, which lets a client
+ * that reconnects with the last sequence it saw receive only what it missed. Rooms without
+ * activity for {@code planning-poker.realtime.idle-room-ttl} are evicted, so memory stays
+ * bounded by the number of active rooms times the buffer size.
+ * <p>
+ * A room buffer starts its sequence from the current time in microseconds rather than 1, so
+ * sequences keep increasing across evictions and restarts and a client never mistakes a new
+ * event for one it has already seen.
+ */
+@Slf4j
+@Component
+public class RoomEventLog {
+
+    private final int capacity;
+    private final Duration idleRoomTtl;
+    private final Clock clock;
+    private final ConcurrentHashMap<UUID, RoomBuffer> rooms = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RoomEventLog(@Value("${planning-poker.realtime.buffer-size:64}") int capacity,
+                        @Value("${planning-poker.realtime.idle-room-ttl:30m}") Duration idleRoomTtl) {
+        this(capacity, idleRoomTtl, Clock.systemUTC());
+    }
+
+    RoomEventLog(int capacity, Duration idleRoomTtl, Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Room event buffer size must be positive");
+        }
+        this.capacity = capacity;
+        this.idleRoomTtl = idleRoomTtl;
+        this.clock = clock;
+    }
+
+    public RoomEvent append(UUID roomId, String type, LongFunction<byte[]> payloadWriter) {
+        return append(roomId, type, payloadWriter, event -> {});
+    }
+
+    /**
+     * Appends an event to the room log. The payload is written once the sequence is known,
+     * so it can carry its own sequence number.
+     * <p>
+     * The listener runs while the room is locked, so listeners of one room see its events in
+     * sequence order; keep it to a non-blocking hand-off.
+     */
+    public RoomEvent append(UUID roomId, String type, LongFunction<byte[]> payloadWriter,
+                            Consumer<RoomEvent> listener) {
+        while (true) {
+            RoomBuffer buffer = rooms.computeIfAbsent(roomId, id -> new RoomBuffer(capacity, firstSequence()));
+            synchronized (buffer) {
+                if (!buffer.evicted) {
+                    RoomEvent event = buffer.append(roomId, type, payloadWriter, clock.millis());
+                    listener.accept(event);
+                    return event;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the buffered events of a room with a sequence greater than {@code lastSequence}.
+     * The replay is incomplete when events after {@code lastSequence} were already overwritten,
+     * or when the client knows sequences this node does not have (evicted room, restart).
+     */
+    public Replay replaySince(UUID roomId, long lastSequence) {
+        RoomBuffer buffer = rooms.get(roomId);
+        if (buffer == null) {
+            return new Replay(List.of(), lastSequence <= 0, 0);
+        }
+        synchronized (buffer) {
+            return buffer.since(lastSequence, clock.millis());
+        }
+    }
+
+    /**
+     * Replays like {@link #replaySince(UUID, long)} and hands the result to {@code whileLocked}
+     * before any later event of the room is appended, so a subscriber registered there neither
+     * misses nor duplicates an event. The room is created when it is not known yet.
+     */
+    public Replay replaySince(UUID roomId, long lastSequence, Consumer<Replay> whileLocked) {
+        while (true) {
+            RoomBuffer buffer = rooms.computeIfAbsent(roomId, id -> new RoomBuffer(capacity, firstSequence()));
+            synchronized (buffer) {
+                if (!buffer.evicted) {
+                    Replay replay = buffer.since(lastSequence, clock.millis());
+                    whileLocked.accept(replay);
+                    return replay;
+                }
+            }
+        }
+    }
+
+    public long latestSequence(UUID roomId) {
+        RoomBuffer buffer = rooms.get(roomId);
+        if (buffer == null) {
+            return 0;
+        }
+        synchronized (buffer) {
+            return buffer.nextSequence - 1;
+        }
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    @Scheduled(fixedDelayString = "${planning-poker.realtime.eviction-interval:PT1M}")
+    public void evictIdleRooms() {
+        long idleBefore = clock.millis() - idleRoomTtl.toMillis();
+        int evicted = 0;
+        for (Map.Entry<UUID, RoomBuffer> entry : rooms.entrySet()) {
+            RoomBuffer buffer = entry.getValue();
+            synchronized (buffer) {
+                if (buffer.lastActivity < idleBefore) {
+                    buffer.evicted = true;
+                    rooms.remove(entry.getKey(), buffer);
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle room event buffers, {} remaining", evicted, rooms.size());
+        }
+    }
+
+    private long firstSequence() {
+        return Math.multiplyExact(clock.millis(), 1000L);
+    }
+
+    /**
+     * @param latestSequence the room's latest sequence on this node, the resume point after a
+     *                       resync; {@code 0} when the room has no events here
+     */
+    public record Replay(List<RoomEvent> events, boolean complete, long latestSequence) {}
+
+    /** Guarded by its own monitor. */
+    private static final class RoomBuffer {
+
+        private final RoomEvent[] slots;
+        private final long firstSequence;
+        private long nextSequence;
+        private long lastActivity;
+        private boolean evicted;
+
+        private RoomBuffer(int capacity, long firstSequence) {
+            this.slots = new RoomEvent[capacity];
+            this.firstSequence = firstSequence;
+            this.nextSequence = firstSequence;
+        }
+
+        RoomEvent append(UUID roomId, String type, LongFunction<byte[]> payloadWriter, long now) {
+            long sequence = nextSequence;
+            RoomEvent event = new RoomEvent(roomId, sequence, type, payloadWriter.apply(sequence));
+            slots[slot(sequence)] = event;
+            nextSequence++;
+            lastActivity = now;
+            return event;
+        }
+
+        Replay since(long lastSequence, long now) {
+            lastActivity = now;
+            long latest = nextSequence - 1;
+            if (lastSequence > latest) {
+                return new Replay(List.of(), false, latest);
+            }
+            long oldest = Math.max(firstSequence, nextSequence - slots.length);
+            long from = Math.max(lastSequence + 1, oldest);
+            List<RoomEvent> events = new ArrayList<>((int) Math.max(0, latest - from + 1));
+            for (long sequence = from; sequence <= latest; sequence++) {
+                events.add(slots[slot(sequence)]);
+            }
+            return new Replay(events, lastSequence <= 0 || lastSequence + 1 >= oldest, latest);
+        }
+
+        private int slot(long sequence) {
+            return (int) Math.floorMod(sequence, (long) slots.length);
+        }
+    }
+}
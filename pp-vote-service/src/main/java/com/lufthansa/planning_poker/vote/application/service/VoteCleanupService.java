@@ -0,0 +1,172 @@
+package com.lufthansa.planning_poker.vote.application.service;
+
+import com.lufthansa.planning_poker.vote.infrastructure.config.SchedulingConfig;
+import com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VotePurgeEntity;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVotePurgeRepository;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Deletes the votes of deleted rooms and stories, and of finished stories once their retention
+ * has passed.
+ * <p>
+ * Events only record a purge in {@code vote_purges}; a scheduled job deletes the votes in chunks
+ * of {@code chunk-size}, each in its own transaction, at most {@code chunks-per-second} chunks per
+ * second and {@code max-chunks-per-run} per run. A large room therefore never holds locks on the
+ * votes table for long, and a purge interrupted by a restart continues with the next run. The job
+ * runs on its own scheduler thread, so it does not delay the other scheduled tasks.
+ * </p>
+ * <p>
+ * Votes of a finished story are still in the audit log after the retention, as part of its
+ * {@code VotingFinishedEvent}. Running the job on several instances at once is safe, the deletes
+ * are idempotent.
+ * </p>
+ */
+@Slf4j
+@Service
+public class VoteCleanupService {
+
+    private final JpaVoteRepository voteRepository;
+    private final JpaVotePurgeRepository purgeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final VoteMetrics voteMetrics;
+    private final Duration storyRetention;
+    private final int chunkSize;
+    private final long chunkPauseNanos;
+    private final int maxChunksPerRun;
+    private final Clock clock;
+
+    @Autowired
+    public VoteCleanupService(JpaVoteRepository voteRepository,
+                              JpaVotePurgeRepository purgeRepository,
+                              PlatformTransactionManager transactionManager,
+                              VoteMetrics voteMetrics,
+                              @Value("${planning-poker.vote-cleanup.completed-story-retention:90d}") Duration storyRetention,
+                              @Value("${planning-poker.vote-cleanup.chunk-size:1000}") int chunkSize,
+                              @Value("${planning-poker.vote-cleanup.chunks-per-second:10}") int chunksPerSecond,
+                              @Value("${planning-poker.vote-cleanup.max-chunks-per-run:600}") int maxChunksPerRun) {
+        this(voteRepository, purgeRepository, transactionManager, voteMetrics, storyRetention, chunkSize,
+            chunksPerSecond, maxChunksPerRun, Clock.systemUTC());
+    }
+
+    VoteCleanupService(JpaVoteRepository voteRepository, JpaVotePurgeRepository purgeRepository,
+                       PlatformTransactionManager transactionManager, VoteMetrics voteMetrics,
+                       Duration storyRetention, int chunkSize, int chunksPerSecond, int maxChunksPerRun,
+                       Clock clock) {
+        if (chunkSize < 1 || maxChunksPerRun < 1) {
+            throw new IllegalArgumentException("Vote cleanup chunk size and chunks per run must be positive");
+        }
+        this.voteRepository = voteRepository;
+        this.purgeRepository = purgeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.voteMetrics = voteMetrics;
+        this.storyRetention = storyRetention;
+        this.chunkSize = chunkSize;
+        // 0 turns the rate limit off
+        this.chunkPauseNanos = chunksPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / chunksPerSecond : 0;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.clock = clock;
+    }
+
+    /**
+     * Schedules the votes of a deleted room for immediate deletion.
+     */
+    @Transactional
+    public void purgeRoom(UUID roomId) {
+        schedule(roomId, VotePurgeEntity.Reason.ROOM_DELETED, clock.instant());
+    }
+
+    /**
+     * Schedules the votes of a deleted story for immediate deletion, also when they were kept
+     * for the retention of a finished story.
+     */
+    @Transactional
+    public void purgeStory(UUID storyId) {
+        schedule(storyId, VotePurgeEntity.Reason.STORY_DELETED, clock.instant());
+    }
+
+    /**
+     * Schedules the votes of a finished story for deletion after the retention. Finishing the
+     * story again restarts the retention.
+     */
+    @Transactional
+    public void retainFinishedStory(UUID storyId) {
+        schedule(storyId, VotePurgeEntity.Reason.STORY_RETENTION, clock.instant().plus(storyRetention));
+    }
+
+    private void schedule(UUID targetId, VotePurgeEntity.Reason reason, Instant purgeAfter) {
+        // Upserts, so concurrent events for the same target cannot fail the caller's transaction
+        // on the unique target_id
+        if (reason == VotePurgeEntity.Reason.STORY_RETENTION) {
+            // A pending deletion wins over the retention
+            purgeRepository.upsertRetention(UUID.randomUUID(), targetId, purgeAfter);
+        } else {
+            purgeRepository.upsertDeletion(UUID.randomUUID(), targetId, reason.name(), purgeAfter);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${planning-poker.vote-cleanup.interval:PT30S}",
+        scheduler = SchedulingConfig.VOTE_CLEANUP_SCHEDULER)
+    public void purgeDueVotes() {
+        List<VotePurgeEntity> due =
+            purgeRepository.findTop50ByPurgeAfterLessThanEqualOrderByPurgeAfterAsc(clock.instant());
+        int chunks = 0;
+        for (VotePurgeEntity purge : due) {
+            String reason = purge.getReason().name().toLowerCase(Locale.ROOT).replace('_', '-');
+            int deleted = chunkSize;
+            while (deleted == chunkSize) {
+                if (chunks == maxChunksPerRun) {
+                    log.info("Vote cleanup paused after {} chunks, continuing with the next run", chunks);
+                    return;
+                }
+                if (chunks > 0 && !pause()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                deleted = transactionTemplate.execute(status -> deleteChunk(purge));
+                voteMetrics.recordPurgeChunk(System.nanoTime() - start);
+                voteMetrics.recordPurgedVotes(reason, deleted);
+                chunks++;
+            }
+            transactionTemplate.executeWithoutResult(
+                status -> purgeRepository.deleteCompleted(purge.getId(), purge.getPurgeAfter()));
+            voteMetrics.recordPurgeLatency(reason, Duration.between(purge.getPurgeAfter(), clock.instant()));
+            log.debug("Purged votes of {} {}", reason, purge.getTargetId());
+        }
+    }
+
+    private int deleteChunk(VotePurgeEntity purge) {
+        return purge.getReason().isRoom()
+            ? voteRepository.deleteChunkByRoomId(purge.getTargetId(), chunkSize)
+            : voteRepository.deleteChunkByStoryId(purge.getTargetId(), chunkSize);
+    }
+
+    /**
+     * Waits between two chunks to keep within the rate limit.
+     *
+     * @return false when the thread was interrupted, i.e. the application is shutting down
+     */
+    private boolean pause() {
+        if (chunkPauseNanos > 0) {
+            LockSupport.parkNanos(chunkPauseNanos);
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+}
@@ -0,0 +1,82 @@
+package com.lufthansa.planning_poker.vote.application.service;
+
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VoteEntity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Calculates the revealed results of a story: average of the numeric votes and consensus.
+ * <p>
+ * Stateless, so it can be used by the {@link VoteService} and measured on its own.
+ */
+public final class VoteResultsCalculator {
+
+    private VoteResultsCalculator() {
+    }
+
+    public static VoteResultsResponse calculate(UUID storyId, UUID roomId, List<VoteEntity> votes) {
+        List<VoteResultsResponse.VoteDetail> voteDetails = votes.stream()
+            .map(v -> new VoteResultsResponse.VoteDetail(v.getUserId(), v.getUserName(), v.getValue()))
+            .toList();
+
+        BigDecimal average = calculateAverage(votes);
+        String consensusValue = findConsensus(votes);
+        boolean hasConsensus = consensusValue != null;
+
+        return new VoteResultsResponse(
+            storyId,
+            roomId,
+            votes.size(),
+            average,
+            consensusValue,
+            hasConsensus,
+            voteDetails
+        );
+    }
+
+    private static BigDecimal calculateAverage(List<VoteEntity> votes) {
+        List<BigDecimal> numericVotes = votes.stream()
+            .map(VoteEntity::getValue)
+            .filter(VoteResultsCalculator::isNumeric)
+            .map(BigDecimal::new)
+            .toList();
+
+        if (numericVotes.isEmpty()) {
+            return null;
+        }
+
+        BigDecimal sum = numericVotes.stream()
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return sum.divide(BigDecimal.valueOf(numericVotes.size()), 2, RoundingMode.HALF_UP);
+    }
+
+    private static String findConsensus(List<VoteEntity> votes) {
+        if (votes.isEmpty()) return null;
+
+        Map<String, Long> valueCounts = votes.stream()
+            .collect(Collectors.groupingBy(VoteEntity::getValue, Collectors.counting()));
+
+        // If all votes are the same value
+        if (valueCounts.size() == 1) {
+            return valueCounts.keySet().iterator().next();
+        }
+
+        return null;
+    }
+
+    private static boolean isNumeric(String value) {
+        try {
+            new BigDecimal(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
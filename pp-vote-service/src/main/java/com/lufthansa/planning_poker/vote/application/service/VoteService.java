@@ -2,22 +2,31 @@ package com.lufthansa.planning_poker.vote.application.service;
 
 import com.lufthansa.planning_poker.common.event.VoteCastEvent;
 import com.lufthansa.planning_poker.common.event.VotingFinishedEvent;
+import com.lufthansa.planning_poker.vote.application.command.RoomCommandExecutor;
 import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteRequest;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResponse;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
+import com.lufthansa.planning_poker.vote.application.state.RoomMembershipReplica;
+import com.lufthansa.planning_poker.vote.application.state.RoomVoteState;
+import com.lufthansa.planning_poker.vote.application.state.StoryStateReplica;
+import com.lufthansa.planning_poker.vote.application.timer.VotingDeadlineReachedEvent;
+import com.lufthansa.planning_poker.vote.application.timer.VotingDeadlines;
 import com.lufthansa.planning_poker.vote.infrastructure.messaging.VoteEventProducer;
+import com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics;
 import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VoteEntity;
 import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVoteRepository;
 import com.lufthansa.planning_poker.vote.api.websocket.VotingWebSocketHandler;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Service for managing votes in Planning Poker sessions.
@@ -25,22 +34,61 @@ import java.util.stream.Collectors;
  * Handles vote casting, result calculation, and real-time updates via WebSocket.
  * Supports anonymous voting until reveal and consensus detection.
  * </p>
+ * <p>
+ * Cast, reveal, finish and reset are room commands: each runs in its own transaction on the
+ * room's {@link RoomCommandExecutor} mailbox when that is enabled, and then works on the votes
+ * kept in {@link RoomVoteState} instead of querying them for every command.
+ * </p>
  *
  * @author Matilda Dervishaj
  * @since 1.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class VoteService {
 
     private final JpaVoteRepository voteRepository;
     private final VoteEventProducer eventProducer;
     private final VotingWebSocketHandler webSocketHandler;
+    private final VoteMetrics voteMetrics;
+    private final VoteCleanupService voteCleanupService;
+    private final StoryStateReplica storyStates;
+    private final RoomMembershipReplica roomMembers;
+    private final VotingDeadlines votingDeadlines;
+    private final RoomCommandExecutor roomCommands;
+    private final RoomVoteState roomVotes;
+    private final TransactionTemplate transactionTemplate;
+
+    public VoteService(JpaVoteRepository voteRepository,
+                       VoteEventProducer eventProducer,
+                       VotingWebSocketHandler webSocketHandler,
+                       VoteMetrics voteMetrics,
+                       VoteCleanupService voteCleanupService,
+                       StoryStateReplica storyStates,
+                       RoomMembershipReplica roomMembers,
+                       VotingDeadlines votingDeadlines,
+                       RoomCommandExecutor roomCommands,
+                       RoomVoteState roomVotes,
+                       PlatformTransactionManager transactionManager) {
+        this.voteRepository = voteRepository;
+        this.eventProducer = eventProducer;
+        this.webSocketHandler = webSocketHandler;
+        this.voteMetrics = voteMetrics;
+        this.voteCleanupService = voteCleanupService;
+        this.storyStates = storyStates;
+        this.roomMembers = roomMembers;
+        this.votingDeadlines = votingDeadlines;
+        this.roomCommands = roomCommands;
+        this.roomVotes = roomVotes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Casts or updates a vote for a story.
+     * <p>
+     * Only participants of the room can vote, and only on stories in voting in that room,
+     * checked against the local {@link RoomMembershipReplica} and {@link StoryStateReplica}.
+     * </p>
      *
      * @param request  the vote request containing story ID and value
      * @param userId   the voting user's ID
@@ -48,20 +96,37 @@ public class VoteService {
      * @return the vote details
      */
     public VoteResponse castVote(CastVoteRequest request, String userId, String userName) {
-        log.info("User {} casting vote {} for story {}", userId, request.value(), request.storyId());
+        return roomCommand(request.roomId(), VoteMetrics.CAST, () -> doCastVote(request, userId, userName));
+    }
 
-        Optional<VoteEntity> existingVote = voteRepository.findByStoryIdAndUserId(request.storyId(), userId);
+    private VoteResponse doCastVote(CastVoteRequest request, String userId, String userName) {
+        log.info("User {} casting vote {} for story {}", userId, request.value(), request.storyId());
+        roomMembers.requireMember(request.roomId(), userId);
+        storyStates.requireVotingOpen(request.storyId(), request.roomId());
+
+        Map<String, VoteEntity> storyVotes =
+            roomVotes.votesOf(request.roomId(), request.storyId(), voteRepository::findAllByStoryId);
+        Optional<VoteEntity> existingVote = storyVotes != null
+            ? Optional.ofNullable(storyVotes.get(userId))
+            : voteRepository.findByStoryIdAndUserId(request.storyId(), userId);
         boolean isUpdate = existingVote.isPresent();
 
-        VoteEntity vote = existingVote.orElse(VoteEntity.builder()
-            .storyId(request.storyId())
-            .roomId(request.roomId())
-            .userId(userId)
-            .userName(userName)
-            .build());
-
-        vote.setValue(request.value());
-        VoteEntity saved = voteRepository.save(vote);
+        VoteEntity saved;
+        if (storyVotes != null && isUpdate) {
+            saved = updateHeldVote(existingVote.get(), request.value());
+        } else {
+            VoteEntity vote = existingVote.orElse(VoteEntity.builder()
+                .storyId(request.storyId())
+                .roomId(request.roomId())
+                .userId(userId)
+                .userName(userName)
+                .build());
+            vote.setValue(request.value());
+            saved = voteRepository.save(vote);
+        }
+        if (storyVotes != null) {
+            storyVotes.put(userId, saved);
+        }
 
         // Publish event
         VoteCastEvent event = VoteCastEvent.builder()
@@ -77,7 +142,7 @@ public class VoteService {
         eventProducer.publishVoteCast(event);
 
         // Broadcast vote count (not values) via WebSocket
-        int voteCount = voteRepository.countByStoryId(request.storyId());
+        int voteCount = storyVotes != null ? storyVotes.size() : voteRepository.countByStoryId(request.storyId());
         webSocketHandler.broadcastVoteCount(request.roomId(), request.storyId(), voteCount);
 
         return toResponse(saved);
@@ -105,10 +170,14 @@ public class VoteService {
      * @return the vote results including all individual votes
      */
     public VoteResultsResponse revealVotes(UUID storyId, UUID roomId, String userId, String userName) {
+        return roomCommand(roomId, VoteMetrics.REVEAL, () -> doRevealVotes(storyId, roomId, userId));
+    }
+
+    private VoteResultsResponse doRevealVotes(UUID storyId, UUID roomId, String userId) {
         log.info("Revealing votes for story {} by {}", storyId, userId);
 
-        List<VoteEntity> votes = voteRepository.findAllByStoryId(storyId);
-        VoteResultsResponse results = calculateResults(storyId, roomId, votes);
+        List<VoteEntity> votes = storyVotes(roomId, storyId);
+        VoteResultsResponse results = VoteResultsCalculator.calculate(storyId, roomId, votes);
 
         // Broadcast results via WebSocket
         webSocketHandler.broadcastVoteResults(roomId, results);
@@ -116,6 +185,14 @@ public class VoteService {
         return results;
     }
 
+    /**
+     * Reveals the votes of a timeboxed story once its timebox has passed.
+     */
+    @EventListener
+    public void onVotingDeadlineReached(VotingDeadlineReachedEvent event) {
+        revealVotes(event.storyId(), event.roomId(), "system", "Voting Timer");
+    }
+
     /**
      * Finalizes voting for a story with a final estimate.
      *
@@ -129,10 +206,16 @@ public class VoteService {
      */
     public VoteResultsResponse finishVoting(UUID storyId, UUID roomId, String finalEstimate, 
                                             String storyTitle, String userId, String userName) {
+        return roomCommand(roomId, VoteMetrics.FINISH,
+            () -> doFinishVoting(storyId, roomId, finalEstimate, storyTitle, userId, userName));
+    }
+
+    private VoteResultsResponse doFinishVoting(UUID storyId, UUID roomId, String finalEstimate,
+                                               String storyTitle, String userId, String userName) {
         log.info("Finishing voting for story {} by {}", storyId, userId);
 
-        List<VoteEntity> votes = voteRepository.findAllByStoryId(storyId);
-        VoteResultsResponse results = calculateResults(storyId, roomId, votes);
+        List<VoteEntity> votes = storyVotes(roomId, storyId);
+        VoteResultsResponse results = VoteResultsCalculator.calculate(storyId, roomId, votes);
 
         // Publish finished event
         VotingFinishedEvent event = VotingFinishedEvent.builder()
@@ -148,6 +231,11 @@ public class VoteService {
             .build();
         event.initialize(userId, userName);
         eventProducer.publishVotingFinished(event);
+        voteCleanupService.retainFinishedStory(storyId);
+        votingDeadlines.cancel(storyId);
+        // Closes the story on this instance right away, the others follow with the event
+        storyStates.complete(storyId);
+        roomVotes.forget(roomId, storyId);
 
         // Broadcast final results via WebSocket
         webSocketHandler.broadcastVotingFinished(roomId, storyId, finalEstimate, results);
@@ -156,69 +244,55 @@ public class VoteService {
     }
 
     public void resetVotes(UUID storyId, UUID roomId) {
-        log.info("Resetting votes for story {}", storyId);
-        voteRepository.deleteAllByStoryId(storyId);
-        webSocketHandler.broadcastVotesReset(roomId, storyId);
-    }
-
-    private VoteResultsResponse calculateResults(UUID storyId, UUID roomId, List<VoteEntity> votes) {
-        List<VoteResultsResponse.VoteDetail> voteDetails = votes.stream()
-            .map(v -> new VoteResultsResponse.VoteDetail(v.getUserId(), v.getUserName(), v.getValue()))
-            .toList();
-
-        BigDecimal average = calculateAverage(votes);
-        String consensusValue = findConsensus(votes);
-        boolean hasConsensus = consensusValue != null;
-
-        return new VoteResultsResponse(
-            storyId,
-            roomId,
-            votes.size(),
-            average,
-            consensusValue,
-            hasConsensus,
-            voteDetails
-        );
+        roomCommands.run(roomId, () -> transactionTemplate.executeWithoutResult(status -> {
+            log.info("Resetting votes for story {}", storyId);
+            voteRepository.deleteAllByStoryId(storyId);
+            roomVotes.forget(roomId, storyId);
+            webSocketHandler.broadcastVotesReset(roomId, storyId);
+        }));
     }
 
-    private BigDecimal calculateAverage(List<VoteEntity> votes) {
-        List<BigDecimal> numericVotes = votes.stream()
-            .map(VoteEntity::getValue)
-            .filter(this::isNumeric)
-            .map(BigDecimal::new)
-            .toList();
-
-        if (numericVotes.isEmpty()) {
-            return null;
-        }
-
-        BigDecimal sum = numericVotes.stream()
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return sum.divide(BigDecimal.valueOf(numericVotes.size()), 2, RoundingMode.HALF_UP);
+    /**
+     * Casts a vote like {@link #castVote}, but completes the returned future instead of blocking
+     * the caller while the room's mailbox is busy, for threads that must not wait such as the
+     * STOMP inbound channel's.
+     */
+    public CompletableFuture<VoteResponse> castVoteAsync(CastVoteRequest request, String userId, String userName) {
+        return roomCommands.executeAsync(request.roomId(),
+            transactional(VoteMetrics.CAST, () -> doCastVote(request, userId, userName)));
     }
 
-    private String findConsensus(List<VoteEntity> votes) {
-        if (votes.isEmpty()) return null;
+    /**
+     * Runs a command of the room in its own transaction, on the room's mailbox when enabled.
+     * The operation is timed inside the transaction as before, the mailbox wait is measured by
+     * the executor.
+     */
+    private <T> T roomCommand(UUID roomId, String operation, Supplier<T> command) {
+        return roomCommands.execute(roomId, transactional(operation, command));
+    }
 
-        Map<String, Long> valueCounts = votes.stream()
-            .collect(Collectors.groupingBy(VoteEntity::getValue, Collectors.counting()));
+    private <T> Supplier<T> transactional(String operation, Supplier<T> command) {
+        return () -> transactionTemplate.execute(status -> voteMetrics.timeOperation(operation, command));
+    }
 
-        // If all votes are the same value
-        if (valueCounts.size() == 1) {
-            return valueCounts.keySet().iterator().next();
+    /**
+     * A vote held in memory was loaded by an earlier transaction and is detached, {@code save()}
+     * would read it again to merge it. Its value is changed with an update by id instead.
+     */
+    private VoteEntity updateHeldVote(VoteEntity vote, String value) {
+        Instant now = Instant.now();
+        if (voteRepository.updateValue(vote.getId(), value, now) == 0) {
+            // Fails the command, so the room's votes are read again
+            throw new IllegalStateException("Vote " + vote.getId() + " no longer exists");
         }
-
-        return null;
+        vote.setValue(value);
+        vote.setUpdatedAt(now);
+        return vote;
     }
 
-    private boolean isNumeric(String value) {
-        try {
-            new BigDecimal(value);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+    private List<VoteEntity> storyVotes(UUID roomId, UUID storyId) {
+        Map<String, VoteEntity> storyVotes = roomVotes.votesOf(roomId, storyId, voteRepository::findAllByStoryId);
+        return storyVotes != null ? List.copyOf(storyVotes.values()) : voteRepository.findAllByStoryId(storyId);
     }
 
     private VoteResponse toResponse(VoteEntity entity) {
@@ -0,0 +1,130 @@
+package com.lufthansa.planning_poker.vote.application.state;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Immutable set of the user ids of one room, laid out for memory rather than for updates.
+ * <p>
+ * Keycloak subjects are UUIDs, so ids in canonical UUID form are kept as two longs in one sorted
+ * array, 16 bytes per member instead of a {@code String} and a hash set node. Any other id goes
+ * to a sorted {@code String} array. Lookups are binary searches; joining or leaving copies the
+ * arrays, which is fine as members change rarely compared to how often they vote.
+ * </p>
+ * <p>
+ * Only the canonical lower case form is stored as UUID, so two different id strings never map
+ * to the same entry.
+ * </p>
+ */
+public final class RoomMembers {
+
+    public static final RoomMembers EMPTY = new RoomMembers(new long[0], new String[0]);
+
+    // Most and least significant bits of each UUID member, sorted by both
+    private final long[] uuids;
+    private final String[] others;
+
+    private RoomMembers(long[] uuids, String[] others) {
+        this.uuids = uuids;
+        this.others = others;
+    }
+
+    public boolean contains(String userId) {
+        UUID uuid = canonicalUuid(userId);
+        return uuid != null
+            ? indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0
+            : Arrays.binarySearch(others, userId) >= 0;
+    }
+
+    public RoomMembers with(String userId) {
+        UUID uuid = canonicalUuid(userId);
+        if (uuid != null) {
+            int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (index >= 0) {
+                return this;
+            }
+            int at = -(index + 1) * 2;
+            long[] next = new long[uuids.length + 2];
+            System.arraycopy(uuids, 0, next, 0, at);
+            next[at] = uuid.getMostSignificantBits();
+            next[at + 1] = uuid.getLeastSignificantBits();
+            System.arraycopy(uuids, at, next, at + 2, uuids.length - at);
+            return new RoomMembers(next, others);
+        }
+        int index = Arrays.binarySearch(others, userId);
+        if (index >= 0) {
+            return this;
+        }
+        int at = -(index + 1);
+        String[] next = new String[others.length + 1];
+        System.arraycopy(others, 0, next, 0, at);
+        next[at] = userId;
+        System.arraycopy(others, at, next, at + 1, others.length - at);
+        return new RoomMembers(uuids, next);
+    }
+
+    public RoomMembers without(String userId) {
+        UUID uuid = canonicalUuid(userId);
+        if (uuid != null) {
+            int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (index < 0) {
+                return this;
+            }
+            int at = index * 2;
+            long[] next = new long[uuids.length - 2];
+            System.arraycopy(uuids, 0, next, 0, at);
+            System.arraycopy(uuids, at + 2, next, at, uuids.length - at - 2);
+            return new RoomMembers(next, others);
+        }
+        int index = Arrays.binarySearch(others, userId);
+        if (index < 0) {
+            return this;
+        }
+        String[] next = new String[others.length - 1];
+        System.arraycopy(others, 0, next, 0, index);
+        System.arraycopy(others, index + 1, next, index, others.length - index - 1);
+        return new RoomMembers(uuids, next);
+    }
+
+    public int size() {
+        return uuids.length / 2 + others.length;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the index of the member among the UUID members, or {@code -(insertion point) - 1}
+     */
+    private int indexOf(long msb, long lsb) {
+        int low = 0;
+        int high = uuids.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midMsb = uuids[mid * 2];
+            int cmp = midMsb != msb ? Long.compare(midMsb, msb) : Long.compare(uuids[mid * 2 + 1], lsb);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static UUID canonicalUuid(String userId) {
+        if (userId.length() != 36 || userId.charAt(8) != '-' || userId.charAt(13) != '-'
+                || userId.charAt(18) != '-' || userId.charAt(23) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(userId);
+            return uuid.toString().equals(userId) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
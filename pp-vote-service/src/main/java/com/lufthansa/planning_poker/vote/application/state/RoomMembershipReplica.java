@@ -0,0 +1,123 @@
+package com.lufthansa.planning_poker.vote.application.state;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local view of the participants of every room, so vote authorization is a set lookup instead
+ * of a call to the room service.
+ * <p>
+ * Fed by the compacted room membership topic, one record per member that is removed with a
+ * tombstone when the member leaves or the room is deleted (see {@code LocalStateConsumer}). The
+ * members of a room are kept as {@link RoomMembers}, about 16 bytes per member.
+ * </p>
+ * <p>
+ * A join reaches the view a few milliseconds after the room service committed it. Until the
+ * compacted topic was read to its end every vote is rejected, the view may still miss members.
+ * </p>
+ * <p>
+ * After a reconnect the topic is read again from the beginning into a new view, which replaces
+ * the current one once it was read to its end. Members whose tombstone was compacted away while
+ * the instance was disconnected are thereby dropped; until then the current view stays in use
+ * and gets every change as well.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RoomMembershipReplica {
+
+    private volatile ConcurrentHashMap<UUID, RoomMembers> rooms = new ConcurrentHashMap<>();
+    // The view being rebuilt after a reconnect, null otherwise
+    private ConcurrentHashMap<UUID, RoomMembers> reloading;
+    private volatile boolean ready;
+
+    public RoomMembershipReplica(MeterRegistry registry) {
+        Gauge.builder("pp.vote.membership.rooms", this, replica -> replica.rooms.size())
+            .description("Rooms in the local membership view")
+            .register(registry);
+        Gauge.builder("pp.vote.membership.members", this,
+                replica -> replica.rooms.values().stream().mapToInt(RoomMembers::size).sum())
+            .description("Room members in the local membership view")
+            .register(registry);
+    }
+
+    /**
+     * Rejects a vote unless the user is a participant of the room.
+     *
+     * @throws BusinessException 503 while the view is loading, 403 when the user is not a participant
+     */
+    public void requireMember(UUID roomId, String userId) {
+        if (!ready) {
+            throw BusinessException.unavailable("Room members are still loading, retry shortly");
+        }
+        if (!isMember(roomId, userId)) {
+            throw BusinessException.forbidden("User " + userId + " is not a participant of room " + roomId);
+        }
+    }
+
+    public boolean isMember(UUID roomId, String userId) {
+        RoomMembers members = rooms.get(roomId);
+        return members != null && members.contains(userId);
+    }
+
+    public synchronized void add(UUID roomId, String userId) {
+        add(rooms, roomId, userId);
+        if (reloading != null) {
+            add(reloading, roomId, userId);
+        }
+    }
+
+    public synchronized void remove(UUID roomId, String userId) {
+        remove(rooms, roomId, userId);
+        if (reloading != null) {
+            remove(reloading, roomId, userId);
+        }
+    }
+
+    /**
+     * The topic is read again from the beginning; starts a new view unless this one is empty.
+     */
+    public synchronized void startReload() {
+        reloading = rooms.isEmpty() ? null : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The topic was read to its end; the new view replaces the current one.
+     */
+    public synchronized void finishReload() {
+        if (reloading != null) {
+            log.info("Membership view reloaded with {} rooms, was {}", reloading.size(), rooms.size());
+            rooms = reloading;
+            reloading = null;
+        }
+    }
+
+    private static void add(Map<UUID, RoomMembers> rooms, UUID roomId, String userId) {
+        rooms.compute(roomId, (id, members) -> (members != null ? members : RoomMembers.EMPTY).with(userId));
+    }
+
+    private static void remove(Map<UUID, RoomMembers> rooms, UUID roomId, String userId) {
+        rooms.computeIfPresent(roomId, (id, members) -> {
+            RoomMembers remaining = members.without(userId);
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    public void markReady() {
+        if (!ready) {
+            ready = true;
+            log.info("Membership view loaded with {} rooms, admitting votes", rooms.size());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,68 @@
+package com.lufthansa.planning_poker.vote.application.state;
+
+import com.lufthansa.planning_poker.vote.application.command.RoomCommandExecutor;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VoteEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Votes of the stories of a room, kept in memory while the room's commands run on its
+ * {@link RoomCommandExecutor} mailbox.
+ * <p>
+ * The votes of a story are loaded with one query when a command of the room first needs them;
+ * later commands of the same burst find the existing vote, count the votes and compute the
+ * results without reading the database. Only the thread currently running the room's mailbox
+ * may use the state, outside of it {@link #votesOf} returns {@code null} and the caller reads
+ * the database. The executor drops the state of a room when its mailbox runs empty and when a
+ * command fails, so it never outlives the burst it was loaded for, nor a rolled-back change.
+ * </p>
+ */
+@Component
+public class RoomVoteState {
+
+    // Room -> story -> user -> vote; the inner maps are only touched by the room's mailbox
+    private final ConcurrentHashMap<UUID, Map<UUID, Map<String, VoteEntity>>> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader reads the votes of a story that is not in memory yet
+     * @return the votes of the story by user id, to be updated along with the database, or
+     *         {@code null} when the calling thread does not run the room's mailbox
+     */
+    public Map<String, VoteEntity> votesOf(UUID roomId, UUID storyId, Function<UUID, List<VoteEntity>> loader) {
+        if (!roomId.equals(RoomCommandExecutor.currentRoom())) {
+            return null;
+        }
+        return rooms.computeIfAbsent(roomId, id -> new HashMap<>())
+            .computeIfAbsent(storyId, id -> {
+                Map<String, VoteEntity> votes = new HashMap<>();
+                for (VoteEntity vote : loader.apply(id)) {
+                    votes.put(vote.getUserId(), vote);
+                }
+                return votes;
+            });
+    }
+
+    /**
+     * Drops the votes of a story, so the next command of the room reads them again.
+     */
+    public void forget(UUID roomId, UUID storyId) {
+        Map<UUID, Map<String, VoteEntity>> stories = rooms.get(roomId);
+        if (stories != null) {
+            stories.remove(storyId);
+        }
+    }
+
+    public void evict(UUID roomId) {
+        rooms.remove(roomId);
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+}
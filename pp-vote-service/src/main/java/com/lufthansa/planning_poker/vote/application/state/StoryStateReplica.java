@@ -0,0 +1,166 @@
+package com.lufthansa.planning_poker.vote.application.state;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Local view of the status of every story that went into voting, so vote admission is a map
+ * lookup instead of a call to the room service.
+ * <p>
+ * Fed by the compacted story state topic, which rebuilds the view on startup (see
+ * {@code LocalStateConsumer}), and by the voting events this instance handles itself. The same
+ * change usually arrives more than once, so updates are ordered by the story's voting round,
+ * which the room service counts up each time voting is started, and within a round by status,
+ * which only moves forward from {@code VOTING} to {@code COMPLETED}. An update only wins when it
+ * is not behind the current entry; timestamps are not compared, they come from different
+ * services' clocks.
+ * </p>
+ * <p>
+ * A story the view does not know has never been in voting and is closed for votes. Until the
+ * compacted topic was read to its end every vote is rejected, the view may still miss stories.
+ * </p>
+ * <p>
+ * After a reconnect the topic is read again from the beginning into a new view, which replaces
+ * the current one once it was read to its end, so stories whose tombstone was compacted away
+ * meanwhile are dropped. Until then the current view stays in use and both get every update.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StoryStateReplica {
+
+    // In the order a story goes through them within a voting round
+    public enum Status {
+        PENDING, VOTING, REVEALED, COMPLETED;
+
+        boolean acceptsVotes() {
+            return this == VOTING || this == REVEALED;
+        }
+    }
+
+    private record StoryState(UUID roomId, Status status, int round) {
+
+        boolean isBehind(StoryState other) {
+            return round < other.round || (round == other.round && status.compareTo(other.status) < 0);
+        }
+    }
+
+    private volatile ConcurrentHashMap<UUID, StoryState> stories = new ConcurrentHashMap<>();
+    // The view being rebuilt after a reconnect, null otherwise
+    private ConcurrentHashMap<UUID, StoryState> reloading;
+    private volatile boolean ready;
+
+    public StoryStateReplica(MeterRegistry registry) {
+        Gauge.builder("pp.vote.story.states", this, replica -> replica.stories.size())
+            .description("Stories in the local story state view")
+            .register(registry);
+        Gauge.builder("pp.vote.story.states.ready", this, replica -> replica.ready ? 1 : 0)
+            .description("1 once the story state view was loaded and votes are admitted")
+            .register(registry);
+    }
+
+    /**
+     * Rejects a vote unless the story is in voting in the given room.
+     *
+     * @throws BusinessException 503 while the view is loading, 400 when the story is in another
+     *                           room, 409 when voting on the story is not open
+     */
+    public void requireVotingOpen(UUID storyId, UUID roomId) {
+        if (!ready) {
+            throw BusinessException.unavailable("Story states are still loading, retry shortly");
+        }
+        StoryState state = stories.get(storyId);
+        if (state != null && !state.roomId().equals(roomId)) {
+            throw BusinessException.badRequest("Story " + storyId + " does not belong to room " + roomId);
+        }
+        if (state == null || !state.status().acceptsVotes()) {
+            throw BusinessException.conflict("Voting is not open for story " + storyId);
+        }
+    }
+
+    /**
+     * Records the status of a story, unless a later one is already known.
+     *
+     * @param status the story status name; unknown names close the story for votes
+     * @param round  the voting round of the status, {@code null} for states written before
+     *               rounds were counted
+     */
+    public void update(UUID storyId, UUID roomId, String status, Integer round) {
+        Status parsed;
+        try {
+            parsed = Status.valueOf(status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Unknown status {} for story {}, treating it as closed for votes", status, storyId);
+            parsed = Status.COMPLETED;
+        }
+        update(storyId, roomId, parsed, round);
+    }
+
+    public synchronized void update(UUID storyId, UUID roomId, Status status, Integer round) {
+        StoryState next = new StoryState(roomId, status, round != null ? round : 0);
+        forEachView(view ->
+            view.merge(storyId, next, (current, update) -> update.isBehind(current) ? current : update));
+    }
+
+    /**
+     * Closes the current voting round of a story, which this instance finished itself.
+     */
+    public synchronized void complete(UUID storyId) {
+        StoryState current = stories.get(storyId);
+        if (current != null) {
+            update(storyId, current.roomId(), Status.COMPLETED, current.round());
+        }
+    }
+
+    public synchronized void remove(UUID storyId) {
+        forEachView(view -> view.remove(storyId));
+    }
+
+    public synchronized void removeRoom(UUID roomId) {
+        forEachView(view -> view.values().removeIf(state -> state.roomId().equals(roomId)));
+    }
+
+    /**
+     * The topic is read again from the beginning; starts a new view unless this one is empty.
+     */
+    public synchronized void startReload() {
+        reloading = stories.isEmpty() ? null : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The topic was read to its end; the new view replaces the current one.
+     */
+    public synchronized void finishReload() {
+        if (reloading != null) {
+            log.info("Story state view reloaded with {} stories, was {}", reloading.size(), stories.size());
+            stories = reloading;
+            reloading = null;
+        }
+    }
+
+    private void forEachView(Consumer<Map<UUID, StoryState>> change) {
+        change.accept(stories);
+        if (reloading != null) {
+            change.accept(reloading);
+        }
+    }
+
+    public void markReady() {
+        if (!ready) {
+            ready = true;
+            log.info("Story state view loaded with {} stories, admitting votes", stories.size());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
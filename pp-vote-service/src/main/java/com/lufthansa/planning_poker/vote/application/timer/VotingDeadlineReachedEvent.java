@@ -0,0 +1,10 @@
+package com.lufthansa.planning_poker.vote.application.timer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published on the one instance that claimed the deadline of a timeboxed story.
+ */
+public record VotingDeadlineReachedEvent(UUID storyId, UUID roomId, Instant deadline) {
+}
@@ -0,0 +1,232 @@
+package com.lufthansa.planning_poker.vote.application.timer;
+
+import com.lufthansa.planning_poker.vote.infrastructure.config.SchedulingConfig;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VotingDeadlineEntity;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVotingDeadlineRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reveals the votes of a timeboxed story once its timebox has passed.
+ * <p>
+ * Deadlines are kept in {@code voting_deadlines} and timed in memory with a
+ * {@link HashedWheelTimer}, so thousands of running timeboxes cost one thread and no polling.
+ * The instance that receives the {@code VotingStartedEvent} schedules the deadline; on startup
+ * every instance schedules all deadlines that have not fired. Whichever instance reaches a
+ * deadline first claims it with a conditional update and publishes a
+ * {@link VotingDeadlineReachedEvent}; for all others the claim matches no row. The deadline is
+ * removed once the votes were revealed; a failed reveal gives the claim up again.
+ * </p>
+ * <p>
+ * A deadline of an instance that went down is fired by the overdue sweep of another instance,
+ * one query every {@code sweep-interval} for all stories, at most {@code sweep-grace} after the
+ * deadline, or {@code claim-timeout} after a claim that was neither completed nor given up.
+ * Finishing, deleting or restarting the voting removes or replaces the deadline.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VotingDeadlines implements DisposableBean {
+
+    private final JpaVotingDeadlineRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HashedWheelTimer timer;
+    private final ExecutorService firing;
+    private final ConcurrentHashMap<UUID, Scheduled> scheduled = new ConcurrentHashMap<>();
+    private final String nodeId;
+    private final Duration sweepGrace;
+    private final Duration claimTimeout;
+    private final Timer lateness;
+    private final Clock clock;
+
+    @Autowired
+    public VotingDeadlines(JpaVotingDeadlineRepository repository,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${planning-poker.voting-timer.tick:100ms}") Duration tick,
+                           @Value("${planning-poker.voting-timer.wheel-size:512}") int wheelSize,
+                           @Value("${planning-poker.voting-timer.fire-threads:2}") int fireThreads,
+                           @Value("${planning-poker.voting-timer.sweep-grace:5s}") Duration sweepGrace,
+                           @Value("${planning-poker.voting-timer.claim-timeout:2m}") Duration claimTimeout,
+                           @Value("${planning-poker.voting-timer.node-id:${HOSTNAME:vote-service}}") String nodeId) {
+        this(repository, transactionManager, eventPublisher, meterRegistry, tick, wheelSize, fireThreads,
+            sweepGrace, claimTimeout, nodeId, Clock.systemUTC());
+    }
+
+    VotingDeadlines(JpaVotingDeadlineRepository repository, PlatformTransactionManager transactionManager,
+                    ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry, Duration tick,
+                    int wheelSize, int fireThreads, Duration sweepGrace, Duration claimTimeout, String nodeId,
+                    Clock clock) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.firing = Executors.newFixedThreadPool(fireThreads, new CustomizableThreadFactory("voting-deadline-"));
+        this.timer = new HashedWheelTimer("voting-timer", tick, wheelSize, firing);
+        this.sweepGrace = sweepGrace;
+        this.claimTimeout = claimTimeout;
+        this.nodeId = nodeId;
+        this.clock = clock;
+        Gauge.builder("pp.vote.deadlines.pending", timer, HashedWheelTimer::pending)
+            .description("Voting deadlines scheduled on this instance")
+            .register(meterRegistry);
+        this.lateness = Timer.builder("pp.vote.deadlines.lateness")
+            .description("Time between a voting deadline and the reveal it triggered")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sets the deadline of a story that went into voting, replacing any earlier one.
+     *
+     * @param timeboxSeconds the timebox, or null to remove the deadline
+     */
+    @Transactional
+    public void start(UUID storyId, UUID roomId, Instant votingStartedAt, Integer timeboxSeconds) {
+        if (timeboxSeconds == null) {
+            cancel(storyId);
+            return;
+        }
+        Instant startedAt = votingStartedAt != null ? votingStartedAt : clock.instant();
+        Instant deadline = startedAt.plusSeconds(timeboxSeconds);
+        VotingDeadlineEntity entity = repository.findById(storyId)
+            .orElseGet(() -> VotingDeadlineEntity.builder().storyId(storyId).build());
+        entity.setRoomId(roomId);
+        entity.setVotingStartedAt(startedAt);
+        entity.setTimeboxSeconds(timeboxSeconds);
+        entity.setDeadline(deadline);
+        entity.setFiredAt(null);
+        entity.setFiredBy(null);
+        repository.save(entity);
+        schedule(storyId, roomId, deadline);
+        log.info("Votes of story {} are revealed at {}", storyId, deadline);
+    }
+
+    /**
+     * Removes the deadline of a story that was finished or deleted.
+     */
+    @Transactional
+    public void cancel(UUID storyId) {
+        Scheduled previous = scheduled.remove(storyId);
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+        repository.findById(storyId).ifPresent(repository::delete);
+    }
+
+    /**
+     * Removes the deadlines of all stories of a deleted room.
+     */
+    @Transactional
+    public void cancelRoom(UUID roomId) {
+        scheduled.entrySet().removeIf(entry -> {
+            if (!entry.getValue().roomId().equals(roomId)) {
+                return false;
+            }
+            entry.getValue().timeout().cancel();
+            return true;
+        });
+        repository.deleteByRoomId(roomId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleUnfired() {
+        List<VotingDeadlineEntity> unfired = repository.findByFiredAtIsNull();
+        unfired.forEach(deadline -> schedule(deadline.getStoryId(), deadline.getRoomId(), deadline.getDeadline()));
+        log.info("Scheduled {} pending voting deadlines", unfired.size());
+    }
+
+    /**
+     * Fires deadlines no instance has fired in time, e.g. because the one that scheduled them
+     * went down, and deadlines whose reveal failed.
+     */
+    @Scheduled(fixedDelayString = "${planning-poker.voting-timer.sweep-interval:PT30S}",
+        scheduler = SchedulingConfig.VOTING_DEADLINE_SCHEDULER)
+    public void fireOverdue() {
+        Instant now = clock.instant();
+        repository.findOverdue(now.minus(sweepGrace), now.minus(claimTimeout), Limit.of(100))
+            .forEach(deadline -> fire(deadline.getStoryId(), deadline.getRoomId(), deadline.getDeadline()));
+    }
+
+    void fire(UUID storyId, UUID roomId, Instant deadline) {
+        scheduled.computeIfPresent(storyId, (id, current) -> current.deadline().equals(deadline) ? null : current);
+        // Matched again when the claim is completed or given up, so no finer than the column
+        Instant now = clock.instant().truncatedTo(ChronoUnit.MILLIS);
+        try {
+            Integer claimed = transactionTemplate.execute(status ->
+                repository.claim(storyId, deadline, now, now.minus(claimTimeout), nodeId));
+            if (claimed == null || claimed == 0) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to claim the voting deadline of story {}", storyId, e);
+            return;
+        }
+        try {
+            log.info("Voting deadline of story {} reached, revealing votes", storyId);
+            eventPublisher.publishEvent(new VotingDeadlineReachedEvent(storyId, roomId, deadline));
+            lateness.record(Duration.between(deadline, clock.instant()));
+            transactionTemplate.execute(status -> repository.complete(storyId, deadline, now, nodeId));
+        } catch (RuntimeException e) {
+            log.error("Failed to reveal the votes of story {}, retried by the overdue sweep", storyId, e);
+            release(storyId, deadline, now);
+        }
+    }
+
+    int pending() {
+        return timer.pending();
+    }
+
+    @Override
+    public void destroy() {
+        timer.close();
+        firing.shutdown();
+    }
+
+    private void release(UUID storyId, Instant deadline, Instant claimedAt) {
+        try {
+            transactionTemplate.execute(status -> repository.release(storyId, deadline, claimedAt, nodeId));
+        } catch (RuntimeException e) {
+            // The claim times out, the sweep takes it over after claim-timeout
+            log.error("Failed to give up the claim on the voting deadline of story {}", storyId, e);
+        }
+    }
+
+    private void schedule(UUID storyId, UUID roomId, Instant deadline) {
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> fire(storyId, roomId, deadline),
+            Duration.between(clock.instant(), deadline));
+        Scheduled previous = scheduled.put(storyId, new Scheduled(roomId, deadline, timeout));
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+    }
+
+    private record Scheduled(UUID roomId, Instant deadline, HashedWheelTimer.Timeout timeout) {
+    }
+}
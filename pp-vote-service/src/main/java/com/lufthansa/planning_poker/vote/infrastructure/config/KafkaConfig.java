@@ -1,6 +1,8 @@
 package com.lufthansa.planning_poker.vote.infrastructure.config;
 
 import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.messaging.KafkaListenerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -43,20 +45,30 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ConsumerFactory<String, BaseEvent> consumerFactory() {
+    public ConsumerFactory<String, BaseEvent> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, VOTE_CONSUMER_GROUP);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.lufthansa.planning_poker.*");
-        return new DefaultKafkaConsumerFactory<>(props);
+        DefaultKafkaConsumerFactory<String, BaseEvent> factory = new DefaultKafkaConsumerFactory<>(props);
+        // Exposes the client metrics, including the per-partition records lag
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, BaseEvent> kafkaListenerContainerFactory() {
+    public KafkaListenerMetrics kafkaListenerMetrics(MeterRegistry meterRegistry) {
+        return new KafkaListenerMetrics(meterRegistry, VOTE_CONSUMER_GROUP);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, BaseEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, BaseEvent> consumerFactory, KafkaListenerMetrics kafkaListenerMetrics) {
         ConcurrentKafkaListenerContainerFactory<String, BaseEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        factory.setRecordInterceptor(kafkaListenerMetrics);
         return factory;
     }
 
@@ -68,4 +80,3 @@ public class KafkaConfig {
             .build();
     }
 }
-
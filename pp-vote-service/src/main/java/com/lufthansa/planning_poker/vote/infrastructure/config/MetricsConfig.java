@@ -0,0 +1,36 @@
+package com.lufthansa.planning_poker.vote.infrastructure.config;
+
+import com.lufthansa.planning_poker.vote.api.sse.RoomEventStreamRegistry;
+import com.lufthansa.planning_poker.vote.api.websocket.StompSubscriptionTracker;
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEventLog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges of the real-time layer. The vote timers and broadcast meters live in
+ * {@link com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder realtimeMetrics(RoomEventLog eventLog,
+                                       RoomEventStreamRegistry streamRegistry,
+                                       StompSubscriptionTracker subscriptionTracker) {
+        return registry -> {
+            Gauge.builder("pp.vote.rooms.active", eventLog, RoomEventLog::roomCount)
+                .description("Rooms with broadcasts or replays within the idle room TTL")
+                .register(registry);
+            Gauge.builder("pp.vote.subscriptions", subscriptionTracker, StompSubscriptionTracker::subscriptionCount)
+                .description("Open room subscriptions")
+                .tag("transport", "stomp")
+                .register(registry);
+            Gauge.builder("pp.vote.subscriptions", streamRegistry, RoomEventStreamRegistry::subscriberCount)
+                .description("Open room subscriptions")
+                .tag("transport", "sse")
+                .register(registry);
+        };
+    }
+}
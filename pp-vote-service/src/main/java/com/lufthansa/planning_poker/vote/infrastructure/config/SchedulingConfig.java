@@ -0,0 +1,54 @@
+package com.lufthansa.planning_poker.vote.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduling configuration.
+ * 
+ * Enables the periodic housekeeping of the real-time layer, such as
+ * the heartbeats keeping idle SSE streams open through proxies, the
+ * chunked deletion of purged votes, and the sweep for overdue voting
+ * deadlines.
+ * 
+ * The vote cleanup may run for minutes, so it gets a scheduler of its
+ * own instead of holding up the short tasks on the default one. The
+ * overdue deadline sweep gets one as well, so neither a long cleanup
+ * nor slow heartbeats delay the reveal of a timebox.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String VOTE_CLEANUP_SCHEDULER = "voteCleanupScheduler";
+    public static final String VOTING_DEADLINE_SCHEDULER = "votingDeadlineScheduler";
+
+    /**
+     * Default scheduler of the {@code @Scheduled} methods; declared here since the STOMP broker's
+     * own scheduler would otherwise take its place.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${planning-poker.scheduling.pool-size:2}") int poolSize) {
+        return scheduler("scheduling-", poolSize);
+    }
+
+    @Bean(VOTE_CLEANUP_SCHEDULER)
+    public ThreadPoolTaskScheduler voteCleanupScheduler() {
+        return scheduler("vote-cleanup-", 1);
+    }
+
+    @Bean(VOTING_DEADLINE_SCHEDULER)
+    public ThreadPoolTaskScheduler votingDeadlineScheduler() {
+        return scheduler("voting-deadline-sweep-", 1);
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setPoolSize(poolSize);
+        return scheduler;
+    }
+}
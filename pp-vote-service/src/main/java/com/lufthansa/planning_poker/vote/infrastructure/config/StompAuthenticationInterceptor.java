@@ -0,0 +1,69 @@
+package com.lufthansa.planning_poker.vote.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.util.Optional;
+
+/**
+ * Authenticates a STOMP session once, on CONNECT, so messages sent over the session carry the
+ * user without a token of their own.
+ * <p>
+ * The CONNECT frame may carry an {@code Authorization: Bearer} header with a Keycloak JWT, which
+ * becomes the same {@code JwtAuthenticationToken} REST requests get, and Spring keeps it as the
+ * session user. The gateway only relays the internal identity on HTTP requests, never in STOMP
+ * frames, so it is not accepted here. An invalid token refuses the connection; a CONNECT without
+ * one is accepted for subscribing to room topics, but cannot vote.
+ * </p>
+ */
+@Slf4j
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+    private final JwtAuthenticationConverter authenticationConverter;
+
+    public StompAuthenticationInterceptor(JwtDecoder jwtDecoder, JwtAuthenticationConverter authenticationConverter) {
+        this.jwtDecoder = jwtDecoder;
+        this.authenticationConverter = authenticationConverter;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+        authenticate(accessor).ifPresent(accessor::setUser);
+        return message;
+    }
+
+    private Optional<AbstractAuthenticationToken> authenticate(StompHeaderAccessor accessor) {
+        String authorization = accessor.getFirstNativeHeader(AUTHORIZATION);
+        if (authorization == null) {
+            return Optional.empty();
+        }
+        if (!authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            throw new BadCredentialsException("STOMP CONNECT only accepts bearer tokens");
+        }
+        try {
+            return Optional.of(authenticationConverter.convert(
+                jwtDecoder.decode(authorization.substring(BEARER_PREFIX.length()).trim())));
+        } catch (JwtException e) {
+            log.debug("Rejected STOMP CONNECT with an invalid token: {}", e.getMessage());
+            throw new BadCredentialsException("Invalid bearer token on STOMP CONNECT", e);
+        }
+    }
+}
@@ -1,15 +1,49 @@
 package com.lufthansa.planning_poker.vote.infrastructure.config;
 
+import com.lufthansa.planning_poker.vote.api.websocket.BroadcastDeliveryInterceptor;
+import com.lufthansa.planning_poker.vote.api.websocket.OutboundBackpressure;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final BroadcastDeliveryInterceptor broadcastDeliveryInterceptor;
+    private final OutboundBackpressure outboundBackpressure;
+    private final JwtDecoder jwtDecoder;
+    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    /** Votes sent over STOMP are stored on these threads, so they block on the database like Tomcat's. */
+    @Value("${planning-poker.realtime.stomp.inbound-threads:32}")
+    private int inboundThreads;
+
+    /** Broadcasts to large rooms fan out on these threads, one send per subscribed session. */
+    @Value("${planning-poker.realtime.stomp.outbound-threads:16}")
+    private int outboundThreads;
+
+    @Value("${planning-poker.realtime.stomp.send-time-limit:10s}")
+    private Duration sendTimeLimit;
+
+    @Value("${planning-poker.realtime.stomp.send-buffer-size-limit:512KB}")
+    private DataSize sendBufferSizeLimit;
+
+    @Value("${planning-poker.realtime.stomp.message-size-limit:64KB}")
+    private DataSize messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
@@ -26,5 +60,34 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
             .setAllowedOriginPatterns("*");
     }
-}
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new StompAuthenticationInterceptor(jwtDecoder, jwtAuthenticationConverter));
+        registration.taskExecutor()
+            .corePoolSize(inboundThreads)
+            .maxPoolSize(inboundThreads);
+    }
+
+    /**
+     * A session whose send has blocked for {@code send-time-limit}, or whose unsent frames exceed
+     * {@code send-buffer-size-limit}, is closed; {@link OutboundBackpressure} thins out its vote
+     * count updates well before that.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+            .setSendTimeLimit((int) sendTimeLimit.toMillis())
+            .setSendBufferSizeLimit((int) sendBufferSizeLimit.toBytes())
+            .setMessageSizeLimit((int) messageSizeLimit.toBytes())
+            .addDecoratorFactory(outboundBackpressure::decorate);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(outboundBackpressure, broadcastDeliveryInterceptor);
+        registration.taskExecutor()
+            .corePoolSize(outboundThreads)
+            .maxPoolSize(outboundThreads);
+    }
+}
@@ -0,0 +1,159 @@
+package com.lufthansa.planning_poker.vote.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.event.StoryStateEvent;
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.common.messaging.CompactedTopicReader;
+import com.lufthansa.planning_poker.vote.application.state.RoomMembershipReplica;
+import com.lufthansa.planning_poker.vote.application.state.StoryStateReplica;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Feeds the {@link StoryStateReplica} and the {@link RoomMembershipReplica} of this instance.
+ * <p>
+ * Every instance needs every story and room, so both compacted topics are read with a
+ * {@link CompactedTopicReader} rather than by the vote service consumer group. The room service
+ * writes them together with the corresponding events, and this instance applies the stories it
+ * finishes itself, so the event topics are not followed. Starting the service waits until both
+ * topics were read up to their end offsets at startup, at most for {@code bootstrap-timeout}.
+ * </p>
+ * <p>
+ * A reader reads its topic again from the beginning after every reconnect. The replicas then
+ * build a new view and switch to it once the topic was read to its end, dropping the entries
+ * whose tombstone was compacted away while this instance was disconnected.
+ * </p>
+ */
+@Slf4j
+@Component
+public class LocalStateConsumer implements SmartLifecycle {
+
+    private final StoryStateReplica replica;
+    private final RoomMembershipReplica members;
+    private final Duration bootstrapTimeout;
+    private final List<CompactedTopicReader<BaseEvent>> readers;
+    private volatile boolean running;
+
+    public LocalStateConsumer(StoryStateReplica replica,
+                              RoomMembershipReplica members,
+                              @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                              @Value("${planning-poker.local-state.bootstrap-timeout:30s}") Duration bootstrapTimeout) {
+        this.replica = replica;
+        this.members = members;
+        this.bootstrapTimeout = bootstrapTimeout;
+        this.readers = List.of(
+            CompactedTopicReader.builder(KafkaTopics.STORY_STATE, values(), storyStateHandler())
+                .bootstrapServers(bootstrapServers).build(),
+            CompactedTopicReader.builder(KafkaTopics.ROOM_MEMBERSHIP, values(), membershipHandler())
+                .bootstrapServers(bootstrapServers).build());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        readers.forEach(CompactedTopicReader::start);
+        long deadline = System.nanoTime() + bootstrapTimeout.toNanos();
+        try {
+            for (CompactedTopicReader<BaseEvent> reader : readers) {
+                Duration left = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                if (!reader.awaitLoaded(left)) {
+                    log.warn("{} not loaded within {}, votes are rejected until it is", reader.topic(), bootstrapTimeout);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        readers.forEach(CompactedTopicReader::close);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    CompactedTopicReader.Handler<BaseEvent> storyStateHandler() {
+        return new CompactedTopicReader.Handler<>() {
+            @Override
+            public void onRecord(String key, BaseEvent value, Instant timestamp) {
+                applyStoryState(key, value);
+            }
+
+            @Override
+            public void onReload() {
+                replica.startReload();
+            }
+
+            @Override
+            public void onLoaded() {
+                replica.finishReload();
+                replica.markReady();
+            }
+        };
+    }
+
+    CompactedTopicReader.Handler<BaseEvent> membershipHandler() {
+        return new CompactedTopicReader.Handler<>() {
+            @Override
+            public void onRecord(String key, BaseEvent value, Instant timestamp) {
+                applyMembership(key, value);
+            }
+
+            @Override
+            public void onReload() {
+                members.startReload();
+            }
+
+            @Override
+            public void onLoaded() {
+                members.finishReload();
+                members.markReady();
+            }
+        };
+    }
+
+    void applyStoryState(String key, BaseEvent event) {
+        if (event instanceof StoryStateEvent state) {
+            replica.update(state.getStoryId(), state.getRoomId(), state.getStatus(), state.getVotingRound());
+        } else if (event == null && key != null) {
+            try {
+                replica.remove(UUID.fromString(key));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping story state tombstone with malformed key {}", key);
+            }
+        }
+    }
+
+    void applyMembership(String key, BaseEvent event) {
+        if (event instanceof UserJoinedRoomEvent joined) {
+            members.add(joined.getRoomId(), joined.getUserId());
+        } else if (event == null && key != null) {
+            // Tombstone keyed by "roomId:userId"
+            String[] roomAndUser = key.split(":", 2);
+            try {
+                members.remove(UUID.fromString(roomAndUser[0]), roomAndUser[1]);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                log.warn("Skipping membership tombstone with malformed key {}", key);
+            }
+        }
+    }
+
+    private static JsonDeserializer<BaseEvent> values() {
+        JsonDeserializer<BaseEvent> values = new JsonDeserializer<>(BaseEvent.class);
+        values.addTrustedPackages("com.lufthansa.planning_poker.*");
+        return values;
+    }
+}
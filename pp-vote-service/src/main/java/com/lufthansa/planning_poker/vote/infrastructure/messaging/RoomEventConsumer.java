@@ -0,0 +1,37 @@
+package com.lufthansa.planning_poker.vote.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.event.RoomDeletedEvent;
+import com.lufthansa.planning_poker.vote.application.service.VoteCleanupService;
+import com.lufthansa.planning_poker.vote.application.timer.VotingDeadlines;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes room events from Kafka. The votes of a deleted room are
+ * scheduled for deletion and its voting deadlines removed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomEventConsumer {
+
+    private final VoteCleanupService voteCleanupService;
+    private final VotingDeadlines votingDeadlines;
+
+    @KafkaListener(
+        topics = KafkaTopics.ROOM_EVENTS,
+        groupId = KafkaTopics.VOTE_CONSUMER_GROUP,
+        containerFactory = "kafkaListenerContainerFactory"
+    )
+    public void consumeRoomEvents(BaseEvent event) {
+        if (event instanceof RoomDeletedEvent roomDeleted) {
+            log.info("Received RoomDeletedEvent for room: {}", roomDeleted.getRoomId());
+            voteCleanupService.purgeRoom(roomDeleted.getRoomId());
+            votingDeadlines.cancelRoom(roomDeleted.getRoomId());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.lufthansa.planning_poker.vote.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.event.RoomSnapshotEvent;
+import com.lufthansa.planning_poker.common.messaging.CompactedTopicView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Latest snapshot of every room, read from the compacted {@link KafkaTopics#ROOM_SNAPSHOTS} topic.
+ * <p>
+ * Used for room details the vote service would otherwise have to ask the room service for, such
+ * as story titles. Startup does not wait for the view, callers must cope with a room it does not
+ * know yet.
+ * </p>
+ */
+@Component
+public class RoomSnapshotView implements SmartLifecycle {
+
+    private final CompactedTopicView<UUID, RoomSnapshotEvent> view;
+    private volatile boolean running;
+
+    public RoomSnapshotView(@Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers) {
+        this(CompactedTopicView.builder(KafkaTopics.ROOM_SNAPSHOTS, UUID::fromString, snapshots())
+            .bootstrapServers(bootstrapServers)
+            .build());
+    }
+
+    RoomSnapshotView(CompactedTopicView<UUID, RoomSnapshotEvent> view) {
+        this.view = view;
+    }
+
+    /**
+     * @return the title of the story, empty if the room or story is not known (yet)
+     */
+    public Optional<String> storyTitle(UUID roomId, UUID storyId) {
+        RoomSnapshotEvent room = view.get(roomId);
+        List<RoomSnapshotEvent.StorySnapshot> stories = room != null ? room.getStories() : null;
+        if (stories == null) {
+            return Optional.empty();
+        }
+        return stories.stream()
+            .filter(story -> Objects.equals(story.getStoryId(), storyId))
+            .map(RoomSnapshotEvent.StorySnapshot::getTitle)
+            .filter(Objects::nonNull)
+            .findFirst();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        view.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        view.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static JsonDeserializer<RoomSnapshotEvent> snapshots() {
+        JsonDeserializer<RoomSnapshotEvent> snapshots = new JsonDeserializer<>(RoomSnapshotEvent.class);
+        snapshots.addTrustedPackages("com.lufthansa.planning_poker.*");
+        return snapshots;
+    }
+}
@@ -2,8 +2,12 @@ package com.lufthansa.planning_poker.vote.infrastructure.messaging;
 
 import com.lufthansa.planning_poker.common.event.BaseEvent;
 import com.lufthansa.planning_poker.common.event.KafkaTopics;
+import com.lufthansa.planning_poker.common.event.StoryDeletedEvent;
 import com.lufthansa.planning_poker.common.event.VotingStartedEvent;
 import com.lufthansa.planning_poker.vote.api.websocket.VotingWebSocketHandler;
+import com.lufthansa.planning_poker.vote.application.service.VoteCleanupService;
+import com.lufthansa.planning_poker.vote.application.state.StoryStateReplica;
+import com.lufthansa.planning_poker.vote.application.timer.VotingDeadlines;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -13,7 +17,8 @@ import org.springframework.stereotype.Component;
  * Consumes story events from Kafka to trigger WebSocket notifications.
  * <p>
  * When voting starts on a story in Room Service, this consumer
- * broadcasts the event to all connected WebSocket clients.
+ * broadcasts the event to all connected WebSocket clients and schedules
+ * the timebox, if any. The votes of a deleted story are scheduled for deletion.
  * </p>
  *
  * @author Matilda Dervishaj
@@ -25,6 +30,9 @@ import org.springframework.stereotype.Component;
 public class StoryEventConsumer {
 
     private final VotingWebSocketHandler webSocketHandler;
+    private final VoteCleanupService voteCleanupService;
+    private final StoryStateReplica storyStates;
+    private final VotingDeadlines votingDeadlines;
 
     @KafkaListener(
         topics = KafkaTopics.STORY_EVENTS,
@@ -34,6 +42,12 @@ public class StoryEventConsumer {
     public void consumeStoryEvents(BaseEvent event) {
         if (event instanceof VotingStartedEvent votingStarted) {
             handleVotingStarted(votingStarted);
+        } else if (event instanceof StoryDeletedEvent storyDeleted) {
+            log.info("Received StoryDeletedEvent for story: {} in room: {}",
+                storyDeleted.getStoryId(), storyDeleted.getRoomId());
+            storyStates.remove(storyDeleted.getStoryId());
+            voteCleanupService.purgeStory(storyDeleted.getStoryId());
+            votingDeadlines.cancel(storyDeleted.getStoryId());
         }
     }
 
@@ -41,11 +55,20 @@ public class StoryEventConsumer {
         log.info("Received VotingStartedEvent for story: {} in room: {}", 
             event.getStoryId(), event.getRoomId());
         
+        // Open the story before participants learn about it, the local state consumer may lag behind
+        storyStates.update(event.getStoryId(), event.getRoomId(), StoryStateReplica.Status.VOTING,
+            event.getVotingRound());
+
+        votingDeadlines.start(event.getStoryId(), event.getRoomId(), event.getTimestamp(), event.getTimeboxSeconds());
+
         // Broadcast to all participants via WebSocket
         webSocketHandler.broadcastVotingStarted(
             event.getRoomId(),
             event.getStoryId(),
-            event.getStoryTitle()
+            event.getStoryTitle(),
+            event.getTimeboxSeconds() != null && event.getTimestamp() != null
+                ? event.getTimestamp().plusSeconds(event.getTimeboxSeconds())
+                : null
         );
     }
 }
@@ -0,0 +1,144 @@
+package com.lufthansa.planning_poker.vote.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Domain metrics of the vote service.
+ * <ul>
+ *   <li>{@code pp.vote.operation} - duration of cast, reveal and finish, tagged with the outcome;
+ *       measured inside the service transaction, the commit shows in {@code http.server.requests}</li>
+ *   <li>{@code pp.vote.broadcasts} - room broadcasts per event type</li>
+ *   <li>{@code pp.vote.broadcast.fanout} - STOMP and SSE subscribers a broadcast was sent to</li>
+ *   <li>{@code pp.vote.broadcast.delivery} - time from dispatching a broadcast until it is
+ *       handed to each subscriber's WebSocket session</li>
+ *   <li>{@code pp.vote.purge.votes} - votes deleted by the cleanup, per purge reason</li>
+ *   <li>{@code pp.vote.purge.chunk} - duration of one chunked delete transaction</li>
+ *   <li>{@code pp.vote.purge.latency} - time from a purge becoming due until its last vote is deleted</li>
+ * </ul>
+ * All timers publish histogram buckets so Grafana can compute percentiles across instances.
+ */
+@Component
+public class VoteMetrics {
+
+    public static final String CAST = "cast";
+    public static final String REVEAL = "reveal";
+    public static final String FINISH = "finish";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, OperationTimers> operationTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, BroadcastMeters> broadcastMeters = new ConcurrentHashMap<>();
+
+    public VoteMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Runs a vote operation and records its duration. Failed operations are recorded with
+     * {@code outcome=error} so slow failures do not hide in the success latency.
+     */
+    public <T> T timeOperation(String operation, Supplier<T> action) {
+        OperationTimers timers = operationTimers.computeIfAbsent(operation, this::createOperationTimers);
+        Timer.Sample sample = Timer.start(registry);
+        boolean succeeded = false;
+        try {
+            T result = action.get();
+            succeeded = true;
+            return result;
+        } finally {
+            sample.stop(succeeded ? timers.success : timers.error);
+        }
+    }
+
+    public void recordBroadcast(String type, int fanOut) {
+        BroadcastMeters meters = broadcastMeters(type);
+        meters.broadcasts.increment();
+        meters.fanOut.record(fanOut);
+    }
+
+    public void recordDelivery(String type, long dispatchedAtNanos) {
+        broadcastMeters(type).delivery.record(System.nanoTime() - dispatchedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPurgedVotes(String reason, int votes) {
+        Counter.builder("pp.vote.purge.votes")
+            .description("Votes deleted by the cleanup of deleted rooms and stories")
+            .tag("reason", reason)
+            .register(registry)
+            .increment(votes);
+    }
+
+    public void recordPurgeChunk(long nanos) {
+        Timer.builder("pp.vote.purge.chunk")
+            .description("Duration of one chunked vote delete transaction")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPurgeLatency(String reason, Duration latency) {
+        Timer.builder("pp.vote.purge.latency")
+            .description("Time from a vote purge becoming due until its last vote is deleted")
+            .tag("reason", reason)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(100))
+            .maximumExpectedValue(Duration.ofHours(1))
+            .register(registry)
+            .record(latency);
+    }
+
+    private OperationTimers createOperationTimers(String operation) {
+        return new OperationTimers(operationTimer(operation, "success"), operationTimer(operation, "error"));
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        return Timer.builder("pp.vote.operation")
+            .description("Duration of vote operations")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+
+    private BroadcastMeters broadcastMeters(String type) {
+        return broadcastMeters.computeIfAbsent(type, this::createBroadcastMeters);
+    }
+
+    private BroadcastMeters createBroadcastMeters(String type) {
+        return new BroadcastMeters(
+            Counter.builder("pp.vote.broadcasts")
+                .description("Room broadcasts by event type")
+                .tag("type", type)
+                .register(registry),
+            DistributionSummary.builder("pp.vote.broadcast.fanout")
+                .description("Subscribers a room broadcast was sent to")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(2000.0)
+                .register(registry),
+            Timer.builder("pp.vote.broadcast.delivery")
+                .description("Time from dispatching a room broadcast until a subscriber's session sent it")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry)
+        );
+    }
+
+    private record OperationTimers(Timer success, Timer error) {}
+
+    private record BroadcastMeters(Counter broadcasts, DistributionSummary fanOut, Timer delivery) {}
+}
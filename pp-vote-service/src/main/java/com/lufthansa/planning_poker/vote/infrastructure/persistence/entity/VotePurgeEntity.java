@@ -0,0 +1,46 @@
+package com.lufthansa.planning_poker.vote.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Votes of a room or story waiting to be deleted from {@code purgeAfter} on. The row is removed
+ * once the last chunk of votes is gone, so a purge interrupted by a restart is resumed.
+ */
+@Entity
+@Table(name = "vote_purges", indexes = {
+    @Index(name = "idx_vote_purges_purge_after", columnList = "purge_after")
+})
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class VotePurgeEntity {
+
+    @Id
+    @UuidGenerator
+    private UUID id;
+
+    /**
+     * The room or story whose votes are purged, depending on the reason.
+     */
+    @Column(name = "target_id", nullable = false, unique = true)
+    private UUID targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Reason reason;
+
+    @Column(name = "purge_after", nullable = false)
+    private Instant purgeAfter;
+
+    public enum Reason {
+        ROOM_DELETED, STORY_DELETED, STORY_RETENTION;
+
+        public boolean isRoom() {
+            return this == ROOM_DELETED;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.lufthansa.planning_poker.vote.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Timebox of a story in voting, after which its votes are revealed automatically. The row
+ * outlives restarts, so pending deadlines are scheduled again on startup, and {@code firedAt}
+ * is set by the one instance that claims the deadline. The row is removed once the votes were
+ * revealed.
+ */
+@Entity
+@Table(name = "voting_deadlines", indexes = {
+    @Index(name = "idx_voting_deadlines_deadline", columnList = "deadline"),
+    @Index(name = "idx_voting_deadlines_room_id", columnList = "room_id")
+})
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class VotingDeadlineEntity {
+
+    @Id
+    @Column(name = "story_id")
+    private UUID storyId;
+
+    @Column(name = "room_id", nullable = false)
+    private UUID roomId;
+
+    @Column(name = "voting_started_at", nullable = false)
+    private Instant votingStartedAt;
+
+    @Column(name = "timebox_seconds", nullable = false)
+    private int timeboxSeconds;
+
+    /**
+     * {@code votingStartedAt} plus the timebox, kept as a column for the overdue query.
+     */
+    @Column(nullable = false)
+    private Instant deadline;
+
+    @Column(name = "fired_at")
+    private Instant firedAt;
+
+    @Column(name = "fired_by", length = 100)
+    private String firedBy;
+}
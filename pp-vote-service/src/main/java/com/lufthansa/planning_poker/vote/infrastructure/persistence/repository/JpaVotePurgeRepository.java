@@ -0,0 +1,55 @@
+package com.lufthansa.planning_poker.vote.infrastructure.persistence.repository;
+
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VotePurgeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaVotePurgeRepository extends JpaRepository<VotePurgeEntity, UUID> {
+
+    /**
+     * Schedules the deletion of a room's or story's votes, or brings an existing purge of the
+     * target forward when {@code purgeAfter} is earlier.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO vote_purges (id, target_id, reason, purge_after)
+        VALUES (:id, :targetId, :reason, :purgeAfter)
+        ON CONFLICT (target_id) DO UPDATE
+            SET reason = EXCLUDED.reason, purge_after = EXCLUDED.purge_after
+            WHERE EXCLUDED.purge_after < vote_purges.purge_after
+        """, nativeQuery = true)
+    int upsertDeletion(@Param("id") UUID id, @Param("targetId") UUID targetId,
+                       @Param("reason") String reason, @Param("purgeAfter") Instant purgeAfter);
+
+    /**
+     * Schedules the votes of a finished story for deletion after the retention, or restarts the
+     * retention. A pending deletion of the story is left as it is.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO vote_purges (id, target_id, reason, purge_after)
+        VALUES (:id, :targetId, 'STORY_RETENTION', :purgeAfter)
+        ON CONFLICT (target_id) DO UPDATE
+            SET purge_after = EXCLUDED.purge_after
+            WHERE vote_purges.reason = 'STORY_RETENTION'
+        """, nativeQuery = true)
+    int upsertRetention(@Param("id") UUID id, @Param("targetId") UUID targetId,
+                        @Param("purgeAfter") Instant purgeAfter);
+
+    List<VotePurgeEntity> findTop50ByPurgeAfterLessThanEqualOrderByPurgeAfterAsc(Instant now);
+
+    /**
+     * Removes a finished purge unless it was rescheduled in the meantime.
+     */
+    @Modifying
+    @Query("DELETE FROM VotePurgeEntity p WHERE p.id = :id AND p.purgeAfter = :purgeAfter")
+    int deleteCompleted(@Param("id") UUID id, @Param("purgeAfter") Instant purgeAfter);
+}
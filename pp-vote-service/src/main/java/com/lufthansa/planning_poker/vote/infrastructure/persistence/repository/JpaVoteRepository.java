@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,15 @@ public interface JpaVoteRepository extends JpaRepository<VoteEntity, UUID> {
 
     boolean existsByStoryIdAndUserId(UUID storyId, String oderId);
 
+    /**
+     * Changes the value of a vote without reading it first, for votes the caller already holds.
+     *
+     * @return 1, or 0 when the vote no longer exists
+     */
+    @Modifying
+    @Query("UPDATE VoteEntity v SET v.value = :value, v.updatedAt = :updatedAt WHERE v.id = :id")
+    int updateValue(@Param("id") UUID id, @Param("value") String value, @Param("updatedAt") Instant updatedAt);
+
     @Modifying
     @Query("DELETE FROM VoteEntity v WHERE v.storyId = :storyId")
     void deleteAllByStoryId(@Param("storyId") UUID storyId);
@@ -29,5 +39,20 @@ public interface JpaVoteRepository extends JpaRepository<VoteEntity, UUID> {
     @Modifying
     @Query("DELETE FROM VoteEntity v WHERE v.roomId = :roomId")
     void deleteAllByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * Deletes at most {@code limit} votes of a room, so a large room is purged in short transactions.
+     *
+     * @return the number of deleted votes, less than {@code limit} once the room has none left
+     */
+    @Modifying
+    @Query(value = "DELETE FROM votes WHERE id IN (SELECT id FROM votes WHERE room_id = :roomId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkByRoomId(@Param("roomId") UUID roomId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM votes WHERE id IN (SELECT id FROM votes WHERE story_id = :storyId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkByStoryId(@Param("storyId") UUID storyId, @Param("limit") int limit);
 }
 
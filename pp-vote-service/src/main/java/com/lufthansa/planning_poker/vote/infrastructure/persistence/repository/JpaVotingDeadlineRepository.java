@@ -0,0 +1,64 @@
+package com.lufthansa.planning_poker.vote.infrastructure.persistence.repository;
+
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VotingDeadlineEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaVotingDeadlineRepository extends JpaRepository<VotingDeadlineEntity, UUID> {
+
+    List<VotingDeadlineEntity> findByFiredAtIsNull();
+
+    /**
+     * Deadlines due before {@code before} that were not claimed, or whose claim was not released
+     * or completed before {@code staleBefore}, earliest first.
+     */
+    @Query("SELECT d FROM VotingDeadlineEntity d WHERE d.deadline <= :before "
+        + "AND (d.firedAt IS NULL OR d.firedAt <= :staleBefore) ORDER BY d.deadline")
+    List<VotingDeadlineEntity> findOverdue(@Param("before") Instant before, @Param("staleBefore") Instant staleBefore,
+                                           Limit limit);
+
+    /**
+     * Marks a due deadline as fired unless another instance already did, or it was moved. A
+     * claim made before {@code staleBefore} is taken over, its instance went down before the
+     * votes were revealed.
+     *
+     * @return 1 for the instance that fires the deadline, 0 for all others
+     */
+    @Modifying
+    @Query("UPDATE VotingDeadlineEntity d SET d.firedAt = :now, d.firedBy = :node "
+        + "WHERE d.storyId = :storyId AND d.deadline = :deadline "
+        + "AND (d.firedAt IS NULL OR d.firedAt <= :staleBefore)")
+    int claim(@Param("storyId") UUID storyId, @Param("deadline") Instant deadline, @Param("now") Instant now,
+              @Param("staleBefore") Instant staleBefore, @Param("node") String node);
+
+    /**
+     * Gives up a claim whose reveal failed, so the overdue sweep fires the deadline again.
+     */
+    @Modifying
+    @Query("UPDATE VotingDeadlineEntity d SET d.firedAt = NULL, d.firedBy = NULL "
+        + "WHERE d.storyId = :storyId AND d.deadline = :deadline AND d.firedAt = :firedAt AND d.firedBy = :node")
+    int release(@Param("storyId") UUID storyId, @Param("deadline") Instant deadline,
+                @Param("firedAt") Instant firedAt, @Param("node") String node);
+
+    /**
+     * Removes a deadline whose votes were revealed, unless it was moved or taken over meanwhile.
+     */
+    @Modifying
+    @Query("DELETE FROM VotingDeadlineEntity d "
+        + "WHERE d.storyId = :storyId AND d.deadline = :deadline AND d.firedAt = :firedAt AND d.firedBy = :node")
+    int complete(@Param("storyId") UUID storyId, @Param("deadline") Instant deadline,
+                 @Param("firedAt") Instant firedAt, @Param("node") String node);
+
+    @Modifying
+    @Query("DELETE FROM VotingDeadlineEntity d WHERE d.roomId = :roomId")
+    int deleteByRoomId(@Param("roomId") UUID roomId);
+}
@@ -1,10 +1,12 @@
 package com.lufthansa.planning_poker.vote.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
 import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteRequest;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResponse;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
 import com.lufthansa.planning_poker.vote.application.service.VoteService;
+import com.lufthansa.planning_poker.vote.infrastructure.messaging.RoomSnapshotView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -40,6 +43,9 @@ class VoteControllerTest {
     @MockitoBean
     private VoteService voteService;
 
+    @MockitoBean
+    private RoomSnapshotView roomSnapshots;
+
     @MockitoBean
     @SuppressWarnings("unused")
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
@@ -104,6 +110,25 @@ class VoteControllerTest {
             verify(voteService).castVote(any(), eq(userId), eq(userName));
         }
 
+        @Test
+        @DisplayName("Should return 400 when the room header differs from the vote's room")
+        void shouldReturn400WhenRoomHeaderDiffers() throws Exception {
+            // Given
+            CastVoteRequest request = new CastVoteRequest(storyId, roomId, "8");
+
+            // When/Then
+            mockMvc.perform(post("/api/v1/votes")
+                    .with(jwt().jwt(jwt -> jwt
+                        .subject(userId)
+                        .claim("preferred_username", userName)))
+                    .header("X-Room-Id", UUID.randomUUID().toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(voteService);
+        }
+
         @Test
         @DisplayName("Should return 400 when storyId is null")
         void shouldReturn400WhenStoryIdIsNull() throws Exception {
@@ -142,6 +167,26 @@ class VoteControllerTest {
                 .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("Should return 409 when voting on the story is not open")
+        void shouldReturn409WhenVotingNotOpen() throws Exception {
+            // Given
+            CastVoteRequest request = new CastVoteRequest(storyId, roomId, "8");
+
+            when(voteService.castVote(any(), anyString(), anyString()))
+                .thenThrow(BusinessException.conflict("Voting is not open for story " + storyId));
+
+            // When/Then
+            mockMvc.perform(post("/api/v1/votes")
+                    .with(jwt().jwt(jwt -> jwt
+                        .subject(userId)
+                        .claim("preferred_username", userName)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("CONFLICT"));
+        }
+
         @Test
         @DisplayName("Should return 403 when not authenticated")
         void shouldReturn403WhenNotAuthenticated() throws Exception {
@@ -314,6 +359,7 @@ class VoteControllerTest {
         @DisplayName("Should finish voting without story title")
         void shouldFinishVotingWithoutStoryTitle() throws Exception {
             // Given
+            when(roomSnapshots.storyTitle(roomId, storyId)).thenReturn(Optional.empty());
             when(voteService.finishVoting(eq(storyId), eq(roomId), eq("8"), eq("Story"), anyString(), anyString()))
                 .thenReturn(voteResultsResponse);
 
@@ -327,6 +373,24 @@ class VoteControllerTest {
                 .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("Should take a missing story title from the room snapshot")
+        void shouldTakeStoryTitleFromSnapshot() throws Exception {
+            // Given
+            when(roomSnapshots.storyTitle(roomId, storyId)).thenReturn(Optional.of("Login page"));
+            when(voteService.finishVoting(eq(storyId), eq(roomId), eq("8"), eq("Login page"), anyString(), anyString()))
+                .thenReturn(voteResultsResponse);
+
+            // When/Then
+            mockMvc.perform(post("/api/v1/voting/stories/{storyId}/finish", storyId)
+                    .param("roomId", roomId.toString())
+                    .param("finalEstimate", "8")
+                    .with(jwt().jwt(jwt -> jwt
+                        .subject(userId)
+                        .claim("preferred_username", userName))))
+                .andExpect(status().isOk());
+        }
+
         @Test
         @DisplayName("Should return 400 when finalEstimate is missing")
         void shouldReturn400WhenFinalEstimateMissing() throws Exception {
@@ -0,0 +1,126 @@
+package com.lufthansa.planning_poker.vote.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lufthansa.planning_poker.common.idempotency.IdempotencyAutoConfiguration;
+import com.lufthansa.planning_poker.common.idempotency.IdempotencyFilter;
+import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteRequest;
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteResponse;
+import com.lufthansa.planning_poker.vote.application.service.VoteService;
+import com.lufthansa.planning_poker.vote.infrastructure.messaging.RoomSnapshotView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The idempotency filter as the vote service registers it, behind the security filter chain.
+ */
+@WebMvcTest(value = VoteController.class, properties = {
+    "planning-poker.idempotency.enabled=true",
+    "planning-poker.idempotency.store=memory",
+    "planning-poker.idempotency.endpoints=POST /api/v1/votes"
+})
+@ImportAutoConfiguration(IdempotencyAutoConfiguration.class)
+@DisplayName("Vote Idempotency Tests")
+class VoteIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FilterRegistrationBean<IdempotencyFilter> idempotencyFilter;
+
+    @MockitoBean
+    private VoteService voteService;
+
+    @MockitoBean
+    @SuppressWarnings("unused")
+    private RoomSnapshotView roomSnapshots;
+
+    @MockitoBean
+    @SuppressWarnings("unused")
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    private final UUID storyId = UUID.randomUUID();
+    private final UUID roomId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should run right after the security filter chain")
+    void shouldRunAfterSecurityFilterChain() {
+        assertThat(idempotencyFilter.getOrder()).isEqualTo(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+    }
+
+    @Test
+    @DisplayName("Should replay a retried vote of the same caller and keep other callers' keys apart")
+    void shouldScopeKeysToAuthenticatedCaller() throws Exception {
+        // Given
+        when(voteService.castVote(any(), anyString(), anyString()))
+            .thenAnswer(invocation -> new VoteResponse(UUID.randomUUID(), storyId, roomId,
+                invocation.getArgument(1), invocation.getArgument(2), "8", Instant.now(), null));
+
+        // When
+        String first = mockMvc.perform(castVote("user-1"))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andReturn().getResponse().getContentAsString();
+        String retry = mockMvc.perform(castVote("user-1"))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(castVote("user-2"))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andExpect(jsonPath("$.userId").value("user-2"));
+
+        // Then
+        assertThat(retry).isEqualTo(first);
+        verify(voteService).castVote(any(), eq("user-1"), eq("user-1"));
+        verify(voteService).castVote(any(), eq("user-2"), eq("user-2"));
+    }
+
+    private MockHttpServletRequestBuilder castVote(String userId) throws Exception {
+        return post("/api/v1/votes")
+            .with(jwt().jwt(jwt -> jwt
+                .subject(userId)
+                .claim("preferred_username", userId)))
+            .header(IdempotencyFilter.HEADER, "vote-1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new CastVoteRequest(storyId, roomId, "8")));
+    }
+
+    @TestConfiguration
+    static class MetricsConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
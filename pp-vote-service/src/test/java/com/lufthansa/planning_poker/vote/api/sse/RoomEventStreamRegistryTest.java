@@ -0,0 +1,207 @@
+package com.lufthansa.planning_poker.vote.api.sse;
+
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEvent;
+import com.lufthansa.planning_poker.vote.application.realtime.RoomEventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RoomEventStreamRegistry Tests")
+class RoomEventStreamRegistryTest {
+
+    private final RoomEventLog eventLog = new RoomEventLog(4, Duration.ofMinutes(30));
+    private final UUID roomId = UUID.randomUUID();
+    private RoomEventStreamRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should deliver the events of a room to each of its subscribers only")
+    void shouldFanOutToRoomSubscribers() throws InterruptedException {
+        // Given
+        registry = registry(4, 256);
+        RecordingEmitter first = subscribe(roomId, null);
+        RecordingEmitter second = subscribe(roomId, null);
+        RecordingEmitter otherRoom = subscribe(UUID.randomUUID(), null);
+
+        // When
+        RoomEvent counted = publish(roomId, "VOTE_COUNT_UPDATE");
+        RoomEvent revealed = publish(roomId, "VOTES_REVEALED");
+
+        // Then
+        awaitUntil(() -> first.frames.size() == 2 && second.frames.size() == 2);
+        assertThat(first.frames).containsExactly(frame(counted), frame(revealed));
+        assertThat(second.frames).containsExactly(frame(counted), frame(revealed));
+        assertThat(otherRoom.frames).isEmpty();
+        assertThat(registry.subscriberCount(roomId)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should replay only the events after Last-Event-ID before new ones")
+    void shouldReplayAfterLastEventId() throws InterruptedException {
+        // Given
+        registry = registry(4, 256);
+        RoomEvent seen = publish(roomId, "VOTE_COUNT_UPDATE");
+        RoomEvent missed = publish(roomId, "VOTE_COUNT_UPDATE");
+
+        // When
+        RecordingEmitter resumed = subscribe(roomId, seen.sequence());
+        RoomEvent next = publish(roomId, "VOTES_REVEALED");
+
+        // Then
+        awaitUntil(() -> resumed.frames.size() == 2);
+        assertThat(resumed.frames).containsExactly(frame(missed), frame(next));
+    }
+
+    @Test
+    @DisplayName("Should send RESYNC first when missed events are no longer buffered")
+    void shouldResyncWhenReplayIsIncomplete() throws InterruptedException {
+        // Given
+        registry = registry(4, 256);
+        RoomEvent seen = publish(roomId, "VOTE_COUNT_UPDATE");
+        for (int i = 0; i < 5; i++) {
+            publish(roomId, "VOTE_COUNT_UPDATE");
+        }
+
+        // When
+        RecordingEmitter resumed = subscribe(roomId, seen.sequence());
+
+        // Then
+        awaitUntil(() -> resumed.frames.size() == 5);
+        assertThat(resumed.frames.get(0))
+            .contains("event:" + RoomEventStreamRegistry.RESYNC_EVENT)
+            .contains("id:" + eventLog.latestSequence(roomId));
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose queue overflows")
+    void shouldDisconnectOverflowingSubscriber() throws InterruptedException {
+        // Given
+        registry = registry(4, 2);
+        RecordingEmitter slow = subscribe(roomId, null);
+        CountDownLatch release = slow.blockSends();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            publish(roomId, "VOTE_COUNT_UPDATE");
+        }
+
+        // Then
+        awaitUntil(() -> registry.subscriberCount(roomId) == 0);
+        release.countDown();
+        awaitUntil(() -> slow.completed);
+        assertThat(slow.frames).hasSizeLessThan(4);
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to other rooms while a write is stuck")
+    void shouldDisconnectStalledSubscriber() throws InterruptedException {
+        // Given
+        registry = registry(1, 256);
+        UUID otherRoomId = UUID.randomUUID();
+        RecordingEmitter stalled = subscribe(roomId, null);
+        RecordingEmitter other = subscribe(otherRoomId, null);
+        CountDownLatch release = stalled.blockSends();
+        publish(roomId, "VOTE_COUNT_UPDATE");
+        assertThat(stalled.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        RoomEvent delivered = publish(otherRoomId, "VOTE_COUNT_UPDATE");
+
+        // Then
+        awaitUntil(() -> other.frames.size() == 1);
+        assertThat(other.frames).containsExactly(frame(delivered));
+        assertThat(registry.subscriberCount(roomId)).isZero();
+        assertThat(registry.writerPoolSize()).isEqualTo(2);
+
+        release.countDown();
+        awaitUntil(() -> stalled.completed && registry.writerPoolSize() == 1);
+    }
+
+    private RoomEventStreamRegistry registry(int writerThreads, int maxQueuedEvents) {
+        return new RoomEventStreamRegistry(eventLog, Duration.ofMinutes(30), maxQueuedEvents, writerThreads,
+            Duration.ofMillis(100), 4, RecordingEmitter::new);
+    }
+
+    private RecordingEmitter subscribe(UUID room, Long lastEventId) {
+        return (RecordingEmitter) registry.subscribe(room, lastEventId);
+    }
+
+    private RoomEvent publish(UUID room, String type) {
+        return registry.publish(room, type, sequence -> ("{\"sequence\":" + sequence + "}")
+            .getBytes(StandardCharsets.UTF_8), event -> {});
+    }
+
+    private static String frame(RoomEvent event) {
+        return "id:" + event.sequence() + "\nevent:" + event.type() + "\ndata:" + event.dataAsString() + "\n\n";
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /** Records the frames it is sent instead of writing them to a response. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile boolean completed;
+
+        private RecordingEmitter(long timeout) {
+            super(timeout);
+        }
+
+        CountDownLatch blockSends() {
+            gate = new CountDownLatch(1);
+            return gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch blocked = gate;
+            if (blocked != null) {
+                sending.countDown();
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder frame = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType item : builder.build()) {
+                frame.append(item.getData() instanceof byte[] bytes
+                    ? new String(bytes, StandardCharsets.UTF_8)
+                    : item.getData());
+            }
+            frames.add(frame.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
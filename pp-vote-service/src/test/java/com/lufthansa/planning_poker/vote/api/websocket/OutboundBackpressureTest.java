@@ -0,0 +1,171 @@
+package com.lufthansa.planning_poker.vote.api.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboundBackpressure Tests")
+class OutboundBackpressureTest {
+
+    private static final String VOTE_COUNT = "/topic/room/1/vote-count";
+    private static final TextMessage MESSAGE_FRAME = new TextMessage("MESSAGE\ndestination:" + VOTE_COUNT + "\n\n{}\u0000");
+
+    @Mock
+    private WebSocketSession session;
+
+    @Mock
+    private MessageChannel channel;
+
+    private SimpleMeterRegistry registry;
+    private OutboundBackpressure backpressure;
+    private WebSocketSession tracked;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        backpressure = new OutboundBackpressure(registry, 4);
+        when(session.getId()).thenReturn("s1");
+        tracked = backpressure.track(session);
+    }
+
+    @Test
+    @DisplayName("Should count frames until they are written to the socket")
+    void shouldCountOutstandingFrames() throws IOException {
+        // When
+        backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        backpressure.preSend(message("VOTES_REVEALED", "/topic/room/1/results"), channel);
+        tracked.sendMessage(MESSAGE_FRAME);
+
+        // Then
+        assertThat(backpressure.outstanding("s1")).isEqualTo(1);
+        assertThat(registry.get("pp.vote.stomp.session.queue").summary().count()).isEqualTo(2);
+        assertThat(registry.get("pp.vote.stomp.session.queue.max").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hold back vote counts of a slow session but always queue reveals")
+    void shouldHoldBackVoteCountsOfSlowSession() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        }
+
+        // When
+        Message<?> first = backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        Message<?> second = backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        Message<?> reveal = backpressure.preSend(message("VOTES_REVEALED", "/topic/room/1/results"), channel);
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(reveal).isNotNull();
+        assertThat(backpressure.outstanding("s1")).isEqualTo(5);
+        // The second count replaced the first, the reveal the second
+        assertThat(registry.get("pp.vote.stomp.superseded").counter().count()).isEqualTo(2);
+        assertThat(registry.get("pp.vote.stomp.sessions.slow").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send the latest held vote count once the session caught up")
+    void shouldSendLatestVoteCountOnceCaughtUp() throws IOException {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        }
+        backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        Message<?> latest = message("VOTE_COUNT_UPDATE", VOTE_COUNT);
+        backpressure.preSend(latest, channel);
+
+        // When
+        tracked.sendMessage(MESSAGE_FRAME);
+        verifyNoInteractions(channel);
+        tracked.sendMessage(MESSAGE_FRAME);
+
+        // Then
+        verify(channel).send(latest);
+        assertThat(backpressure.outstanding("s1")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not send a held vote count after the reveal once the session caught up")
+    void shouldDropHeldVoteCountOnReveal() throws IOException {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        }
+        backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+
+        // When
+        Message<?> reveal = backpressure.preSend(message("VOTES_REVEALED", "/topic/room/1/results"), channel);
+        for (int i = 0; i < 5; i++) {
+            tracked.sendMessage(MESSAGE_FRAME);
+        }
+
+        // Then
+        assertThat(reveal).isNotNull();
+        verifyNoInteractions(channel);
+        assertThat(backpressure.outstanding("s1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the held vote counts of other rooms on a reveal")
+    void shouldKeepHeldVoteCountsOfOtherRooms() throws IOException {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+        }
+        Message<?> otherRoom = message("VOTE_COUNT_UPDATE", "/topic/room/2/vote-count");
+        backpressure.preSend(otherRoom, channel);
+
+        // When
+        backpressure.preSend(message("VOTES_RESET", "/topic/room/1/reset"), channel);
+        for (int i = 0; i < 3; i++) {
+            tracked.sendMessage(MESSAGE_FRAME);
+        }
+
+        // Then
+        verify(channel).send(otherRoom);
+    }
+
+    @Test
+    @DisplayName("Should stop tracking a session once it is closed")
+    void shouldForgetClosedSession() throws Exception {
+        // Given
+        backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel);
+
+        // When
+        backpressure.decorate(mock(WebSocketHandler.class))
+            .afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+
+        // Then
+        assertThat(backpressure.outstanding("s1")).isZero();
+        assertThat(backpressure.preSend(message("VOTE_COUNT_UPDATE", VOTE_COUNT), channel)).isNotNull();
+    }
+
+    private static Message<byte[]> message(String type, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("s1");
+        accessor.setDestination(destination);
+        accessor.setHeader(VotingWebSocketHandler.EVENT_TYPE_HEADER, type);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,93 @@
+package com.lufthansa.planning_poker.vote.api.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StompSubscriptionTracker Tests")
+class StompSubscriptionTrackerTest {
+
+    private static final String RESULTS = "/topic/room/1/results";
+    private static final String VOTE_COUNT = "/topic/room/1/vote-count";
+
+    private StompSubscriptionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new StompSubscriptionTracker();
+    }
+
+    @Test
+    @DisplayName("Should count subscribers per destination")
+    void shouldCountSubscribersPerDestination() {
+        // When
+        tracker.onSubscribe(subscribe("s1", "sub-0", RESULTS));
+        tracker.onSubscribe(subscribe("s1", "sub-1", VOTE_COUNT));
+        tracker.onSubscribe(subscribe("s2", "sub-0", RESULTS));
+
+        // Then
+        assertThat(tracker.subscriberCount(RESULTS)).isEqualTo(2);
+        assertThat(tracker.subscriberCount(VOTE_COUNT)).isEqualTo(1);
+        assertThat(tracker.subscriptionCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should forget subscriptions on unsubscribe and disconnect")
+    void shouldForgetSubscriptionsOnUnsubscribeAndDisconnect() {
+        // Given
+        tracker.onSubscribe(subscribe("s1", "sub-0", RESULTS));
+        tracker.onSubscribe(subscribe("s1", "sub-1", VOTE_COUNT));
+        tracker.onSubscribe(subscribe("s2", "sub-0", RESULTS));
+
+        // When
+        tracker.onUnsubscribe(unsubscribe("s2", "sub-0"));
+        tracker.onDisconnect(new SessionDisconnectEvent(this, message(SimpMessageType.DISCONNECT, "s1", null, null),
+            "s1", CloseStatus.NORMAL));
+
+        // Then
+        assertThat(tracker.subscriberCount(RESULTS)).isZero();
+        assertThat(tracker.subscriberCount(VOTE_COUNT)).isZero();
+        assertThat(tracker.subscriptionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore unknown unsubscribes")
+    void shouldIgnoreUnknownUnsubscribes() {
+        // Given
+        tracker.onSubscribe(subscribe("s1", "sub-0", RESULTS));
+
+        // When
+        tracker.onUnsubscribe(unsubscribe("s1", "sub-9"));
+        tracker.onUnsubscribe(unsubscribe("s9", "sub-0"));
+
+        // Then
+        assertThat(tracker.subscriberCount(RESULTS)).isEqualTo(1);
+    }
+
+    private SessionSubscribeEvent subscribe(String sessionId, String subscriptionId, String destination) {
+        return new SessionSubscribeEvent(this, message(SimpMessageType.SUBSCRIBE, sessionId, subscriptionId, destination));
+    }
+
+    private SessionUnsubscribeEvent unsubscribe(String sessionId, String subscriptionId) {
+        return new SessionUnsubscribeEvent(this, message(SimpMessageType.UNSUBSCRIBE, sessionId, subscriptionId, null));
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String sessionId, String subscriptionId,
+                                           String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,180 @@
+package com.lufthansa.planning_poker.vote.api.websocket;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteMessage;
+import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteRequest;
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteAckResponse;
+import com.lufthansa.planning_poker.vote.application.dto.response.VoteResponse;
+import com.lufthansa.planning_poker.vote.application.service.VoteService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteMessageController Tests")
+class VoteMessageControllerTest {
+
+    @Mock
+    private VoteService voteService;
+
+    private ValidatorFactory validatorFactory;
+    private VoteMessageController controller;
+    private UUID roomId;
+    private UUID storyId;
+    private JwtAuthenticationToken principal;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        controller = new VoteMessageController(voteService, validatorFactory.getValidator());
+        roomId = UUID.randomUUID();
+        storyId = UUID.randomUUID();
+        principal = new JwtAuthenticationToken(Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("user-1")
+            .claim("preferred_username", "alice")
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should cast the vote as the session user and acknowledge it")
+    void shouldCastVoteAsSessionUser() {
+        // Given
+        VoteResponse vote = new VoteResponse(UUID.randomUUID(), storyId, roomId, "user-1", "alice", "8",
+            Instant.now(), null);
+        when(voteService.castVoteAsync(new CastVoteRequest(storyId, roomId, "8"), "user-1", "alice"))
+            .thenReturn(CompletableFuture.completedFuture(vote));
+
+        // When
+        VoteAckResponse ack = cast("req-1", "8", principal);
+
+        // Then
+        assertThat(ack.accepted()).isTrue();
+        assertThat(ack.requestId()).isEqualTo("req-1");
+        assertThat(ack.vote()).isEqualTo(vote);
+    }
+
+    @Test
+    @DisplayName("Should reject votes from sessions that did not authenticate")
+    void shouldRejectUnauthenticatedSession() {
+        // When
+        VoteAckResponse unauthenticated = cast("req-1", "8", null);
+        VoteAckResponse otherPrincipal = cast("req-2", "8",
+            new UsernamePasswordAuthenticationToken("user-1", null));
+
+        // Then
+        assertThat(unauthenticated.accepted()).isFalse();
+        assertThat(unauthenticated.errorCode()).isEqualTo("UNAUTHORIZED");
+        assertThat(otherPrincipal.errorCode()).isEqualTo("UNAUTHORIZED");
+        verifyNoInteractions(voteService);
+    }
+
+    @Test
+    @DisplayName("Should reject votes once the session's token expired")
+    void shouldRejectExpiredToken() {
+        // Given
+        JwtAuthenticationToken expired = new JwtAuthenticationToken(Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("user-1")
+            .issuedAt(Instant.now().minusSeconds(600))
+            .expiresAt(Instant.now().minusSeconds(1))
+            .build());
+
+        // When
+        VoteAckResponse ack = cast("req-1", "8", expired);
+
+        // Then
+        assertThat(ack.accepted()).isFalse();
+        assertThat(ack.errorCode()).isEqualTo("UNAUTHORIZED");
+        verifyNoInteractions(voteService);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid vote without calling the service")
+    void shouldRejectInvalidVote() {
+        // When
+        VoteAckResponse ack = cast("req-1", " ", principal);
+
+        // Then
+        assertThat(ack.accepted()).isFalse();
+        assertThat(ack.errorCode()).isEqualTo("BAD_REQUEST");
+        assertThat(ack.message()).isEqualTo("Vote value is required");
+        verifyNoInteractions(voteService);
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a rejected vote with the business error")
+    void shouldAcknowledgeBusinessError() {
+        // Given
+        when(voteService.castVoteAsync(any(), anyString(), anyString())).thenReturn(CompletableFuture.failedFuture(
+            BusinessException.forbidden("User user-1 is not a participant of room " + roomId)));
+
+        // When
+        VoteAckResponse ack = cast("req-1", "8", principal);
+
+        // Then
+        assertThat(ack.accepted()).isFalse();
+        assertThat(ack.requestId()).isEqualTo("req-1");
+        assertThat(ack.errorCode()).isEqualTo("FORBIDDEN");
+    }
+
+    @Test
+    @DisplayName("Should acknowledge the vote once the busy room stored it, without waiting for it")
+    void shouldAcknowledgeWithoutWaiting() {
+        // Given
+        CompletableFuture<VoteResponse> stored = new CompletableFuture<>();
+        when(voteService.castVoteAsync(any(), anyString(), anyString())).thenReturn(stored);
+
+        // When
+        CompletableFuture<VoteAckResponse> ack =
+            controller.castVote(roomId, new CastVoteMessage("req-1", storyId, "8"), principal);
+
+        // Then
+        assertThat(ack).isNotDone();
+        stored.complete(new VoteResponse(UUID.randomUUID(), storyId, roomId, "user-1", "alice", "8",
+            Instant.now(), null));
+        assertThat(ack.join().accepted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge an unexpected failure instead of leaving the client waiting")
+    void shouldAcknowledgeUnexpectedFailure() {
+        // Given
+        when(voteService.castVoteAsync(any(), anyString(), anyString()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("db down")));
+
+        // When
+        VoteAckResponse ack = cast("req-1", "8", principal);
+
+        // Then
+        assertThat(ack.accepted()).isFalse();
+        assertThat(ack.errorCode()).isEqualTo("INTERNAL_ERROR");
+    }
+
+    private VoteAckResponse cast(String requestId, String value, Principal principal) {
+        return controller.castVote(roomId, new CastVoteMessage(requestId, storyId, value), principal).join();
+    }
+}
@@ -0,0 +1,219 @@
+package com.lufthansa.planning_poker.vote.application.command;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import com.lufthansa.planning_poker.vote.application.state.RoomVoteState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RoomCommandExecutor Tests")
+class RoomCommandExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoomVoteState roomVotes = new RoomVoteState();
+    private RoomCommandExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        // Small batches so mailboxes are handed back to the pool while the tests run
+        executor = new RoomCommandExecutor(roomVotes, meterRegistry, true, 4, Duration.ofSeconds(5), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should run the commands of a room one at a time and in order")
+    void shouldSerializeCommandsOfRoom() {
+        // Given
+        UUID roomId = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            int command = i;
+            results.add(executor.submit(roomId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(command);
+                running.decrementAndGet();
+                return command;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(order).hasSize(200).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should run commands of different rooms in parallel")
+    void shouldRunRoomsInParallel() throws InterruptedException {
+        // Given
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        // When
+        CompletableFuture<Boolean> first = executor.submit(UUID.randomUUID(), () -> awaitLatch(bothRunning));
+        CompletableFuture<Boolean> second = executor.submit(UUID.randomUUID(), () -> awaitLatch(bothRunning));
+
+        // Then
+        assertThat(first.join()).isTrue();
+        assertThat(second.join()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should expose the room on the thread running its mailbox")
+    void shouldExposeCurrentRoom() {
+        // Given
+        UUID roomId = UUID.randomUUID();
+
+        // When
+        UUID current = executor.execute(roomId, RoomCommandExecutor::currentRoom);
+
+        // Then
+        assertThat(current).isEqualTo(roomId);
+        assertThat(RoomCommandExecutor.currentRoom()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should rethrow the exception of a command and keep running the room")
+    void shouldRethrowCommandException() {
+        // Given
+        UUID roomId = UUID.randomUUID();
+
+        // When / Then
+        assertThatThrownBy(() -> executor.execute(roomId, () -> {
+            throw BusinessException.forbidden("Not a participant");
+        }))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Not a participant");
+        assertThat(executor.execute(roomId, () -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 when a command does not complete in time")
+    void shouldTimeOut() {
+        // Given
+        RoomCommandExecutor impatient =
+            new RoomCommandExecutor(roomVotes, meterRegistry, true, 1, Duration.ofMillis(50), 4);
+        CountDownLatch release = new CountDownLatch(1);
+        UUID roomId = UUID.randomUUID();
+        try {
+            impatient.submit(roomId, () -> block(release));
+
+            // When / Then
+            assertThatThrownBy(() -> impatient.execute(roomId, () -> "late"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("busy");
+        } finally {
+            release.countDown();
+            impatient.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail the future with 503 without blocking the caller while the room is busy")
+    void shouldTimeOutAsync() {
+        // Given
+        RoomCommandExecutor impatient =
+            new RoomCommandExecutor(roomVotes, meterRegistry, true, 1, Duration.ofMillis(50), 4);
+        CountDownLatch release = new CountDownLatch(1);
+        UUID roomId = UUID.randomUUID();
+        try {
+            impatient.submit(roomId, () -> block(release));
+
+            // When
+            CompletableFuture<String> result = impatient.executeAsync(roomId, () -> "late");
+
+            // Then
+            assertThat(result).isNotDone();
+            assertThatThrownBy(result::join)
+                .hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("busy");
+        } finally {
+            release.countDown();
+            impatient.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete the future with the command's result or exception")
+    void shouldCompleteAsync() {
+        // Given
+        UUID roomId = UUID.randomUUID();
+
+        // When
+        CompletableFuture<String> done = executor.executeAsync(roomId, () -> "done");
+        CompletableFuture<String> failed = executor.executeAsync(roomId, () -> {
+            throw BusinessException.conflict("Voting is not open");
+        });
+
+        // Then
+        assertThat(done.join()).isEqualTo("done");
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Should remove the mailbox of a room once it ran empty")
+    void shouldRemoveIdleMailbox() throws InterruptedException {
+        // When
+        executor.execute(UUID.randomUUID(), () -> "done");
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.pendingRooms() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(executor.pendingRooms()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run commands on the calling thread when disabled")
+    void shouldRunInlineWhenDisabled() {
+        // Given
+        RoomCommandExecutor disabled =
+            new RoomCommandExecutor(roomVotes, meterRegistry, false, 1, Duration.ofSeconds(5), 4);
+        Thread caller = Thread.currentThread();
+
+        // When
+        Thread ranOn = disabled.execute(UUID.randomUUID(), Thread::currentThread);
+
+        // Then
+        assertThat(ranOn).isSameAs(caller);
+        assertThatThrownBy(() -> disabled.submit(UUID.randomUUID(), () -> "queued"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static boolean awaitLatch(CountDownLatch latch) {
+        latch.countDown();
+        return block(latch);
+    }
+
+    private static boolean block(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.lufthansa.planning_poker.vote.application.realtime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RoomEventLog Tests")
+class RoomEventLogTest {
+
+    private static final byte[] EMPTY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private MutableClock clock;
+    private RoomEventLog eventLog;
+    private UUID roomId;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        eventLog = new RoomEventLog(4, Duration.ofMinutes(30), clock);
+        roomId = UUID.randomUUID();
+    }
+
+    private long appendAll(int count) {
+        long first = 0;
+        for (int i = 0; i < count; i++) {
+            RoomEvent event = eventLog.append(roomId, "VOTE_COUNT_UPDATE", sequence -> EMPTY);
+            first = i == 0 ? event.sequence() : first;
+        }
+        return first;
+    }
+
+    @Nested
+    @DisplayName("append")
+    class Append {
+
+        @Test
+        @DisplayName("Should number events per room with consecutive sequences")
+        void shouldNumberEventsPerRoom() {
+            // When
+            RoomEvent first = eventLog.append(roomId, "VOTE_COUNT_UPDATE", sequence -> EMPTY);
+            RoomEvent second = eventLog.append(roomId, "VOTES_REVEALED", sequence -> EMPTY);
+            RoomEvent otherRoom = eventLog.append(UUID.randomUUID(), "VOTE_COUNT_UPDATE", sequence -> EMPTY);
+
+            // Then
+            assertThat(first.sequence()).isPositive();
+            assertThat(second.sequence()).isEqualTo(first.sequence() + 1);
+            assertThat(otherRoom.sequence()).isEqualTo(first.sequence());
+            assertThat(eventLog.latestSequence(roomId)).isEqualTo(second.sequence());
+        }
+
+        @Test
+        @DisplayName("Should write the payload with its own sequence")
+        void shouldWritePayloadWithSequence() {
+            // When
+            RoomEvent event = eventLog.append(roomId, "VOTES_RESET",
+                sequence -> ("{\"sequence\":" + sequence + "}").getBytes(StandardCharsets.UTF_8));
+
+            // Then
+            assertThat(event.dataAsString()).isEqualTo("{\"sequence\":" + event.sequence() + "}");
+        }
+
+        @Test
+        @DisplayName("Should notify the listener in sequence order")
+        void shouldNotifyListener() {
+            // Given
+            List<Long> dispatched = new ArrayList<>();
+
+            // When
+            for (int i = 0; i < 3; i++) {
+                eventLog.append(roomId, "VOTE_COUNT_UPDATE", sequence -> EMPTY, event -> dispatched.add(event.sequence()));
+            }
+
+            // Then
+            assertThat(dispatched).isSorted().hasSize(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("replaySince")
+    class ReplaySince {
+
+        @Test
+        @DisplayName("Should replay only events after the given sequence")
+        void shouldReplayMissedEvents() {
+            // Given
+            long first = appendAll(3);
+
+            // When
+            RoomEventLog.Replay replay = eventLog.replaySince(roomId, first);
+
+            // Then
+            assertThat(replay.complete()).isTrue();
+            assertThat(replay.latestSequence()).isEqualTo(first + 2);
+            assertThat(replay.events()).extracting(RoomEvent::sequence).containsExactly(first + 1, first + 2);
+        }
+
+        @Test
+        @DisplayName("Should flag replay as incomplete when missed events were overwritten")
+        void shouldFlagOverwrittenEvents() {
+            // Given
+            long first = appendAll(10);
+
+            // When
+            RoomEventLog.Replay replay = eventLog.replaySince(roomId, first + 1);
+
+            // Then
+            assertThat(replay.complete()).isFalse();
+            assertThat(replay.events()).extracting(RoomEvent::sequence)
+                .containsExactly(first + 6, first + 7, first + 8, first + 9);
+        }
+
+        @Test
+        @DisplayName("Should flag replay as incomplete for sequences this node never issued")
+        void shouldFlagUnknownSequences() {
+            // Given
+            long first = appendAll(1);
+
+            // When / Then
+            assertThat(eventLog.replaySince(roomId, first + 5).complete()).isFalse();
+            assertThat(eventLog.replaySince(roomId, 3).complete()).isFalse();
+            assertThat(eventLog.replaySince(UUID.randomUUID(), 3).complete()).isFalse();
+            assertThat(eventLog.replaySince(UUID.randomUUID(), 0).complete()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should create the room when registering a subscriber")
+        void shouldCreateRoomForSubscriber() {
+            // Given
+            List<RoomEventLog.Replay> seen = new ArrayList<>();
+
+            // When
+            RoomEventLog.Replay replay = eventLog.replaySince(roomId, 0, seen::add);
+            RoomEvent next = eventLog.append(roomId, "VOTE_COUNT_UPDATE", sequence -> EMPTY);
+
+            // Then
+            assertThat(seen).containsExactly(replay);
+            assertThat(replay.complete()).isTrue();
+            assertThat(next.sequence()).isEqualTo(replay.latestSequence() + 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("evictIdleRooms")
+    class EvictIdleRooms {
+
+        @Test
+        @DisplayName("Should evict only rooms idle for longer than the TTL")
+        void shouldEvictIdleRooms() {
+            // Given
+            UUID activeRoom = UUID.randomUUID();
+            appendAll(2);
+            clock.advance(Duration.ofMinutes(20));
+            eventLog.append(activeRoom, "VOTE_COUNT_UPDATE", sequence -> EMPTY);
+            clock.advance(Duration.ofMinutes(15));
+
+            // When
+            eventLog.evictIdleRooms();
+
+            // Then
+            assertThat(eventLog.roomCount()).isEqualTo(1);
+            assertThat(eventLog.latestSequence(roomId)).isZero();
+            assertThat(eventLog.latestSequence(activeRoom)).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should keep sequences increasing after a room was evicted")
+        void shouldNotReuseSequencesAfterEviction() {
+            // Given
+            long beforeEviction = appendAll(3) + 2;
+            clock.advance(Duration.ofHours(1));
+            eventLog.evictIdleRooms();
+
+            // When
+            RoomEvent afterEviction = eventLog.append(roomId, "VOTE_COUNT_UPDATE", sequence -> EMPTY);
+
+            // Then
+            assertThat(afterEviction.sequence()).isGreaterThan(beforeEviction);
+            assertThat(eventLog.replaySince(roomId, beforeEviction).complete()).isFalse();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.lufthansa.planning_poker.vote.application.realtime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RoomEvent Tests")
+class RoomEventTest {
+
+    private final UUID roomId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should be equal when the payloads have the same bytes")
+    void shouldCompareByPayloadContent() {
+        // Given
+        RoomEvent event = new RoomEvent(roomId, 7, "VOTES_REVEALED", bytes("{\"sequence\":7}"));
+        RoomEvent copy = new RoomEvent(roomId, 7, "VOTES_REVEALED", bytes("{\"sequence\":7}"));
+
+        // Then
+        assertThat(event).isEqualTo(copy).hasSameHashCodeAs(copy);
+        assertThat(event.toString()).contains("{\"sequence\":7}");
+    }
+
+    @Test
+    @DisplayName("Should differ when payload, sequence or type differ")
+    void shouldDifferOnAnyComponent() {
+        // Given
+        RoomEvent event = new RoomEvent(roomId, 7, "VOTES_REVEALED", bytes("{}"));
+
+        // Then
+        assertThat(event)
+            .isNotEqualTo(new RoomEvent(roomId, 7, "VOTES_REVEALED", bytes("{ }")))
+            .isNotEqualTo(new RoomEvent(roomId, 8, "VOTES_REVEALED", bytes("{}")))
+            .isNotEqualTo(new RoomEvent(roomId, 7, "VOTING_FINISHED", bytes("{}")))
+            .isNotEqualTo(new RoomEvent(UUID.randomUUID(), 7, "VOTES_REVEALED", bytes("{}")));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,167 @@
+package com.lufthansa.planning_poker.vote.application.service;
+
+import com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VotePurgeEntity;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVotePurgeRepository;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteCleanupService Tests")
+class VoteCleanupServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+    private static final Duration RETENTION = Duration.ofDays(90);
+
+    @Mock
+    private JpaVoteRepository voteRepository;
+
+    @Mock
+    private JpaVotePurgeRepository purgeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VoteCleanupService cleanupService;
+    private UUID roomId;
+    private UUID storyId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cleanupService = new VoteCleanupService(voteRepository, purgeRepository, transactionManager,
+            new VoteMetrics(meterRegistry), RETENTION, 100, 0, 5, Clock.fixed(NOW, ZoneOffset.UTC));
+        roomId = UUID.randomUUID();
+        storyId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Scheduling Tests")
+    class SchedulingTests {
+
+        @Test
+        @DisplayName("Should schedule the votes of a deleted room for immediate deletion")
+        void shouldScheduleDeletedRoomImmediately() {
+            // When
+            cleanupService.purgeRoom(roomId);
+
+            // Then
+            verify(purgeRepository).upsertDeletion(any(UUID.class), eq(roomId),
+                eq(VotePurgeEntity.Reason.ROOM_DELETED.name()), eq(NOW));
+            verify(purgeRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should schedule the votes of a deleted story for immediate deletion")
+        void shouldScheduleDeletedStoryImmediately() {
+            // When
+            cleanupService.purgeStory(storyId);
+
+            // Then
+            verify(purgeRepository).upsertDeletion(any(UUID.class), eq(storyId),
+                eq(VotePurgeEntity.Reason.STORY_DELETED.name()), eq(NOW));
+        }
+
+        @Test
+        @DisplayName("Should keep the votes of a finished story for the retention")
+        void shouldScheduleFinishedStoryAfterRetention() {
+            // When
+            cleanupService.retainFinishedStory(storyId);
+
+            // Then
+            verify(purgeRepository).upsertRetention(any(UUID.class), eq(storyId), eq(NOW.plus(RETENTION)));
+            verify(purgeRepository, never()).upsertDeletion(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("purgeDueVotes Tests")
+    class PurgeDueVotesTests {
+
+        @Test
+        @DisplayName("Should delete a room in chunks until one comes back short")
+        void shouldDeleteRoomInChunks() {
+            // Given
+            VotePurgeEntity purge = purge(roomId, VotePurgeEntity.Reason.ROOM_DELETED, NOW.minusSeconds(2));
+            when(purgeRepository.findTop50ByPurgeAfterLessThanEqualOrderByPurgeAfterAsc(NOW))
+                .thenReturn(List.of(purge));
+            when(voteRepository.deleteChunkByRoomId(roomId, 100)).thenReturn(100, 100, 42);
+
+            // When
+            cleanupService.purgeDueVotes();
+
+            // Then
+            verify(voteRepository, times(3)).deleteChunkByRoomId(roomId, 100);
+            verify(purgeRepository).deleteCompleted(purge.getId(), purge.getPurgeAfter());
+            assertThat(meterRegistry.get("pp.vote.purge.votes").tag("reason", "room-deleted").counter().count())
+                .isEqualTo(242);
+            assertThat(meterRegistry.get("pp.vote.purge.chunk").timer().count()).isEqualTo(3);
+            assertThat(meterRegistry.get("pp.vote.purge.latency").tag("reason", "room-deleted").timer()
+                .totalTime(TimeUnit.SECONDS)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should delete the votes of a story by story id")
+        void shouldDeleteStoryByStoryId() {
+            // Given
+            VotePurgeEntity purge = purge(storyId, VotePurgeEntity.Reason.STORY_RETENTION, NOW);
+            when(purgeRepository.findTop50ByPurgeAfterLessThanEqualOrderByPurgeAfterAsc(NOW))
+                .thenReturn(List.of(purge));
+            when(voteRepository.deleteChunkByStoryId(storyId, 100)).thenReturn(7);
+
+            // When
+            cleanupService.purgeDueVotes();
+
+            // Then
+            verify(voteRepository, never()).deleteChunkByRoomId(any(), anyInt());
+            verify(purgeRepository).deleteCompleted(purge.getId(), NOW);
+        }
+
+        @Test
+        @DisplayName("Should stop after the chunks per run and keep the purge for the next run")
+        void shouldStopAfterMaxChunksPerRun() {
+            // Given
+            VotePurgeEntity purge = purge(roomId, VotePurgeEntity.Reason.ROOM_DELETED, NOW);
+            when(purgeRepository.findTop50ByPurgeAfterLessThanEqualOrderByPurgeAfterAsc(NOW))
+                .thenReturn(List.of(purge));
+            when(voteRepository.deleteChunkByRoomId(roomId, 100)).thenReturn(100);
+
+            // When
+            cleanupService.purgeDueVotes();
+
+            // Then
+            verify(voteRepository, times(5)).deleteChunkByRoomId(roomId, 100);
+            verify(purgeRepository, never()).deleteCompleted(any(), any());
+        }
+    }
+
+    private static VotePurgeEntity purge(UUID targetId, VotePurgeEntity.Reason reason, Instant purgeAfter) {
+        return VotePurgeEntity.builder()
+            .id(UUID.randomUUID())
+            .targetId(targetId)
+            .reason(reason)
+            .purgeAfter(purgeAfter)
+            .build();
+    }
+}
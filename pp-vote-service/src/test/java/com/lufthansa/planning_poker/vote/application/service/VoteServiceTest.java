@@ -1,12 +1,23 @@
 package com.lufthansa.planning_poker.vote.application.service;
 
+import com.lufthansa.planning_poker.common.event.VoteCastEvent;
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import com.lufthansa.planning_poker.vote.application.command.RoomCommandExecutor;
 import com.lufthansa.planning_poker.vote.application.dto.request.CastVoteRequest;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResponse;
 import com.lufthansa.planning_poker.vote.application.dto.response.VoteResultsResponse;
+import com.lufthansa.planning_poker.vote.application.state.RoomMembershipReplica;
+import com.lufthansa.planning_poker.vote.application.state.RoomVoteState;
+import com.lufthansa.planning_poker.vote.application.state.StoryStateReplica;
+import com.lufthansa.planning_poker.vote.application.timer.VotingDeadlineReachedEvent;
+import com.lufthansa.planning_poker.vote.application.timer.VotingDeadlines;
 import com.lufthansa.planning_poker.vote.api.websocket.VotingWebSocketHandler;
 import com.lufthansa.planning_poker.vote.infrastructure.messaging.VoteEventProducer;
+import com.lufthansa.planning_poker.vote.infrastructure.metrics.VoteMetrics;
 import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VoteEntity;
 import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,9 +26,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -38,6 +52,34 @@ class VoteServiceTest {
     @Mock
     private VotingWebSocketHandler webSocketHandler;
 
+    @Mock
+    private VoteCleanupService voteCleanupService;
+
+    @Mock
+    private StoryStateReplica storyStates;
+
+    @Mock
+    private RoomMembershipReplica roomMembers;
+
+    @Mock
+    private VotingDeadlines votingDeadlines;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private VoteMetrics voteMetrics = new VoteMetrics(meterRegistry);
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private RoomVoteState roomVotes = new RoomVoteState();
+
+    // Disabled: commands run on the calling thread
+    @Spy
+    private RoomCommandExecutor roomCommands =
+        new RoomCommandExecutor(roomVotes, meterRegistry, false, 1, Duration.ofSeconds(5), 32);
+
     @InjectMocks
     private VoteService voteService;
 
@@ -137,6 +179,37 @@ class VoteServiceTest {
             verify(webSocketHandler).broadcastVoteCount(roomId, storyId, 3);
         }
 
+        @Test
+        @DisplayName("Should reject vote when voting on the story is not open")
+        void shouldRejectVoteWhenVotingNotOpen() {
+            // Given
+            CastVoteRequest request = new CastVoteRequest(storyId, roomId, "8");
+            doThrow(BusinessException.conflict("Voting is not open for story " + storyId))
+                .when(storyStates).requireVotingOpen(storyId, roomId);
+
+            // When/Then
+            assertThatThrownBy(() -> voteService.castVote(request, userId, userName))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Voting is not open");
+            verify(voteRepository, never()).save(any());
+            verifyNoInteractions(eventProducer, webSocketHandler);
+        }
+
+        @Test
+        @DisplayName("Should reject vote when the user is not a participant of the room")
+        void shouldRejectVoteFromNonParticipant() {
+            // Given
+            CastVoteRequest request = new CastVoteRequest(storyId, roomId, "8");
+            doThrow(BusinessException.forbidden("User " + userId + " is not a participant of room " + roomId))
+                .when(roomMembers).requireMember(roomId, userId);
+
+            // When/Then
+            assertThatThrownBy(() -> voteService.castVote(request, userId, userName))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("not a participant");
+            verifyNoInteractions(voteRepository, eventProducer, webSocketHandler);
+        }
+
         @Test
         @DisplayName("Should publish vote cast event")
         void shouldPublishVoteCastEvent() {
@@ -153,6 +226,28 @@ class VoteServiceTest {
             // Then
             verify(eventProducer).publishVoteCast(any());
         }
+
+        @Test
+        @DisplayName("Should record cast duration with outcome")
+        void shouldRecordCastDurationWithOutcome() {
+            // Given
+            CastVoteRequest request = new CastVoteRequest(storyId, roomId, "8");
+
+            when(voteRepository.findByStoryIdAndUserId(storyId, userId)).thenReturn(Optional.empty());
+            when(voteRepository.save(any(VoteEntity.class))).thenReturn(voteEntity).thenThrow(new IllegalStateException("db down"));
+            when(voteRepository.countByStoryId(storyId)).thenReturn(1);
+
+            // When
+            voteService.castVote(request, userId, userName);
+            assertThatThrownBy(() -> voteService.castVote(request, userId, userName))
+                .isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(meterRegistry.get("pp.vote.operation")
+                .tags("operation", "cast", "outcome", "success").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("pp.vote.operation")
+                .tags("operation", "cast", "outcome", "error").timer().count()).isEqualTo(1);
+        }
     }
 
     @Nested
@@ -320,6 +415,19 @@ class VoteServiceTest {
             // Then
             assertThat(result.averageScore()).isEqualByComparingTo(new BigDecimal("6.50"));
         }
+
+        @Test
+        @DisplayName("Should reveal votes when the voting deadline is reached")
+        void shouldRevealVotesAtDeadline() {
+            // Given
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of(voteEntity));
+
+            // When
+            voteService.onVotingDeadlineReached(new VotingDeadlineReachedEvent(storyId, roomId, Instant.now()));
+
+            // Then
+            verify(webSocketHandler).broadcastVoteResults(eq(roomId), any());
+        }
     }
 
     @Nested
@@ -347,6 +455,45 @@ class VoteServiceTest {
             verify(eventProducer).publishVotingFinished(any());
             verify(webSocketHandler).broadcastVotingFinished(eq(roomId), eq(storyId), eq("8"), any());
         }
+
+        @Test
+        @DisplayName("Should keep the votes of the finished story for the retention")
+        void shouldRetainVotesOfFinishedStory() {
+            // Given
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of(voteEntity));
+
+            // When
+            voteService.finishVoting(storyId, roomId, "8", "Test Story", userId, userName);
+
+            // Then
+            verify(voteCleanupService).retainFinishedStory(storyId);
+        }
+
+        @Test
+        @DisplayName("Should close the story for votes on this instance")
+        void shouldCloseStoryForVotes() {
+            // Given
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of(voteEntity));
+
+            // When
+            voteService.finishVoting(storyId, roomId, "8", "Test Story", userId, userName);
+
+            // Then
+            verify(storyStates).complete(storyId);
+        }
+
+        @Test
+        @DisplayName("Should remove the voting deadline of the finished story")
+        void shouldCancelVotingDeadline() {
+            // Given
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of(voteEntity));
+
+            // When
+            voteService.finishVoting(storyId, roomId, "8", "Test Story", userId, userName);
+
+            // Then
+            verify(votingDeadlines).cancel(storyId);
+        }
     }
 
     @Nested
@@ -365,6 +512,112 @@ class VoteServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Room mailbox Tests")
+    class RoomMailboxTests {
+
+        private RoomCommandExecutor mailbox;
+
+        @BeforeEach
+        void setUp() {
+            mailbox = new RoomCommandExecutor(roomVotes, meterRegistry, true, 2, Duration.ofSeconds(5), 32);
+        }
+
+        @AfterEach
+        void tearDown() {
+            mailbox.destroy();
+        }
+
+        @Test
+        @DisplayName("Should load the votes of a story once and count them in memory")
+        void shouldCountVotesInMemory() {
+            // Given
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of(createVoteEntity("user1", "User 1", "5")));
+            when(voteRepository.save(any(VoteEntity.class))).thenAnswer(invocation -> {
+                VoteEntity vote = invocation.getArgument(0);
+                vote.setId(UUID.randomUUID());
+                return vote;
+            });
+            when(voteRepository.updateValue(any(), eq("13"), any())).thenReturn(1);
+
+            // When
+            VoteResponse changed = mailbox.execute(roomId, () -> {
+                voteService.castVote(new CastVoteRequest(storyId, roomId, "8"), userId, userName);
+                return voteService.castVote(new CastVoteRequest(storyId, roomId, "13"), userId, userName);
+            });
+
+            // Then
+            assertThat(changed.value()).isEqualTo("13");
+            verify(voteRepository).findAllByStoryId(storyId);
+            // The changed vote is updated by id, not merged with another read
+            verify(voteRepository, times(1)).save(any(VoteEntity.class));
+            verify(voteRepository).updateValue(eq(changed.id()), eq("13"), any());
+            verify(voteRepository, never()).findByStoryIdAndUserId(any(), anyString());
+            verify(voteRepository, never()).countByStoryId(any());
+            verify(webSocketHandler, times(2)).broadcastVoteCount(roomId, storyId, 2);
+            ArgumentCaptor<VoteCastEvent> eventCaptor = ArgumentCaptor.forClass(VoteCastEvent.class);
+            verify(eventProducer, times(2)).publishVoteCast(eventCaptor.capture());
+            assertThat(eventCaptor.getAllValues()).extracting(VoteCastEvent::isUpdate).containsExactly(false, true);
+        }
+
+        @Test
+        @DisplayName("Should reveal the votes kept in memory")
+        void shouldRevealVotesFromMemory() {
+            // Given
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of(createVoteEntity("user1", "User 1", "5")));
+            when(voteRepository.save(any(VoteEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            VoteResultsResponse result = mailbox.execute(roomId, () -> {
+                voteService.castVote(new CastVoteRequest(storyId, roomId, "8"), userId, userName);
+                return voteService.revealVotes(storyId, roomId, userId, userName);
+            });
+
+            // Then
+            assertThat(result.totalVotes()).isEqualTo(2);
+            verify(voteRepository).findAllByStoryId(storyId);
+        }
+
+        @Test
+        @DisplayName("Should cast a vote on the room's mailbox without blocking the caller")
+        void shouldCastVoteAsync() {
+            // Given
+            VoteService mailboxService = new VoteService(voteRepository, eventProducer, webSocketHandler, voteMetrics,
+                voteCleanupService, storyStates, roomMembers, votingDeadlines, mailbox, roomVotes, transactionManager);
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of());
+            when(voteRepository.save(any(VoteEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            VoteResponse vote = mailboxService.castVoteAsync(new CastVoteRequest(storyId, roomId, "8"), userId, userName)
+                .join();
+
+            // Then
+            assertThat(vote.value()).isEqualTo("8");
+            verify(webSocketHandler).broadcastVoteCount(roomId, storyId, 1);
+        }
+
+        @Test
+        @DisplayName("Should read the votes again after a failed command")
+        void shouldReloadAfterFailure() {
+            // Given
+            when(voteRepository.findAllByStoryId(storyId)).thenReturn(List.of());
+            when(voteRepository.save(any(VoteEntity.class)))
+                .thenThrow(new IllegalStateException("duplicate key"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            assertThatThrownBy(() -> mailbox.execute(roomId,
+                    () -> voteService.castVote(new CastVoteRequest(storyId, roomId, "8"), userId, userName)))
+                .isInstanceOf(IllegalStateException.class);
+            mailbox.execute(roomId,
+                () -> voteService.castVote(new CastVoteRequest(storyId, roomId, "8"), userId, userName));
+
+            // Then
+            verify(voteRepository, times(2)).findAllByStoryId(storyId);
+            verify(webSocketHandler).broadcastVoteCount(roomId, storyId, 1);
+        }
+    }
+
     private VoteEntity createVoteEntity(String usrId, String usrName, String value) {
         return VoteEntity.builder()
             .id(UUID.randomUUID())
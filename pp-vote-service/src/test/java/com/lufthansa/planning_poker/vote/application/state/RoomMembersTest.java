@@ -0,0 +1,85 @@
+package com.lufthansa.planning_poker.vote.application.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RoomMembers Tests")
+class RoomMembersTest {
+
+    @Test
+    @DisplayName("Should contain UUID members in any insertion order")
+    void shouldContainUuidMembers() {
+        // Given
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            userIds.add(UUID.randomUUID().toString());
+        }
+        Collections.shuffle(userIds);
+
+        // When
+        RoomMembers members = RoomMembers.EMPTY;
+        for (String userId : userIds) {
+            members = members.with(userId);
+        }
+
+        // Then
+        assertThat(members.size()).isEqualTo(100);
+        assertThat(userIds).allMatch(members::contains);
+        assertThat(members.contains(UUID.randomUUID().toString())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep ids that are not canonical UUIDs apart from UUID members")
+    void shouldKeepNonCanonicalIdsApart() {
+        // Given
+        String uuid = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+        // When
+        RoomMembers members = RoomMembers.EMPTY.with(uuid).with("load-user-1");
+
+        // Then
+        assertThat(members.contains(uuid)).isTrue();
+        assertThat(members.contains("load-user-1")).isTrue();
+        assertThat(members.contains(uuid.toUpperCase())).isFalse();
+        assertThat(members.contains("f8fad5b-d9cb-469f-a165-70867728950e")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not change when adding an existing or removing an unknown member")
+    void shouldNotChangeForNoOps() {
+        // Given
+        RoomMembers members = RoomMembers.EMPTY.with("user-1").with(UUID.randomUUID().toString());
+
+        // When/Then
+        assertThat(members.with("user-1")).isSameAs(members);
+        assertThat(members.without("user-2")).isSameAs(members);
+        assertThat(members.without(UUID.randomUUID().toString())).isSameAs(members);
+    }
+
+    @Test
+    @DisplayName("Should remove members")
+    void shouldRemoveMembers() {
+        // Given
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        RoomMembers members = RoomMembers.EMPTY.with(first).with(second).with("user-1");
+
+        // When
+        RoomMembers remaining = members.without(first).without("user-1");
+
+        // Then
+        assertThat(remaining.size()).isEqualTo(1);
+        assertThat(remaining.contains(second)).isTrue();
+        assertThat(remaining.contains(first)).isFalse();
+        assertThat(remaining.contains("user-1")).isFalse();
+        assertThat(members.contains(first)).isTrue();
+        assertThat(remaining.without(second).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,94 @@
+package com.lufthansa.planning_poker.vote.application.state;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RoomMembershipReplica Tests")
+class RoomMembershipReplicaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomMembershipReplica replica;
+    private UUID roomId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replica = new RoomMembershipReplica(meterRegistry);
+        roomId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should reject votes with 503 until the view is loaded")
+    void shouldRejectUntilReady() {
+        // Given
+        replica.add(roomId, "user-1");
+
+        // When/Then
+        assertThatThrownBy(() -> replica.requireMember(roomId, "user-1"))
+            .isInstanceOfSatisfying(BusinessException.class,
+                e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("Should admit members and reject others with 403")
+    void shouldAdmitMembersOnly() {
+        // Given
+        replica.add(roomId, "user-1");
+        replica.markReady();
+
+        // When/Then
+        assertThatCode(() -> replica.requireMember(roomId, "user-1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> replica.requireMember(roomId, "user-2"))
+            .isInstanceOfSatisfying(BusinessException.class,
+                e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+        assertThatThrownBy(() -> replica.requireMember(UUID.randomUUID(), "user-1"))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Should drop a room once its last member left")
+    void shouldDropEmptyRoom() {
+        // Given
+        replica.add(roomId, "user-1");
+        replica.add(roomId, "user-2");
+
+        // When
+        replica.remove(roomId, "user-1");
+        replica.remove(roomId, "user-2");
+
+        // Then
+        assertThat(replica.isMember(roomId, "user-2")).isFalse();
+        assertThat(meterRegistry.get("pp.vote.membership.rooms").gauge().value()).isZero();
+        assertThat(meterRegistry.get("pp.vote.membership.members").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop members missing from a reload but keep changes made while reloading")
+    void shouldSweepOnReload() {
+        // Given
+        replica.add(roomId, "user-1");
+        replica.add(roomId, "user-2");
+        replica.markReady();
+
+        // When
+        replica.startReload();
+        replica.add(roomId, "user-1");
+        replica.add(roomId, "user-3");
+        assertThat(replica.isMember(roomId, "user-2")).isTrue();
+        replica.finishReload();
+
+        // Then
+        assertThat(replica.isMember(roomId, "user-1")).isTrue();
+        assertThat(replica.isMember(roomId, "user-2")).isFalse();
+        assertThat(replica.isMember(roomId, "user-3")).isTrue();
+        assertThat(meterRegistry.get("pp.vote.membership.members").gauge().value()).isEqualTo(2);
+    }
+}
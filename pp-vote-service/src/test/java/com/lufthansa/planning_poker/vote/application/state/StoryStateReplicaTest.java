@@ -0,0 +1,233 @@
+package com.lufthansa.planning_poker.vote.application.state;
+
+import com.lufthansa.planning_poker.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StoryStateReplica Tests")
+class StoryStateReplicaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StoryStateReplica replica;
+    private UUID roomId;
+    private UUID storyId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replica = new StoryStateReplica(meterRegistry);
+        roomId = UUID.randomUUID();
+        storyId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("requireVotingOpen Tests")
+    class RequireVotingOpenTests {
+
+        @Test
+        @DisplayName("Should reject votes with 503 until the view is loaded")
+        void shouldRejectUntilReady() {
+            // Given
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+
+            // When/Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOfSatisfying(BusinessException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+            assertThat(meterRegistry.get("pp.vote.story.states.ready").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should admit votes for a story in voting")
+        void shouldAdmitVotesInVoting() {
+            // Given
+            replica.update(storyId, roomId, "VOTING", 1);
+            replica.markReady();
+
+            // When/Then
+            assertThatCode(() -> replica.requireVotingOpen(storyId, roomId)).doesNotThrowAnyException();
+            assertThat(meterRegistry.get("pp.vote.story.states").gauge().value()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject votes with 409 for unknown and completed stories")
+        void shouldRejectUnknownAndCompletedStories() {
+            // Given
+            UUID completedId = UUID.randomUUID();
+            replica.update(completedId, roomId, StoryStateReplica.Status.COMPLETED, 1);
+            replica.markReady();
+
+            // When/Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOfSatisfying(BusinessException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+            assertThatThrownBy(() -> replica.requireVotingOpen(completedId, roomId))
+                .isInstanceOfSatisfying(BusinessException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        }
+
+        @Test
+        @DisplayName("Should reject votes with 400 when the story is in another room")
+        void shouldRejectStoryOfAnotherRoom() {
+            // Given
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+            replica.markReady();
+
+            // When/Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, UUID.randomUUID()))
+                .isInstanceOfSatisfying(BusinessException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @BeforeEach
+        void ready() {
+            replica.markReady();
+        }
+
+        @Test
+        @DisplayName("Should keep the later status of a round regardless of arrival order")
+        void shouldKeepLaterStatusOfRound() {
+            // Given
+            replica.update(storyId, roomId, StoryStateReplica.Status.COMPLETED, 1);
+
+            // When
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+
+            // Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOf(BusinessException.class);
+        }
+
+        @Test
+        @DisplayName("Should reopen a story for a new voting round but ignore late states of an old one")
+        void shouldOrderByVotingRound() {
+            // Given
+            replica.update(storyId, roomId, StoryStateReplica.Status.COMPLETED, 1);
+
+            // When
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 2);
+            replica.update(storyId, roomId, StoryStateReplica.Status.COMPLETED, 1);
+
+            // Then
+            assertThatCode(() -> replica.requireVotingOpen(storyId, roomId)).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should close the current round of a story finished on this instance")
+        void shouldCompleteCurrentRound() {
+            // Given
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 2);
+
+            // When
+            replica.complete(storyId);
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 2);
+
+            // Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOf(BusinessException.class);
+        }
+
+        @Test
+        @DisplayName("Should treat an unknown status as closed for votes")
+        void shouldTreatUnknownStatusAsClosed() {
+            // When
+            replica.update(storyId, roomId, "ARCHIVED", 1);
+
+            // Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOf(BusinessException.class);
+        }
+
+        @Test
+        @DisplayName("Should remove a deleted story")
+        void shouldRemoveDeletedStory() {
+            // Given
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+
+            // When
+            replica.remove(storyId);
+
+            // Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOf(BusinessException.class);
+            assertThat(meterRegistry.get("pp.vote.story.states").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should remove all stories of a deleted room")
+        void shouldRemoveStoriesOfRoom() {
+            // Given
+            UUID otherRoomId = UUID.randomUUID();
+            UUID otherStoryId = UUID.randomUUID();
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+            replica.update(otherStoryId, otherRoomId, StoryStateReplica.Status.VOTING, 1);
+
+            // When
+            replica.removeRoom(roomId);
+
+            // Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOf(BusinessException.class);
+            assertThatCode(() -> replica.requireVotingOpen(otherStoryId, otherRoomId)).doesNotThrowAnyException();
+        }
+    }
+
+    @Nested
+    @DisplayName("Reload Tests")
+    class ReloadTests {
+
+        @Test
+        @DisplayName("Should drop stories missing from a reload")
+        void shouldSweepStoriesMissingFromReload() {
+            // Given
+            UUID deletedStoryId = UUID.randomUUID();
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+            replica.update(deletedStoryId, roomId, StoryStateReplica.Status.VOTING, 1);
+            replica.markReady();
+
+            // When
+            replica.startReload();
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+            assertThatCode(() -> replica.requireVotingOpen(deletedStoryId, roomId)).doesNotThrowAnyException();
+            replica.finishReload();
+
+            // Then
+            assertThatCode(() -> replica.requireVotingOpen(storyId, roomId)).doesNotThrowAnyException();
+            assertThatThrownBy(() -> replica.requireVotingOpen(deletedStoryId, roomId))
+                .isInstanceOf(BusinessException.class);
+            assertThat(meterRegistry.get("pp.vote.story.states").gauge().value()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep a story finished on this instance while reloading")
+        void shouldKeepLocalChangesWhileReloading() {
+            // Given
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+            replica.markReady();
+
+            // When
+            replica.startReload();
+            replica.update(storyId, roomId, StoryStateReplica.Status.VOTING, 1);
+            replica.complete(storyId);
+            replica.finishReload();
+
+            // Then
+            assertThatThrownBy(() -> replica.requireVotingOpen(storyId, roomId))
+                .isInstanceOfSatisfying(BusinessException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        }
+    }
+}
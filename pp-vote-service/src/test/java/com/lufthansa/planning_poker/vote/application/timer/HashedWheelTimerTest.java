@@ -0,0 +1,113 @@
+package com.lufthansa.planning_poker.vote.application.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HashedWheelTimer Tests")
+class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        // 8 buckets of 10ms, so anything beyond 80ms needs more than one round
+        timer = new HashedWheelTimer("test-timer", Duration.ofMillis(10), 8, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    @DisplayName("Should round the wheel size up to a power of two")
+    void shouldRoundWheelSize() {
+        try (HashedWheelTimer other = new HashedWheelTimer("other", Duration.ofMillis(10), 500, Runnable::run)) {
+            assertThat(other.wheelSize()).isEqualTo(512);
+        }
+        assertThat(timer.wheelSize()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should run a task not before its delay, also after several rounds")
+    void shouldRunAfterDelay() throws InterruptedException {
+        // Given
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] ranAfter = new long[1];
+
+        // When
+        timer.schedule(() -> {
+            ranAfter[0] = System.nanoTime() - start;
+            ran.countDown();
+        }, Duration.ofMillis(250));
+
+        // Then
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ranAfter[0]).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(timer.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run a task with a past delay on the next tick")
+    void shouldRunOverdueTask() throws InterruptedException {
+        // Given
+        CountDownLatch ran = new CountDownLatch(1);
+
+        // When
+        timer.schedule(ran::countDown, Duration.ofSeconds(-5));
+
+        // Then
+        assertThat(ran.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not run a cancelled task")
+    void shouldNotRunCancelledTask() throws InterruptedException {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.schedule(runs::incrementAndGet, Duration.ofMillis(50));
+        timer.schedule(later::countDown, Duration.ofMillis(150));
+
+        // When
+        boolean cancelled = timeout.cancel();
+
+        // Then
+        assertThat(cancelled).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(0);
+        assertThat(timer.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run the other tasks of a bucket when one in the middle was cancelled")
+    void shouldUnlinkCancelledTaskFromBucket() throws InterruptedException {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch others = new CountDownLatch(2);
+        timer.schedule(others::countDown, Duration.ofMillis(60));
+        HashedWheelTimer.Timeout middle = timer.schedule(runs::incrementAndGet, Duration.ofMillis(60));
+        timer.schedule(others::countDown, Duration.ofMillis(60));
+        // Let the worker put them into their bucket
+        Thread.sleep(30);
+
+        // When
+        middle.cancel();
+
+        // Then
+        assertThat(others.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(0);
+        assertThat(timer.pending()).isZero();
+    }
+}
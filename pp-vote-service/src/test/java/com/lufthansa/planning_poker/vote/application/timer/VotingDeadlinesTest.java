@@ -0,0 +1,231 @@
+package com.lufthansa.planning_poker.vote.application.timer;
+
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.entity.VotingDeadlineEntity;
+import com.lufthansa.planning_poker.vote.infrastructure.persistence.repository.JpaVotingDeadlineRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VotingDeadlines Tests")
+class VotingDeadlinesTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+    private static final Instant STALE_BEFORE = NOW.minus(Duration.ofMinutes(2));
+
+    @Mock
+    private JpaVotingDeadlineRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VotingDeadlines deadlines;
+    private UUID roomId;
+    private UUID storyId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deadlines = new VotingDeadlines(repository, transactionManager, eventPublisher, meterRegistry,
+            Duration.ofMillis(100), 512, 1, Duration.ofSeconds(5), Duration.ofMinutes(2), "node-1", Clock.fixed(NOW, ZoneOffset.UTC));
+        roomId = UUID.randomUUID();
+        storyId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deadlines.destroy();
+    }
+
+    @Nested
+    @DisplayName("Scheduling Tests")
+    class SchedulingTests {
+
+        @Test
+        @DisplayName("Should persist and schedule the deadline of a timeboxed story")
+        void shouldPersistAndSchedule() {
+            // Given
+            when(repository.findById(storyId)).thenReturn(Optional.empty());
+
+            // When
+            deadlines.start(storyId, roomId, NOW, 90);
+
+            // Then
+            ArgumentCaptor<VotingDeadlineEntity> captor = ArgumentCaptor.forClass(VotingDeadlineEntity.class);
+            verify(repository).save(captor.capture());
+            assertThat(captor.getValue().getDeadline()).isEqualTo(NOW.plusSeconds(90));
+            assertThat(captor.getValue().getFiredAt()).isNull();
+            assertThat(deadlines.pending()).isEqualTo(1);
+            assertThat(meterRegistry.get("pp.vote.deadlines.pending").gauge().value()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should replace the deadline when voting is restarted")
+        void shouldReplaceDeadline() {
+            // Given
+            VotingDeadlineEntity fired = VotingDeadlineEntity.builder()
+                .storyId(storyId).roomId(roomId).votingStartedAt(NOW.minusSeconds(120)).timeboxSeconds(60)
+                .deadline(NOW.minusSeconds(60)).firedAt(NOW.minusSeconds(60)).firedBy("node-2").build();
+            when(repository.findById(storyId)).thenReturn(Optional.empty(), Optional.of(fired));
+            deadlines.start(storyId, roomId, NOW, 60);
+
+            // When
+            deadlines.start(storyId, roomId, NOW, 120);
+
+            // Then
+            assertThat(fired.getDeadline()).isEqualTo(NOW.plusSeconds(120));
+            assertThat(fired.getFiredAt()).isNull();
+            assertThat(deadlines.pending()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should remove the deadline when voting starts without a timebox")
+        void shouldRemoveDeadlineWithoutTimebox() {
+            // Given
+            when(repository.findById(storyId)).thenReturn(Optional.empty());
+            deadlines.start(storyId, roomId, NOW, 60);
+
+            // When
+            deadlines.start(storyId, roomId, NOW, null);
+
+            // Then
+            assertThat(deadlines.pending()).isZero();
+            verify(repository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("Should schedule all unfired deadlines on startup")
+        void shouldScheduleUnfiredOnStartup() {
+            // Given
+            when(repository.findByFiredAtIsNull()).thenReturn(List.of(
+                VotingDeadlineEntity.builder().storyId(storyId).roomId(roomId).deadline(NOW.plusSeconds(30)).build(),
+                VotingDeadlineEntity.builder().storyId(UUID.randomUUID()).roomId(roomId).deadline(NOW.plusSeconds(60)).build()));
+
+            // When
+            deadlines.scheduleUnfired();
+
+            // Then
+            assertThat(deadlines.pending()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should remove the deadlines of a deleted room")
+        void shouldCancelRoom() {
+            // Given
+            when(repository.findById(any())).thenReturn(Optional.empty());
+            deadlines.start(storyId, roomId, NOW, 60);
+            deadlines.start(UUID.randomUUID(), UUID.randomUUID(), NOW, 60);
+
+            // When
+            deadlines.cancelRoom(roomId);
+
+            // Then
+            assertThat(deadlines.pending()).isEqualTo(1);
+            verify(repository).deleteByRoomId(roomId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Firing Tests")
+    class FiringTests {
+
+        @Test
+        @DisplayName("Should publish the deadline on the instance that claims it")
+        void shouldPublishWhenClaimed() {
+            // Given
+            Instant deadline = NOW.minusMillis(40);
+            when(repository.claim(storyId, deadline, NOW, STALE_BEFORE, "node-1")).thenReturn(1);
+
+            // When
+            deadlines.fire(storyId, roomId, deadline);
+
+            // Then
+            verify(eventPublisher).publishEvent(new VotingDeadlineReachedEvent(storyId, roomId, deadline));
+            verify(repository).complete(storyId, deadline, NOW, "node-1");
+            verify(repository, never()).release(any(), any(), any(), any());
+            assertThat(meterRegistry.get("pp.vote.deadlines.lateness").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not publish a deadline another instance claimed")
+        void shouldNotPublishWhenClaimedElsewhere() {
+            // Given
+            when(repository.claim(storyId, NOW, NOW, STALE_BEFORE, "node-1")).thenReturn(0);
+
+            // When
+            deadlines.fire(storyId, roomId, NOW);
+
+            // Then
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should fire overdue deadlines past the grace period")
+        void shouldFireOverdueDeadlines() {
+            // Given
+            Instant deadline = NOW.minusSeconds(30);
+            when(repository.findOverdue(eq(NOW.minusSeconds(5)), eq(STALE_BEFORE), any(Limit.class)))
+                .thenReturn(List.of(VotingDeadlineEntity.builder()
+                    .storyId(storyId).roomId(roomId).deadline(deadline).build()));
+            when(repository.claim(storyId, deadline, NOW, STALE_BEFORE, "node-1")).thenReturn(1);
+
+            // When
+            deadlines.fireOverdue();
+
+            // Then
+            verify(eventPublisher).publishEvent(new VotingDeadlineReachedEvent(storyId, roomId, deadline));
+        }
+
+        @Test
+        @DisplayName("Should give up the claim when the reveal fails and fire the deadline again on the sweep")
+        void shouldFireAgainAfterFailedReveal() {
+            // Given
+            Instant deadline = NOW.minusSeconds(30);
+            VotingDeadlineReachedEvent reached = new VotingDeadlineReachedEvent(storyId, roomId, deadline);
+            when(repository.claim(storyId, deadline, NOW, STALE_BEFORE, "node-1")).thenReturn(1);
+            doThrow(new IllegalStateException("room mailbox full")).doNothing()
+                .when(eventPublisher).publishEvent(reached);
+            deadlines.fire(storyId, roomId, deadline);
+            when(repository.findOverdue(eq(NOW.minusSeconds(5)), eq(STALE_BEFORE), any(Limit.class)))
+                .thenReturn(List.of(VotingDeadlineEntity.builder()
+                    .storyId(storyId).roomId(roomId).deadline(deadline).build()));
+
+            // When
+            deadlines.fireOverdue();
+
+            // Then
+            InOrder inOrder = inOrder(repository, eventPublisher);
+            inOrder.verify(eventPublisher).publishEvent(reached);
+            inOrder.verify(repository).release(storyId, deadline, NOW, "node-1");
+            inOrder.verify(eventPublisher).publishEvent(reached);
+            inOrder.verify(repository).complete(storyId, deadline, NOW, "node-1");
+        }
+    }
+}
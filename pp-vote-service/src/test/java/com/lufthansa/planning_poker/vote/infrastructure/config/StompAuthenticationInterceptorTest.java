@@ -0,0 +1,110 @@
+package com.lufthansa.planning_poker.vote.infrastructure.config;
+
+import com.lufthansa.planning_poker.common.security.InternalIdentityCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StompAuthenticationInterceptor Tests")
+class StompAuthenticationInterceptorTest {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private MessageChannel channel;
+
+    private StompAuthenticationInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new StompAuthenticationInterceptor(jwtDecoder, new SecurityConfig().jwtAuthenticationConverter());
+    }
+
+    @Test
+    @DisplayName("Should authenticate the session from a bearer token on CONNECT")
+    void shouldAuthenticateBearerToken() {
+        // Given
+        Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("user-1")
+            .claim("realm_access", Map.of("roles", List.of("USER")))
+            .build();
+        when(jwtDecoder.decode("token")).thenReturn(jwt);
+
+        // When
+        Principal user = connect(Map.of("Authorization", "Bearer token"));
+
+        // Then
+        assertThat(user).isInstanceOf(JwtAuthenticationToken.class);
+        assertThat(((JwtAuthenticationToken) user).getToken().getSubject()).isEqualTo("user-1");
+    }
+
+    @Test
+    @DisplayName("Should not authenticate the session from an internal identity header in the CONNECT frame")
+    void shouldIgnoreInternalIdentityHeader() {
+        // Given
+        InternalIdentityCodec codec = new InternalIdentityCodec("test-internal-identity-secret-0123456789");
+        String identity = codec.encode(codec.issue("user-2", "bob", null, List.of("USER"), Duration.ofMinutes(1)));
+
+        // When
+        Principal user = connect(Map.of(InternalIdentityCodec.HEADER, identity));
+
+        // Then
+        assertThat(user).isNull();
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    @DisplayName("Should refuse a CONNECT with an invalid token")
+    void shouldRefuseInvalidToken() {
+        // Given
+        when(jwtDecoder.decode("expired")).thenThrow(new BadJwtException("Jwt expired"));
+
+        // When / Then
+        assertThatThrownBy(() -> connect(Map.of("Authorization", "Bearer expired")))
+            .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("Should accept an anonymous CONNECT without a user")
+    void shouldAcceptAnonymousConnect() {
+        // When
+        Principal user = connect(Map.of());
+
+        // Then
+        assertThat(user).isNull();
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    private Principal connect(Map<String, String> headers) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        headers.forEach(accessor::addNativeHeader);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        Message<?> result = interceptor.preSend(message, channel);
+        return StompHeaderAccessor.wrap(result).getUser();
+    }
+}
@@ -0,0 +1,153 @@
+package com.lufthansa.planning_poker.vote.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.BaseEvent;
+import com.lufthansa.planning_poker.common.event.StoryStateEvent;
+import com.lufthansa.planning_poker.common.event.UserJoinedRoomEvent;
+import com.lufthansa.planning_poker.common.event.VoteCastEvent;
+import com.lufthansa.planning_poker.common.messaging.CompactedTopicReader;
+import com.lufthansa.planning_poker.vote.application.state.RoomMembershipReplica;
+import com.lufthansa.planning_poker.vote.application.state.StoryStateReplica;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LocalStateConsumer Tests")
+class LocalStateConsumerTest {
+
+    @Mock
+    private StoryStateReplica storyStates;
+
+    @Mock
+    private RoomMembershipReplica members;
+
+    private LocalStateConsumer consumer;
+    private UUID roomId;
+    private UUID storyId;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new LocalStateConsumer(storyStates, members, "localhost:9092", Duration.ofSeconds(1));
+        roomId = UUID.randomUUID();
+        storyId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Story State Tests")
+    class StoryStateTests {
+
+        @Test
+        @DisplayName("Should apply a story state with its voting round")
+        void shouldApplyStoryState() {
+            // Given
+            StoryStateEvent state = StoryStateEvent.builder()
+                .storyId(storyId)
+                .roomId(roomId)
+                .status("VOTING")
+                .votingRound(3)
+                .build();
+
+            // When
+            consumer.applyStoryState(storyId.toString(), state);
+
+            // Then
+            verify(storyStates).update(storyId, roomId, "VOTING", 3);
+        }
+
+        @Test
+        @DisplayName("Should remove the story of a tombstone")
+        void shouldRemoveStoryOnTombstone() {
+            // When
+            consumer.applyStoryState(storyId.toString(), null);
+
+            // Then
+            verify(storyStates).remove(storyId);
+        }
+
+        @Test
+        @DisplayName("Should skip tombstones with malformed keys and other events")
+        void shouldSkipMalformedRecords() {
+            // When
+            consumer.applyStoryState("not-a-uuid", null);
+            consumer.applyStoryState(storyId.toString(), VoteCastEvent.builder().storyId(storyId).build());
+
+            // Then
+            verifyNoInteractions(storyStates);
+        }
+    }
+
+    @Nested
+    @DisplayName("Membership Tests")
+    class MembershipTests {
+
+        @Test
+        @DisplayName("Should add the member of a join")
+        void shouldAddMember() {
+            // Given
+            UserJoinedRoomEvent joined = UserJoinedRoomEvent.builder()
+                .roomId(roomId)
+                .userId("user-1")
+                .build();
+
+            // When
+            consumer.applyMembership(UserJoinedRoomEvent.membershipKey(roomId, "user-1"), joined);
+
+            // Then
+            verify(members).add(roomId, "user-1");
+        }
+
+        @Test
+        @DisplayName("Should remove the member of a tombstone keyed by room and user")
+        void shouldRemoveMemberOnTombstone() {
+            // When
+            consumer.applyMembership(UserJoinedRoomEvent.membershipKey(roomId, "user:1"), null);
+
+            // Then
+            verify(members).remove(roomId, "user:1");
+        }
+
+        @Test
+        @DisplayName("Should skip membership tombstones with malformed keys")
+        void shouldSkipMalformedTombstones() {
+            // When
+            consumer.applyMembership("not-a-uuid:user-1", null);
+            consumer.applyMembership(roomId.toString(), null);
+
+            // Then
+            verifyNoInteractions(members);
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild both replicas when a topic is read again and switch once it is loaded")
+    void shouldReloadReplicas() {
+        // Given
+        CompactedTopicReader.Handler<BaseEvent> storyHandler = consumer.storyStateHandler();
+        CompactedTopicReader.Handler<BaseEvent> membershipHandler = consumer.membershipHandler();
+
+        // When
+        storyHandler.onReload();
+        membershipHandler.onReload();
+        storyHandler.onLoaded();
+        membershipHandler.onLoaded();
+
+        // Then
+        InOrder inOrder = inOrder(storyStates, members);
+        inOrder.verify(storyStates).startReload();
+        inOrder.verify(members).startReload();
+        inOrder.verify(storyStates).finishReload();
+        inOrder.verify(storyStates).markReady();
+        inOrder.verify(members).finishReload();
+        inOrder.verify(members).markReady();
+    }
+}
@@ -0,0 +1,58 @@
+package com.lufthansa.planning_poker.vote.infrastructure.messaging;
+
+import com.lufthansa.planning_poker.common.event.RoomSnapshotEvent;
+import com.lufthansa.planning_poker.common.messaging.CompactedTopicView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomSnapshotView Tests")
+class RoomSnapshotViewTest {
+
+    @Mock
+    private CompactedTopicView<UUID, RoomSnapshotEvent> view;
+
+    private RoomSnapshotView snapshots;
+    private UUID roomId;
+    private UUID storyId;
+
+    @BeforeEach
+    void setUp() {
+        snapshots = new RoomSnapshotView(view);
+        roomId = UUID.randomUUID();
+        storyId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should find the story title in the room's snapshot")
+    void shouldFindStoryTitle() {
+        // Given
+        when(view.get(roomId)).thenReturn(RoomSnapshotEvent.builder()
+            .roomId(roomId)
+            .stories(List.of(
+                RoomSnapshotEvent.StorySnapshot.builder().storyId(UUID.randomUUID()).title("Other").build(),
+                RoomSnapshotEvent.StorySnapshot.builder().storyId(storyId).title("Login page").build()))
+            .build());
+
+        // When/Then
+        assertThat(snapshots.storyTitle(roomId, storyId)).contains("Login page");
+        assertThat(snapshots.storyTitle(roomId, UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return no title for a room that is not known yet")
+    void shouldReturnEmptyForUnknownRoom() {
+        // When/Then
+        assertThat(snapshots.storyTitle(roomId, storyId)).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.lufthansa.planning_poker.vote.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("VoteMetrics Tests")
+class VoteMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VoteMetrics voteMetrics = new VoteMetrics(registry);
+
+    @Test
+    @DisplayName("Should record operations by outcome on one timer per operation and outcome")
+    void shouldTimeOperationsByOutcome() {
+        // When
+        assertThat(voteMetrics.timeOperation(VoteMetrics.CAST, () -> "vote")).isEqualTo("vote");
+        voteMetrics.timeOperation(VoteMetrics.CAST, () -> "vote");
+        assertThatThrownBy(() -> voteMetrics.timeOperation(VoteMetrics.CAST, () -> {
+            throw new IllegalStateException("Voting is closed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(timer(VoteMetrics.CAST, "success").count()).isEqualTo(2);
+        assertThat(timer(VoteMetrics.CAST, "error").count()).isEqualTo(1);
+        assertThat(registry.find("pp.vote.operation").timers()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the timers of different operations apart")
+    void shouldSeparateOperations() {
+        // When
+        voteMetrics.timeOperation(VoteMetrics.CAST, () -> null);
+        voteMetrics.timeOperation(VoteMetrics.REVEAL, () -> null);
+
+        // Then
+        assertThat(timer(VoteMetrics.CAST, "success").count()).isEqualTo(1);
+        assertThat(timer(VoteMetrics.REVEAL, "success").count()).isEqualTo(1);
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return registry.get("pp.vote.operation").tag("operation", operation).tag("outcome", outcome).timer();
+    }
+}